@@ -0,0 +1,230 @@
+package io.github.nucleuspowered.nucleus.annotationprocessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates the bootstrap index: every module, and the classes each module loads, referenced directly rather than by
+ * name, along with the constructors and annotation values that are needed to load them.
+ *
+ * <p>A class is referenced by name instead if it cannot be referenced from the generated class. A constructor is only
+ * provided for a class that has a public no-args constructor and that does not need to be checked before it is
+ * created, that is, is not marked with {@code RequireExistenceOf} or {@code SkipOnError}.</p>
+ */
+class BootstrapIndexGenerator {
+
+    static final String PACKAGE = "io.github.nucleuspowered.nucleus.internal.qsml";
+    static final String CLASS_NAME = "GeneratedBootstrapIndex";
+
+    private static final String INDEX = PACKAGE + ".BootstrapIndex";
+    private static final String ENTRY = PACKAGE + ".BootstrapEntry";
+    private static final String ANNOTATIONS = "io.github.nucleuspowered.nucleus.internal.annotations.";
+    private static final String REQUIRE_EXISTENCE_OF = ANNOTATIONS + "RequireExistenceOf";
+    private static final String REQUIRE_EXISTENCE_OF_HOLDER = ANNOTATIONS + "RequireExistenceOfHolder";
+    private static final String SKIP_ON_ERROR = ANNOTATIONS + "SkipOnError";
+    private static final String REQUIRES_PLATFORM = ANNOTATIONS + "RequiresPlatform";
+    private static final String REGISTER_COMMAND = ANNOTATIONS + "command.RegisterCommand";
+    private static final String ABSTRACT_COMMAND = "io.github.nucleuspowered.nucleus.internal.command.AbstractCommand";
+
+    private final ProcessingEnvironment processingEnv;
+
+    BootstrapIndexGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    /**
+     * Generates the index.
+     *
+     * @param modules The module class names, to the type of class, to the names of the classes of that type.
+     * @throws IOException if the index could not be written.
+     */
+    void generate(Map<String, Map<String, List<String>>> modules) throws IOException {
+        List<String> moduleNames = new ArrayList<>(modules.keySet());
+        moduleNames.sort(String::compareTo);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("// Generated by the Nucleus annotation processor. Do not edit.\n");
+        sb.append("package ").append(PACKAGE).append(";\n\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(CLASS_NAME).append(" implements ").append(INDEX).append(" {\n\n");
+
+        // Modules
+        sb.append("    @Override\n    public java.util.Set<Class<?>> getModules() {\n");
+        sb.append("        java.util.Set<Class<?>> modules = new java.util.HashSet<>();\n");
+        for (String module : moduleNames) {
+            sb.append("        modules.add(").append(classReference(module)).append(");\n");
+        }
+        sb.append("        return modules;\n    }\n");
+
+        // Dispatch to one method per module, so that only the classes for the modules that are enabled are loaded.
+        sb.append("\n    @Override\n    public java.util.Map<String, java.util.List<").append(ENTRY).append("<?>>> getEntries(String module) {\n");
+        sb.append("        switch (module) {\n");
+        for (int i = 0; i < moduleNames.size(); i++) {
+            sb.append("            case ").append(literal(moduleNames.get(i))).append(":\n");
+            sb.append("                return module").append(i).append("();\n");
+        }
+        sb.append("            default:\n                return new java.util.HashMap<>();\n        }\n    }\n");
+
+        for (int i = 0; i < moduleNames.size(); i++) {
+            sb.append("\n    private static java.util.Map<String, java.util.List<").append(ENTRY).append("<?>>> module").append(i).append("() {\n");
+            sb.append("        java.util.Map<String, java.util.List<").append(ENTRY).append("<?>>> entries = new java.util.HashMap<>();\n");
+            sb.append("        java.util.List<").append(ENTRY).append("<?>> list;\n");
+            for (Map.Entry<String, List<String>> type : modules.get(moduleNames.get(i)).entrySet()) {
+                sb.append("        list = new java.util.ArrayList<>();\n");
+                for (String cl : type.getValue().stream().sorted().collect(Collectors.toList())) {
+                    sb.append("        list.add(").append(entry(cl)).append(");\n");
+                }
+                sb.append("        entries.put(").append(literal(type.getKey())).append(", list);\n");
+            }
+            sb.append("        return entries;\n    }\n");
+        }
+
+        sb.append("\n    private static Class<?> forName(String name) {\n");
+        sb.append("        try {\n            return Class.forName(name, false, ").append(CLASS_NAME).append(".class.getClassLoader());\n");
+        sb.append("        } catch (ClassNotFoundException e) {\n            throw new RuntimeException(e);\n        }\n    }\n");
+        sb.append("}\n");
+
+        JavaFileObject fo = this.processingEnv.getFiler().createSourceFile(PACKAGE + "." + CLASS_NAME);
+        try (Writer w = fo.openWriter()) {
+            w.write(sb.toString());
+        }
+    }
+
+    private String entry(String binaryName) {
+        TypeElement element = getElement(binaryName);
+        if (element == null) {
+            return "new " + ENTRY + "(" + classReference(binaryName) + ", null, null, false)";
+        }
+
+        String constructor = hasSimpleConstructor(element) ? element.getQualifiedName() + "::new" : "null";
+        String platforms = getPlatforms(element);
+        return "new " + ENTRY + "(" + classReference(binaryName) + ", " + constructor + ", " + platforms + ", " + isRootCommand(element) + ")";
+    }
+
+    private String classReference(String binaryName) {
+        TypeElement element = getElement(binaryName);
+        if (element != null && isAccessible(element)) {
+            return element.getQualifiedName() + ".class";
+        }
+
+        return "forName(" + literal(binaryName) + ")";
+    }
+
+    @Nullable
+    private TypeElement getElement(String binaryName) {
+        return this.processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+    }
+
+    private static boolean isAccessible(TypeElement element) {
+        Element e = element;
+        while (e instanceof TypeElement) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+
+            e = e.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private boolean hasSimpleConstructor(TypeElement element) {
+        if (!isAccessible(element) || !element.getTypeParameters().isEmpty() || element.getModifiers().contains(Modifier.ABSTRACT)
+                || (element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+
+        if (getAnnotation(element, REQUIRE_EXISTENCE_OF) != null || getAnnotation(element, REQUIRE_EXISTENCE_OF_HOLDER) != null
+                || getAnnotation(element, SKIP_ON_ERROR) != null) {
+            return false;
+        }
+
+        boolean hasConstructor = false;
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.CONSTRUCTOR) {
+                hasConstructor = true;
+                if (((ExecutableElement) enclosed).getParameters().isEmpty() && enclosed.getModifiers().contains(Modifier.PUBLIC)) {
+                    return true;
+                }
+            }
+        }
+
+        // A public class with no constructors has a public default constructor.
+        return !hasConstructor;
+    }
+
+    private String getPlatforms(TypeElement element) {
+        AnnotationMirror mirror = getAnnotation(element, REQUIRES_PLATFORM);
+        if (mirror == null) {
+            return "null";
+        }
+
+        Object value = getValue(mirror, "value");
+        if (!(value instanceof List)) {
+            return "null";
+        }
+
+        return "new String[] { " + ((List<?>) value).stream()
+                .map(x -> literal(String.valueOf(((AnnotationValue) x).getValue())))
+                .collect(Collectors.joining(", ")) + " }";
+    }
+
+    private boolean isRootCommand(TypeElement element) {
+        AnnotationMirror mirror = getAnnotation(element, REGISTER_COMMAND);
+        if (mirror == null) {
+            return false;
+        }
+
+        Object value = getValue(mirror, "subcommandOf");
+        return value instanceof TypeMirror
+                && this.processingEnv.getTypeUtils().erasure((TypeMirror) value).toString().equals(ABSTRACT_COMMAND);
+    }
+
+    /**
+     * Gets an annotation on the element, including those inherited from superclasses, as {@code Class#getAnnotation}
+     * would.
+     */
+    @Nullable
+    private AnnotationMirror getAnnotation(TypeElement element, String annotation) {
+        for (AnnotationMirror mirror : this.processingEnv.getElementUtils().getAllAnnotationMirrors(element)) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private Object getValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,317 @@
+package io.github.nucleuspowered.nucleus.annotationprocessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a codec for each concrete data module, so that the fields marked with {@code @DataKey} can be loaded
+ * and saved without reflection.
+ *
+ * <p>A codec is not generated (and the module falls back to reflection) if any key field is private, or if the module
+ * overrides any of the methods that control how its fields are loaded or saved.</p>
+ */
+class DataModuleCodecGenerator {
+
+    static final String DATA_KEY = "io.github.nucleuspowered.nucleus.dataservices.modular.DataKey";
+    static final String CODEC_SUFFIX = "_DataCodec";
+
+    private static final String DATA_MODULE = "io.github.nucleuspowered.nucleus.dataservices.modular.DataModule";
+    private static final String CODEC = "io.github.nucleuspowered.nucleus.dataservices.modular.DataModuleCodec";
+    private static final String SERVICE = "io.github.nucleuspowered.nucleus.dataservices.modular.ModularDataService";
+    private static final String NODE = "ninja.leaping.configurate.ConfigurationNode";
+    private static final String TYPE_TOKEN = "com.google.common.reflect.TypeToken";
+
+    private final ProcessingEnvironment processingEnv;
+
+    DataModuleCodecGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    void process(RoundEnvironment roundEnv) {
+        TypeElement dataKey = this.processingEnv.getElementUtils().getTypeElement(DATA_KEY);
+        if (dataKey == null) {
+            return;
+        }
+
+        Set<TypeElement> modules = roundEnv.getElementsAnnotatedWith(dataKey).stream()
+                .filter(x -> x.getKind() == ElementKind.FIELD)
+                .map(x -> (TypeElement) x.getEnclosingElement())
+                .collect(Collectors.toSet());
+
+        for (TypeElement module : modules) {
+            if (canGenerate(module)) {
+                try {
+                    generate(module);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Could not generate a data codec: " + e.getMessage(), module);
+                }
+            }
+        }
+    }
+
+    private boolean canGenerate(TypeElement module) {
+        if (module.getModifiers().contains(Modifier.ABSTRACT) || module.getNestingKind() != NestingKind.TOP_LEVEL
+                || !isDataModule(module)) {
+            return false;
+        }
+
+        for (Element element : module.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.METHOD) {
+                String name = element.getSimpleName().toString();
+                if (name.equals("loadFrom") || name.equals("saveTo") || name.equals("getValue") || name.equals("saveNode")) {
+                    note(module, "overrides " + name);
+                    return false;
+                }
+            } else if (element.getKind() == ElementKind.FIELD && getDataKey(element) != null
+                    && element.getModifiers().contains(Modifier.PRIVATE)) {
+                note(module, "the key field " + element.getSimpleName() + " is private");
+                return false;
+            }
+        }
+
+        return getConstructor(module) != null;
+    }
+
+    private void note(TypeElement module, String reason) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "Not generating a data codec for " + module.getQualifiedName() + " as " + reason + ", it will use reflection.");
+    }
+
+    private boolean isDataModule(TypeElement element) {
+        TypeMirror superclass = element.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement s = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (s.getQualifiedName().contentEquals(DATA_MODULE)) {
+                return true;
+            }
+
+            superclass = s.getSuperclass();
+        }
+
+        return false;
+    }
+
+    @Nullable
+    private ExecutableElement getConstructor(TypeElement module) {
+        ExecutableElement single = null;
+        for (Element element : module.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.CONSTRUCTOR && !element.getModifiers().contains(Modifier.PRIVATE)) {
+                ExecutableElement constructor = (ExecutableElement) element;
+                if (constructor.getParameters().isEmpty()) {
+                    return constructor;
+                } else if (constructor.getParameters().size() == 1) {
+                    single = constructor;
+                }
+            }
+        }
+
+        return single;
+    }
+
+    @Nullable
+    private static String getDataKey(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(DATA_KEY)) {
+                for (ExecutableElement key : mirror.getElementValues().keySet()) {
+                    if (key.getSimpleName().contentEquals("value")) {
+                        AnnotationValue value = mirror.getElementValues().get(key);
+                        return (String) value.getValue();
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void generate(TypeElement module) throws IOException {
+        PackageElement pe = this.processingEnv.getElementUtils().getPackageOf(module);
+        String pkg = pe.getQualifiedName().toString();
+        String moduleName = module.getQualifiedName().toString();
+        String codecName = module.getSimpleName() + CODEC_SUFFIX;
+        List<VariableElement> fields = module.getEnclosedElements().stream()
+                .filter(x -> x.getKind() == ElementKind.FIELD && getDataKey(x) != null)
+                .map(x -> (VariableElement) x)
+                .collect(Collectors.toList());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("// Generated by the Nucleus annotation processor from ").append(moduleName).append(". Do not edit.\n");
+        sb.append("package ").append(pkg).append(";\n\n");
+        sb.append("public final class ").append(codecName).append(" implements ").append(CODEC).append("<").append(moduleName).append("> {\n\n");
+
+        // Type tokens
+        for (int i = 0; i < fields.size(); i++) {
+            TypeMirror type = fields.get(i).asType();
+            if (primitiveGetter(type.getKind()) == null) {
+                // Primitives that the node has no getter for, such as short, are loaded as their boxed type.
+                type = boxIfPrimitive(type);
+                String source = toSource(type);
+                sb.append("    private static final ").append(TYPE_TOKEN).append("<").append(source).append("> TYPE_").append(i).append(" = ");
+                if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+                    sb.append("new ").append(TYPE_TOKEN).append("<").append(source).append(">() {};\n");
+                } else {
+                    sb.append(TYPE_TOKEN).append(".of(").append(source).append(".class);\n");
+                }
+            }
+        }
+
+        // Constructor
+        ExecutableElement constructor = getConstructor(module);
+        sb.append("\n    @Override\n    public ").append(moduleName).append(" create(").append(SERVICE).append("<?> service) {\n");
+        if (constructor.getParameters().isEmpty()) {
+            sb.append("        return new ").append(moduleName).append("();\n");
+        } else {
+            String param = toSource(this.processingEnv.getTypeUtils().erasure(constructor.getParameters().get(0).asType()));
+            sb.append("        return new ").append(moduleName).append("((").append(param).append(") service);\n");
+        }
+        sb.append("    }\n");
+
+        // Load
+        sb.append("\n    @Override\n    public void load(").append(moduleName).append(" module, ").append(NODE).append(" node) {\n");
+        sb.append("        ").append(NODE).append(" n;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String name = field.getSimpleName().toString();
+            String key = getDataKey(field);
+            TypeMirror type = field.asType();
+            sb.append("        try {\n");
+            sb.append("            n = node.getNode(").append(literal(key)).append(");\n");
+            String getter = primitiveGetter(type.getKind());
+            if (getter != null) {
+                sb.append("            if (n.getValue() != null) {\n");
+                sb.append("                module.").append(name).append(" = n.").append(getter).append("(module.").append(name).append(");\n");
+                sb.append("            }\n");
+            } else {
+                sb.append("            ").append(toSource(boxIfPrimitive(type))).append(" value = n.getValue(TYPE_").append(i).append(");\n");
+                sb.append("            if (value != null) {\n");
+                sb.append("                module.").append(name).append(" = value;\n");
+                sb.append("            }\n");
+            }
+            sb.append("        } catch (Exception e) {\n");
+            sb.append("            ").append(CODEC).append(".onLoadError(module, ").append(literal(name)).append(", ").append(literal(key))
+                    .append(", e);\n");
+            sb.append("        }\n");
+        }
+        sb.append("    }\n");
+
+        // Save
+        sb.append("\n    @Override\n    public void save(").append(moduleName).append(" module, ").append(NODE).append(" node) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String name = field.getSimpleName().toString();
+            String key = getDataKey(field);
+            TypeMirror type = field.asType();
+            sb.append("        try {\n");
+            if (type.getKind().isPrimitive()) {
+                sb.append("            node.getNode(").append(literal(key)).append(").setValue(module.").append(name).append(");\n");
+            } else {
+                sb.append("            if (module.").append(name).append(" == null) {\n");
+                sb.append("                node.getNode(").append(literal(key)).append(").setValue(null);\n");
+                sb.append("            } else {\n");
+                sb.append("                node.getNode(").append(literal(key)).append(").setValue(TYPE_").append(i).append(", module.")
+                        .append(name).append(");\n");
+                sb.append("            }\n");
+            }
+            sb.append("        } catch (Exception e) {\n");
+            sb.append("            ").append(CODEC).append(".onSaveError(module, ").append(literal(name)).append(", e);\n");
+            sb.append("        }\n");
+        }
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        JavaFileObject fo = this.processingEnv.getFiler().createSourceFile(pkg + "." + codecName, module);
+        try (Writer w = fo.openWriter()) {
+            w.write(sb.toString());
+        }
+    }
+
+    @Nullable
+    private static String primitiveGetter(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "getBoolean";
+            case INT:
+                return "getInt";
+            case LONG:
+                return "getLong";
+            case DOUBLE:
+                return "getDouble";
+            case FLOAT:
+                return "getFloat";
+            default:
+                return null;
+        }
+    }
+
+    private TypeMirror boxIfPrimitive(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType();
+        }
+
+        return type;
+    }
+
+    /**
+     * Gets the source representation of a type, without any type annotations.
+     */
+    private String toSource(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED:
+                DeclaredType dt = (DeclaredType) type;
+                String name = ((TypeElement) dt.asElement()).getQualifiedName().toString();
+                if (dt.getTypeArguments().isEmpty()) {
+                    return name;
+                }
+
+                return name + "<" + dt.getTypeArguments().stream().map(this::toSource).collect(Collectors.joining(", ")) + ">";
+            case ARRAY:
+                return toSource(((ArrayType) type).getComponentType()) + "[]";
+            case WILDCARD:
+                WildcardType wt = (WildcardType) type;
+                if (wt.getExtendsBound() != null) {
+                    return "? extends " + toSource(wt.getExtendsBound());
+                } else if (wt.getSuperBound() != null) {
+                    return "? super " + toSource(wt.getSuperBound());
+                }
+
+                return "?";
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return type.getKind().name().toLowerCase(Locale.ENGLISH);
+                }
+
+                return this.processingEnv.getTypeUtils().erasure(type).toString();
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
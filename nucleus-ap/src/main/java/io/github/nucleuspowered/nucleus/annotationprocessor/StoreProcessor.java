@@ -30,16 +30,22 @@ import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.AbstractElementVisitor8;
+import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
-@SupportedAnnotationTypes("io.github.nucleuspowered.nucleus.annotationprocessor.Store")
+@SupportedAnnotationTypes({
+        "io.github.nucleuspowered.nucleus.annotationprocessor.Store",
+        DataModuleCodecGenerator.DATA_KEY
+})
 public class StoreProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        new DataModuleCodecGenerator(this.processingEnv).process(roundEnv);
+
         Map<Element, String> classes = new HashMap<>();
         Map<TypeMirror, String> store = new HashMap<>();
 
@@ -101,6 +107,14 @@ public class StoreProcessor extends AbstractProcessor {
             } catch (IOException e) {
                 e.printStackTrace();
             }
+
+            // ...and the typed version of it.
+            try {
+                new BootstrapIndexGenerator(this.processingEnv).generate(result);
+            } catch (IOException e) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Could not generate the bootstrap index, classes.json will be used: " + e.getMessage());
+            }
         }
 
         return false;
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.modules.afk.services.ActivityTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the cost of recording activity and of the once a second AFK tick between the {@link ActivityTracker} and
+ * the set-and-scan approach that the AFK handler used before it.
+ *
+ * <p>Each tick, a tenth of the players have done something - the rest are idle, but none are due to go AFK.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AFKTrackerBenchmark {
+
+    private static final long TIME_TO_AFK = 300_000L;
+    private static final long TIME_TO_KICK = 600_000L;
+
+    @Param({"200", "500", "1000"})
+    public int players;
+
+    private List<UUID> uuids;
+    private ActivityTracker tracker;
+    private Legacy legacy;
+    private long now;
+    private int next;
+
+    private final ActivityTracker.Listener listener = new ActivityTracker.Listener() {
+
+        @Override public void updateThresholds(ActivityTracker.Entry entry) {
+            entry.setThresholds(TIME_TO_AFK, TIME_TO_KICK);
+        }
+
+        @Override public void onAfk(ActivityTracker.Entry entry) {
+            entry.markAfk(System.currentTimeMillis());
+        }
+
+        @Override public void onKick(ActivityTracker.Entry entry) {
+        }
+
+        @Override public void onReturn(ActivityTracker.Entry entry) {
+            entry.markActive();
+        }
+    };
+
+    @Setup
+    public void setup() {
+        this.uuids = IntStream.range(0, this.players).mapToObj(x -> UUID.randomUUID()).collect(Collectors.toList());
+        this.now = System.currentTimeMillis();
+        this.tracker = new ActivityTracker();
+        this.legacy = new Legacy();
+        for (UUID uuid : this.uuids) {
+            this.tracker.recordActivity(uuid, this.now);
+            this.legacy.recordActivity(uuid);
+        }
+
+        this.tracker.tick(this.now, this.listener);
+        this.legacy.tick(this.now, this.uuids);
+    }
+
+    @Benchmark
+    public void recordActivityTracker() {
+        this.tracker.recordActivity(nextPlayer(), this.now);
+    }
+
+    @Benchmark
+    public void recordActivityLegacy() {
+        this.legacy.recordActivity(nextPlayer());
+    }
+
+    @Benchmark
+    public void tickTracker() {
+        for (int i = 0; i < this.players / 10; i++) {
+            this.tracker.recordActivity(nextPlayer(), this.now);
+        }
+
+        this.tracker.tick(this.now, this.listener);
+    }
+
+    @Benchmark
+    public void tickLegacy() {
+        for (int i = 0; i < this.players / 10; i++) {
+            this.legacy.recordActivity(nextPlayer());
+        }
+
+        this.legacy.tick(this.now, this.uuids);
+    }
+
+    private UUID nextPlayer() {
+        this.next = (this.next + 1) % this.players;
+        return this.uuids.get(this.next);
+    }
+
+    /**
+     * The shape of the tick that the AFK handler used before the tracker: activity is staged in a locked set, and
+     * every tick scans the online player list and every player's data.
+     */
+    private static class Legacy {
+
+        private final Map<UUID, Data> data = Maps.newConcurrentMap();
+        private final Set<UUID> activity = Sets.newHashSet();
+        private final Object lock = new Object();
+
+        private void recordActivity(UUID uuid) {
+            synchronized (this.lock) {
+                this.activity.add(uuid);
+            }
+        }
+
+        private void tick(long now, List<UUID> online) {
+            synchronized (this.lock) {
+                this.activity.forEach(u -> this.data.compute(u, (uuid, d) -> {
+                    Data r = d == null ? new Data() : d;
+                    r.lastActivity = now;
+                    r.afk = false;
+                    r.willKick = false;
+                    return r;
+                }));
+                this.activity.clear();
+            }
+
+            Set<Map.Entry<UUID, Data>> entries = this.data.entrySet();
+            entries.removeIf(x -> !online.contains(x.getKey()));
+            entries.stream().filter(x -> x.getValue().afk && !x.getValue().willKick && now - x.getValue().lastActivity > TIME_TO_KICK)
+                    .forEach(x -> x.getValue().willKick = true);
+            entries.stream().filter(x -> !x.getValue().afk && now - x.getValue().lastActivity > TIME_TO_AFK)
+                    .forEach(x -> x.getValue().afk = true);
+        }
+    }
+
+    private static class Data {
+
+        private long lastActivity;
+        private boolean afk;
+        private boolean willKick;
+    }
+}
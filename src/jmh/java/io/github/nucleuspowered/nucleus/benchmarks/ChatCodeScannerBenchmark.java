@@ -0,0 +1,79 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCodeScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many chat messages per second a single core can strip of disallowed formatting codes, comparing
+ * {@link ChatCodeScanner} with the chain of regular expressions that the chat listener used before it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class ChatCodeScannerBenchmark {
+
+    @Param({
+            "hello everyone, how is it going today?",
+            "&aHello &lthere&r, check out &9&nexample.com&r for &kmore",
+            "&&c&&&lLots &&&&of &oformatting &mcodes &0&1&2&3&4&5&6&7&8&9"
+    })
+    public String message;
+
+    // Colours only - no styles or magic.
+    private final long allowed = ChatCodeScanner.bitFor('0') | ChatCodeScanner.bitFor('1') | ChatCodeScanner.bitFor('2')
+            | ChatCodeScanner.bitFor('3') | ChatCodeScanner.bitFor('4') | ChatCodeScanner.bitFor('5') | ChatCodeScanner.bitFor('6')
+            | ChatCodeScanner.bitFor('7') | ChatCodeScanner.bitFor('8') | ChatCodeScanner.bitFor('9') | ChatCodeScanner.bitFor('a')
+            | ChatCodeScanner.bitFor('b') | ChatCodeScanner.bitFor('c') | ChatCodeScanner.bitFor('d') | ChatCodeScanner.bitFor('e')
+            | ChatCodeScanner.bitFor('f');
+
+    private String[] disallowedCodes;
+
+    @Setup
+    public void setup() {
+        this.disallowedCodes = ChatCodeScanner.CODES.chars()
+                .filter(x -> (this.allowed & ChatCodeScanner.bitFor((char) x)) == 0)
+                .mapToObj(x -> String.valueOf((char) x))
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public String scanner() {
+        return ChatCodeScanner.strip(this.message, this.allowed, true);
+    }
+
+    @Benchmark
+    public String regex() {
+        String m = this.message.replaceAll("&9&n([A-Za-z0-9-.]+)(&r)?", "$1");
+        if (m.contains("&")) {
+            String lower = m.toLowerCase();
+            for (String code : this.disallowedCodes) {
+                if (lower.contains("&" + code)) {
+                    m = m.replaceAll("[&]+[" + code + code.toUpperCase() + "]", "");
+                }
+            }
+        }
+
+        return m;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
+import io.github.nucleuspowered.nucleus.modules.kit.datamodules.KitUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.kit.datamodules.KitUserDataModule_DataCodec;
+import io.github.nucleuspowered.nucleus.modules.world.datamodules.WorldgenWorldDataModule;
+import io.github.nucleuspowered.nucleus.modules.world.datamodules.WorldgenWorldDataModule_DataCodec;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares loading and saving data modules through the generated codecs against the reflective path that was used
+ * before the codecs existed (which is still used for modules that cannot have a codec generated).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataModuleCodecBenchmark {
+
+    private final WorldgenWorldDataModule_DataCodec worldgenCodec = new WorldgenWorldDataModule_DataCodec();
+    private final KitUserDataModule_DataCodec kitCodec = new KitUserDataModule_DataCodec();
+    private final Reflective worldgenReflective = new Reflective(WorldgenWorldDataModule.class);
+    private final Reflective kitReflective = new Reflective(KitUserDataModule.class);
+
+    private ConfigurationNode worldgenNode;
+    private ConfigurationNode kitNode;
+    private WorldgenWorldDataModule worldgen;
+    private KitUserDataModule kit;
+
+    @Setup
+    public void setup() {
+        this.worldgen = new WorldgenWorldDataModule().setStart(true).setSaveTime(40).setTickPercent(50).setTickFreq(2).setAggressive(true);
+        this.kit = new KitUserDataModule();
+        for (int i = 0; i < 20; i++) {
+            this.kit.addKitLastUsedTime("kit" + i, Instant.ofEpochSecond(1500000000L + i));
+        }
+
+        this.worldgenNode = SimpleConfigurationNode.root();
+        this.worldgenCodec.save(this.worldgen, this.worldgenNode);
+        this.kitNode = SimpleConfigurationNode.root();
+        this.kitCodec.save(this.kit, this.kitNode);
+    }
+
+    @Benchmark
+    public Object loadWorldgenCodec() {
+        WorldgenWorldDataModule module = new WorldgenWorldDataModule();
+        this.worldgenCodec.load(module, this.worldgenNode);
+        return module;
+    }
+
+    @Benchmark
+    public Object loadWorldgenReflective() throws Exception {
+        WorldgenWorldDataModule module = new WorldgenWorldDataModule();
+        this.worldgenReflective.load(module, this.worldgenNode);
+        return module;
+    }
+
+    @Benchmark
+    public Object saveWorldgenCodec() {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        this.worldgenCodec.save(this.worldgen, node);
+        return node;
+    }
+
+    @Benchmark
+    public Object saveWorldgenReflective() throws Exception {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        this.worldgenReflective.save(this.worldgen, node);
+        return node;
+    }
+
+    @Benchmark
+    public Object loadKitCodec() {
+        KitUserDataModule module = new KitUserDataModule();
+        this.kitCodec.load(module, this.kitNode);
+        return module;
+    }
+
+    @Benchmark
+    public Object loadKitReflective() throws Exception {
+        KitUserDataModule module = new KitUserDataModule();
+        this.kitReflective.load(module, this.kitNode);
+        return module;
+    }
+
+    @Benchmark
+    public Object saveKitCodec() {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        this.kitCodec.save(this.kit, node);
+        return node;
+    }
+
+    @Benchmark
+    public Object saveKitReflective() throws Exception {
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        this.kitReflective.save(this.kit, node);
+        return node;
+    }
+
+    /**
+     * The reflective field access that DataModule falls back to when there is no codec.
+     */
+    private static class Reflective {
+
+        private final List<Field> fields;
+        private final Map<Field, TypeToken<?>> tokens = Maps.newHashMap();
+        private final Map<Field, String> paths = Maps.newHashMap();
+
+        private Reflective(Class<?> clazz) {
+            this.fields = Arrays.stream(clazz.getDeclaredFields())
+                    .filter(x -> x.isAnnotationPresent(DataKey.class))
+                    .collect(Collectors.toList());
+            this.fields.forEach(x -> {
+                x.setAccessible(true);
+                this.tokens.put(x, TypeToken.of(x.getGenericType()));
+                this.paths.put(x, x.getAnnotation(DataKey.class).value());
+            });
+        }
+
+        private void load(Object module, ConfigurationNode node) throws Exception {
+            for (Field field : this.fields) {
+                Object value = node.getNode(this.paths.get(field)).getValue(this.tokens.get(field));
+                if (value != null) {
+                    field.set(module, value);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void save(Object module, ConfigurationNode node) throws Exception {
+            for (Field field : this.fields) {
+                saveNode((TypeToken<Object>) this.tokens.get(field), field.get(module), node.getNode(this.paths.get(field)));
+            }
+        }
+
+        private static <T> void saveNode(TypeToken<T> token, T value, ConfigurationNode node) throws ObjectMappingException {
+            if (value == null) {
+                node.setValue(null);
+            } else {
+                node.setValue(token, value);
+            }
+        }
+    }
+}
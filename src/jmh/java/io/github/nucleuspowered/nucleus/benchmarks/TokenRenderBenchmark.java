@@ -0,0 +1,194 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
+import io.github.nucleuspowered.nucleus.internal.text.CompiledToken;
+import io.github.nucleuspowered.nucleus.internal.text.Tokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.util.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compares resolving every built-in token, as they would appear in a template, using {@link CompiledToken}s against
+ * parsing the token string on every render as the token service used to.
+ *
+ * <p>The built-in translators need a running server, so each token name is backed by a translator that returns a
+ * fixed {@link Text}. This measures what it costs to get from a token to its translator, which is the part that
+ * compiling the token removes.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRenderBenchmark {
+
+    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
+
+    // None of the translators look at the source.
+    @Nullable private final CommandSource source = null;
+    private final Map<String, Object> variables = Maps.newHashMap();
+
+    private StubTokenService service;
+    private String[] tokens;
+    private CompiledToken[] compiled;
+
+    @Setup
+    public void setup() {
+        this.service = new StubTokenService();
+        List<String> t = ImmutableList.copyOf(Tokens.INSTANCE.getTokenNames());
+        this.tokens = new String[t.size() * 3];
+        for (int i = 0; i < t.size(); i++) {
+            this.tokens[i * 3] = t.get(i);
+            this.tokens[i * 3 + 1] = t.get(i).toUpperCase() + ":s";
+            this.tokens[i * 3 + 2] = t.get(i) + "|target:sp";
+        }
+
+        this.compiled = new CompiledToken[this.tokens.length];
+        for (int i = 0; i < this.tokens.length; i++) {
+            this.compiled[i] = CompiledToken.compile(this.service, this.tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        for (CompiledToken token : this.compiled) {
+            blackhole.consume(token.apply(this.source, this.variables));
+        }
+    }
+
+    @Benchmark
+    public void parsedEveryTime(Blackhole blackhole) {
+        for (String token : this.tokens) {
+            blackhole.consume(this.service.parseToken(token, this.source, this.variables));
+        }
+    }
+
+    /**
+     * Holds the primary tokens in the same way as the Nucleus token service, and parses tokens as it used to.
+     */
+    private static class StubTokenService implements NucleusMessageTokenService {
+
+        private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
+        private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
+
+        private StubTokenService() {
+            Map<String, Tokens.Translator> translators = Maps.newHashMap();
+            for (String name : Tokens.INSTANCE.getTokenNames()) {
+                Optional<Text> result = Optional.of(Text.of(name));
+                translators.put(name.toLowerCase(), (p, v, m) -> result);
+            }
+
+            // As Tokens#parse used to.
+            TokenParser parser = (tokenInput, source, variables) -> {
+                String[] split = tokenInput.split("\\|", 2);
+                String var = "";
+                if (split.length == 2) {
+                    var = split[1];
+                }
+
+                return translators.getOrDefault(split[0].toLowerCase(), (p, v, m) -> Optional.empty()).get(source, var, variables);
+            };
+
+            this.tokenStore.put("nucleus", parser);
+            translators.keySet().forEach(x -> this.primaryTokenStore.put(x, Tuple.of(parser, x)));
+        }
+
+        @Override public void register(PluginContainer pluginContainer, TokenParser parser) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public boolean unregister(PluginContainer pluginContainer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public boolean registerPrimaryToken(String primaryIdentifier, PluginContainer registeringPlugin, String identiferToMapTo) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public Optional<TokenParser> getTokenParser(String plugin) {
+            return Optional.ofNullable(this.tokenStore.get(plugin.toLowerCase()));
+        }
+
+        @Override public Optional<Tuple<TokenParser, String>> getPrimaryTokenParserAndIdentifier(String primaryToken) {
+            return Optional.ofNullable(this.primaryTokenStore.get(primaryToken.toLowerCase()));
+        }
+
+        @Override public List<String> getPrimaryTokens() {
+            return ImmutableList.copyOf(this.primaryTokenStore.keySet());
+        }
+
+        @Override public Optional<Text> parseToken(String token, CommandSource source, @Nullable Map<String, Object> variables) {
+            token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+            Matcher m = suffixPattern.matcher(token);
+            boolean addSpace = false;
+            boolean prependSpace = false;
+            if (m.find(0)) {
+                String match = m.group(1).toLowerCase();
+                addSpace = match.contains("s");
+                prependSpace = match.contains("p");
+
+                token = token.replaceAll(":[sp]+$", "");
+            }
+
+            Optional<Text> toReturn;
+            if (token.startsWith("pl:") || token.startsWith("p:")) {
+                String[] tokSplit = token.split(":", 3);
+                if (tokSplit.length < 3) {
+                    return Optional.empty();
+                }
+
+                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
+            } else {
+                toReturn = applyPrimaryToken(token, source, variables);
+            }
+
+            if (addSpace) {
+                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
+            }
+
+            if (prependSpace) {
+                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
+            }
+
+            return toReturn;
+        }
+
+        @Override public boolean registerTokenFormat(String tokenStart, String tokenEnd, String replacement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public NucleusTextTemplate createFromString(String string) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LogStructuredDataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LogStructuredDataStore;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SimpleConfigurateDataProvider;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading and saving a user from the one file per user JSON layout and the log structured store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDataStoreBenchmark {
+
+    @Param({"1000", "20000"})
+    public int users;
+
+    private Path directory;
+    private UUID[] uuids;
+    private ConfigurationNode sample;
+    private LogStructuredDataStore store;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("nucleus-bench");
+        this.store = LogStructuredDataStore.open(this.directory.resolve("userdata.nucleusdb"));
+        this.sample = createSample();
+        this.uuids = new UUID[this.users];
+        for (int i = 0; i < this.users; i++) {
+            this.uuids[i] = UUID.randomUUID();
+            filePerUser(this.uuids[i]).save(this.sample);
+            logStore(this.uuids[i]).save(this.sample);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.store.close();
+        Files.walkFileTree(this.directory, new SimpleFileVisitor<Path>() {
+            @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public ConfigurationNode loadFilePerUser() throws Exception {
+        return filePerUser(randomUser()).load();
+    }
+
+    @Benchmark
+    public ConfigurationNode loadLogStore() throws Exception {
+        return logStore(randomUser()).load();
+    }
+
+    @Benchmark
+    public void saveFilePerUser() throws Exception {
+        filePerUser(randomUser()).save(this.sample);
+    }
+
+    @Benchmark
+    public void saveLogStore() throws Exception {
+        logStore(randomUser()).save(this.sample);
+    }
+
+    @Benchmark
+    public boolean existsFilePerUser() {
+        return filePerUser(randomUser()).has();
+    }
+
+    @Benchmark
+    public boolean existsLogStore() {
+        return logStore(randomUser()).has();
+    }
+
+    private UUID randomUser() {
+        return this.uuids[ThreadLocalRandom.current().nextInt(this.uuids.length)];
+    }
+
+    private DataProvider<ConfigurationNode> filePerUser(UUID uuid) {
+        String u = uuid.toString();
+        Path p = this.directory.resolve("userdata").resolve(u.substring(0, 2)).resolve(u + ".json");
+        try {
+            Files.createDirectories(p.getParent());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, NOPLogger.NOP_LOGGER);
+    }
+
+    private DataProvider<ConfigurationNode> logStore(UUID uuid) {
+        return new LogStructuredDataProvider(UserDataStoreBenchmark::getGsonBuilder, this.store, uuid);
+    }
+
+    private static GsonConfigurationLoader.Builder getGsonBuilder() {
+        GsonConfigurationLoader.Builder gsb = GsonConfigurationLoader.builder();
+        return gsb.setDefaultOptions(ConfigurateHelper.setOptions(gsb.getDefaultOptions()));
+    }
+
+    private static ConfigurationNode createSample() {
+        // Roughly the shape of a typical user file.
+        ConfigurationNode node = SimpleConfigurationNode.root();
+        node.getNode("version").setValue(2);
+        node.getNode("lastKnownName").setValue("SomePlayer");
+        node.getNode("lastIP").setValue("127.0.0.1");
+        node.getNode("firstJoin").setValue(1500000000000L);
+        node.getNode("lastLogin").setValue(1500000000000L);
+        node.getNode("user-prefs", "nucleus:social-spy").setValue(true);
+        node.getNode("user-prefs", "nucleus:teleport-targetable").setValue(true);
+        for (int i = 0; i < 5; i++) {
+            ConfigurationNode home = node.getNode("homes", "home" + i);
+            home.getNode("world").setValue(UUID.randomUUID().toString());
+            home.getNode("x").setValue(i * 100.5);
+            home.getNode("y").setValue(64.0);
+            home.getNode("z").setValue(i * -100.5);
+            home.getNode("rotx").setValue(0.0);
+            home.getNode("roty").setValue(90.0);
+            home.getNode("rotz").setValue(0.0);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            node.getNode("mail").getAppendedNode().getNode("message").setValue("This is mail message number " + i);
+        }
+
+        return node;
+    }
+}
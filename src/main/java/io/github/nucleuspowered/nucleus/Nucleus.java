@@ -9,6 +9,7 @@ import io.github.nucleuspowered.nucleus.config.CommandsConfig;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
@@ -69,6 +70,8 @@ public abstract class Nucleus {
 
     public abstract UserCacheService getUserCacheService();
 
+    public abstract ProfileDirectoryService getProfileDirectoryService();
+
     public abstract void saveSystemConfig() throws IOException;
 
     public abstract boolean reload();
@@ -26,6 +26,7 @@ import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
@@ -37,6 +38,7 @@ import io.github.nucleuspowered.nucleus.internal.EconHelper;
 import io.github.nucleuspowered.nucleus.internal.InternalServiceManager;
 import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.PreloadTasks;
+import io.github.nucleuspowered.nucleus.internal.StartupTimings;
 import io.github.nucleuspowered.nucleus.internal.TextFileController;
 import io.github.nucleuspowered.nucleus.internal.client.ClientMessageReciever;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
@@ -46,6 +48,7 @@ import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionResolverImpl;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
+import io.github.nucleuspowered.nucleus.internal.qsml.BootstrapIndex;
 import io.github.nucleuspowered.nucleus.internal.qsml.ModuleRegistrationProxyService;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusLoggerProxy;
@@ -63,6 +66,7 @@ import io.github.nucleuspowered.nucleus.logging.DebugLogger;
 import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.config.DataCacheConfig;
 import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import io.github.nucleuspowered.nucleus.modules.core.services.UUIDChangeService;
@@ -135,6 +139,7 @@ public class NucleusPlugin extends Nucleus {
     private ModularGeneralService generalService;
     private ItemDataService itemDataService;
     private UserCacheService userCacheService;
+    private ProfileDirectoryService profileDirectoryService;
     private UserDataManager userDataManager;
     private WorldDataManager worldDataManager;
     private NameBanService nameBanService;
@@ -159,6 +164,7 @@ public class NucleusPlugin extends Nucleus {
     private final PermissionRegistry permissionRegistry = new PermissionRegistry();
 
     private DiscoveryModuleContainer moduleContainer;
+    @Nullable private QuickStartModuleConstructor moduleConstructor;
 
     private final Map<String, TextFileController> textFileControllers = Maps.newHashMap();
 
@@ -166,6 +172,8 @@ public class NucleusPlugin extends Nucleus {
     private final Path configDir;
     private final Supplier<Path> dataDir;
     @Nullable private Path dataFileLocation = null;
+    private DataProviders.UserStoreType userStoreType = DataProviders.UserStoreType.JSON;
+    private DataProviders dataProviders;
     private Path currentDataDir;
     private boolean isServer = false;
     private WarmupConfig warmupConfig;
@@ -244,6 +252,7 @@ public class NucleusPlugin extends Nucleus {
 
     @Listener(order = Order.FIRST)
     public void onPreInit(GamePreInitializationEvent preInitializationEvent) {
+        long start = System.nanoTime();
         // Setup object mapper.
         MessageReceiver s;
         if (Sponge.getGame().isServerAvailable()) {
@@ -265,6 +274,8 @@ public class NucleusPlugin extends Nucleus {
             if (!location.equalsIgnoreCase("default")) {
                 this.dataFileLocation = Paths.get(location);
             }
+
+            this.userStoreType = DataProviders.UserStoreType.fromConfig(node.getNode("core", "user-data-store").getString("json"));
         } catch (IOException e) {
             // don't worry about it
         }
@@ -304,7 +315,8 @@ public class NucleusPlugin extends Nucleus {
             }
             this.commandsConfig = new CommandsConfig(Paths.get(this.configDir.toString(), "commands.conf"));
 
-            DataProviders d = new DataProviders(this);
+            DataProviders d = new DataProviders(this, this.userStoreType);
+            this.dataProviders = d;
             this.generalService = new ModularGeneralService(d.getGeneralDataProvider());
             this.itemDataService = new ItemDataService(d.getItemDataProvider());
             this.itemDataService.loadInternal();
@@ -313,6 +325,7 @@ public class NucleusPlugin extends Nucleus {
             this.kitService = new KitService(d.getKitsDataProvider());
             this.nameBanService = new NameBanService(d.getNameBanDataProvider());
             this.userCacheService = new UserCacheService(d.getUserCacheDataProvider());
+            this.profileDirectoryService = new ProfileDirectoryService(d.getProfileDirectoryDataProvider());
             this.warmupManager = new WarmupManager();
             this.textParsingUtils = new TextParsingUtils();
             registerReloadable(this.textParsingUtils);
@@ -346,9 +359,15 @@ public class NucleusPlugin extends Nucleus {
 
         try {
             final String he = this.messageProvider.getMessageWithFormat("config.main-header", PluginInfo.VERSION);
+            Optional<BootstrapIndex> bootstrapIndex = BootstrapIndex.load();
             Optional<Asset> optionalAsset = Sponge.getAssetManager().getAsset(Nucleus.getNucleus(), "classes.json");
             DiscoveryModuleContainer.Builder db = DiscoveryModuleContainer.builder();
-            if (optionalAsset.isPresent()) {
+            if (bootstrapIndex.isPresent()) {
+                // The module classes and everything they load are referenced directly, so nothing needs to be looked up by name.
+                Set<Class<?>> sc = bootstrapIndex.get().getModules();
+                this.moduleConstructor = new QuickStartModuleConstructor(bootstrapIndex.get(), System.getProperty("nucleusserialbootstrap") == null);
+                db.setStrategy((string, classloader) -> sc).setConstructor(this.moduleConstructor);
+            } else if (optionalAsset.isPresent()) {
                 Map<String, Map<String, List<String>>> m = new Gson().fromJson(
                         optionalAsset.get().readString(),
                         new TypeToken<Map<String, Map<String, List<String>>>>() {}.getType()
@@ -406,6 +425,7 @@ public class NucleusPlugin extends Nucleus {
                     .build();
 
             this.moduleContainer.startDiscover();
+            StartupTimings.INSTANCE.recordPhase("pre-init", start);
         } catch (Exception e) {
             this.isErrored = e;
             disable();
@@ -419,10 +439,12 @@ public class NucleusPlugin extends Nucleus {
             return;
         }
 
+        long start = System.nanoTime();
         this.logger.info(this.messageProvider.getMessageWithFormat("startup.init", PluginInfo.NAME));
 
         try {
             CatalogTypeFinalStaticProcessor.setEventContexts();
+            StartupTimings.INSTANCE.recordPhase("init", start);
         } catch (Exception e) {
             this.isErrored = e;
             disable();
@@ -436,6 +458,7 @@ public class NucleusPlugin extends Nucleus {
             return;
         }
 
+        long start = System.nanoTime();
         this.logger.info(this.messageProvider.getMessageWithFormat("startup.postinit", PluginInfo.NAME));
 
         // Load up the general data files now, mods should have registered items by now.
@@ -452,7 +475,12 @@ public class NucleusPlugin extends Nucleus {
         try {
             Sponge.getEventManager().post(new BaseModuleEvent.AboutToConstructEvent(this));
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.moduleloading", PluginInfo.NAME));
+            long modulesStart = System.nanoTime();
             this.moduleContainer.loadModules(true);
+            StartupTimings.INSTANCE.recordPhase("modules", modulesStart);
+            if (this.moduleConstructor != null) {
+                this.moduleConstructor.finish();
+            }
 
             CoreConfig coreConfig = this.moduleContainer.getConfigAdapterForModule(CoreModule.ID, CoreConfigAdapter.class).getNodeOrDefault();
 
@@ -463,6 +491,11 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            this.userDataManager.setWriteBehind(coreConfig.isWriteBehindSaving());
+            this.worldDataManager.setWriteBehind(coreConfig.isWriteBehindSaving());
+            DataCacheConfig dataCacheConfig = coreConfig.getDataCacheConfig();
+            this.userDataManager.setCacheLimits(dataCacheConfig.getMaxOfflineUsers(), dataCacheConfig.getOfflineUserExpiry());
+            this.worldDataManager.setCacheLimits(dataCacheConfig.getMaxUnloadedWorlds(), dataCacheConfig.getUnloadedWorldExpiry());
         } catch (Throwable construction) {
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.modulenotloaded", PluginInfo.NAME));
             construction.printStackTrace();
@@ -483,6 +516,7 @@ public class NucleusPlugin extends Nucleus {
         this.reloadPerm();
         Sponge.getEventManager().post(new BaseModuleEvent.Complete(this));
 
+        StartupTimings.INSTANCE.recordPhase("post-init", start);
         this.logger.info(this.messageProvider.getMessageWithFormat("startup.completeinit", PluginInfo.NAME));
     }
 
@@ -501,13 +535,19 @@ public class NucleusPlugin extends Nucleus {
     }
 
     private void allChange() throws Exception {
+        // Anything waiting to be saved belongs in the old location.
+        this.kitService.flush();
+        this.profileDirectoryService.flush();
         resetDataPath(true);
+        this.dataProviders.openUserDataStore();
         this.generalService.changeFile();
         this.kitService.changeFile();
         this.nameBanService.changeFile();
         this.userCacheService.changeFile();
+        this.profileDirectoryService.changeFile();
 
         this.userCacheService.load();
+        this.profileDirectoryService.load();
         this.nameBanService.load();
         this.generalService.loadInternal();
         this.kitService.loadInternal();
@@ -516,6 +556,7 @@ public class NucleusPlugin extends Nucleus {
     @Listener
     public void onGameStarting(GameStartingServerEvent event) {
         if (this.isErrored == null) {
+            long start = System.nanoTime();
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.gamestart", PluginInfo.NAME));
 
             // Load up the general data files now, mods should have registered items by now.
@@ -530,6 +571,8 @@ public class NucleusPlugin extends Nucleus {
 
             // Start the user cache walk if required, the user storage service is loaded at this point.
             Task.builder().async().execute(() -> this.userCacheService.startFilewalkIfNeeded()).submit(this);
+            Task.builder().async().execute(() -> this.profileDirectoryService.seedIfNeeded()).submit(this);
+            StartupTimings.INSTANCE.recordPhase("game-starting", start);
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.started", PluginInfo.NAME));
         }
     }
@@ -537,6 +580,7 @@ public class NucleusPlugin extends Nucleus {
     @Listener(order = Order.PRE)
     public void onGameStarted(GameStartedServerEvent event) {
         if (this.isErrored == null) {
+            long start = System.nanoTime();
             this.generalService.getTransient(UniqueUserCountTransientModule.class).resetUniqueUserCount();
             try {
                 getInternalServiceManager().getServiceUnchecked(UUIDChangeService.class).setStateAndReload();
@@ -554,6 +598,8 @@ public class NucleusPlugin extends Nucleus {
 
             this.hasStarted = true;
             Sponge.getScheduler().createSyncExecutor(this).submit(() -> this.gameStartedTime = Instant.now());
+            StartupTimings.INSTANCE.recordPhase("game-started", start);
+            logStartupTimings();
 
             if (this.getInternalServiceManager().getService(CoreConfigAdapter.class).get().getNodeOrDefault().isWarningOnStartup()) {
                 // What about perms and econ?
@@ -599,12 +645,30 @@ public class NucleusPlugin extends Nucleus {
         }
     }
 
+    private void logStartupTimings() {
+        StartupTimings timings = StartupTimings.INSTANCE;
+        this.logger.info(this.messageProvider.getMessageWithFormat("startup.timings.phases", PluginInfo.NAME, timings.getPhaseSummary()));
+        this.logger.info(this.messageProvider.getMessageWithFormat("startup.timings.modules", timings.getModuleSummary(),
+                String.valueOf(timings.getBootstrapWaitMillis())));
+    }
+
     @Listener
     public void onServerStop(GameStoppedServerEvent event) {
         if (this.hasStarted && this.isErrored == null) {
             this.gameStartedTime = null;
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
             saveData();
+            this.userDataManager.flush();
+            this.worldDataManager.flush();
+            if (!this.kitService.flush()) {
+                this.logger.warn(this.messageProvider.getMessageWithFormat("startup.kitsnotsaved"));
+            }
+
+            if (!this.profileDirectoryService.flush()) {
+                this.logger.warn(this.messageProvider.getMessageWithFormat("startup.profilesnotsaved"));
+            }
+
+            this.dataProviders.close();
             getInternalServiceManager().getServiceUnchecked(CommandRemapperService.class).deactivate();
         }
     }
@@ -613,6 +677,7 @@ public class NucleusPlugin extends Nucleus {
     public void saveData() {
         this.userDataManager.saveAll();
         this.worldDataManager.saveAll();
+        this.dataProviders.flush();
 
         if (Sponge.getGame().getState().ordinal() > GameState.SERVER_ABOUT_TO_START.ordinal()) {
             try {
@@ -701,6 +766,10 @@ public class NucleusPlugin extends Nucleus {
         return this.userCacheService;
     }
 
+    @Override public ProfileDirectoryService getProfileDirectoryService() {
+        return this.profileDirectoryService;
+    }
+
     @Override
     public void saveSystemConfig() throws IOException {
         this.moduleContainer.saveSystemConfig();
@@ -719,6 +788,11 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            this.userDataManager.setWriteBehind(coreConfig.isWriteBehindSaving());
+            this.worldDataManager.setWriteBehind(coreConfig.isWriteBehindSaving());
+            DataCacheConfig dataCacheConfig = coreConfig.getDataCacheConfig();
+            this.userDataManager.setCacheLimits(dataCacheConfig.getMaxOfflineUsers(), dataCacheConfig.getOfflineUserExpiry());
+            this.worldDataManager.setCacheLimits(dataCacheConfig.getMaxUnloadedWorlds(), dataCacheConfig.getUnloadedWorldExpiry());
 
             for (TextFileController tfc : this.textFileControllers.values()) {
                 tfc.load();
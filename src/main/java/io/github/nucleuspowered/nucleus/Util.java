@@ -8,6 +8,7 @@ import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectPermissionCache;
 import io.github.nucleuspowered.nucleus.util.PaginationBuilderWrapper;
 import io.github.nucleuspowered.nucleus.util.ThrownFunction;
 import org.spongepowered.api.CatalogType;
@@ -280,14 +281,7 @@ public class Util {
         for (String option : options) {
             String o = option.toLowerCase();
 
-            // Option for context.
-            Optional<String> os = player.getOption(player.getActiveContexts(), o);
-            if (os.isPresent()) {
-                return os.map(r -> r.isEmpty() ? null : r);
-            }
-
-            // General option
-            os = player.getOption(o);
+            Optional<String> os = SubjectPermissionCache.INSTANCE.getOption(player, o, Util::resolveOption);
             if (os.isPresent()) {
                 return os.map(r -> r.isEmpty() ? null : r);
             }
@@ -296,6 +290,17 @@ public class Util {
         return Optional.empty();
     }
 
+    private static Optional<String> resolveOption(Subject player, String option) {
+        // Option for context.
+        Optional<String> os = player.getOption(player.getActiveContexts(), option);
+        if (os.isPresent()) {
+            return os;
+        }
+
+        // General option
+        return player.getOption(option);
+    }
+
     /**
      * Gets the {@link ItemType} or {@link BlockState} for an ID.
      *
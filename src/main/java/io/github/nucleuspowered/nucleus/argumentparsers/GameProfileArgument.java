@@ -4,7 +4,11 @@
  */
 package io.github.nucleuspowered.nucleus.argumentparsers;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
@@ -18,6 +22,7 @@ import org.spongepowered.api.text.Text;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,8 @@ import javax.annotation.Nullable;
 
 public class GameProfileArgument extends CommandElement {
 
+    private static final int MAX_COMPLETIONS = 100;
+
     private final Pattern p = Pattern.compile("[a-zA-Z0-9_]{1,16}");
 
     public GameProfileArgument(@Nullable Text key) {
@@ -39,9 +46,15 @@ public class GameProfileArgument extends CommandElement {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.format"));
         }
 
-        List<GameProfile> lgp = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
-                .stream().filter(x -> x.getName().isPresent() && x.getName().get().equalsIgnoreCase(name))
-                .collect(Collectors.toList());
+        ProfileDirectoryService directory = Nucleus.getNucleus().getProfileDirectoryService();
+        List<GameProfile> lgp;
+        if (directory.isReady()) {
+            lgp = directory.getProfilesByName(name);
+        } else {
+            lgp = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
+                    .stream().filter(x -> x.getName().isPresent() && x.getName().get().equalsIgnoreCase(name))
+                    .collect(Collectors.toList());
+        }
 
         if (lgp.isEmpty()) {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.none", name));
@@ -58,6 +71,27 @@ public class GameProfileArgument extends CommandElement {
     public List<String> complete(CommandSource src, CommandArgs args, CommandContext context) {
         try {
             String arg = args.peek().toLowerCase();
+            ProfileDirectoryService directory = Nucleus.getNucleus().getProfileDirectoryService();
+            if (directory.isReady()) {
+                // Online players first, then everyone else, both in name order.
+                List<String> result = Lists.newArrayList();
+                Set<String> online = Sets.newHashSet();
+                PlayerNameIndex.INSTANCE.getNamesWithPrefix(arg, true, MAX_COMPLETIONS).forEach(x -> {
+                    result.add(x.getText());
+                    online.add(x.getText());
+                });
+
+                for (GameProfile profile : directory.getProfilesWithPrefix(arg, MAX_COMPLETIONS)) {
+                    if (result.size() >= MAX_COMPLETIONS) {
+                        break;
+                    }
+
+                    profile.getName().filter(x -> !online.contains(x)).ifPresent(result::add);
+                }
+
+                return result;
+            }
+
             List<String> onlinePlayers = Sponge.getServer().getOnlinePlayers().stream().map(User::getName).collect(Collectors.toList());
             return Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
                 .stream().filter(x -> x.getName().isPresent() && x.getName().get().toLowerCase().startsWith(arg))
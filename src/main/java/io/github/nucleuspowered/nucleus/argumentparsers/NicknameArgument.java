@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.argumentparsers;
 
 import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
@@ -34,7 +35,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -85,8 +85,6 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
             return ImmutableSet.of(Sponge.getServer().getConsole());
         }
 
-        final Predicate<Player> shouldShow = determinePredicate(source);
-
         boolean playerOnly = toParse.startsWith("p:");
         if (playerOnly) {
             toParse = toParse.substring(2);
@@ -131,17 +129,15 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
         final String parse = toParse.toLowerCase();
         // fuzzy matching time.
         // players that match
-        Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> x.getName().toLowerCase().startsWith(parse))
-                .filter(shouldShow)
-                .limit(USER_LIMIT)
+        final boolean includeVanished = canSeeVanished(source);
+        PlayerNameIndex.INSTANCE.getNamesWithPrefix(parse, includeVanished, USER_LIMIT).stream()
+                .map(x -> Sponge.getServer().getPlayer(x.getUniqueId()).orElse(null))
+                .filter(Objects::nonNull)
                 .forEach(users::add);
         if (this.nicknameService != null) {
-            this.nicknameService.startsWith(parse).stream()
-                    .map(x -> Sponge.getServer().getPlayer(x).orElse(null))
-                    .filter(shouldShow)
+            PlayerNameIndex.INSTANCE.getNicknamesWithPrefix(parse, includeVanished, USER_LIMIT).stream()
+                    .map(x -> Sponge.getServer().getPlayer(x.getUniqueId()).orElse(null))
                     .filter(Objects::nonNull)
-                    .limit(USER_LIMIT)
                     .forEach(users::add);
         }
 
@@ -179,29 +175,22 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
             }
 
             String parse = toParse.toLowerCase();
-            final Predicate<Player> shouldShow = determinePredicate(source);
-            final Predicate<Player> partial = x -> x.getName().toLowerCase().startsWith(parse);
+            final boolean includeVanished = canSeeVanished(source);
 
             UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
-            Sponge.getServer().getOnlinePlayers().stream()
-                    .filter(partial.and(shouldShow))
+            PlayerNameIndex.INSTANCE.getNamesWithPrefix(parse, includeVanished, Integer.MAX_VALUE)
                     .forEach(player -> {
                         if (playerOnly) {
-                            names.add("p:" + player.getName());
+                            names.add("p:" + player.getText());
                         } else {
-                            names.add(player.getName());
+                            names.add(player.getText());
                         }
                     });
 
             if (!playerOnly) {
                 if (this.nicknameService != null) {
-                    this.nicknameService.startsWithGetMap(parse)
-                            .entrySet().stream()
-                            .map(x -> Sponge.getServer().getPlayer(x.getValue())
-                                    .filter(shouldShow)
-                                    .map(y -> x.getKey()).orElse(null))
-                            .filter(Objects::nonNull)
-                            .forEach(names::add);
+                    PlayerNameIndex.INSTANCE.getNicknamesWithPrefix(parse, includeVanished, Integer.MAX_VALUE)
+                            .forEach(x -> names.add(x.getText()));
                 }
 
                 if (USER_LIMIT > 0 && this.target == Target.USER) {
@@ -219,12 +208,8 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
         }
     }
 
-    private Predicate<Player> determinePredicate(CommandSource source) {
-        if (hasPermission(source, VANISH_PERMISSION)) {
-            return p -> true;
-        } else {
-            return NicknameArgument::shouldShowPlayer;
-        }
+    private boolean canSeeVanished(CommandSource source) {
+        return hasPermission(source, VANISH_PERMISSION);
     }
 
     private static boolean shouldShowPlayer(Player player) {
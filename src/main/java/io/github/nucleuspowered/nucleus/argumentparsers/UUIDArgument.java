@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.argumentparsers;
 
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
@@ -30,8 +31,15 @@ public class UUIDArgument<T> extends CommandElement {
     @Nullable private final Function<UUID, Optional<T>> validator;
 
     public static UUIDArgument<GameProfile> gameProfile(Text key) {
-        return new UUIDArgument<>(key, x -> Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
-                .stream().filter(y -> y.getUniqueId().equals(x)).findFirst());
+        return new UUIDArgument<>(key, x -> {
+            ProfileDirectoryService directory = Nucleus.getNucleus().getProfileDirectoryService();
+            if (directory.isReady()) {
+                return directory.getProfile(x);
+            }
+
+            return Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
+                    .stream().filter(y -> y.getUniqueId().equals(x)).findFirst();
+        });
     }
 
     public static UUIDArgument<User> user(Text key) {
@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
 import io.github.nucleuspowered.nucleus.modules.warp.config.WarpConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.warp.services.WarpHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
@@ -76,9 +77,15 @@ public class WarpArgument extends CommandElement implements Reloadable, Internal
         try {
             String el = args.peek();
             String name = el.toLowerCase();
-            List<String> elements = this.service.getWarpNames().stream()
-                    .filter(s -> s.startsWith(name))
-                    .limit(21).collect(Collectors.toList());
+            List<String> elements;
+            if (this.service instanceof WarpHandler) {
+                elements = ((WarpHandler) this.service).getWarpNamesWithPrefix(name, 21);
+            } else {
+                elements = this.service.getWarpNames().stream()
+                        .filter(s -> s.startsWith(name))
+                        .limit(21).collect(Collectors.toList());
+            }
+
             if (elements.size() >= 21) {
                 src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.warps.maxselect", el));
                 return ImmutableList.of(el);
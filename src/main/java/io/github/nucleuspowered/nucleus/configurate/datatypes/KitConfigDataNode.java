@@ -20,6 +20,24 @@ public class KitConfigDataNode {
     private boolean kitFix = false;
     private final Object locking = new Object();
 
+    public KitConfigDataNode() {
+    }
+
+    private KitConfigDataNode(Map<String, KitDataNode> kits) {
+        this.kits = kits;
+        this.kitFix = true;
+    }
+
+    /**
+     * Creates a copy of this node that can be saved whilst this one continues to be changed. The {@link KitDataNode}s
+     * themselves are shared, they are replaced rather than changed when a kit is updated.
+     *
+     * @return The copy.
+     */
+    public KitConfigDataNode copy() {
+        return new KitConfigDataNode(Maps.newHashMap(getKits()));
+    }
+
     public Map<String, KitDataNode> getKits() {
         synchronized (this.locking) {
             if (!this.kitFix) {
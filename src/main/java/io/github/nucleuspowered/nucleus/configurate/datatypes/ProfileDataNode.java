@@ -0,0 +1,69 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.configurate.datatypes;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ProfileDataNode {
+
+    @Setting
+    private String name = "";
+
+    @Setting
+    private boolean hasPlayed = false;
+
+    @Setting
+    private boolean hasData = false;
+
+    public ProfileDataNode() {
+        // ignored - for Configurate
+    }
+
+    public ProfileDataNode(String name, boolean hasPlayed, boolean hasData) {
+        this.name = name;
+        this.hasPlayed = hasPlayed;
+        this.hasData = hasData;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets whether the player has ever joined the server, according to Sponge.
+     *
+     * @return {@code true} if so.
+     */
+    public boolean hasPlayed() {
+        return this.hasPlayed;
+    }
+
+    public void setHasPlayed(boolean hasPlayed) {
+        this.hasPlayed = hasPlayed;
+    }
+
+    /**
+     * Gets whether Nucleus holds data for the player.
+     *
+     * @return {@code true} if so.
+     */
+    public boolean hasData() {
+        return this.hasData;
+    }
+
+    public void setHasData(boolean hasData) {
+        this.hasData = hasData;
+    }
+
+    public ProfileDataNode copy() {
+        return new ProfileDataNode(this.name, this.hasPlayed, this.hasData);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.configurate.datatypes;
+
+import com.google.common.collect.Maps;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.Map;
+import java.util.UUID;
+
+@ConfigSerializable
+public class ProfileDirectoryNode {
+
+    @Setting
+    private int version = 1;
+
+    @Setting
+    private Map<UUID, ProfileDataNode> profiles = Maps.newHashMap();
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public Map<UUID, ProfileDataNode> getProfiles() {
+        return this.profiles;
+    }
+
+    public ProfileDirectoryNode copy() {
+        ProfileDirectoryNode node = new ProfileDirectoryNode();
+        this.profiles.forEach((k, v) -> node.profiles.put(k, v.copy()));
+        return node;
+    }
+}
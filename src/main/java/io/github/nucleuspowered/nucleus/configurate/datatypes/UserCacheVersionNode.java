@@ -20,6 +20,18 @@ public class UserCacheVersionNode {
     @Setting
     private Map<UUID, UserCacheDataNode> node = Maps.newHashMap();
 
+    public UserCacheVersionNode() {}
+
+    /**
+     * Copies a node. The entries are replaced rather than changed, so they are not copied.
+     *
+     * @param copy The node to copy.
+     */
+    public UserCacheVersionNode(UserCacheVersionNode copy) {
+        this.version = copy.version;
+        this.node = Maps.newHashMap(copy.node);
+    }
+
     public int getVersion() {
         return this.version;
     }
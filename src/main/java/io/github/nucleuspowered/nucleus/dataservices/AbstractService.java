@@ -8,10 +8,13 @@ import com.google.common.base.Preconditions;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 
+import javax.annotation.Nullable;
+
 public abstract class AbstractService<T> implements Service {
 
     protected T data;
     private final DataProvider<T> dataProvider;
+    private final Object saveLock = new Object();
 
     protected AbstractService(DataProvider<T> dataProvider) {
         this.dataProvider = Preconditions.checkNotNull(dataProvider);
@@ -66,13 +69,41 @@ public abstract class AbstractService<T> implements Service {
             if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
                 Nucleus.getNucleus().getLogger().info("Saving: " + serviceName());
             }
-            this.dataProvider.save(this.data);
+            synchronized (this.saveLock) {
+                this.dataProvider.save(this.data);
+            }
             return;
         }
 
         throw new IllegalStateException("Data has not been initialised.");
     }
 
+    /**
+     * Creates a copy of the data as it stands, ready to be saved by {@link #saveSnapshot(Object)}, potentially on
+     * another thread.
+     *
+     * @return The snapshot, or {@code null} if there is nothing to save, or nothing has changed since the last save.
+     * @throws Exception if the snapshot could not be taken.
+     */
+    @Nullable
+    public abstract T snapshot() throws Exception;
+
+    /**
+     * Saves a snapshot taken by {@link #snapshot()}.
+     *
+     * @param snapshot The snapshot to save.
+     * @throws Exception if the snapshot could not be saved.
+     */
+    public void saveSnapshot(T snapshot) throws Exception {
+        if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
+            Nucleus.getNucleus().getLogger().info("Saving: " + serviceName());
+        }
+
+        synchronized (this.saveLock) {
+            this.dataProvider.save(snapshot);
+        }
+    }
+
     @Override public boolean delete() {
         try {
             if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
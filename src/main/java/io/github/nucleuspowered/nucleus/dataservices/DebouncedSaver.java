@@ -0,0 +1,156 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.Nucleus;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saves snapshots of an {@link AbstractService} on a background thread once requests to save have stopped coming in.
+ *
+ * <p>Each request takes a snapshot straight away, on the thread that asked, but the snapshot is only written once no
+ * other request has been made for a short while, or once the first unwritten request is old enough that it should be
+ * written anyway. Only the latest snapshot is ever written.</p>
+ *
+ * @param <T> The type of data the service holds.
+ */
+public class DebouncedSaver<T> {
+
+    private static final long QUIET_PERIOD = TimeUnit.SECONDS.toNanos(2);
+    private static final long MAX_DELAY = TimeUnit.SECONDS.toNanos(10);
+    private static final long RETRY_DELAY = TimeUnit.SECONDS.toNanos(5);
+
+    private final AbstractService<T> service;
+    private final long quietPeriod;
+    private final long maxDelay;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicReference<T> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private volatile long firstRequest;
+    private volatile long lastRequest;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    DebouncedSaver(AbstractService<T> service) {
+        this(service, QUIET_PERIOD, MAX_DELAY, TimeUnit.NANOSECONDS);
+    }
+
+    // For testing
+
+    /**
+     * Creates a saver that waits for the given times.
+     *
+     * @param service The service to save.
+     * @param quietPeriod How long to wait after the last request before writing.
+     * @param maxDelay The longest to wait after the first unwritten request before writing.
+     * @param unit The {@link TimeUnit} of the times.
+     */
+    public DebouncedSaver(AbstractService<T> service, long quietPeriod, long maxDelay, TimeUnit unit) {
+        this.service = service;
+        this.quietPeriod = unit.toNanos(quietPeriod);
+        this.maxDelay = unit.toNanos(maxDelay);
+        this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("Nucleus " + service.serviceName() + " Saver")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Takes a snapshot of the service and queues it to be saved.
+     *
+     * @throws Exception if the snapshot could not be taken.
+     */
+    public void request() throws Exception {
+        T snapshot = this.service.snapshot();
+        if (snapshot == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        this.lastRequest = now;
+        if (this.pending.getAndSet(snapshot) != null) {
+            this.coalesced.increment();
+        }
+
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.firstRequest = now;
+            this.executor.schedule(this::run, this.quietPeriod, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Writes whatever is waiting to be written now, and waits for it to finish.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The {@link TimeUnit} of the timeout.
+     * @return {@code true} if there is nothing left to write.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        try {
+            this.executor.submit(this::write).get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Reported below.
+        }
+
+        return this.pending.get() == null;
+    }
+
+    public long getWrites() {
+        return this.writes.sum();
+    }
+
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    private void run() {
+        long now = System.nanoTime();
+        long wait = Math.min(this.lastRequest + this.quietPeriod, this.firstRequest + this.maxDelay) - now;
+        if (wait > 0) {
+            // Something was requested since this was scheduled, so wait for things to settle down.
+            this.executor.schedule(this::run, wait, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        // Anything requested from here on will schedule a new run.
+        this.scheduled.set(false);
+        write();
+    }
+
+    private void write() {
+        T snapshot = this.pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            this.service.saveSnapshot(snapshot);
+            this.writes.increment();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().warn("[" + this.service.serviceName() + "] Could not save, will try again later.");
+            if (Nucleus.getNucleus().isDebugMode()) {
+                Nucleus.getNucleus().getLogger().error("[" + this.service.serviceName() + "] Could not save.", e);
+            }
+
+            // Unless something newer has turned up, try this one again.
+            if (this.pending.compareAndSet(null, snapshot) && this.scheduled.compareAndSet(false, true)) {
+                this.firstRequest = System.nanoTime();
+                this.executor.schedule(this::run, RETRY_DELAY, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.dataservices;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.ItemDataNode;
@@ -23,6 +24,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public class ItemDataService extends AbstractService<Map<String, ItemDataNode>> {
 
     private Map<String, String> aliasToItemIdCache = null;
@@ -43,6 +46,18 @@ public class ItemDataService extends AbstractService<Map<String, ItemDataNode>>
         return "Item Information";
     }
 
+    @Nullable
+    @Override
+    public Map<String, ItemDataNode> snapshot() {
+        if (this.data == null) {
+            return null;
+        }
+
+        Map<String, ItemDataNode> copy = Maps.newHashMap();
+        this.data.forEach((k, v) -> copy.put(k, new ItemDataNode(v)));
+        return copy;
+    }
+
     @Override
     public boolean load() {
         if (super.load()) {
@@ -5,27 +5,69 @@
 package io.github.nucleuspowered.nucleus.dataservices;
 
 import com.google.common.collect.ImmutableSet;
-import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.Kit;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitConfigDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitDataNode;
 import io.github.nucleuspowered.nucleus.configurate.wrappers.NucleusItemStackSnapshot;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.modules.kit.misc.SingleKit;
+import io.github.nucleuspowered.nucleus.util.CaseInsensitiveIndex;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 public class KitService extends AbstractService<KitConfigDataNode> {
 
+    private final DebouncedSaver<KitConfigDataNode> saver = new DebouncedSaver<>(this);
+    private final CaseInsensitiveIndex<KitDataNode> index = new CaseInsensitiveIndex<>();
+
     public KitService(DataProvider<KitConfigDataNode> dataProvider) {
         super(dataProvider);
     }
 
+    /**
+     * Saves the kits in the background, once they have stopped changing for a moment. Use this rather than
+     * {@link #save()} when kits may be changed many times in quick succession, such as when they are being edited.
+     */
+    public void requestSave() {
+        try {
+            this.saver.request();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().error("Could not save", e);
+        }
+    }
+
+    /**
+     * Writes any kits waiting to be saved in the background, and waits for them to be written.
+     *
+     * @return {@code true} if everything was written.
+     */
+    public boolean flush() {
+        return this.saver.flush(10, TimeUnit.SECONDS);
+    }
+
+    public long getBackgroundWrites() {
+        return this.saver.getWrites();
+    }
+
+    public long getCoalescedSaves() {
+        return this.saver.getCoalesced();
+    }
+
+    @Nullable
+    @Override
+    public KitConfigDataNode snapshot() {
+        return this.data == null ? null : this.data.copy();
+    }
+
     public Set<String> getKitNames(boolean showHidden) {
         return this.data.getKits().entrySet().stream()
                 .filter(x -> showHidden || (!x.getValue().hidden && !x.getValue().firstJoin))
@@ -33,7 +75,15 @@ public class KitService extends AbstractService<KitConfigDataNode> {
     }
 
     public Optional<KitDataNode> getKit(String name) {
-        return Util.getKeyIgnoreCase(this.data.getKits(), name).map(s -> this.data.getKits().get(s));
+        return index().get(name);
+    }
+
+    public boolean hasKit(String name) {
+        return index().contains(name);
+    }
+
+    public List<String> getKitNamesWithPrefix(String prefix, int limit) {
+        return index().getKeysWithPrefix(prefix, limit);
     }
 
     public List<Kit> getFirstJoinKits() {
@@ -51,11 +101,7 @@ public class KitService extends AbstractService<KitConfigDataNode> {
     }
 
     public boolean addKit(String name, Kit kit) {
-        if (Util.getKeyIgnoreCase(this.data.getKits(), name).isPresent()) {
-            return false;
-        }
-
-        this.data.getKits().put(name, new KitDataNode(
+        return index().put(name, new KitDataNode(
                 kit.getStacks().stream().map(NucleusItemStackSnapshot::new).collect(Collectors.toList()),
                 kit.getCooldown().map(Duration::getSeconds).orElse(0L),
                 kit.getCost(),
@@ -67,13 +113,15 @@ public class KitService extends AbstractService<KitConfigDataNode> {
                 kit.getCommands(),
                 kit.isFirstJoinKit()
         ));
-        return true;
     }
 
     public boolean removeKit(String name) {
-        Map<String, KitDataNode> msk = this.data.getKits();
-        Optional<String> key = msk.keySet().stream().filter(name::equalsIgnoreCase).findFirst();
-        return key.isPresent() && this.data.getKits().remove(key.get()) != null;
+        return index().remove(name).isPresent();
+    }
+
+    private CaseInsensitiveIndex<KitDataNode> index() {
+        // The map is replaced when the kits are loaded.
+        return this.index.sync(this.data.getKits());
     }
 
     @Override protected String serviceName() {
@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class NameBanService extends AbstractService<Map<String, String>> {
 
@@ -25,6 +26,11 @@ public class NameBanService extends AbstractService<Map<String, String>> {
         return "Name bans";
     }
 
+    @Nullable
+    @Override public Map<String, String> snapshot() {
+        return this.data == null ? null : Maps.newHashMap(this.data);
+    }
+
     @Override public boolean load() {
         if (super.load()) {
             // Lowercase the keys.
@@ -0,0 +1,352 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.ProfileDataNode;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.ProfileDirectoryNode;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.manipulator.mutable.entity.JoinData;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.service.user.UserStorageService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * The last known name of every player the server knows about, and whether they have played and have Nucleus data.
+ *
+ * <p>This allows offline players to be looked up by name or {@link UUID} without going through every profile in the
+ * {@link UserStorageService}, which can take a long time on a server that has seen a lot of players. The directory is
+ * built in the background the first time it is needed, then kept up to date as players join and leave.</p>
+ */
+public class ProfileDirectoryService extends AbstractService<ProfileDirectoryNode> {
+
+    private static final int expectedVersion = new ProfileDirectoryNode().getVersion();
+
+    private final Object lock = new Object();
+    private final DebouncedSaver<ProfileDirectoryNode> saver = new DebouncedSaver<>(this);
+
+    // Lower case name to the players that last had that name. Names can be reused, so there can be more than one.
+    @GuardedBy("lock") private final NavigableMap<String, Set<UUID>> nameIndex = Maps.newTreeMap();
+    @GuardedBy("lock") private long withData = 0;
+    @GuardedBy("lock") private long visitors = 0;
+
+    // The players that have changed while the directory is being built, which are more up to date than the build.
+    @GuardedBy("lock") private final Set<UUID> changedWhileSeeding = Sets.newHashSet();
+
+    private volatile boolean isReady = false;
+    private volatile boolean isSeeding = false;
+
+    public ProfileDirectoryService(DataProvider<ProfileDirectoryNode> dataProvider) {
+        super(dataProvider);
+    }
+
+    @Override protected String serviceName() {
+        return "Profile Directory";
+    }
+
+    @Override public void loadInternal() throws Exception {
+        synchronized (this.lock) {
+            super.loadInternal();
+            rebuildIndexes();
+            this.isReady = expectedVersion == this.data.getVersion() && !this.data.getProfiles().isEmpty();
+        }
+    }
+
+    @Override public void saveInternal() throws Exception {
+        synchronized (this.lock) {
+            super.saveInternal();
+        }
+    }
+
+    @Nullable
+    @Override
+    public ProfileDirectoryNode snapshot() {
+        synchronized (this.lock) {
+            return this.data == null ? null : this.data.copy();
+        }
+    }
+
+    /**
+     * Writes any changes waiting to be saved in the background, and waits for them to be written.
+     *
+     * @return {@code true} if everything has been saved.
+     */
+    public boolean flush() {
+        return this.saver.flush(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets whether the directory has been built. Until it has, lookups should go to the {@link UserStorageService}.
+     *
+     * @return {@code true} if the directory can be used.
+     */
+    public boolean isReady() {
+        return this.isReady;
+    }
+
+    public Optional<GameProfile> getProfile(UUID uuid) {
+        synchronized (this.lock) {
+            return Optional.ofNullable(this.data.getProfiles().get(uuid)).map(x -> GameProfile.of(uuid, x.getName()));
+        }
+    }
+
+    /**
+     * Gets the profiles whose last known name is the given name, ignoring case.
+     *
+     * @param name The name.
+     * @return The profiles.
+     */
+    public List<GameProfile> getProfilesByName(String name) {
+        synchronized (this.lock) {
+            return toProfiles(this.nameIndex.getOrDefault(name.toLowerCase(Locale.ENGLISH), Sets.newHashSet()).stream(), Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Gets the profiles whose last known name starts with the given prefix, ignoring case, in name order.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of profiles to return.
+     * @return The profiles.
+     */
+    public List<GameProfile> getProfilesWithPrefix(String prefix, int limit) {
+        String lower = prefix.toLowerCase(Locale.ENGLISH);
+        synchronized (this.lock) {
+            return toProfiles(this.nameIndex.subMap(lower, true, lower + Character.MAX_VALUE, false).values().stream()
+                    .flatMap(Collection::stream), limit);
+        }
+    }
+
+    /**
+     * Gets the number of unique players that have visited the server.
+     *
+     * @param accurate If {@code true}, players that Sponge says have played are counted, even if Nucleus has no data
+     *                 for them. Otherwise, only players that Nucleus has data for are counted.
+     * @return The number of players.
+     */
+    public long getUniqueVisitorCount(boolean accurate) {
+        synchronized (this.lock) {
+            return accurate ? this.visitors : this.withData;
+        }
+    }
+
+    /**
+     * Records that a player is on the server, and so has played and has Nucleus data, under the given name.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param name The current name of the player.
+     */
+    public void update(UUID uuid, String name) {
+        synchronized (this.lock) {
+            if (this.data == null) {
+                return;
+            }
+
+            ProfileDataNode node = this.data.getProfiles().get(uuid);
+            if (node != null && node.getName().equals(name) && node.hasPlayed() && node.hasData()) {
+                return;
+            }
+
+            if (node == null) {
+                node = new ProfileDataNode(name, true, true);
+                this.data.getProfiles().put(uuid, node);
+            } else {
+                unindex(uuid, node);
+                node.setName(name);
+                node.setHasPlayed(true);
+                node.setHasData(true);
+            }
+
+            index(uuid, node);
+            markChanged(uuid);
+        }
+
+        requestSave();
+    }
+
+    /**
+     * Records that the Nucleus data for a player has been removed.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removeData(UUID uuid) {
+        synchronized (this.lock) {
+            ProfileDataNode node = this.data == null ? null : this.data.getProfiles().get(uuid);
+            if (node == null || !node.hasData()) {
+                return;
+            }
+
+            unindex(uuid, node);
+            node.setHasData(false);
+            index(uuid, node);
+            markChanged(uuid);
+        }
+
+        requestSave();
+    }
+
+    public void seedIfNeeded() {
+        if (!this.isReady) {
+            seed();
+        }
+    }
+
+    /**
+     * Builds the directory from the {@link UserStorageService}. Changes made while this is running are kept.
+     *
+     * @return {@code false} if the directory was already being built.
+     */
+    public boolean seed() {
+        synchronized (this.lock) {
+            if (this.isSeeding) {
+                return false;
+            }
+
+            this.isSeeding = true;
+            this.changedWhileSeeding.clear();
+        }
+
+        try {
+            UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+            UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
+            Map<UUID, ProfileDataNode> seeded = Maps.newHashMap();
+            boolean[] errorReported = { false };
+            for (GameProfile profile : uss.getAll()) {
+                if (profile.getName().isPresent()) {
+                    boolean hasData = manager.has(profile.getUniqueId());
+                    boolean hasPlayed = hasData || hasPlayed(uss, profile, errorReported);
+                    seeded.put(profile.getUniqueId(), new ProfileDataNode(profile.getName().get(), hasPlayed, hasData));
+                }
+            }
+
+            synchronized (this.lock) {
+                // Anyone who changed while we were working is more up to date than what we found. Everyone else is
+                // taken from the build, so that anything that was wrong in the directory is put right.
+                if (this.data != null) {
+                    for (UUID uuid : this.changedWhileSeeding) {
+                        ProfileDataNode changed = this.data.getProfiles().get(uuid);
+                        if (changed != null) {
+                            seeded.put(uuid, changed);
+                        }
+                    }
+                }
+
+                ProfileDirectoryNode node = new ProfileDirectoryNode();
+                node.getProfiles().putAll(seeded);
+                this.data = node;
+                rebuildIndexes();
+                this.isReady = true;
+            }
+
+            requestSave();
+        } finally {
+            synchronized (this.lock) {
+                this.isSeeding = false;
+                this.changedWhileSeeding.clear();
+            }
+        }
+
+        return true;
+    }
+
+    private void requestSave() {
+        try {
+            this.saver.request();
+        } catch (Exception e) {
+            Nucleus.getNucleus().getLogger().error("Could not save", e);
+        }
+    }
+
+    private static boolean hasPlayed(UserStorageService uss, GameProfile profile, boolean[] errorReported) {
+        try {
+            return uss.get(profile).flatMap(x -> x.get(JoinData.class)).map(x -> x.firstPlayed().getDirect().isPresent()).orElse(false);
+        } catch (IllegalStateException e) {
+            if (!errorReported[0]) {
+                errorReported[0] = true;
+                Nucleus.getNucleus().getLogger().warn("The Sponge player data provider has not yet been initialised, not "
+                        + "using join data in the profile directory.");
+            }
+        } catch (NoSuchElementException e) {
+            if (!errorReported[0]) {
+                errorReported[0] = true;
+                Nucleus.getNucleus().getLogger().warn("The join data can not be constructed on some users.");
+            }
+        }
+
+        return false;
+    }
+
+    @GuardedBy("lock")
+    private void markChanged(UUID uuid) {
+        if (this.isSeeding) {
+            this.changedWhileSeeding.add(uuid);
+        }
+    }
+
+    @GuardedBy("lock")
+    private List<GameProfile> toProfiles(Stream<UUID> uuids, int limit) {
+        return uuids.limit(limit)
+                .map(x -> GameProfile.of(x, this.data.getProfiles().get(x).getName()))
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    @GuardedBy("lock")
+    private void rebuildIndexes() {
+        this.nameIndex.clear();
+        this.withData = 0;
+        this.visitors = 0;
+        if (this.data != null) {
+            this.data.getProfiles().forEach(this::index);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void index(UUID uuid, ProfileDataNode node) {
+        this.nameIndex.computeIfAbsent(node.getName().toLowerCase(Locale.ENGLISH), k -> Sets.newHashSet()).add(uuid);
+        if (node.hasData()) {
+            this.withData++;
+        }
+
+        if (node.hasData() || node.hasPlayed()) {
+            this.visitors++;
+        }
+    }
+
+    @GuardedBy("lock")
+    private void unindex(UUID uuid, ProfileDataNode node) {
+        String lower = node.getName().toLowerCase(Locale.ENGLISH);
+        Set<UUID> set = this.nameIndex.get(lower);
+        if (set != null && set.remove(uuid) && set.isEmpty()) {
+            this.nameIndex.remove(lower);
+        }
+
+        if (node.hasData()) {
+            this.withData--;
+        }
+
+        if (node.hasData() || node.hasPlayed()) {
+            this.visitors--;
+        }
+    }
+}
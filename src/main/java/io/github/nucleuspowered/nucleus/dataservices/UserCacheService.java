@@ -4,7 +4,9 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
@@ -15,60 +17,97 @@ import org.spongepowered.api.Sponge;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.Identifiable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
 public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
-    private boolean isWalking = false;
+    private volatile boolean isWalking = false;
 
     private final Object lockingObject = new Object();
 
+    // Secondary indexes over the cache. These are derived from the cache, so are rebuilt when it is loaded.
+    private final Object indexLock = new Object();
+    @GuardedBy("indexLock") private final Map<String, Set<UUID>> ipIndex = Maps.newHashMap();
+    @GuardedBy("indexLock") private final Map<String, Set<UUID>> jailIndex = Maps.newHashMap();
+    @GuardedBy("indexLock") private final Set<UUID> mutedIndex = Sets.newHashSet();
+
     public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider) {
         super(dataProvider);
     }
 
     public List<UUID> getForIp(String ip) {
-        updateCacheForOnlinePlayers();
         String ipToCheck = ip.replace("/", "");
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return Lists.newArrayList(this.ipIndex.getOrDefault(ipToCheck, Sets.newHashSet()));
+        }
     }
 
     public List<UUID> getJailed() {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return this.jailIndex.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+        }
     }
 
     public List<UUID> getJailedIn(String name) {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return Lists.newArrayList(this.jailIndex.getOrDefault(name.toLowerCase(Locale.ENGLISH), Sets.newHashSet()));
+        }
     }
 
     public List<UUID> getMuted() {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return Lists.newArrayList(this.mutedIndex);
+        }
     }
 
     @Override protected String serviceName() {
         return "User Cache";
     }
 
+    @Nullable
+    @Override public UserCacheVersionNode snapshot() {
+        synchronized (this.indexLock) {
+            return this.data == null ? null : new UserCacheVersionNode(this.data);
+        }
+    }
+
+    @Override public void loadInternal() throws Exception {
+        synchronized (this.indexLock) {
+            super.loadInternal();
+            rebuildIndexes();
+        }
+    }
+
+    @Override public void saveInternal() throws Exception {
+        synchronized (this.indexLock) {
+            super.saveInternal();
+        }
+    }
+
     public void updateCacheForOnlinePlayers() {
-        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(u ->
-                this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u));
+        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(this::updateCacheForPlayer);
     }
 
     public void updateCacheForPlayer(ModularUserService u) {
-        this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u);
+        UserCacheDataNode node = new UserCacheDataNode(u);
+        synchronized (this.indexLock) {
+            UserCacheDataNode old = this.data.getNode().put(u.getUniqueId(), node);
+            unindex(u.getUniqueId(), old);
+            index(u.getUniqueId(), node);
+        }
     }
 
     public void updateCacheForPlayer(UUID uuid) {
@@ -94,30 +133,74 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
             this.isWalking = true;
         }
 
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
             List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
                     .map(Identifiable::getUniqueId).collect(Collectors.toList());
 
-            int count = 0;
+            // Read each user without putting them in the user cache, so we don't evict the players that are actually
+            // using it, and so the cache isn't constantly saving and reloading users.
             UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
-            for (UUID user : knownUsers) {
-                if (manager.has(user)) {
-                    manager.get(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.removeOfflinePlayers();
-                        count = 0;
-                    }
-                }
+            Map<UUID, UserCacheDataNode> data = pool.submit(() -> knownUsers.parallelStream()
+                    .map(x -> manager.getDetached(x).map(y -> Maps.immutableEntry(x, new UserCacheDataNode(y))).orElse(null))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a))).get();
+
+            UserCacheVersionNode node = new UserCacheVersionNode();
+            node.getNode().putAll(data);
+            synchronized (this.indexLock) {
+                this.data = node;
+                rebuildIndexes();
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
             save();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Nucleus.getNucleus().getLogger().error("Could not rebuild the user cache", e.getCause());
         } finally {
+            pool.shutdown();
             this.isWalking = false;
         }
 
         return true;
     }
+
+    private void rebuildIndexes() {
+        synchronized (this.indexLock) {
+            this.ipIndex.clear();
+            this.jailIndex.clear();
+            this.mutedIndex.clear();
+            if (this.data != null) {
+                this.data.getNode().forEach(this::index);
+            }
+        }
+    }
+
+    @GuardedBy("indexLock")
+    private void index(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.computeIfAbsent(x, k -> Sets.newHashSet()).add(uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.computeIfAbsent(x.toLowerCase(Locale.ENGLISH), k -> Sets.newHashSet()).add(uuid));
+        if (node.isMuted()) {
+            this.mutedIndex.add(uuid);
+        }
+    }
+
+    @GuardedBy("indexLock")
+    private void unindex(UUID uuid, @Nullable UserCacheDataNode node) {
+        if (node == null) {
+            return;
+        }
+
+        node.getIpAddress().ifPresent(x -> remove(this.ipIndex, x, uuid));
+        node.getJailName().ifPresent(x -> remove(this.jailIndex, x.toLowerCase(Locale.ENGLISH), uuid));
+        this.mutedIndex.remove(uuid);
+    }
+
+    private static void remove(Map<String, Set<UUID>> index, String key, UUID uuid) {
+        Set<UUID> set = index.get(key);
+        if (set != null && set.remove(uuid) && set.isEmpty()) {
+            index.remove(key);
+        }
+    }
 }
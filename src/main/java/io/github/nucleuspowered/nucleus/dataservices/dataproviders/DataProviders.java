@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.ItemDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.KitConfigDataNode;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.ProfileDirectoryNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.configurate.loaders.NucleusGsonConfigurationLoader;
 import ninja.leaping.configurate.ConfigurationNode;
@@ -27,6 +28,8 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 public class DataProviders {
 
     private final NucleusPlugin plugin;
@@ -34,16 +37,40 @@ public class DataProviders {
     private final TypeToken<Map<String, String>> ttss = new TypeToken<Map<String, String>>() {};
     private final TypeToken<KitConfigDataNode> ttmk = TypeToken.of(KitConfigDataNode.class);
     private final TypeToken<UserCacheVersionNode> ttucv = TypeToken.of(UserCacheVersionNode.class);
+    private final TypeToken<ProfileDirectoryNode> ttpd = TypeToken.of(ProfileDirectoryNode.class);
 
     private final String userJson = "userdata%1$s%2$s%1$s%3$s.json";
     private final String worldJson = "worlddata%1$s%2$s%1$s%3$s.json";
+    private final String userStore = "userdata.nucleusdb";
+    private final String userDirectory = "userdata";
+
+    private final UserStoreType userStoreType;
+    private final Object storeLock = new Object();
+    @Nullable private volatile LogStructuredDataStore userDataStore = null;
 
     public DataProviders(NucleusPlugin plugin) {
+        this(plugin, UserStoreType.JSON);
+    }
+
+    public DataProviders(NucleusPlugin plugin, UserStoreType userStoreType) {
         this.plugin = plugin;
+        this.userStoreType = Preconditions.checkNotNull(userStoreType);
     }
 
     public DataProvider<ConfigurationNode> getUserFileDataProviders(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
+        if (this.userStoreType == UserStoreType.LOG) {
+            try {
+                LogStructuredDataStore store = getUserDataStore();
+                if (create || store.contains(uuid)) {
+                    return new LogStructuredDataProvider(this::getGsonBuilder, store, uuid);
+                }
+            } catch (Exception e) {
+                this.plugin.getLogger().error(this.plugin.getMessageProvider().getMessageWithFormat("datastore.error", uuid.toString()), e);
+            }
+
+            return null;
+        }
+
         try {
             Path p = getFile(this.userJson, uuid);
             if (create || doesUserFileExist(uuid)) {
@@ -58,6 +85,10 @@ public class DataProviders {
 
     public boolean doesUserFileExist(UUID uuid) {
         try {
+            if (this.userStoreType == UserStoreType.LOG) {
+                return getUserDataStore().contains(uuid);
+            }
+
             return Files.exists(getFile(this.userJson, uuid));
         } catch (Exception e) {
             return false;
@@ -109,6 +140,16 @@ public class DataProviders {
         }
     }
 
+    public DataProvider.FileChanging<ProfileDirectoryNode> getProfileDirectoryDataProvider() {
+        try {
+            Supplier<Path> p = () -> this.plugin.getDataPath().resolve("nucleusprofiles.json");
+            return new FileChangingConfigurateDataProvider<>(this.ttpd,
+                    path -> new LazyConfigurationLoader<>(() -> getGsonBuilder().setPath(path).build()), p);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 
     public DataProvider.FileChanging<ConfigurationNode> getGeneralDataProvider() {
         // For now, just the Configurate one.
@@ -149,6 +190,100 @@ public class DataProviders {
         }
     }
 
+    /**
+     * Opens the user data store in the current data directory, closing any store that is open elsewhere, and moves
+     * any existing user data files into it if the store is new. Does nothing if user data is stored as JSON files.
+     *
+     * <p>This should be called on startup, and whenever the data directory changes, as moving the data over can
+     * take some time.</p>
+     *
+     * @throws IOException if the store could not be opened.
+     */
+    public void openUserDataStore() throws IOException {
+        if (this.userStoreType != UserStoreType.LOG) {
+            return;
+        }
+
+        synchronized (this.storeLock) {
+            Path file = this.plugin.getDataPath().resolve(this.userStore);
+            LogStructuredDataStore current = this.userDataStore;
+            if (current != null) {
+                if (current.getFile().equals(file)) {
+                    return;
+                }
+
+                // The data directory has changed, so open the store in the new location.
+                this.userDataStore = null;
+                current.close();
+            }
+
+            boolean isNew = Files.notExists(file);
+            LogStructuredDataStore store = LogStructuredDataStore.open(file);
+            if (isNew) {
+                try {
+                    new LogStructuredDataStoreMigrator(this::getGsonBuilder, this.plugin.getMessageProvider(), this.plugin.getLogger())
+                            .migrate(this.plugin.getDataPath().resolve(this.userDirectory), store);
+                } catch (IOException e) {
+                    // Remove the partial store so that the migration is attempted again next time.
+                    store.close();
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
+            }
+
+            if (store.isDamaged()) {
+                this.plugin.getLogger().warn(this.plugin.getMessageProvider().getMessageWithFormat("datastore.damaged",
+                        file.toAbsolutePath().toString(), String.valueOf(store.getCorruptRecords()),
+                        store.getDamagedFile().toString()));
+            }
+
+            this.userDataStore = store;
+        }
+    }
+
+    /**
+     * Forces any pending writes in the user data store to disk.
+     */
+    public void flush() {
+        synchronized (this.storeLock) {
+            LogStructuredDataStore store = this.userDataStore;
+            if (store != null) {
+                try {
+                    store.flush();
+                } catch (IOException e) {
+                    this.plugin.getLogger().error("Could not flush the user data store.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the user data store, if it is open.
+     */
+    public void close() {
+        synchronized (this.storeLock) {
+            LogStructuredDataStore store = this.userDataStore;
+            if (store != null) {
+                this.userDataStore = null;
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    this.plugin.getLogger().error("Could not close the user data store.", e);
+                }
+            }
+        }
+    }
+
+    private LogStructuredDataStore getUserDataStore() throws IOException {
+        // Opened on startup, so that nothing has to wait for the data to be moved over.
+        LogStructuredDataStore store = this.userDataStore;
+        if (store == null) {
+            throw new IOException("The user data store is not open.");
+        }
+
+        return store;
+    }
+
     private Path getFile(String template, UUID uuid) throws Exception {
         String u = uuid.toString();
         String f = u.substring(0, 2);
@@ -173,6 +308,34 @@ public class DataProviders {
         return gsb.setDefaultOptions(ConfigurateHelper.setOptions(gsb.getDefaultOptions()));
     }
 
+    /**
+     * The backends that user data can be stored in.
+     */
+    public enum UserStoreType {
+
+        /**
+         * One JSON file per user, in the userdata directory.
+         */
+        JSON,
+
+        /**
+         * A single, append-only file for all users.
+         */
+        LOG;
+
+        public static UserStoreType fromConfig(@Nullable String value) {
+            if (value != null) {
+                for (UserStoreType type : values()) {
+                    if (type.name().equalsIgnoreCase(value)) {
+                        return type;
+                    }
+                }
+            }
+
+            return JSON;
+        }
+    }
+
     /**
      * Only performs the loading when required.
      * @param <T> The type of node that this lazy loaded loader will load.
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import static io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper.setOptions;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DataProvider} that stores a JSON serialised {@link ConfigurationNode} in a {@link LogStructuredDataStore},
+ * rather than in its own file.
+ */
+public class LogStructuredDataProvider implements DataProvider<ConfigurationNode> {
+
+    private final Supplier<GsonConfigurationLoader.Builder> builderSupplier;
+    private final LogStructuredDataStore store;
+    private final UUID uuid;
+
+    public LogStructuredDataProvider(Supplier<GsonConfigurationLoader.Builder> builderSupplier, LogStructuredDataStore store, UUID uuid) {
+        this.builderSupplier = Preconditions.checkNotNull(builderSupplier);
+        this.store = Preconditions.checkNotNull(store);
+        this.uuid = Preconditions.checkNotNull(uuid);
+    }
+
+    @Override public boolean has() {
+        return this.store.contains(this.uuid);
+    }
+
+    @Override public ConfigurationNode load() throws Exception {
+        Optional<byte[]> payload = this.store.read(this.uuid);
+        if (payload.isPresent()) {
+            return deserialise(this.builderSupplier.get(), payload.get());
+        }
+
+        GsonConfigurationLoader loader = this.builderSupplier.get().build();
+        return loader.createEmptyNode(getOptions(loader));
+    }
+
+    @Override public void save(ConfigurationNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        if (info.isVirtual()) {
+            throw new IllegalStateException("The data for " + this.uuid.toString() + " has not been saved.\nConfiguration Node is virtual.");
+        }
+
+        this.store.write(this.uuid, serialise(this.builderSupplier.get(), info));
+    }
+
+    @Override public void delete() throws Exception {
+        this.store.delete(this.uuid);
+    }
+
+    static ConfigurationNode deserialise(GsonConfigurationLoader.Builder builder, byte[] payload) throws IOException {
+        GsonConfigurationLoader loader = builder.setSource(() ->
+                new BufferedReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8))).build();
+        return loader.load(getOptions(loader));
+    }
+
+    static byte[] serialise(GsonConfigurationLoader.Builder builder, ConfigurationNode node) throws IOException {
+        StringWriter writer = new StringWriter();
+        builder.setIndent(0).setSink(() -> new BufferedWriter(writer)).build().save(node);
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ConfigurationOptions getOptions(GsonConfigurationLoader loader) {
+        return setOptions(loader.getDefaultOptions());
+    }
+}
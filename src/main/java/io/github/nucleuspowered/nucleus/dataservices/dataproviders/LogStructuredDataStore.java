@@ -0,0 +1,410 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * An append-only, single file store of UUID keyed records.
+ *
+ * <p>Every write appends a new record to the end of the file and updates the in memory index, so that a read is a
+ * single positional read. Deletions append a tombstone. The index is rebuilt by scanning the file when the store is
+ * opened, and any torn record at the end of the file (from a crash mid-write) is truncated away. A complete record
+ * that fails its checksum is skipped, leaving any earlier record for the same {@link UUID} in place. If the file is
+ * damaged in any other way, it is copied to a {@code .damaged} file before anything is cut from it.</p>
+ *
+ * <p>The file is compacted when it is opened if more than half of it is taken up by superseded records.</p>
+ *
+ * <p>File layout: {@code [int magic][int version]}, followed by records of the form
+ * {@code [int length][long msb][long lsb][int crc32][length bytes]}. A length of {@code -1} is a tombstone.</p>
+ */
+public class LogStructuredDataStore implements Closeable {
+
+    private static final int MAGIC = 0x4E55434C; // NUCL
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 24;
+    private static final int TOMBSTONE = -1;
+    private static final long COMPACTION_THRESHOLD = 1024 * 1024;
+
+    private final Path file;
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile FileChannel channel;
+    @GuardedBy("writeLock") private long end;
+    @GuardedBy("writeLock") private long liveBytes = 0;
+
+    // Found when the store was opened.
+    private int corruptRecords = 0;
+    private boolean damaged = false;
+
+    private LogStructuredDataStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the store at the given location, creating it if it does not exist.
+     *
+     * @param file The file to open.
+     * @return The store.
+     * @throws IOException if the file could not be opened or is not a store.
+     */
+    public static LogStructuredDataStore open(Path file) throws IOException {
+        LogStructuredDataStore store = new LogStructuredDataStore(file);
+        store.init();
+        return store;
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    public boolean contains(UUID uuid) {
+        return this.index.containsKey(uuid);
+    }
+
+    public Set<UUID> keys() {
+        return ImmutableSet.copyOf(this.index.keySet());
+    }
+
+    public int size() {
+        return this.index.size();
+    }
+
+    /**
+     * Gets the number of complete records that failed their checksum when the store was opened, and were skipped.
+     *
+     * @return The number of records.
+     */
+    public int getCorruptRecords() {
+        return this.corruptRecords;
+    }
+
+    /**
+     * Gets whether the store was found to be damaged when it was opened, other than by a torn write at the end. If so,
+     * the file as it was is kept next to the store.
+     *
+     * @return {@code true} if so.
+     */
+    public boolean isDamaged() {
+        return this.damaged;
+    }
+
+    public Path getDamagedFile() {
+        return Paths.get(this.file.toAbsolutePath().toString() + ".damaged");
+    }
+
+    /**
+     * Gets the latest record for the given {@link UUID}.
+     *
+     * @param uuid The {@link UUID}
+     * @return The payload, if it exists.
+     * @throws IOException if the record could not be read or is corrupt.
+     */
+    public Optional<byte[]> read(UUID uuid) throws IOException {
+        Entry entry = this.index.get(uuid);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        FileChannel fc = getChannel();
+        long position = entry.offset + RECORD_HEADER_SIZE;
+        while (buffer.hasRemaining()) {
+            int read = fc.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of " + this.file.getFileName() + " reading " + uuid.toString());
+            }
+
+            position += read;
+        }
+
+        byte[] payload = buffer.array();
+        if (crc(payload) != entry.crc) {
+            throw new IOException("Record for " + uuid.toString() + " in " + this.file.getFileName() + " is corrupt.");
+        }
+
+        return Optional.of(payload);
+    }
+
+    public void write(UUID uuid, byte[] payload) throws IOException {
+        Preconditions.checkNotNull(payload);
+        append(uuid, payload);
+    }
+
+    public void delete(UUID uuid) throws IOException {
+        if (this.index.containsKey(uuid)) {
+            append(uuid, null);
+        }
+    }
+
+    /**
+     * Forces any written records to the storage device.
+     *
+     * @throws IOException if the flush failed.
+     */
+    public void flush() throws IOException {
+        synchronized (this.writeLock) {
+            if (this.channel != null && this.channel.isOpen()) {
+                this.channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the store so that it only contains the latest record for each {@link UUID}.
+     *
+     * @throws IOException if the store could not be compacted. The original file is left intact.
+     */
+    public void compact() throws IOException {
+        synchronized (this.writeLock) {
+            Path temp = Paths.get(this.file.toAbsolutePath().toString() + ".compact");
+            Map<UUID, Entry> newIndex = new ConcurrentHashMap<>();
+            long position = FILE_HEADER_SIZE;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                writeFully(out, fileHeader(), 0);
+                for (Map.Entry<UUID, Entry> e : this.index.entrySet()) {
+                    byte[] payload = read(e.getKey()).orElseThrow(IllegalStateException::new);
+                    ByteBuffer record = record(e.getKey(), payload, e.getValue().crc);
+                    writeFully(out, record, position);
+                    newIndex.put(e.getKey(), new Entry(position, payload.length, e.getValue().crc));
+                    position += RECORD_HEADER_SIZE + payload.length;
+                }
+
+                out.force(true);
+            }
+
+            this.channel.close();
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.channel = openChannel();
+            this.index.clear();
+            this.index.putAll(newIndex);
+            this.end = position;
+            this.liveBytes = position - FILE_HEADER_SIZE;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.writeLock) {
+            if (this.channel != null && this.channel.isOpen()) {
+                this.channel.force(true);
+                this.channel.close();
+            }
+        }
+    }
+
+    private FileChannel getChannel() throws IOException {
+        FileChannel fc = this.channel;
+        if (fc == null || !fc.isOpen()) {
+            throw new IOException("The store " + this.file.getFileName() + " has been closed.");
+        }
+
+        return fc;
+    }
+
+    private void append(UUID uuid, byte[] payload) throws IOException {
+        synchronized (this.writeLock) {
+            FileChannel fc = getChannel();
+            int crc = payload == null ? 0 : crc(payload);
+            ByteBuffer record = record(uuid, payload, crc);
+            long offset = this.end;
+            try {
+                writeFully(fc, record, offset);
+            } catch (IOException e) {
+                // Leave the end where it was, the next write will overwrite the torn record.
+                fc.truncate(offset);
+                throw e;
+            }
+
+            this.end = offset + record.limit();
+            Entry old;
+            if (payload == null) {
+                old = this.index.remove(uuid);
+            } else {
+                old = this.index.put(uuid, new Entry(offset, payload.length, crc));
+                this.liveBytes += record.limit();
+            }
+
+            if (old != null) {
+                this.liveBytes -= RECORD_HEADER_SIZE + old.length;
+            }
+        }
+    }
+
+    private void init() throws IOException {
+        synchronized (this.writeLock) {
+            if (Files.notExists(this.file)) {
+                Files.createDirectories(this.file.toAbsolutePath().getParent());
+                try (FileChannel fc = FileChannel.open(this.file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    writeFully(fc, fileHeader(), 0);
+                    fc.force(true);
+                }
+            }
+
+            this.channel = openChannel();
+            long validEnd = scan();
+            if (this.damaged || this.corruptRecords > 0) {
+                // Keep the file as it was, so that whatever can be saved from it is not lost by truncating or compacting.
+                this.damaged = true;
+                Files.copy(this.file, getDamagedFile(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            if (validEnd < this.channel.size()) {
+                // Torn write at the end of the log, get rid of it.
+                this.channel.truncate(validEnd);
+            }
+
+            this.end = validEnd;
+            if (this.end > COMPACTION_THRESHOLD && this.liveBytes * 2 < this.end - FILE_HEADER_SIZE) {
+                compact();
+            }
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @GuardedBy("writeLock")
+    private long scan() throws IOException {
+        this.index.clear();
+        this.liveBytes = 0;
+        this.corruptRecords = 0;
+        this.damaged = false;
+        long size = Files.size(this.file);
+        long position = 0;
+        try (InputStream is = Files.newInputStream(this.file);
+                DataInputStream dis = new DataInputStream(new BufferedInputStream(is, 65536))) {
+            if (dis.readInt() != MAGIC) {
+                throw new IOException(this.file.getFileName() + " is not a Nucleus data store.");
+            }
+
+            int version = dis.readInt();
+            if (version > VERSION) {
+                throw new IOException(this.file.getFileName() + " was written by a newer version of Nucleus (version " + version + ").");
+            }
+
+            position = FILE_HEADER_SIZE;
+            while (position + RECORD_HEADER_SIZE <= size) {
+                int length = dis.readInt();
+                if (length < TOMBSTONE) {
+                    // Not a record, so there is no telling where the next one starts.
+                    this.damaged = true;
+                    break;
+                }
+
+                long next = position + RECORD_HEADER_SIZE + Math.max(0, length);
+                if (next > size) {
+                    // Runs past the end of the file, so it was torn. Checked first so that a bad length can not make
+                    // a huge payload.
+                    break;
+                }
+
+                UUID uuid = new UUID(dis.readLong(), dis.readLong());
+                int crc = dis.readInt();
+                if (length == TOMBSTONE) {
+                    Entry old = this.index.remove(uuid);
+                    if (old != null) {
+                        this.liveBytes -= RECORD_HEADER_SIZE + old.length;
+                    }
+
+                    position = next;
+                    continue;
+                }
+
+                byte[] payload = new byte[length];
+                dis.readFully(payload);
+                if (crc(payload) == crc) {
+                    Entry old = this.index.put(uuid, new Entry(position, length, crc));
+                    if (old != null) {
+                        this.liveBytes -= RECORD_HEADER_SIZE + old.length;
+                    }
+
+                    this.liveBytes += RECORD_HEADER_SIZE + length;
+                } else {
+                    // The record is complete, so skip it and carry on with the ones after it.
+                    this.corruptRecords++;
+                }
+
+                position = next;
+            }
+        }
+
+        return position;
+    }
+
+    private static ByteBuffer fileHeader() {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        return header;
+    }
+
+    private static ByteBuffer record(UUID uuid, byte[] payload, int crc) {
+        int length = payload == null ? 0 : payload.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        buffer.putInt(payload == null ? TOMBSTONE : length)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .putInt(crc);
+        if (payload != null) {
+            buffer.put(payload);
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel fc, ByteBuffer buffer, long position) throws IOException {
+        long p = position;
+        while (buffer.hasRemaining()) {
+            p += fc.write(buffer, p);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload, 0, payload.length);
+        return (int) crc32.getValue();
+    }
+
+    private static class Entry {
+
+        private final long offset;
+        private final int length;
+        private final int crc;
+
+        private Entry(long offset, int length, int crc) {
+            this.offset = offset;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
+}
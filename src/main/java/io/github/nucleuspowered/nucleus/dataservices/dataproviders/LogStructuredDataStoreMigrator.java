@@ -0,0 +1,115 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves the one file per user JSON data tree into a {@link LogStructuredDataStore}.
+ *
+ * <p>This is only run when the store is first created. Once complete, the old directory is renamed so that it is
+ * kept as a backup but is not migrated again. If it can not be renamed, it is left where it is.</p>
+ */
+public class LogStructuredDataStoreMigrator {
+
+    private final Supplier<GsonConfigurationLoader.Builder> builderSupplier;
+    private final MessageProvider messageProvider;
+    private final Logger logger;
+
+    public LogStructuredDataStoreMigrator(Supplier<GsonConfigurationLoader.Builder> builderSupplier, MessageProvider messageProvider, Logger logger) {
+        this.builderSupplier = builderSupplier;
+        this.messageProvider = messageProvider;
+        this.logger = logger;
+    }
+
+    /**
+     * Migrates all JSON files in the given directory into the store.
+     *
+     * @param directory The directory containing the {@code xx/uuid.json} files.
+     * @param store The store to migrate into.
+     * @return The number of users migrated.
+     * @throws IOException if the directory could not be walked.
+     */
+    public int migrate(Path directory, LogStructuredDataStore store) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        this.logger.info(this.messageProvider.getMessageWithFormat("datastore.migrate.start", directory.toAbsolutePath().toString()));
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(directory, 2)) {
+            files = s.filter(x -> x.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+
+        int count = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(name.substring(0, name.length() - 5));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            byte[] payload = readValid(file);
+            if (payload == null) {
+                payload = readValid(Paths.get(file.toAbsolutePath().toString() + ".bak"));
+            }
+
+            if (payload == null) {
+                this.logger.warn(this.messageProvider.getMessageWithFormat("datastore.migrate.skipped", file.toAbsolutePath().toString()));
+                continue;
+            }
+
+            store.write(uuid, payload);
+            if (++count % 1000 == 0) {
+                this.logger.info(this.messageProvider.getMessageWithFormat("datastore.migrate.progress", String.valueOf(count),
+                        String.valueOf(files.size())));
+            }
+        }
+
+        store.flush();
+        Path moved = directory.resolveSibling(directory.getFileName().toString() + "-migrated");
+        try {
+            Files.move(directory, moved);
+        } catch (IOException e) {
+            // Everything is in the store by now, and the files are only read when the store is new, so keep the store.
+            this.logger.warn(this.messageProvider.getMessageWithFormat("datastore.migrate.notmoved", String.valueOf(count),
+                    directory.toAbsolutePath().toString()), e);
+            return count;
+        }
+
+        this.logger.info(this.messageProvider.getMessageWithFormat("datastore.migrate.complete", String.valueOf(count),
+                moved.toAbsolutePath().toString()));
+        return count;
+    }
+
+    private byte[] readValid(Path file) {
+        if (Files.notExists(file)) {
+            return null;
+        }
+
+        try {
+            // Round trip the data so that only parsable nodes make it into the store, and so they're stored compactly.
+            GsonConfigurationLoader.Builder builder = this.builderSupplier.get();
+            return LogStructuredDataProvider.serialise(builder,
+                    LogStructuredDataProvider.deserialise(this.builderSupplier.get(), Files.readAllBytes(file)));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -11,41 +11,71 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.dataservices.Service;
+import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public abstract class DataManager<I, P, S extends Service> {
+/**
+ * Loads, caches and saves {@link AbstractService}s.
+ *
+ * <p>Entries that {@link #shouldNotExpire(Object) should not expire} (online players, loaded worlds) are pinned
+ * outside of the cache, so that they are never evicted however many offline entries are looked up. Everything else
+ * lives in a cache that is bounded by size and expires entries that have not been accessed for a while. Evicted
+ * entries are saved on the {@link WriteBehindSaver}'s thread.</p>
+ */
+public abstract class DataManager<I, P, S extends AbstractService<P>> {
+
+    private static final int WRITE_BEHIND_CAPACITY = 1000;
+    private static final int DEFAULT_MAXIMUM_SIZE = 500;
+    private static final Duration DEFAULT_EXPIRY = Duration.ofMinutes(15);
 
     private final Collection<I> bypassSave = Sets.newConcurrentHashSet();
     private final Predicate<I> fileExists;
     private final BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory;
+    private final UnaryOperator<P> copier;
     private final LoadingCache<I, S> cache;
+    private final Map<I, S> pinned = new ConcurrentHashMap<>();
+    private final WriteBehindSaver<I, P> saver;
+    private final LongAdder performedSaves = new LongAdder();
+    private final LongAdder skippedSaves = new LongAdder();
+    private volatile boolean writeBehind = true;
 
     private Timing GENERAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing ACTUAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing SAVE_TIMINGS = TimingsDummy.DUMMY;
     @Nullable private String name;
 
-    DataManager(BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate) {
+    DataManager(BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory, Predicate<I> fileExistsPredicate, UnaryOperator<P> copier) {
         this.dataProviderFactory = dataProviderFactory;
         this.fileExists = fileExistsPredicate;
+        this.copier = copier;
+        this.saver = new WriteBehindSaver<>(getClassName(), WRITE_BEHIND_CAPACITY);
         this.cache = Caffeine.newBuilder()
-                .maximumSize(500)
+                .maximumSize(DEFAULT_MAXIMUM_SIZE)
+                .expireAfterAccess(DEFAULT_EXPIRY.toMillis(), TimeUnit.MILLISECONDS)
+                .executor(this.saver::execute)
                 .removalListener(new Removal())
+                .recordStats()
                 .build(new Loader());
 
         try {
@@ -75,10 +105,15 @@ public abstract class DataManager<I, P, S extends Service> {
                 return;
             }
 
+            if (key != null && value != null && DataManager.this.pinned.get(key) == value) {
+                // It's been moved out of the cache and pinned, it's still in use.
+                return;
+            }
+
             if (value != null) {
                 try {
                     DataManager.this.SAVE_TIMINGS.startTimingIfSync();
-                    value.saveInternal();
+                    save(key, value);
                 } catch (Exception e) {
                     if (Nucleus.getNucleus().isDebugMode()) {
                         Nucleus.getNucleus().getLogger().error("[" + getClassName()  + "] Could not save " + String.valueOf(key) + ".", e);
@@ -96,10 +131,6 @@ public abstract class DataManager<I, P, S extends Service> {
                     DataManager.this.SAVE_TIMINGS.stopTimingIfSync();
                 }
             }
-
-            if (key != null && shouldNotExpire(key)) {
-                DataManager.this.cache.refresh(key);
-            }
         }
     }
 
@@ -114,6 +145,12 @@ public abstract class DataManager<I, P, S extends Service> {
                     return null;
                 }
 
+                // If the data is still waiting to be written, the file on disk is out of date, so use what we have.
+                Optional<P> pending = DataManager.this.saver.getPending(key);
+                if (pending.isPresent()) {
+                    d = new PendingDataProvider(d, DataManager.this.copier.apply(pending.get()));
+                }
+
                 return getNew(key, d).orElse(null);
             } finally {
                 DataManager.this.GENERAL_LOAD_TIMINGS.stopTimingIfSync();
@@ -122,8 +159,45 @@ public abstract class DataManager<I, P, S extends Service> {
         }
     }
 
+    /**
+     * Provides the data that is waiting to be written when loading, then defers to the real {@link DataProvider}.
+     */
+    private class PendingDataProvider implements DataProvider<P> {
+
+        private final DataProvider<P> provider;
+        @Nullable private P pending;
+
+        private PendingDataProvider(DataProvider<P> provider, P pending) {
+            this.provider = provider;
+            this.pending = pending;
+        }
+
+        @Override public boolean has() {
+            return this.pending != null || this.provider.has();
+        }
+
+        @Override public P load() throws Exception {
+            if (this.pending != null) {
+                P p = this.pending;
+                this.pending = null;
+                return p;
+            }
+
+            return this.provider.load();
+        }
+
+        @Override public void save(P info) throws Exception {
+            this.provider.save(info);
+        }
+
+        @Override public void delete() throws Exception {
+            this.provider.delete();
+        }
+    }
+
     public final boolean has(I data) {
-        return this.cache.getIfPresent(data) != null || this.fileExists.test(data);
+        return this.pinned.containsKey(data) || this.cache.getIfPresent(data) != null || this.saver.isPending(data)
+                || this.fileExists.test(data);
     }
 
     public final Optional<S> get(I data) {
@@ -132,14 +206,93 @@ public abstract class DataManager<I, P, S extends Service> {
 
     public final Optional<S> get(I data, boolean create) {
         if (create || has(data)) {
-            return Optional.ofNullable(this.cache.get(data));
+            return Optional.ofNullable(getOrLoad(data));
         }
 
         return Optional.empty();
     }
 
+    @Nullable
+    private S getOrLoad(I key) {
+        S value = this.pinned.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        if (!shouldNotExpire(key)) {
+            return this.cache.get(key);
+        }
+
+        // Online, so keep it out of the size bound. If it's in the cache, move it, the removal listener won't save it.
+        // Anything that has to be loaded is loaded outside of the map so that other keys aren't held up by the disk.
+        value = this.cache.getIfPresent(key);
+        if (value == null) {
+            try {
+                value = new Loader().load(key);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not load " + String.valueOf(key), e);
+            }
+
+            if (value == null) {
+                return null;
+            }
+        }
+
+        // If another thread got there first, use theirs.
+        S existing = this.pinned.putIfAbsent(key, value);
+        if (existing != null) {
+            value = existing;
+        }
+
+        this.cache.asMap().remove(key, value);
+        return value;
+    }
+
+    /**
+     * Gets the data for the given key without adding it to the cache, so that bulk reads (such as rebuilding the user
+     * cache) don't push everything else out of it.
+     *
+     * <p>If the data is already cached, the cached instance is returned. Otherwise, the returned instance is not
+     * tracked and will not be saved, so it must only be read from.</p>
+     *
+     * @param data The key.
+     * @return The data, if it exists.
+     */
+    public final Optional<S> getDetached(I data) {
+        S cached = this.pinned.get(data);
+        if (cached == null) {
+            cached = this.cache.getIfPresent(data);
+        }
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        if (!has(data)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(new Loader().load(data));
+        } catch (Exception e) {
+            if (Nucleus.getNucleus().isDebugMode()) {
+                Nucleus.getNucleus().getLogger().error("[" + getClassName() + "] Could not load " + String.valueOf(data) + ".", e);
+            }
+
+            return Optional.empty();
+        }
+    }
+
     public final Map<I, S> getAll(Collection<I> keys) {
-        return this.cache.getAllPresent(keys);
+        Map<I, S> result = new HashMap<>(this.cache.getAllPresent(keys));
+        for (I key : keys) {
+            S value = this.pinned.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+
+        return result;
     }
 
     protected abstract boolean shouldNotExpire(I key);
@@ -147,27 +300,158 @@ public abstract class DataManager<I, P, S extends Service> {
     public abstract Optional<S> getNew(I data, DataProvider<P> dataProvider) throws Exception;
 
     final void invalidate(I key) {
+        this.pinned.remove(key);
         S value = this.cache.getIfPresent(key);
         if (value != null) {
             this.bypassSave.add(key);
             this.cache.invalidate(key);
         }
+
+        this.saver.cancel(key);
     }
 
+    /**
+     * Saves and removes everything that is not pinned.
+     */
     public final void invalidateOld() {
-        this.cache.invalidateAll(
-                this.cache.asMap().entrySet().stream().filter(x -> !this.shouldNotExpire(x.getKey())).collect(Collectors.toList())
-        );
+        unpinExpired();
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Moves pinned entries that no longer need to be pinned (such as players that have logged off) into the cache,
+     * where they will expire normally, and performs any pending cache maintenance.
+     */
+    public final void unpinExpired() {
+        for (I key : this.pinned.keySet().stream().filter(x -> !shouldNotExpire(x)).collect(Collectors.toList())) {
+            S value = this.pinned.remove(key);
+            if (value != null) {
+                this.cache.put(key, value);
+            }
+        }
+
+        this.cache.cleanUp();
+    }
+
+    /**
+     * Sets the limits on entries that are not pinned.
+     *
+     * @param maximumSize The maximum number of entries.
+     * @param expireAfterAccess How long an entry is kept after it was last used.
+     */
+    public final void setCacheLimits(int maximumSize, Duration expireAfterAccess) {
+        this.cache.policy().eviction().ifPresent(x -> x.setMaximum(Math.max(1, maximumSize)));
+        this.cache.policy().expireAfterAccess().ifPresent(x ->
+                x.setExpiresAfter(Math.max(1000, expireAfterAccess.toMillis()), TimeUnit.MILLISECONDS));
+    }
+
+    public final CacheStats getCacheStats() {
+        return this.cache.stats();
+    }
+
+    public final int getPinnedCount() {
+        return this.pinned.size();
+    }
+
+    public final long getCachedCount() {
+        return this.cache.estimatedSize();
+    }
+
+    public final long getMaximumCacheSize() {
+        return this.cache.policy().eviction().map(x -> x.getMaximum()).orElse(-1L);
+    }
+
+    public final Duration getCacheExpiry() {
+        return this.cache.policy().expireAfterAccess().map(x -> Duration.ofMillis(x.getExpiresAfter(TimeUnit.MILLISECONDS)))
+                .orElse(Duration.ZERO);
     }
 
     public final void saveAll() {
         try {
             this.SAVE_TIMINGS.startTimingIfSync();
-            for (S s : this.cache.asMap().values()) {
-                s.save();
+            for (Map.Entry<I, S> entry : this.pinned.entrySet()) {
+                try {
+                    save(entry.getKey(), entry.getValue());
+                } catch (Exception e) {
+                    Nucleus.getNucleus().getLogger().error("Could not save", e);
+                }
+            }
+
+            for (Map.Entry<I, S> entry : this.cache.asMap().entrySet()) {
+                try {
+                    save(entry.getKey(), entry.getValue());
+                } catch (Exception e) {
+                    Nucleus.getNucleus().getLogger().error("Could not save", e);
+                }
             }
         } finally {
             this.SAVE_TIMINGS.stopTimingIfSync();
         }
     }
+
+    /**
+     * Waits for any data that is queued to be written to be saved. Used on shutdown.
+     *
+     * @return {@code true} if everything was written.
+     */
+    public final boolean flush() {
+        boolean result = this.saver.flush(30, TimeUnit.SECONDS);
+        if (!result) {
+            Nucleus.getNucleus().getLogger().error("[" + getClassName() + "] " + this.saver.getQueueDepth()
+                    + " entries could not be saved before the timeout.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Sets whether data is written on a background thread, or on the thread that requested the save.
+     *
+     * @param writeBehind {@code true} to write in the background.
+     */
+    public final void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+        if (!writeBehind) {
+            this.saver.flush(30, TimeUnit.SECONDS);
+        }
+    }
+
+    public final WriteBehindSaver<I, P> getSaver() {
+        return this.saver;
+    }
+
+    /**
+     * Gets the number of saves that have resulted in data being written.
+     *
+     * @return The number of saves.
+     */
+    public final long getPerformedSaves() {
+        return this.performedSaves.sum();
+    }
+
+    /**
+     * Gets the number of saves that have been skipped because nothing had changed since the last save.
+     *
+     * @return The number of skipped saves.
+     */
+    public final long getSkippedSaves() {
+        return this.skippedSaves.sum();
+    }
+
+    private void save(@Nullable I key, S service) throws Exception {
+        // Snapshot on this thread. If nothing has changed, there'll be no snapshot.
+        P snapshot = service.snapshot();
+        if (snapshot == null) {
+            this.skippedSaves.increment();
+            return;
+        }
+
+        this.performedSaves.increment();
+        if (this.writeBehind && key != null) {
+            // Serialise and write on the saver's thread.
+            this.saver.submit(key, snapshot, service::saveSnapshot);
+        } else {
+            service.saveSnapshot(snapshot);
+        }
+    }
 }
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
 public class UserDataManager extends DataManager<UUID, ConfigurationNode, ModularUserService> {
 
     public UserDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+        super(dataProviderFactory, fileExist, ConfigurationNode::copy);
     }
 
     public ModularUserService getUnchecked(UUID user) {
@@ -85,6 +85,8 @@ public class UserDataManager extends DataManager<UUID, ConfigurationNode, Modula
         if (service != null) {
             service.delete();
         }
+
+        Nucleus.getNucleus().getProfileDirectoryService().removeData(uuid);
     }
 
     public List<ModularUserService> getOnlineUsers() {
@@ -19,7 +19,7 @@ import java.util.function.Predicate;
 public class WorldDataManager extends DataManager<UUID, ConfigurationNode, ModularWorldService> {
 
     public WorldDataManager(BiFunction<UUID, Boolean, DataProvider<ConfigurationNode>> dataProviderFactory, Predicate<UUID> fileExist) {
-        super(dataProviderFactory, fileExist);
+        super(dataProviderFactory, fileExist, ConfigurationNode::copy);
     }
 
     @Override
@@ -0,0 +1,247 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.Nucleus;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes snapshots of data to disk on a background thread.
+ *
+ * <p>Only the latest snapshot for each key is kept - if a key is submitted again before the previous snapshot has
+ * been written, the older snapshot is discarded. Writes happen on a single thread, so writes for the same key are
+ * always performed in the order they were submitted.</p>
+ *
+ * <p>If more than the configured number of keys are waiting to be written, the thread submitting a new key writes
+ * it itself, so that the queue cannot grow without bound.</p>
+ *
+ * @param <I> The type of key.
+ * @param <P> The type of snapshot.
+ */
+public class WriteBehindSaver<I, P> {
+
+    private static final long MAX_RETRY_DELAY_SECONDS = 60;
+
+    private final String name;
+    private final int capacity;
+    private final Map<I, Pending<P>> pending = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder callerWrites = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    public WriteBehindSaver(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+        this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("Nucleus " + name + " Saver")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Queues a snapshot to be written.
+     *
+     * @param key The key the snapshot is for.
+     * @param snapshot The snapshot. This must not be modified after it has been submitted.
+     * @param writer The {@link Writer} that will write the snapshot.
+     */
+    public void submit(I key, P snapshot, Writer<P> writer) {
+        Pending<P> p = new Pending<>(snapshot, writer);
+        if (!this.pending.containsKey(key) && this.pending.size() >= this.capacity) {
+            // Back pressure - make the caller do the work.
+            this.callerWrites.increment();
+            try {
+                write(p);
+            } catch (Exception e) {
+                logFailure(key, e);
+                if (this.pending.putIfAbsent(key, p) == null) {
+                    this.executor.schedule(() -> drain(key), 5, TimeUnit.SECONDS);
+                }
+            }
+
+            return;
+        }
+
+        if (this.pending.put(key, p) == null) {
+            this.executor.execute(() -> drain(key));
+        } else {
+            this.coalesced.increment();
+        }
+    }
+
+    /**
+     * Runs a task on the saver's thread, after anything that has already been submitted.
+     *
+     * @param task The task.
+     */
+    public void execute(Runnable task) {
+        this.executor.execute(task);
+    }
+
+    /**
+     * Gets the latest snapshot for the given key that has not yet been written to disk.
+     *
+     * @param key The key.
+     * @return The snapshot, if there is one.
+     */
+    public Optional<P> getPending(I key) {
+        Pending<P> p = this.pending.get(key);
+        return p == null ? Optional.empty() : Optional.of(p.snapshot);
+    }
+
+    public boolean isPending(I key) {
+        return this.pending.containsKey(key);
+    }
+
+    /**
+     * Discards any snapshot that is waiting to be written.
+     *
+     * @param key The key.
+     */
+    public void cancel(I key) {
+        this.pending.remove(key);
+    }
+
+    /**
+     * Waits for all submitted snapshots to be written.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The {@link TimeUnit} of the timeout.
+     * @return {@code true} if everything was written.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long end = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            while (!this.pending.isEmpty()) {
+                long remaining = end - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                // All tasks run in order on one thread, so once this runs, everything queued before it has been written.
+                this.executor.submit(() -> {}).get(remaining, TimeUnit.NANOSECONDS);
+                if (!this.pending.isEmpty()) {
+                    // Something is waiting to be retried, give it a moment.
+                    Thread.sleep(50);
+                }
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return this.pending.isEmpty();
+        } catch (ExecutionException | TimeoutException e) {
+            return this.pending.isEmpty();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getQueueDepth() {
+        return this.pending.size();
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public long getWrites() {
+        return this.writes.sum();
+    }
+
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    public long getCallerWrites() {
+        return this.callerWrites.sum();
+    }
+
+    public double getAverageWriteMillis() {
+        long w = getWrites();
+        return w == 0 ? 0 : this.totalLatency.sum() / (w * 1000000.0);
+    }
+
+    public double getMaxWriteMillis() {
+        return this.maxLatency.get() / 1000000.0;
+    }
+
+    private void drain(I key) {
+        Pending<P> p;
+        while ((p = this.pending.get(key)) != null) {
+            try {
+                write(p);
+            } catch (Exception e) {
+                logFailure(key, e);
+
+                // Try again later, unless something newer has been submitted, in which case that'll be written instead.
+                long delay = Math.min(MAX_RETRY_DELAY_SECONDS, 5L * ++p.attempts);
+                this.executor.schedule(() -> drain(key), delay, TimeUnit.SECONDS);
+                return;
+            }
+
+            // If a newer snapshot has been submitted whilst writing this one, go round again.
+            if (this.pending.remove(key, p)) {
+                return;
+            }
+        }
+    }
+
+    private void write(Pending<P> p) throws Exception {
+        long start = System.nanoTime();
+        p.writer.write(p.snapshot);
+        long time = System.nanoTime() - start;
+        this.writes.increment();
+        this.totalLatency.add(time);
+        this.maxLatency.accumulateAndGet(time, Math::max);
+    }
+
+    private void logFailure(I key, Exception e) {
+        this.failures.increment();
+        Nucleus.getNucleus().getLogger().warn("[" + this.name + "] Could not save " + String.valueOf(key) + ", will try again later.");
+        if (Nucleus.getNucleus().isDebugMode()) {
+            Nucleus.getNucleus().getLogger().error("[" + this.name + "] Could not save " + String.valueOf(key) + ".", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Writer<P> {
+
+        void write(P snapshot) throws Exception;
+    }
+
+    private static class Pending<P> {
+
+        private final P snapshot;
+        private final Writer<P> writer;
+        private int attempts = 0;
+
+        private Pending(P snapshot, Writer<P> writer) {
+            this.snapshot = snapshot;
+            this.writer = writer;
+        }
+    }
+}
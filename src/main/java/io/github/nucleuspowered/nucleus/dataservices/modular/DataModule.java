@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -30,20 +32,55 @@ import javax.annotation.concurrent.GuardedBy;
 public abstract class DataModule<S extends ModularDataService<S>> {
 
     private static final Map<Class<? extends DataModule<?>>, List<FieldData>> fieldData = Maps.newHashMap();
+    private static final Map<Class<?>, Optional<DataModuleCodec<?>>> codecs = Maps.newHashMap();
     private static final Object lock = new Object();
 
+    @Nullable private final DataModuleCodec<DataModule<S>> codec;
     private final List<FieldData> data;
     private final Object lockingObject = new Object();
 
     @SuppressWarnings("unchecked") protected DataModule() {
         synchronized (lock) {
-            this.data = fieldData.computeIfAbsent((Class<? extends DataModule<?>>) this.getClass(), this::init);
+            this.codec = (DataModuleCodec<DataModule<S>>) getCodec(this.getClass()).orElse(null);
+            if (this.codec == null) {
+                this.data = fieldData.computeIfAbsent((Class<? extends DataModule<?>>) this.getClass(), this::init);
+            } else {
+                this.data = ImmutableList.of();
+            }
+        }
+    }
+
+    /**
+     * Gets the generated {@link DataModuleCodec} for the given module, if there is one.
+     *
+     * @param clazz The {@link DataModule} class.
+     * @param <T> The type of module.
+     * @return The codec, if it exists.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends DataModule<?>> Optional<DataModuleCodec<T>> getCodec(Class<T> clazz) {
+        synchronized (lock) {
+            return (Optional<DataModuleCodec<T>>) (Optional<?>) codecs.computeIfAbsent(clazz, c -> {
+                try {
+                    Class<?> codecClass = Class.forName(c.getName() + DataModuleCodec.SUFFIX, true, c.getClassLoader());
+                    return Optional.of((DataModuleCodec<?>) codecClass.newInstance());
+                } catch (ClassNotFoundException e) {
+                    return Optional.empty();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    Nucleus.getNucleus().getLogger().warn("Could not create the data codec for " + c.getName() + ", using reflection instead.");
+                    return Optional.empty();
+                }
+            });
         }
     }
 
     @GuardedBy("lockingObject")
     protected void loadFrom(ConfigurationNode node) {
         synchronized (this.lockingObject) {
+            if (this.codec != null) {
+                this.codec.load(this, node);
+            }
+
             for (FieldData d : this.data) {
                 try {
                     Optional<?> value = getValue(d.clazz, d.path, node);
@@ -82,6 +119,10 @@ public abstract class DataModule<S extends ModularDataService<S>> {
     @GuardedBy("lockingObject")
     protected void saveTo(ConfigurationNode node) {
         synchronized (this.lockingObject) {
+            if (this.codec != null) {
+                this.codec.save(this, node);
+            }
+
             for (FieldData d : this.data) {
                 try {
                     saveFieldData(d.clazz, d.field, d.path, node);
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import ninja.leaping.configurate.ConfigurationNode;
+
+/**
+ * Loads and saves the {@link DataKey} fields of a {@link DataModule} without reflection.
+ *
+ * <p>Implementations are generated at compile time by the Nucleus annotation processor, and are named after the
+ * module with {@link #SUFFIX} appended. Modules without a codec fall back to reflection.</p>
+ *
+ * @param <M> The type of {@link DataModule}.
+ */
+public interface DataModuleCodec<M extends DataModule<?>> {
+
+    String SUFFIX = "_DataCodec";
+
+    /**
+     * Creates a new, empty module.
+     *
+     * @param service The {@link ModularDataService} that the module is for.
+     * @return The module.
+     */
+    M create(ModularDataService<?> service);
+
+    /**
+     * Sets the fields on the module from the node. Fields without a value in the node are left untouched.
+     *
+     * @param module The module.
+     * @param node The node to load from.
+     */
+    void load(M module, ConfigurationNode node);
+
+    /**
+     * Writes the fields on the module to the node.
+     *
+     * @param module The module.
+     * @param node The node to save to.
+     */
+    void save(M module, ConfigurationNode node);
+
+    static void onLoadError(DataModule<?> module, String field, String key, Exception e) {
+        Nucleus.getNucleus().getLogger().warn("Could not set field data for " + field + " (data key " + key + ") - falling back to default.");
+        if (Nucleus.getNucleus().isDebugMode()) {
+            Nucleus.getNucleus().getLogger().error("Could not load " + module.getClass().getSimpleName() + ": " + field, e);
+        }
+    }
+
+    static void onSaveError(DataModule<?> module, String field, Exception e) {
+        Nucleus.getNucleus().getLogger().error("Could not save module " + module.getClass().getName() + ": " + field, e);
+    }
+}
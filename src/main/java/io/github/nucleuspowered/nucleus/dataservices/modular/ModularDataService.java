@@ -16,8 +16,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public abstract class ModularDataService<S extends ModularDataService<S>> extends AbstractService<ConfigurationNode> {
 
     protected static final Object[] VERSION_PATH = { "version" };
@@ -29,6 +32,9 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     private final Object lockingObject = new Object();
 
+    // The structural hash of the data as it was when it was last loaded or saved.
+    private volatile long savedHash = 0;
+
     ModularDataService(DataProvider<ConfigurationNode> dataProvider) {
         super(dataProvider);
     }
@@ -78,14 +84,18 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
                 if (m.isPresent()) {
                     dm = m.get();
                 } else {
-                    Nucleus.getNucleus().getLogger()
-                            .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
-
-                    if (DataModule.ReferenceService.class.isAssignableFrom(module)) {
+                    Optional<DataModuleCodec<T>> codec = DataModule.getCodec(module);
+                    if (codec.isPresent()) {
+                        dm = codec.get().create(this);
+                    } else if (DataModule.ReferenceService.class.isAssignableFrom(module)) {
+                        Nucleus.getNucleus().getLogger()
+                                .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
                         Constructor s = module.getDeclaredConstructor(this.getClass());
                         s.setAccessible(true);
                         dm = (T) s.newInstance(this);
                     } else {
+                        Nucleus.getNucleus().getLogger()
+                                .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
                         dm = module.newInstance();
                     }
                 }
@@ -117,6 +127,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
     @Override public void loadInternal() throws Exception {
         super.loadInternal();
         this.cached.clear(); // Only clear if no exception was caught.
+        this.savedHash = structuralHash(this.data); // before migration, so that migrations are saved.
         int version = this.data.getNode(VERSION_PATH).getInt(-1);
         migrate();
         int newVersion = this.data.getNode(VERSION_PATH).getInt(-1);
@@ -132,15 +143,86 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
             // If there is nothing in the cache, don't save (because we don't need to).
             if (this.data != null && (!this.cached.isEmpty() || !(this.data.isVirtual() || this.data.getValue() == null))) {
                 ImmutableMap.copyOf(this.cached).values().forEach(x -> x.saveTo(this.data));
-                super.saveInternal();
+
+                // If nothing has changed since we last loaded or saved, there is no need to write the file again.
+                long hash = structuralHash(this.data);
+                if (hash != this.savedHash) {
+                    super.saveInternal();
+                    this.savedHash = hash;
+                }
+            }
+        } finally {
+            this.saveTimings.stopTimingIfSync();
+        }
+    }
+
+    @Nullable
+    @Override public ConfigurationNode snapshot() {
+        try {
+            this.saveTimings.startTimingIfSync();
+            synchronized (this.lockingObject) {
+                if (this.data != null && (!this.cached.isEmpty() || !(this.data.isVirtual() || this.data.getValue() == null))) {
+                    ImmutableMap.copyOf(this.cached).values().forEach(x -> x.saveTo(this.data));
+                    if (structuralHash(this.data) != this.savedHash) {
+                        return this.data.copy();
+                    }
+                }
             }
+
+            return null;
         } finally {
             this.saveTimings.stopTimingIfSync();
         }
     }
 
+    @Override public void saveSnapshot(ConfigurationNode snapshot) throws Exception {
+        super.saveSnapshot(snapshot);
+        this.savedHash = structuralHash(snapshot);
+    }
+
     public void migrate() {
         // noop
     }
 
+    /**
+     * Creates a 64-bit hash of the structure and values of a node, such that two nodes with the same content have the
+     * same hash. Map entries are combined so that their order does not matter.
+     *
+     * @param node The node to hash.
+     * @return The hash.
+     */
+    static long structuralHash(@Nullable ConfigurationNode node) {
+        if (node == null) {
+            return 0;
+        }
+
+        if (node.hasMapChildren()) {
+            long hash = 0x9E3779B97F4A7C15L;
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : node.getChildrenMap().entrySet()) {
+                hash += mix(31L * Objects.hashCode(entry.getKey()) + structuralHash(entry.getValue()));
+            }
+
+            return hash;
+        } else if (node.hasListChildren()) {
+            long hash = 0xC2B2AE3D27D4EB4FL;
+            for (ConfigurationNode child : node.getChildrenList()) {
+                hash = mix(hash * 31L + structuralHash(child));
+            }
+
+            return hash;
+        }
+
+        Object value = node.getValue();
+        return value == null ? 0 : mix(((long) value.getClass().getName().hashCode() << 32) ^ value.hashCode());
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
 }
@@ -0,0 +1,233 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.channel.MessageReceiver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * The online players that should receive messages from each of the Nucleus staff channels, such as staff chat,
+ * command spy, social spy and HelpOp.
+ *
+ * <p>Rather than going through every online player and checking their permissions and preferences each time a
+ * message is sent, each {@link Audience} is updated as players join and leave, when a player changes a preference,
+ * and when permissions change. Readers get an immutable snapshot of the members without locking.</p>
+ *
+ * <p>In debug mode, each audience is checked against the online players from time to time, and any differences are
+ * logged and corrected.</p>
+ */
+public final class AudienceRegistry {
+
+    public static final AudienceRegistry INSTANCE = new AudienceRegistry();
+
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final Object lock = new Object();
+    private volatile Map<String, Audience> audiences = ImmutableMap.of();
+
+    private AudienceRegistry() {}
+
+    /**
+     * Registers an audience, or replaces the test for an audience that has already been registered, and works out
+     * who is in it.
+     *
+     * @param id The ID of the audience.
+     * @param test Whether an online player should be in the audience.
+     * @return The {@link Audience}.
+     */
+    public Audience register(String id, Predicate<Player> test) {
+        Audience audience;
+        synchronized (this.lock) {
+            audience = this.audiences.get(id);
+            if (audience == null) {
+                audience = new Audience(id, test);
+                this.audiences = ImmutableMap.<String, Audience>builder().putAll(this.audiences).put(id, audience).build();
+            } else {
+                audience.test = test;
+            }
+        }
+
+        audience.refreshAll();
+        return audience;
+    }
+
+    public Map<String, Audience> getAudiences() {
+        return this.audiences;
+    }
+
+    /**
+     * Works out which audiences a player that has just joined should be in.
+     *
+     * @param player The {@link Player}.
+     */
+    public void addPlayer(Player player) {
+        this.audiences.values().forEach(x -> x.refresh(player));
+    }
+
+    public void removePlayer(UUID uuid) {
+        this.audiences.values().forEach(x -> x.remove(uuid));
+    }
+
+    /**
+     * Works out again which audiences a player should be in, such as after a preference has changed.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void refresh(UUID uuid) {
+        Sponge.getServer().getPlayer(uuid).ifPresent(this::addPlayer);
+    }
+
+    /**
+     * Works out the members of every audience again, such as after permissions have changed.
+     */
+    public void refreshAll() {
+        this.audiences.values().forEach(Audience::refreshAll);
+    }
+
+    /**
+     * The players that should receive messages from a channel.
+     */
+    public static final class Audience {
+
+        private final String id;
+        private volatile Predicate<Player> test;
+
+        @GuardedBy("this") private final Map<UUID, Player> members = Maps.newHashMap();
+
+        private volatile ImmutableList<Player> players = ImmutableList.of();
+        private volatile ImmutableList<MessageReceiver> withConsole = ImmutableList.of();
+        private volatile long lastCheck = 0;
+
+        private Audience(String id, Predicate<Player> test) {
+            this.id = id;
+            this.test = test;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        /**
+         * Gets the online players in the audience.
+         *
+         * @return The players.
+         */
+        public ImmutableList<Player> getPlayers() {
+            checkIfDebug();
+            return this.players;
+        }
+
+        /**
+         * Gets the online players in the audience, followed by the server console.
+         *
+         * @return The receivers.
+         */
+        public ImmutableList<MessageReceiver> getPlayersAndConsole() {
+            checkIfDebug();
+            ImmutableList<MessageReceiver> receivers = this.withConsole;
+            if (receivers.isEmpty()) {
+                // Nobody has been added yet.
+                return ImmutableList.of(Sponge.getServer().getConsole());
+            }
+
+            return receivers;
+        }
+
+        /**
+         * Checks that the members are the online players that should be in the audience, correcting them if not.
+         *
+         * @return The number of players that were in the wrong place.
+         */
+        public synchronized int check() {
+            this.lastCheck = System.currentTimeMillis();
+            Set<UUID> expected = Sets.newHashSet();
+            int errors = 0;
+            for (Player player : Sponge.getServer().getOnlinePlayers()) {
+                if (this.test.test(player)) {
+                    expected.add(player.getUniqueId());
+                    if (!this.members.containsKey(player.getUniqueId())) {
+                        errors++;
+                        Nucleus.getNucleus().getLogger().warn("The " + this.id + " audience is missing " + player.getName());
+                    }
+                }
+            }
+
+            for (Player player : this.members.values()) {
+                if (!expected.contains(player.getUniqueId())) {
+                    errors++;
+                    Nucleus.getNucleus().getLogger().warn("The " + this.id + " audience should not contain " + player.getName());
+                }
+            }
+
+            if (errors > 0) {
+                refreshAll();
+            }
+
+            return errors;
+        }
+
+        private void checkIfDebug() {
+            if (Nucleus.getNucleus().isDebugMode() && this.lastCheck + CHECK_INTERVAL < System.currentTimeMillis()
+                    && Sponge.getServer().isMainThread()) {
+                check();
+            }
+        }
+
+        private synchronized void refresh(Player player) {
+            boolean changed;
+            if (player.isOnline() && this.test.test(player)) {
+                changed = this.members.put(player.getUniqueId(), player) != player;
+            } else {
+                changed = this.members.remove(player.getUniqueId()) != null;
+            }
+
+            if (changed) {
+                publish();
+            }
+        }
+
+        private synchronized void remove(UUID uuid) {
+            if (this.members.remove(uuid) != null) {
+                publish();
+            }
+        }
+
+        private synchronized void refreshAll() {
+            if (!Sponge.getGame().isServerAvailable()) {
+                // Players can't be online yet.
+                return;
+            }
+
+            this.members.clear();
+            for (Player player : Sponge.getServer().getOnlinePlayers()) {
+                if (this.test.test(player)) {
+                    this.members.put(player.getUniqueId(), player);
+                }
+            }
+
+            publish();
+        }
+
+        @GuardedBy("this")
+        private void publish() {
+            this.players = ImmutableList.copyOf(this.members.values());
+            this.withConsole = ImmutableList.<MessageReceiver>builder().addAll(this.players).add(Sponge.getServer().getConsole()).build();
+        }
+    }
+}
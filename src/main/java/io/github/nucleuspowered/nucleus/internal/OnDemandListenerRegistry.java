@@ -0,0 +1,192 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.scheduler.Task;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Registers each {@link ListenerBase.OnDemand} listener with Sponge while it has something to do, and unregisters it
+ * while it does not, so that Sponge does not have to call it for every event of a type that fires often.
+ *
+ * <p>{@link #refresh()} should be called whenever the activity of a listener might have changed. Listeners can only be
+ * registered on the main thread, so a refresh from any other thread is run on the main thread on the next tick.</p>
+ *
+ * <p>In debug mode, the events that a listener would have been called for while it was not registered are counted,
+ * to show how many events have been avoided. Counting events needs a listener of its own, so it is not done
+ * otherwise.</p>
+ */
+public final class OnDemandListenerRegistry {
+
+    public static final OnDemandListenerRegistry INSTANCE = new OnDemandListenerRegistry();
+
+    private final Object lock = new Object();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean(false);
+    private volatile List<Entry> entries = ImmutableList.of();
+
+    private OnDemandListenerRegistry() {}
+
+    /**
+     * Adds a listener, registering it if it is active.
+     *
+     * @param listener The listener.
+     */
+    public void add(ListenerBase.OnDemand listener) {
+        synchronized (this.lock) {
+            remove(listener);
+            Entry entry = new Entry(listener);
+            this.entries = ImmutableList.<Entry>builder().addAll(this.entries).add(entry).build();
+            entry.refresh();
+        }
+    }
+
+    /**
+     * Removes a listener, unregistering it if it is registered.
+     *
+     * @param listener The listener.
+     */
+    public void remove(ListenerBase.OnDemand listener) {
+        synchronized (this.lock) {
+            List<Entry> toRemove = this.entries.stream().filter(x -> x.listener == listener).collect(Collectors.toList());
+            if (!toRemove.isEmpty()) {
+                toRemove.forEach(Entry::unregister);
+                this.entries = this.entries.stream().filter(x -> x.listener != listener).collect(ImmutableList.toImmutableList());
+            }
+        }
+    }
+
+    /**
+     * Registers the listeners that have become active, and unregisters those that are no longer active.
+     */
+    public void refresh() {
+        List<Entry> e = this.entries;
+        if (e.isEmpty()) {
+            return;
+        }
+
+        if (!Sponge.getServer().isMainThread()) {
+            // Any number of requests before the next tick only need the one refresh.
+            if (this.refreshQueued.compareAndSet(false, true)) {
+                Task.builder().execute(() -> {
+                    this.refreshQueued.set(false);
+                    refresh();
+                }).submit(Nucleus.getNucleus());
+            }
+
+            return;
+        }
+
+        synchronized (this.lock) {
+            e.forEach(Entry::refresh);
+        }
+    }
+
+    public List<Entry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * A listener, and whether it is registered.
+     */
+    public static final class Entry {
+
+        private final ListenerBase.OnDemand listener;
+        private final List<Class<? extends Event>> eventTypes;
+        private final LongAdder avoided = new LongAdder();
+        private final EventListener<Event> counter = event -> this.avoided.increment();
+
+        // Only changed under the registry lock.
+        private volatile boolean registered = false;
+        private volatile int activations = 0;
+        private boolean counting = false;
+
+        private Entry(ListenerBase.OnDemand listener) {
+            this.listener = listener;
+            this.eventTypes = getEventTypes(listener.getClass());
+        }
+
+        public String getName() {
+            return this.listener.getClass().getSimpleName();
+        }
+
+        public boolean isRegistered() {
+            return this.registered;
+        }
+
+        public int getActivations() {
+            return this.activations;
+        }
+
+        public long getEventsAvoided() {
+            return this.avoided.sum();
+        }
+
+        private void refresh() {
+            boolean active;
+            try {
+                active = this.listener.isActive();
+            } catch (Exception e) {
+                // Better to do too much than too little.
+                Nucleus.getNucleus().getLogger().error("Could not tell whether " + getName() + " is needed, so it will be registered.", e);
+                active = true;
+            }
+
+            if (active && !this.registered) {
+                stopCounting();
+                Sponge.getEventManager().registerListeners(Nucleus.getNucleus(), this.listener);
+                this.registered = true;
+                this.activations++;
+            } else if (!active && this.registered) {
+                Sponge.getEventManager().unregisterListeners(this.listener);
+                this.registered = false;
+            }
+
+            if (!this.registered && !this.counting && Nucleus.getNucleus().isDebugMode()) {
+                this.eventTypes.forEach(x -> Sponge.getEventManager().registerListener(Nucleus.getNucleus(), x, Order.POST, this.counter));
+                this.counting = true;
+            }
+        }
+
+        private void unregister() {
+            stopCounting();
+            if (this.registered) {
+                Sponge.getEventManager().unregisterListeners(this.listener);
+                this.registered = false;
+            }
+        }
+
+        private void stopCounting() {
+            if (this.counting) {
+                Sponge.getEventManager().unregisterListeners(this.counter);
+                this.counting = false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Class<? extends Event>> getEventTypes(Class<?> listenerClass) {
+            return Arrays.stream(listenerClass.getMethods())
+                    .filter(x -> x.isAnnotationPresent(Listener.class))
+                    .map(Method::getParameterTypes)
+                    .filter(x -> x.length > 0 && Event.class.isAssignableFrom(x[0]))
+                    .map(x -> (Class<? extends Event>) x[0])
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.key.Keys;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * The names and plain text nicknames of online players, sorted without regard to case so that the players whose
+ * names or nicknames start with a given prefix can be found with a binary search.
+ *
+ * <p>The index is updated when players join and leave, and when nicknames change. Each online player is given a slot
+ * number, and whether the player is vanished is held in a {@link BitSet} by slot, updated when players are vanished
+ * or unvanished through Nucleus. As other plugins might vanish players too, players that get through the set are
+ * checked again before they are returned.</p>
+ *
+ * <p>Changes are made under a lock and published as a new immutable snapshot, so the index can be read from any
+ * thread without locking.</p>
+ */
+public final class PlayerNameIndex {
+
+    public static final PlayerNameIndex INSTANCE = new PlayerNameIndex();
+
+    private final Object lock = new Object();
+    private final Map<UUID, Entry> entries = Maps.newHashMap();
+    private final BitSet usedSlots = new BitSet();
+
+    private volatile Sorted names = Sorted.EMPTY;
+    private volatile Sorted nicknames = Sorted.EMPTY;
+    private volatile BitSet vanished = new BitSet();
+
+    private PlayerNameIndex() {}
+
+    /**
+     * Adds an online player to the index.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param name The name of the player.
+     * @param isVanished Whether the player is vanished.
+     */
+    public void addPlayer(UUID uuid, String name, boolean isVanished) {
+        synchronized (this.lock) {
+            Entry entry = getOrCreate(uuid);
+            entry.name = name;
+            setVanishedInternal(entry.slot, isVanished);
+            this.names = Sorted.of(this.entries, x -> x.name);
+        }
+    }
+
+    /**
+     * Removes a player, and their nickname, from the index.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removePlayer(UUID uuid) {
+        synchronized (this.lock) {
+            Entry entry = this.entries.remove(uuid);
+            if (entry != null) {
+                this.usedSlots.clear(entry.slot);
+                setVanishedInternal(entry.slot, false);
+                this.names = Sorted.of(this.entries, x -> x.name);
+                if (entry.nickname != null) {
+                    this.nicknames = Sorted.of(this.entries, x -> x.nickname);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the plain text nickname of a player. Only online players are indexed, so nothing is done if the player is
+     * not in the index.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param nickname The nickname, or {@code null} if the player has no nickname.
+     */
+    public void setNickname(UUID uuid, @Nullable String nickname) {
+        synchronized (this.lock) {
+            Entry entry = this.entries.get(uuid);
+            if (entry != null) {
+                entry.nickname = nickname;
+                this.nicknames = Sorted.of(this.entries, x -> x.nickname);
+            }
+        }
+    }
+
+    /**
+     * Sets whether a player is vanished.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param isVanished Whether the player is vanished.
+     */
+    public void setVanished(UUID uuid, boolean isVanished) {
+        synchronized (this.lock) {
+            Entry entry = this.entries.get(uuid);
+            if (entry != null) {
+                setVanishedInternal(entry.slot, isVanished);
+            }
+        }
+    }
+
+    /**
+     * Gets the online player with the given plain text nickname, ignoring case.
+     *
+     * @param nickname The nickname.
+     * @return The {@link UUID} of the player, if there is one.
+     */
+    public Optional<UUID> getByNickname(String nickname) {
+        Sorted s = this.nicknames;
+        int i = Arrays.binarySearch(s.keys, nickname.toLowerCase());
+        return i < 0 ? Optional.empty() : Optional.of(s.uuids[i]);
+    }
+
+    /**
+     * Gets the online players whose names start with the given prefix, ignoring case, in order.
+     *
+     * @param prefix The prefix.
+     * @param includeVanished Whether to include vanished players.
+     * @param limit The maximum number of players to return.
+     * @return The players, with their names.
+     */
+    public List<Match> getNamesWithPrefix(String prefix, boolean includeVanished, int limit) {
+        return this.names.withPrefix(prefix, includeVanished ? null : this.vanished, limit);
+    }
+
+    /**
+     * Gets the online players whose plain text nicknames start with the given prefix, ignoring case, in order.
+     *
+     * @param prefix The prefix.
+     * @param includeVanished Whether to include vanished players.
+     * @param limit The maximum number of players to return.
+     * @return The players, with their nicknames.
+     */
+    public List<Match> getNicknamesWithPrefix(String prefix, boolean includeVanished, int limit) {
+        return this.nicknames.withPrefix(prefix, includeVanished ? null : this.vanished, limit);
+    }
+
+    private static boolean isVisible(UUID uuid) {
+        return Sponge.getServer().getPlayer(uuid).map(x -> !x.get(Keys.VANISH).orElse(false)).orElse(false);
+    }
+
+    private Entry getOrCreate(UUID uuid) {
+        return this.entries.computeIfAbsent(uuid, x -> {
+            int slot = this.usedSlots.nextClearBit(0);
+            this.usedSlots.set(slot);
+            return new Entry(x, slot);
+        });
+    }
+
+    private void setVanishedInternal(int slot, boolean isVanished) {
+        if (this.vanished.get(slot) != isVanished) {
+            // Readers use the set without locking, so never change one that has been published.
+            BitSet v = (BitSet) this.vanished.clone();
+            v.set(slot, isVanished);
+            this.vanished = v;
+        }
+    }
+
+    /**
+     * An online player that matched a lookup.
+     */
+    public static final class Match {
+
+        private final UUID uuid;
+        private final String text;
+
+        private Match(UUID uuid, String text) {
+            this.uuid = uuid;
+            this.text = text;
+        }
+
+        public UUID getUniqueId() {
+            return this.uuid;
+        }
+
+        /**
+         * Gets the name or nickname that matched, as it is written.
+         *
+         * @return The name or nickname.
+         */
+        public String getText() {
+            return this.text;
+        }
+    }
+
+    private static final class Entry {
+
+        private final UUID uuid;
+        private final int slot;
+        @Nullable private String name;
+        @Nullable private String nickname;
+
+        private Entry(UUID uuid, int slot) {
+            this.uuid = uuid;
+            this.slot = slot;
+        }
+    }
+
+    private static final class Sorted {
+
+        private static final Sorted EMPTY = new Sorted(new String[0], new String[0], new UUID[0], new int[0]);
+
+        private final String[] keys;
+        private final String[] text;
+        private final UUID[] uuids;
+        private final int[] slots;
+
+        private Sorted(String[] keys, String[] text, UUID[] uuids, int[] slots) {
+            this.keys = keys;
+            this.text = text;
+            this.uuids = uuids;
+            this.slots = slots;
+        }
+
+        private static Sorted of(Map<UUID, Entry> entries, Function<Entry, String> textFunction) {
+            Entry[] e = entries.values().stream().filter(x -> textFunction.apply(x) != null).toArray(Entry[]::new);
+            String[] lower = new String[e.length];
+            Integer[] order = new Integer[e.length];
+            for (int i = 0; i < e.length; i++) {
+                lower[i] = textFunction.apply(e[i]).toLowerCase();
+                order[i] = i;
+            }
+
+            Arrays.sort(order, Comparator.comparing(x -> lower[x]));
+            String[] keys = new String[e.length];
+            String[] text = new String[e.length];
+            UUID[] uuids = new UUID[e.length];
+            int[] slots = new int[e.length];
+            for (int i = 0; i < e.length; i++) {
+                Entry entry = e[order[i]];
+                keys[i] = lower[order[i]];
+                text[i] = textFunction.apply(entry);
+                uuids[i] = entry.uuid;
+                slots[i] = entry.slot;
+            }
+
+            return new Sorted(keys, text, uuids, slots);
+        }
+
+        private List<Match> withPrefix(String prefix, @Nullable BitSet exclude, int limit) {
+            String lower = prefix.toLowerCase();
+            int i = Arrays.binarySearch(this.keys, lower);
+            if (i < 0) {
+                // The insertion point is the first key that comes after the prefix.
+                i = -i - 1;
+            } else {
+                // Go back to the first of any identical keys.
+                while (i > 0 && this.keys[i - 1].equals(lower)) {
+                    i--;
+                }
+            }
+
+            ImmutableList.Builder<Match> builder = ImmutableList.builder();
+            int count = 0;
+            for (; i < this.keys.length && count < limit && this.keys[i].startsWith(lower); i++) {
+                if (exclude == null || (!exclude.get(this.slots[i]) && isVisible(this.uuids[i]))) {
+                    builder.add(new Match(this.uuids[i], this.text[i]));
+                    count++;
+                }
+            }
+
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.Nucleus;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Whether each online player is frozen, jailed, muted or vanished, and when any timed state runs out, so that the
+ * listeners that fire many times a tick, such as on movement, do not need to go to the player's data.
+ *
+ * <p>A player is added when they join and removed when they leave. The services that freeze, jail, mute and vanish
+ * players keep the states up to date. Listeners should only read from this snapshot, and should not check whether a
+ * state has run out: {@link #sweep()} is run every second, and calls the handler registered for each state that has
+ * run out.</p>
+ *
+ * <p>The number of online players with each state is also kept, and when the first player gains a state or the last
+ * player loses it, the {@link OnDemandListenerRegistry} is refreshed. Each state also has a version that goes up whenever
+ * the state changes for any online player, so that anything built from the states knows when to build it again.</p>
+ */
+public final class PlayerStateSnapshot {
+
+    public static final PlayerStateSnapshot INSTANCE = new PlayerStateSnapshot();
+
+    public static final int FROZEN = 1;
+    public static final int JAILED = 1 << 1;
+    public static final int MUTED = 1 << 2;
+    public static final int VANISHED = 1 << 3;
+
+    private static final int STATE_COUNT = 4;
+
+    private final Map<UUID, State> states = new ConcurrentHashMap<>();
+    private final Map<Integer, Consumer<UUID>> expiryHandlers = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(STATE_COUNT);
+    private final AtomicLongArray versions = new AtomicLongArray(STATE_COUNT);
+
+    private PlayerStateSnapshot() {}
+
+    /**
+     * Adds a player that has just joined, with no states set.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void addPlayer(UUID uuid) {
+        State previous = this.states.put(uuid, State.NONE);
+        if (previous != null) {
+            onChange(previous.flags, 0);
+        }
+    }
+
+    public void removePlayer(UUID uuid) {
+        State previous = this.states.remove(uuid);
+        if (previous != null) {
+            onChange(previous.flags, 0);
+        }
+    }
+
+    /**
+     * Gets whether the player is online and has the given state.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The state, such as {@link #FROZEN}.
+     * @return <code>true</code> if so.
+     */
+    public boolean is(UUID uuid, int state) {
+        State s = this.states.get(uuid);
+        return s != null && (s.flags & state) != 0;
+    }
+
+    /**
+     * Gets whether any online player has the given state.
+     *
+     * @param state The state, such as {@link #FROZEN}.
+     * @return <code>true</code> if so.
+     */
+    public boolean isAny(int state) {
+        return this.counts.get(indexOf(state)) > 0;
+    }
+
+    /**
+     * Gets the version of a state, which goes up whenever an online player gains or loses it, including when such a
+     * player joins or leaves.
+     *
+     * @param state The state, such as {@link #VANISHED}.
+     * @return The version.
+     */
+    public long getVersion(int state) {
+        return this.versions.get(indexOf(state));
+    }
+
+    /**
+     * Gets whether the player is in the snapshot, that is, whether the player is online.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return <code>true</code> if so.
+     */
+    public boolean contains(UUID uuid) {
+        return this.states.containsKey(uuid);
+    }
+
+    /**
+     * Sets or clears a state with no expiry. Does nothing if the player is not online.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The state, such as {@link #FROZEN}.
+     * @param value Whether the player has the state.
+     */
+    public void set(UUID uuid, int state, boolean value) {
+        set(uuid, state, value, null);
+    }
+
+    /**
+     * Sets or clears a state. Does nothing if the player is not online.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param state The state, such as {@link #JAILED}.
+     * @param value Whether the player has the state.
+     * @param expiry When the state runs out, if it does.
+     */
+    public void set(UUID uuid, int state, boolean value, @Nullable Instant expiry) {
+        int index = indexOf(state);
+        long e = value && expiry != null ? expiry.toEpochMilli() : 0;
+        State previous;
+        State next;
+        do {
+            previous = this.states.get(uuid);
+            if (previous == null) {
+                // Not online.
+                return;
+            }
+
+            next = previous.with(state, index, value, e);
+        } while (previous != next && !this.states.replace(uuid, previous, next));
+
+        onChange(previous.flags, next.flags);
+    }
+
+    /**
+     * Registers what to do when a timed state runs out. The state is not cleared, the handler should do so through
+     * the service responsible for it.
+     *
+     * @param state The state, such as {@link #MUTED}.
+     * @param handler Takes the {@link UUID} of the player.
+     */
+    public void registerExpiryHandler(int state, Consumer<UUID> handler) {
+        indexOf(state);
+        this.expiryHandlers.put(state, handler);
+    }
+
+    /**
+     * Calls the handlers for any timed states that have run out.
+     */
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, State> entry : this.states.entrySet()) {
+            State state = entry.getValue();
+            if (state.nextExpiry > now) {
+                continue;
+            }
+
+            for (int index = 0; index < STATE_COUNT; index++) {
+                int flag = 1 << index;
+                long expiry = state.expiries[index];
+                if (expiry != 0 && expiry <= now && (state.flags & flag) != 0) {
+                    // Forget the expiry so that the handler is only called once.
+                    int i = index;
+                    this.states.computeIfPresent(entry.getKey(), (k, s) -> s.with(flag, i, (s.flags & flag) != 0, 0));
+                    Consumer<UUID> handler = this.expiryHandlers.get(flag);
+                    if (handler != null) {
+                        try {
+                            handler.accept(entry.getKey());
+                        } catch (Exception e) {
+                            if (Nucleus.getNucleus().isDebugMode()) {
+                                e.printStackTrace();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void onChange(int previous, int next) {
+        int changed = previous ^ next;
+        boolean refresh = false;
+        for (int index = 0; changed != 0; index++, changed >>>= 1) {
+            if ((changed & 1) != 0) {
+                this.versions.incrementAndGet(index);
+                int count = this.counts.addAndGet(index, (next & (1 << index)) != 0 ? 1 : -1);
+
+                // The first player to gain the state, or the last to lose it.
+                refresh |= count == 0 || count == 1 && (next & (1 << index)) != 0;
+            }
+        }
+
+        if (refresh) {
+            OnDemandListenerRegistry.INSTANCE.refresh();
+        }
+    }
+
+    private static int indexOf(int state) {
+        Preconditions.checkArgument(Integer.bitCount(state) == 1 && state < (1 << STATE_COUNT), "state must be a single state");
+        return Integer.numberOfTrailingZeros(state);
+    }
+
+    private static final class State {
+
+        private static final State NONE = new State(0, new long[STATE_COUNT]);
+
+        private final int flags;
+
+        // Epoch millis, or zero if the state does not run out.
+        private final long[] expiries;
+        private final long nextExpiry;
+
+        private State(int flags, long[] expiries) {
+            this.flags = flags;
+            this.expiries = expiries;
+            this.nextExpiry = Arrays.stream(expiries).filter(x -> x != 0).min().orElse(Long.MAX_VALUE);
+        }
+
+        private State with(int flag, int index, boolean value, long expiry) {
+            int f = value ? this.flags | flag : this.flags & ~flag;
+            if (f == this.flags && this.expiries[index] == expiry) {
+                return this;
+            }
+
+            long[] e = this.expiries;
+            if (e[index] != expiry) {
+                e = Arrays.copyOf(e, STATE_COUNT);
+                e[index] = expiry;
+            }
+
+            return new State(f, e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal;
+
+import com.google.common.collect.Maps;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each part of startup takes, so that a summary can be logged once the server has started.
+ *
+ * <p>Only the time spent in Nucleus is counted - the time other plugins and the server take between the startup
+ * phases is not.</p>
+ */
+public final class StartupTimings {
+
+    public static final StartupTimings INSTANCE = new StartupTimings();
+
+    private static final int SLOWEST_MODULES = 5;
+
+    // Kept in the order the phases were first recorded.
+    private final Map<String, Long> phases = Maps.newLinkedHashMap();
+    private final Map<String, LongAdder> modules = Maps.newConcurrentMap();
+    private final LongAdder bootstrapWait = new LongAdder();
+
+    private StartupTimings() {}
+
+    /**
+     * Records that a startup phase has finished.
+     *
+     * @param phase The name of the phase.
+     * @param start The {@link System#nanoTime()} when the phase started.
+     */
+    public void recordPhase(String phase, long start) {
+        long taken = System.nanoTime() - start;
+        synchronized (this.phases) {
+            this.phases.merge(phase, taken, Long::sum);
+        }
+    }
+
+    /**
+     * Records time spent enabling a module.
+     *
+     * @param module The ID of the module.
+     * @param start The {@link System#nanoTime()} when the work started.
+     */
+    public void recordModule(String module, long start) {
+        this.modules.computeIfAbsent(module, k -> new LongAdder()).add(System.nanoTime() - start);
+    }
+
+    /**
+     * Records time spent waiting for the classes that a module loads to be found in the background.
+     *
+     * @param start The {@link System#nanoTime()} when the wait started.
+     */
+    public void recordBootstrapWait(long start) {
+        this.bootstrapWait.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the time taken by each phase, in the order they ran, for example {@code pre-init 120ms, init 3ms}.
+     *
+     * @return The summary.
+     */
+    public String getPhaseSummary() {
+        synchronized (this.phases) {
+            long total = this.phases.values().stream().mapToLong(Long::longValue).sum();
+            return this.phases.entrySet().stream()
+                    .map(x -> x.getKey() + " " + toMillis(x.getValue()) + "ms")
+                    .collect(Collectors.joining(", ", "", ", total " + toMillis(total) + "ms"));
+        }
+    }
+
+    /**
+     * Gets the modules that took the longest to enable, slowest first, for example {@code core 80ms, kit 20ms}.
+     *
+     * @return The summary.
+     */
+    public String getModuleSummary() {
+        return this.modules.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> x) -> x.getValue().sum()).reversed())
+                .limit(SLOWEST_MODULES)
+                .map(x -> x.getKey() + " " + toMillis(x.getValue().sum()) + "ms")
+                .collect(Collectors.joining(", "));
+    }
+
+    public long getBootstrapWaitMillis() {
+        return toMillis(this.bootstrapWait.sum());
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
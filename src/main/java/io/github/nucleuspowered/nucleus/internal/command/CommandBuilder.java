@@ -18,8 +18,10 @@ import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.api.plugin.PluginContainer;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -27,6 +29,7 @@ public class CommandBuilder {
 
     private final Nucleus plugin;
     private final Set<Class<? extends AbstractCommand<?>>> commandSet;
+    private final Map<Class<?>, Supplier<?>> constructors;
     private final SimpleCommentedConfigurationNode sn;
     private final String moduleID;
     private final String moduleName;
@@ -37,9 +40,20 @@ public class CommandBuilder {
         return registeredCommands.contains(command);
     }
 
-    public CommandBuilder(Nucleus plugin, Set<Class<? extends AbstractCommand<?>>> commandSet, String moduleID, String moduleName) {
+    /**
+     * Creates a builder.
+     *
+     * @param plugin The plugin.
+     * @param commandSet The commands in the module.
+     * @param constructors Constructors for commands that can be created without reflection.
+     * @param moduleID The ID of the module.
+     * @param moduleName The name of the module.
+     */
+    public CommandBuilder(Nucleus plugin, Set<Class<? extends AbstractCommand<?>>> commandSet, Map<Class<?>, Supplier<?>> constructors,
+            String moduleID, String moduleName) {
         this.plugin = plugin;
         this.commandSet = commandSet;
+        this.constructors = constructors;
         this.sn = SimpleCommentedConfigurationNode.root();
         this.moduleID = moduleID;
         this.moduleName = moduleName;
@@ -114,7 +128,8 @@ public class CommandBuilder {
 
     private <T extends AbstractCommand<?>> Optional<T> getInstance(Class<T> clazz) {
         try {
-            T instance = clazz.newInstance();
+            Supplier<?> constructor = this.constructors.get(clazz);
+            T instance = constructor == null ? clazz.newInstance() : clazz.cast(constructor.get());
             if (instance.canLoad()) {
                 return Optional.of(instance);
             }
@@ -30,4 +30,24 @@ public interface ListenerBase extends InternalServiceManagerTrait, PermissionTra
         boolean shouldEnable();
     }
 
+    /**
+     * A listener for events that fire often, such as movement, that is only registered while it has something to do.
+     *
+     * <p>Whenever what the listener depends on might have changed, something should call
+     * {@link io.github.nucleuspowered.nucleus.internal.OnDemandListenerRegistry#refresh()}, which registers or
+     * unregisters the listener as needed. This can be combined with {@link Conditional}, in which case the listener is
+     * only registered while both allow it.</p>
+     */
+    @EntryPoint
+    @Store(Constants.LISTENER)
+    interface OnDemand extends ListenerBase {
+
+        /**
+         * Gets whether the listener has anything to do. This may be called from any thread, and should be cheap.
+         *
+         * @return <code>true</code> if the listener should be registered.
+         */
+        boolean isActive();
+    }
+
 }
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.messages;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * A message that has been split into literal text and numbered arguments, so that substituting arguments into it is
+ * a matter of appending strings.
+ *
+ * <p>Messages are {@link MessageFormat} patterns, except that quotes are always literal, and braces that do not
+ * contain just a number (such as token delimiters) are left as they are. Messages that use anything else that
+ * {@link MessageFormat} understands, such as number formats, are formatted by {@link MessageFormat} instead.</p>
+ */
+final class CompiledMessage {
+
+    private final static Pattern STRING_REPLACER = Pattern.compile("\\{+[^0-9]+}+");
+
+    private final String pattern;
+
+    // Literal text before each argument, with one extra for the text after the last one.
+    @Nullable private final String[] literals;
+    @Nullable private final int[] arguments;
+    private final int literalLength;
+
+    private CompiledMessage(String pattern, @Nullable String[] literals, @Nullable int[] arguments) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.literalLength = literals == null ? 0 : Arrays.stream(literals).mapToInt(String::length).sum();
+    }
+
+    static CompiledMessage compile(String message) {
+        String pattern = STRING_REPLACER.matcher(message.replace("'", "''")).replaceAll("'$0'");
+
+        // Follows MessageFormat#applyPattern.
+        StringBuilder literal = new StringBuilder();
+        String[] literals = new String[4];
+        int[] arguments = new int[3];
+        int count = 0;
+        boolean inQuote = false;
+        int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    literal.append(ch);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (ch == '{' && !inQuote) {
+                int end = pattern.indexOf('}', i + 1);
+                int argument = end == -1 ? -1 : parseArgument(pattern, i + 1, end);
+                if (argument == -1) {
+                    // Not a plain argument, so leave it to MessageFormat.
+                    return new CompiledMessage(pattern, null, null);
+                }
+
+                if (count == arguments.length) {
+                    arguments = Arrays.copyOf(arguments, count * 2);
+                    literals = Arrays.copyOf(literals, count * 2 + 1);
+                }
+
+                literals[count] = literal.toString();
+                arguments[count++] = argument;
+                literal.setLength(0);
+                i = end;
+            } else {
+                literal.append(ch);
+            }
+        }
+
+        literals[count] = literal.toString();
+        return new CompiledMessage(pattern, Arrays.copyOf(literals, count + 1), Arrays.copyOf(arguments, count));
+    }
+
+    private static int parseArgument(String pattern, int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    String format(String... substitutions) {
+        if (this.literals == null || this.arguments == null) {
+            return MessageFormat.format(this.pattern, (Object[]) substitutions);
+        }
+
+        if (this.arguments.length == 0) {
+            return this.literals[0];
+        }
+
+        StringBuilder sb = new StringBuilder(this.literalLength + 16 * this.arguments.length);
+        for (int i = 0; i < this.arguments.length; i++) {
+            sb.append(this.literals[i]);
+            int argument = this.arguments[i];
+            if (argument < substitutions.length) {
+                sb.append(substitutions[argument]);
+            } else {
+                // As MessageFormat does.
+                sb.append('{').append(argument).append('}');
+            }
+        }
+
+        return sb.append(this.literals[this.arguments.length]).toString();
+    }
+}
@@ -41,5 +41,6 @@ public class ConfigMessageProvider extends ResourceMessageProvider {
 
     public void reset(List<String> keys) throws IOException {
         this.mc.fixMistmatched(keys);
+        clearCache();
     }
 }
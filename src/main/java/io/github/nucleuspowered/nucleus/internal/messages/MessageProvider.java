@@ -6,6 +6,7 @@ package io.github.nucleuspowered.nucleus.internal.messages;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import org.spongepowered.api.entity.living.player.User;
@@ -14,16 +15,14 @@ import org.spongepowered.api.text.TextRepresentable;
 import org.spongepowered.api.text.TextTemplate;
 import org.spongepowered.api.text.translation.Translatable;
 
-import java.text.MessageFormat;
-import java.util.Arrays;
+import java.util.AbstractMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public abstract class MessageProvider {
 
@@ -36,11 +35,14 @@ public abstract class MessageProvider {
         return Locale.forLanguageTag(string);
     }
 
-    private final static Pattern STRING_REPLACER = Pattern.compile("\\{+[^0-9]+}+");
+    private final static Pattern ARGUMENT = Pattern.compile("\\{([\\d]+)}");
+
     public abstract Locale getLocale();
 
     public abstract Optional<String> getMessageFromKey(String key);
-    private final Map<String, TextTemplate> textTemplateMap = Maps.newHashMap();
+
+    // Replaced whenever the messages might have changed.
+    private volatile Cache cache = new Cache();
 
     public Locale setLocale(String string) {
         return setLocale(Locale.forLanguageTag(string));
@@ -48,66 +50,69 @@ public abstract class MessageProvider {
 
     public abstract Locale setLocale(Locale locale);
 
+    /**
+     * Forgets all parsed messages, for when the locale or the messages themselves have changed.
+     */
+    protected void clearCache() {
+        this.cache = new Cache();
+    }
+
     public String getMessageWithFormat(String key, String... substitutions) {
-        try {
-            String valueReplacement = STRING_REPLACER.matcher(getMessageFromKey(key)
-                    .orElseThrow(() -> new IllegalArgumentException("The key " + key + " does not exist!"))
-                    .replaceAll("'", "''")
-            ).replaceAll("'$0'");
-            return MessageFormat.format(valueReplacement, (Object[]) substitutions);
-        } catch (NoSuchElementException e) {
-            throw new IllegalArgumentException("The message key " + key + " does not exist!");
-        }
+        return this.cache.messages.computeIfAbsent(key, k -> CompiledMessage.compile(getMessageFromKey(k)
+                .orElseThrow(() -> new IllegalArgumentException("The key " + k + " does not exist!"))))
+                .format(substitutions);
     }
 
     public final Text getTextMessageWithFormat(String key, Object... substitutions) {
-        return getTextMessageWithTextFormat(key,
-                Arrays.stream(substitutions).map(x -> {
-                    if (x instanceof User) {
-                        return Nucleus.getNucleus().getNameUtil().getName((User) x);
-                    } else if (x instanceof TextRepresentable) {
-                        return (TextRepresentable) x;
-                    } else if (x instanceof Translatable || x instanceof String) {
-                        return Text.of(x);
-                    } else {
-                        return Text.of(x.toString());
-                    }
-                }).collect(Collectors.toList())
-        );
+        TextRepresentable[] texts = new TextRepresentable[substitutions.length];
+        for (int i = 0; i < substitutions.length; i++) {
+            Object x = substitutions[i];
+            if (x instanceof User) {
+                texts[i] = Nucleus.getNucleus().getNameUtil().getName((User) x);
+            } else if (x instanceof TextRepresentable) {
+                texts[i] = (TextRepresentable) x;
+            } else if (x instanceof Translatable || x instanceof String) {
+                texts[i] = Text.of(x);
+            } else {
+                texts[i] = Text.of(x.toString());
+            }
+        }
+
+        return getTextMessageWithTextFormat(key, texts);
     }
 
     public final Text getTextMessageWithFormat(String key, String... substitutions) {
-        return getTextMessageWithTextFormat(key, Arrays.stream(substitutions).map(TextParsingUtils::oldLegacy).collect(Collectors.toList()));
+        TextRepresentable[] texts = new TextRepresentable[substitutions.length];
+        for (int i = 0; i < substitutions.length; i++) {
+            texts[i] = TextParsingUtils.oldLegacy(substitutions[i]);
+        }
+
+        return getTextMessageWithTextFormat(key, texts);
     }
 
     public final Text getTextMessageWithTextFormat(String key, Text... substitutions) {
-        return getTextMessageWithTextFormat(key, Arrays.asList(substitutions));
+        return getTextMessageWithTextFormat(key, (TextRepresentable[]) substitutions);
     }
 
-    private Text getTextMessageWithTextFormat(String key, List<? extends TextRepresentable> textList) {
-        TextTemplate template = this.textTemplateMap.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
-        if (textList.isEmpty()) {
+    private Text getTextMessageWithTextFormat(String key, TextRepresentable[] texts) {
+        TextTemplate template = this.cache.templates.computeIfAbsent(key, k -> templateCreator(getMessageWithFormat(k)));
+        if (texts.length == 0) {
             return template.toText();
         }
 
-        Map<String, TextRepresentable> objs = Maps.newHashMap();
-        for (int i = 0; i < textList.size(); i++) {
-            objs.put(String.valueOf(i), textList.get(i));
-        }
-
-        return template.apply(objs).build();
+        return template.apply(new Arguments(texts)).build();
     }
 
     private TextTemplate templateCreator(String string) {
         // regex!
-        Matcher mat = Pattern.compile("\\{([\\d]+)}").matcher(string);
+        Matcher mat = ARGUMENT.matcher(string);
         List<Integer> map = Lists.newArrayList();
 
         while (mat.find()) {
             map.add(Integer.parseInt(mat.group(1)));
         }
 
-        String[] s = string.split("\\{([\\d]+)}");
+        String[] s = ARGUMENT.split(string);
 
         List<Object> objects = Lists.newArrayList();
         Text t = TextParsingUtils.oldLegacy(s[0]);
@@ -127,4 +132,68 @@ public abstract class MessageProvider {
 
         return TextTemplate.of((Object[])objects.toArray(new Object[0]));
     }
+
+    private static final class Cache {
+
+        private final Map<String, CompiledMessage> messages = Maps.newConcurrentMap();
+        private final Map<String, TextTemplate> templates = Maps.newConcurrentMap();
+    }
+
+    /**
+     * The substitutions for a message template, keyed by their position, without copying them into a map.
+     */
+    private static final class Arguments extends AbstractMap<String, TextRepresentable> {
+
+        private final TextRepresentable[] texts;
+
+        private Arguments(TextRepresentable[] texts) {
+            this.texts = texts;
+        }
+
+        @Override public TextRepresentable get(Object key) {
+            int index = indexOf(key);
+            return index == -1 ? null : this.texts[index];
+        }
+
+        @Override public boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override public int size() {
+            return this.texts.length;
+        }
+
+        @Override public Set<Entry<String, TextRepresentable>> entrySet() {
+            Set<Entry<String, TextRepresentable>> entries = Sets.newLinkedHashSet();
+            for (int i = 0; i < this.texts.length; i++) {
+                entries.add(new SimpleImmutableEntry<>(String.valueOf(i), this.texts[i]));
+            }
+
+            return entries;
+        }
+
+        private int indexOf(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+
+            String k = (String) key;
+            if (k.isEmpty() || k.length() > 9) {
+                return -1;
+            }
+
+            int index = 0;
+            for (int i = 0; i < k.length(); i++) {
+                char c = k.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+
+                index = index * 10 + (c - '0');
+            }
+
+            // "01" is not a key.
+            return index < this.texts.length && (k.length() == 1 || k.charAt(0) != '0') ? index : -1;
+        }
+    }
 }
@@ -46,6 +46,7 @@ public class ResourceMessageProvider extends MessageProvider {
     @Override
     public Locale setLocale(Locale locale) {
         this.rb = ResourceBundle.getBundle(this.resource, locale, new UTF8Control());
+        clearCache();
         return this.rb.getLocale();
     }
 
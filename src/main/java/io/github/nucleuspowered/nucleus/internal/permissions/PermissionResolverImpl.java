@@ -9,6 +9,7 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.services.PermissionResolver;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.config.PermissionCacheConfig;
 import io.github.nucleuspowered.nucleus.util.PrettyPrinter;
 import org.slf4j.event.Level;
 import org.spongepowered.api.Sponge;
@@ -20,6 +21,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
@@ -41,6 +43,8 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
 
     private boolean init = false;
 
+    private final BiPredicate<Subject, String> resolver = this::resolvePermission;
+
     public void registerPermissions() {
         Preconditions.checkState(!this.init);
         this.init = true;
@@ -78,6 +82,10 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
 
     @Override
     public boolean hasPermission(Subject subject, String permission) {
+        return SubjectPermissionCache.INSTANCE.hasPermission(subject, permission, this.resolver);
+    }
+
+    private boolean resolvePermission(Subject subject, String permission) {
         if (permission.startsWith("nucleus")) {
             Tristate tristate = subject.getPermissionValue(subject.getActiveContexts(), permission);
             if (tristate == Tristate.UNDEFINED) {
@@ -121,5 +129,11 @@ public class PermissionResolverImpl implements PermissionResolver, Reloadable {
                 .map(x -> x.getNodeOrDefault().isPrintWhenPermissionIsntRegistered())
                 .orElse(true);
 
+        PermissionCacheConfig config = Nucleus.getNucleus().getInternalServiceManager()
+                .getService(CoreConfigAdapter.class)
+                .map(x -> x.getNodeOrDefault().getPermissionCacheConfig())
+                .orElseGet(PermissionCacheConfig::new);
+        SubjectPermissionCache.INSTANCE.configure(config.isEnabled(), config.getExpiry());
+
     }
 }
@@ -6,17 +6,21 @@ package io.github.nucleuspowered.nucleus.internal.permissions;
 
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
 import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
+import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.service.ProviderRegistration;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Singleton;
 
@@ -44,6 +48,7 @@ public class ServiceChangeListener {
 
     private final static ServiceChangeListener INSTANCE = new ServiceChangeListener();
     private final List<ContextCalculator<Subject>> contextCalculators = Lists.newArrayList();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean(false);
 
     @Listener(order = Order.POST)
     public void onServiceChange(ChangeServiceProviderEvent event) {
@@ -53,6 +58,24 @@ public class ServiceChangeListener {
             for (ContextCalculator<Subject> contextCalculator : this.contextCalculators) {
                 ((PermissionService) event.getNewProvider()).registerContextCalculator(contextCalculator);
             }
+
+            SubjectPermissionCache.INSTANCE.invalidateAll();
+            AudienceRegistry.INSTANCE.refreshAll();
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        // A change to a group affects all its members, so forget everything.
+        SubjectPermissionCache.INSTANCE.invalidateAll();
+
+        // Done after the cache is cleared. Permission plugins can fire a lot of these at once, and often not on the
+        // main thread, so they all share one refresh on the next tick.
+        if (this.refreshQueued.compareAndSet(false, true)) {
+            Task.builder().execute(() -> {
+                this.refreshQueued.set(false);
+                AudienceRegistry.INSTANCE.refreshAll();
+            }).submit(Nucleus.getNucleus());
         }
     }
 
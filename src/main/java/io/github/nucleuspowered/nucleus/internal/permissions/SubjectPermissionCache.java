@@ -0,0 +1,201 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.permissions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.Subject;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Remembers the result of permission and option checks for each subject and set of active contexts.
+ *
+ * <p>Everything is forgotten when subject data changes or the permission service is replaced (see
+ * {@link ServiceChangeListener}). Entries also expire a short time after they were created, in case a permission
+ * plugin changes something without firing an event.</p>
+ */
+public final class SubjectPermissionCache {
+
+    public static final SubjectPermissionCache INSTANCE = new SubjectPermissionCache();
+
+    private static final int MAX_SUBJECTS = 2048;
+
+    // A subject rarely has more than a couple of sets of contexts (one per world, say), so if there are more than this,
+    // start again rather than hold on to them all.
+    private static final int MAX_CONTEXTS_PER_SUBJECT = 16;
+
+    private volatile boolean enabled = true;
+    private volatile Duration expiry = Duration.ofSeconds(30);
+    private volatile Cache<String, SubjectEntry> cache = create(this.expiry);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private SubjectPermissionCache() {}
+
+    private static Cache<String, SubjectEntry> create(Duration expiry) {
+        return Caffeine.newBuilder().maximumSize(MAX_SUBJECTS).expireAfterWrite(expiry).build();
+    }
+
+    /**
+     * Sets whether results are cached, and for how long.
+     *
+     * @param enabled Whether to cache results.
+     * @param expiry How long after a result is worked out that it should be worked out again.
+     */
+    public void configure(boolean enabled, Duration expiry) {
+        this.enabled = enabled;
+        if (!expiry.equals(this.expiry)) {
+            this.expiry = expiry;
+            this.cache = create(expiry);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public Duration getExpiry() {
+        return this.expiry;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+
+    public long getCachedSubjects() {
+        return this.cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+        this.invalidations.increment();
+    }
+
+    public void invalidate(Subject subject) {
+        this.cache.invalidate(subject.getIdentifier());
+    }
+
+    /**
+     * Gets whether the subject has the permission in its current contexts, using the resolver if the result is not
+     * known.
+     *
+     * @param subject The subject.
+     * @param permission The permission.
+     * @param resolver Works out the result.
+     * @return The result.
+     */
+    public boolean hasPermission(Subject subject, String permission, BiPredicate<Subject, String> resolver) {
+        if (!this.enabled) {
+            return resolver.test(subject, permission);
+        }
+
+        Map<String, Boolean> permissions = getValues(subject).permissions;
+        Boolean result = permissions.get(permission);
+        if (result != null) {
+            this.hits.increment();
+            return result;
+        }
+
+        this.misses.increment();
+        boolean r = resolver.test(subject, permission);
+        permissions.put(permission, r);
+        return r;
+    }
+
+    /**
+     * Gets the value of the option for the subject in its current contexts, using the resolver if the value is not
+     * known.
+     *
+     * @param subject The subject.
+     * @param option The option.
+     * @param resolver Works out the value.
+     * @return The value.
+     */
+    public Optional<String> getOption(Subject subject, String option, BiFunction<Subject, String, Optional<String>> resolver) {
+        if (!this.enabled) {
+            return resolver.apply(subject, option);
+        }
+
+        Map<String, Optional<String>> options = getValues(subject).options;
+        Optional<String> result = options.get(option);
+        if (result != null) {
+            this.hits.increment();
+            return result;
+        }
+
+        this.misses.increment();
+        Optional<String> r = resolver.apply(subject, option);
+        options.put(option, r);
+        return r;
+    }
+
+    private ContextValues getValues(Subject subject) {
+        String collection = subject.getContainingCollection().getIdentifier();
+        SubjectEntry entry = this.cache.getIfPresent(subject.getIdentifier());
+        if (entry == null) {
+            entry = this.cache.get(subject.getIdentifier(), k -> new SubjectEntry(collection));
+        }
+
+        if (!entry.collection.equals(collection)) {
+            // Same identifier in a different collection - just don't cache it.
+            return new ContextValues();
+        }
+
+        Set<Context> contexts = subject.getActiveContexts();
+        ContextValues values = entry.values.get(contexts);
+        if (values == null) {
+            if (entry.values.size() >= MAX_CONTEXTS_PER_SUBJECT) {
+                entry.values.clear();
+            }
+
+            // The set might belong to the permission plugin, so take a copy to use as a key.
+            values = new ContextValues();
+            ContextValues existing = entry.values.putIfAbsent(ImmutableSet.copyOf(contexts), values);
+            if (existing != null) {
+                values = existing;
+            }
+        }
+
+        return values;
+    }
+
+    private static final class SubjectEntry {
+
+        private final String collection;
+        private final Map<Set<Context>, ContextValues> values = Maps.newConcurrentMap();
+
+        private SubjectEntry(String collection) {
+            this.collection = collection;
+        }
+    }
+
+    private static final class ContextValues {
+
+        private final Map<String, Boolean> permissions = Maps.newConcurrentMap();
+        private final Map<String, Optional<String>> options = Maps.newConcurrentMap();
+    }
+}
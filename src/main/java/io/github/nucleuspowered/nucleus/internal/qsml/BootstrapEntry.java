@@ -0,0 +1,64 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.qsml;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A class that a module will load, such as a command or listener, as found by the annotation processor.
+ *
+ * @param <T> The type of class.
+ */
+public final class BootstrapEntry<T> {
+
+    private static final String[] ANY_PLATFORM = new String[0];
+
+    private final Class<T> type;
+    @Nullable private final Supplier<T> constructor;
+    private final String[] platforms;
+    private final boolean rootCommand;
+
+    public BootstrapEntry(Class<T> type, @Nullable Supplier<T> constructor, @Nullable String[] platforms, boolean rootCommand) {
+        this.type = type;
+        this.constructor = constructor;
+        this.platforms = platforms == null ? ANY_PLATFORM : platforms;
+        this.rootCommand = rootCommand;
+    }
+
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the public no-args constructor of the class, if it has one and the class does not need any checks before
+     * it is created.
+     *
+     * @return The constructor, if any.
+     */
+    public Optional<Supplier<T>> getConstructor() {
+        return Optional.ofNullable(this.constructor);
+    }
+
+    /**
+     * Gets the platforms that the class can be loaded on, from {@code RequiresPlatform}.
+     *
+     * @return The platforms, or an empty array if the class can be loaded anywhere.
+     */
+    public String[] getPlatforms() {
+        return this.platforms;
+    }
+
+    /**
+     * Gets whether the class is a command that is not a subcommand of another.
+     *
+     * @return {@code true} if so.
+     */
+    public boolean isRootCommand() {
+        return this.rootCommand;
+    }
+}
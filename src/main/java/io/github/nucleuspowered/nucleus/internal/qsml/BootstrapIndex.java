@@ -0,0 +1,48 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.qsml;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The modules in Nucleus and the classes each of them loads, generated by the annotation processor so that they do
+ * not have to be found by name at startup.
+ */
+public interface BootstrapIndex {
+
+    String GENERATED_CLASS = "io.github.nucleuspowered.nucleus.internal.qsml.GeneratedBootstrapIndex";
+
+    /**
+     * Gets the generated index, if it was generated.
+     *
+     * @return The index, if any.
+     */
+    static Optional<BootstrapIndex> load() {
+        try {
+            return Optional.of((BootstrapIndex) Class.forName(GENERATED_CLASS).newInstance());
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the module classes.
+     *
+     * @return The classes.
+     */
+    Set<Class<?>> getModules();
+
+    /**
+     * Gets the classes that the given module loads, by type, as in {@code Constants}. This will load the classes,
+     * but will not initialise them.
+     *
+     * @param module The name of the module class.
+     * @return The classes by type.
+     */
+    Map<String, List<BootstrapEntry<?>>> getEntries(String module);
+}
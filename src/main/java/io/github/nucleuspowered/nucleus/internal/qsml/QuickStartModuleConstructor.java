@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.internal.qsml;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
 import uk.co.drnaylor.quickstart.Module;
 import uk.co.drnaylor.quickstart.exceptions.QuickStartModuleLoaderException;
@@ -11,13 +12,37 @@ import uk.co.drnaylor.quickstart.loaders.ModuleConstructor;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
 
 public class QuickStartModuleConstructor implements ModuleConstructor {
 
-    private final Map<String, Map<String, List<String>>> mm;
+    @Nullable private final Map<String, Map<String, List<String>>> mm;
+    @Nullable private final BootstrapIndex index;
+    @Nullable private final ExecutorService executor;
 
-    public QuickStartModuleConstructor(Map<String, Map<String, List<String>>> m) {
+    public QuickStartModuleConstructor(@Nullable Map<String, Map<String, List<String>>> m) {
          this.mm = m;
+         this.index = null;
+         this.executor = null;
+    }
+
+    /**
+     * Creates a constructor that gives modules the classes they load from the generated {@link BootstrapIndex}.
+     *
+     * @param index The index.
+     * @param parallel Whether to load the classes for each module in the background, as soon as the module has been
+     *                 constructed. The classes are loaded but not initialised, so nothing is registered with Sponge
+     *                 off the main thread.
+     */
+    public QuickStartModuleConstructor(BootstrapIndex index, boolean parallel) {
+        this.mm = null;
+        this.index = index;
+        this.executor = parallel ? Executors.newFixedThreadPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+                new ThreadFactoryBuilder().setNameFormat("Nucleus Bootstrap %d").setDaemon(true).build()) : null;
     }
 
     @Override
@@ -30,9 +55,29 @@ public class QuickStartModuleConstructor implements ModuleConstructor {
         }
 
         if (m instanceof StandardModule) {
-            ((StandardModule) m).init(this.mm.get(moduleClass.getName()));
+            if (this.index != null) {
+                BootstrapIndex i = this.index;
+                String name = moduleClass.getName();
+                if (this.executor == null) {
+                    ((StandardModule) m).init(() -> i.getEntries(name));
+                } else {
+                    CompletableFuture<Map<String, List<BootstrapEntry<?>>>> entries = CompletableFuture.supplyAsync(() -> i.getEntries(name), this.executor);
+                    ((StandardModule) m).init(entries::join);
+                }
+            } else if (this.mm != null) {
+                ((StandardModule) m).init(this.mm.get(moduleClass.getName()));
+            }
         }
 
         return m;
     }
+
+    /**
+     * Stops the background threads once all modules have been constructed. Any work already started will finish.
+     */
+    public void finish() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+        }
+    }
 }
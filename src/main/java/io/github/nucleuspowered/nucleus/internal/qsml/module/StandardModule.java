@@ -4,7 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.internal.qsml.module;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.annotationprocessor.Store;
@@ -12,6 +15,8 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusUserPreferenceService
 import io.github.nucleuspowered.nucleus.config.CommandsConfig;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.Constants;
+import io.github.nucleuspowered.nucleus.internal.OnDemandListenerRegistry;
+import io.github.nucleuspowered.nucleus.internal.StartupTimings;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterCommandInterceptors;
 import io.github.nucleuspowered.nucleus.internal.annotations.RequireExistenceOf;
@@ -30,6 +35,7 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.TaskBase;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
+import io.github.nucleuspowered.nucleus.internal.qsml.BootstrapEntry;
 import io.github.nucleuspowered.nucleus.internal.registry.NucleusRegistryModule;
 import io.github.nucleuspowered.nucleus.internal.services.CommandRemapperService;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
@@ -68,6 +74,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -82,6 +89,12 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     protected final Nucleus plugin;
     private final CommandsConfig commandsConfig;
     @Nullable private Map<String, List<String>> objectTypesToClassListMap;
+    @Nullable private Supplier<Map<String, List<BootstrapEntry<?>>>> bootstrapSupplier;
+    @Nullable private Map<String, List<BootstrapEntry<?>>> bootstrapEntries;
+
+    // Filled in from the bootstrap index, if there is one.
+    private final Map<Class<?>, Supplier<?>> constructors = Maps.newHashMap();
+    private final Set<Class<?>> rootCommands = Sets.newHashSet();
     private final String message = NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("config.enabled");
 
     public StandardModule() {
@@ -96,6 +109,34 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         this.objectTypesToClassListMap = m;
     }
 
+    /**
+     * Gives the module the classes it loads from the generated bootstrap index.
+     *
+     * @param entries Supplies the classes by type. This may block if they are still being loaded in the background.
+     */
+    public void init(Supplier<Map<String, List<BootstrapEntry<?>>>> entries) {
+        this.bootstrapSupplier = entries;
+    }
+
+    private boolean isIndexed() {
+        return this.objectTypesToClassListMap != null || this.bootstrapSupplier != null;
+    }
+
+    private Map<String, List<BootstrapEntry<?>>> getBootstrapEntries() {
+        if (this.bootstrapEntries == null) {
+            long start = System.nanoTime();
+            try {
+                this.bootstrapEntries = this.bootstrapSupplier.get();
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Could not load the classes for module " + this.moduleId, e.getCause() == null ? e : e.getCause());
+            } finally {
+                StartupTimings.INSTANCE.recordBootstrapWait(start);
+            }
+        }
+
+        return this.bootstrapEntries;
+    }
+
     @Override
     public final void checkExternalDependencies() throws MissingDependencyException {
         if (this.getClass().isAnnotationPresent(ServerOnly.class) && !Nucleus.getNucleus().isServer()) {
@@ -119,6 +160,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     @Override
     public final void preEnable() {
+        long start = System.nanoTime();
         try {
             loadRegistries();
             loadServices();
@@ -127,13 +169,15 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Cannot enable module!", e);
+        } finally {
+            StartupTimings.INSTANCE.recordModule(this.moduleId, start);
         }
     }
 
     @SuppressWarnings("unchecked")
     private void loadServices() throws Exception {
         Set<Class<? extends ServiceBase>> servicesToLoad;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             servicesToLoad = getClassesFromList(Constants.SERVICE);
         } else {
             servicesToLoad = getStreamForModule(ServiceBase.class).collect(Collectors.toSet());
@@ -228,6 +272,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     @Override
     public final void onEnable() {
+        long start = System.nanoTime();
         this.packageName = this.getClass().getPackage().getName() + ".";
 
         // Construct commands
@@ -241,11 +286,14 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Cannot enable module!", e);
+        } finally {
+            StartupTimings.INSTANCE.recordModule(this.moduleId, start);
         }
     }
 
     @Override
     public final void postEnable() {
+        long start = System.nanoTime();
         loadTokens();
         setPermissionPredicates();
         configTasks();
@@ -254,6 +302,8 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Cannot perform post enable on module!", e);
+        } finally {
+            StartupTimings.INSTANCE.recordModule(this.moduleId, start);
         }
     }
 
@@ -263,7 +313,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     private void loadCommands() {
 
         Set<Class<? extends AbstractCommand<?>>> cmds;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             cmds = getClassesFromList(Constants.COMMAND);
         } else {
             cmds = new HashSet<>(
@@ -282,11 +332,15 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
         // We all love the special injector. We just want to provide the module with more commands, in case it needs a child.
         Set<Class<? extends AbstractCommand>> commandBases =  cmds.stream().filter(x -> {
+            if (this.bootstrapSupplier != null) {
+                return this.rootCommands.contains(x);
+            }
+
             RegisterCommand rc = x.getAnnotation(RegisterCommand.class);
             return (rc != null && rc.subcommandOf().equals(AbstractCommand.class));
         }).collect(Collectors.toSet());
 
-        CommandBuilder builder = new CommandBuilder(this.plugin, cmds, this.moduleId, this.moduleName);
+        CommandBuilder builder = new CommandBuilder(this.plugin, cmds, this.constructors, this.moduleId, this.moduleName);
         commandBases.forEach(builder::buildCommand);
 
         try {
@@ -320,7 +374,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     @SuppressWarnings("unchecked")
     private void loadEvents() {
         Set<Class<? extends ListenerBase>> listenersToLoad;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             listenersToLoad = getClassesFromList(Constants.LISTENER);
         } else {
             listenersToLoad = getStreamForModule(ListenerBase.class).collect(Collectors.toSet());
@@ -335,13 +389,13 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
             if (c instanceof ListenerBase.Conditional) {
                 // Add reloadable to load in the listener dynamically if required.
                 Reloadable tae = () -> {
-                    Sponge.getEventManager().unregisterListeners(c);
+                    unregisterListener(c);
                     if (c instanceof Reloadable) {
                         ((Reloadable) c).onReload();
                     }
 
                     if (((ListenerBase.Conditional) c).shouldEnable()) {
-                        Sponge.getEventManager().registerListeners(this.plugin, c);
+                        registerListener(c);
                     }
                 };
 
@@ -353,17 +407,34 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
                 }
             } else if (c instanceof Reloadable) {
                 this.plugin.registerReloadable(((Reloadable) c));
-                Sponge.getEventManager().registerListeners(this.plugin, c);
+                registerListener(c);
             } else {
-                Sponge.getEventManager().registerListeners(this.plugin, c);
+                registerListener(c);
             }
         });
     }
 
+    private void registerListener(ListenerBase listener) {
+        if (listener instanceof ListenerBase.OnDemand) {
+            // Only registered with Sponge when it has something to do.
+            OnDemandListenerRegistry.INSTANCE.add((ListenerBase.OnDemand) listener);
+        } else {
+            Sponge.getEventManager().registerListeners(this.plugin, listener);
+        }
+    }
+
+    private void unregisterListener(ListenerBase listener) {
+        if (listener instanceof ListenerBase.OnDemand) {
+            OnDemandListenerRegistry.INSTANCE.remove((ListenerBase.OnDemand) listener);
+        } else {
+            Sponge.getEventManager().unregisterListeners(listener);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void loadRunnables() {
         Set<Class<? extends TaskBase>> tasksToLoad;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             tasksToLoad = getClassesFromList(Constants.RUNNABLE);
         } else {
             tasksToLoad = getStreamForModule(TaskBase.class).collect(Collectors.toSet());
@@ -419,7 +490,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     private void loadRegistries() {
         Set<Class<? extends NucleusRegistryModule>> registries;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             registries = getClassesFromList(Constants.REGISTRY);
         } else {
             registries = getStreamForModule(NucleusRegistryModule.class).collect(Collectors.toSet());
@@ -437,7 +508,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     private void loadUserPrefKeys() {
         Set<Class<? extends UserPrefKeys>> keyClasses;
-        if (this.objectTypesToClassListMap != null) {
+        if (isIndexed()) {
             keyClasses = getClassesFromList(Constants.PREF_KEYS);
         } else {
             keyClasses = getStreamForModule(UserPrefKeys.class).collect(Collectors.toSet());
@@ -492,6 +563,12 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     private <T> T getInstance(Class<T> clazz, boolean checkMethods) {
         try {
+            Supplier<?> constructor = this.constructors.get(clazz);
+            if (constructor != null) {
+                // The annotation processor only provides these for classes that need none of the checks below.
+                return clazz.cast(constructor.get());
+            }
+
             RequireExistenceOf[] v = clazz.getAnnotationsByType(RequireExistenceOf.class);
             if (v.length > 0) {
                 try {
@@ -565,8 +642,16 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     private <T extends Class<?>> boolean checkPlatform(T clazz) {
         if (clazz.isAnnotationPresent(RequiresPlatform.class)) {
+            return checkPlatform(clazz, clazz.getAnnotation(RequiresPlatform.class).value());
+        }
+
+        return true;
+    }
+
+    private boolean checkPlatform(Class<?> clazz, String[] platforms) {
+        if (platforms.length > 0) {
             String platformId = Sponge.getPlatform().getContainer(Platform.Component.GAME).getId();
-            boolean loadable = Arrays.stream(clazz.getAnnotation(RequiresPlatform.class).value()).anyMatch(platformId::equalsIgnoreCase);
+            boolean loadable = Arrays.stream(platforms).anyMatch(platformId::equalsIgnoreCase);
             if (!loadable) {
                 this.plugin.getLogger().warn("Not loading /" + clazz.getSimpleName() + ": platform " + platformId + " is not supported.");
                 return false;
@@ -617,7 +702,23 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         register(impl, object);
     }
 
+    @SuppressWarnings("unchecked")
     private <T> Set<Class<? extends T>> getClassesFromList(String key) {
+        if (this.bootstrapSupplier != null) {
+            Set<Class<? extends T>> classes = new HashSet<>();
+            for (BootstrapEntry<?> entry : getBootstrapEntries().getOrDefault(key, ImmutableList.of())) {
+                if (checkPlatform(entry.getType(), entry.getPlatforms())) {
+                    classes.add((Class<? extends T>) entry.getType());
+                    entry.getConstructor().ifPresent(x -> this.constructors.put(entry.getType(), x));
+                    if (entry.isRootCommand()) {
+                        this.rootCommands.add(entry.getType());
+                    }
+                }
+            }
+
+            return classes;
+        }
+
         List<String> list = this.objectTypesToClassListMap.get(key);
         if (list == null) {
             return new HashSet<>();
@@ -6,9 +6,7 @@ package io.github.nucleuspowered.nucleus.internal.teleport;
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableList;
-import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
-import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.config.SafeTeleportConfig;
 import io.github.nucleuspowered.nucleus.modules.teleport.events.AboutToTeleportEvent;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
@@ -223,13 +221,15 @@ public class NucleusTeleportHandler {
 
     /**
      * The type of checks to perform when teleporting.
+     *
+     * <p>Modes that do not depend on the player remember their results in the {@link SafeLocationCache}.</p>
      */
     public enum StandardTeleportMode implements TeleportMode {
         /**
          * Teleport without doing any checks.
          */
-        NO_CHECK {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        NO_CHECK(false) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 return Optional.of(location);
             }
         },
@@ -237,8 +237,8 @@ public class NucleusTeleportHandler {
         /**
          * Teleport to a safe location for someone who is flying.
          */
-        FLYING_THEN_SAFE {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        FLYING_THEN_SAFE(false) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 if (player.get(Keys.IS_FLYING).orElse(false)) {
                     // If flying, we just need to check they don't end up in a wall or will enter an unsafe block.
                     return Sponge.getTeleportHelper().getSafeLocationWithBlacklist(location,
@@ -255,8 +255,8 @@ public class NucleusTeleportHandler {
         /**
          * Teleport to a safe location for someone who is flying, but otherwise check the chunk.
          */
-        FLYING_THEN_SAFE_CHUNK {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        FLYING_THEN_SAFE_CHUNK(false) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 if (player.get(Keys.IS_FLYING).orElse(false)) {
                     // If flying, we just need to check they don't end up in a wall or will enter an unsafe block.
                     return Sponge.getTeleportHelper().getSafeLocationWithBlacklist(location,
@@ -273,8 +273,8 @@ public class NucleusTeleportHandler {
         /**
          * Teleport simply checking the walls, and falling back to the full blown safe teleport.
          */
-        WALL_CHECK {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        WALL_CHECK(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 // Check that the block is not solid.
                 if (isPassable(location, false) && isPassable(location.add(0, 1, 0), false)) {
                     return Optional.of(location);
@@ -287,12 +287,12 @@ public class NucleusTeleportHandler {
         /**
          * Perform wall checks, but ascend on failure.
          */
-        WALL_CHECK_ASCENDING {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        WALL_CHECK_ASCENDING(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 Location<World> locationToCheck = setValidY(location);
                 int y = location.getExtent().getBlockMax().getY() - 1;
                 while (locationToCheck.getBlockY() < y) {
-                    Optional<Location<World>> olw = WALL_CHECK.apply(player, locationToCheck);
+                    Optional<Location<World>> olw = WALL_CHECK.search(player, locationToCheck);
                     if (olw.isPresent()) {
                         return olw;
                     }
@@ -307,25 +307,9 @@ public class NucleusTeleportHandler {
         /**
          * Teleport using the Sponge Safe Teleport routine.
          */
-        SAFE_TELEPORT {
-
-            private CoreConfigAdapter coreConfigAdapter = null;
-
-            private CoreConfigAdapter getCoreConfigAdapter() throws Exception {
-                if (this.coreConfigAdapter == null) {
-                    this.coreConfigAdapter = Nucleus.getNucleus().getModuleContainer().getConfigAdapterForModule("core", CoreConfigAdapter.class);
-                }
-
-                return this.coreConfigAdapter;
-            }
-
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
-                SafeTeleportConfig stc;
-                try {
-                    stc = getCoreConfigAdapter().getNodeOrDefault().getSafeTeleportConfig();
-                } catch (Exception e) {
-                    stc = new SafeTeleportConfig();
-                }
+        SAFE_TELEPORT(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
+                SafeTeleportConfig stc = SafeLocationCache.INSTANCE.getSafeTeleportConfig();
 
                 Optional<Location<World>> olw = TELEPORT_HELPER.getSafeLocation(setValidY(location), stc.getHeight(), stc.getWidth());
                 if (olw.isPresent()) {
@@ -343,9 +327,9 @@ public class NucleusTeleportHandler {
         /**
          * Teleport using the Sponge Safe Teleport routine - surface only.
          */
-        FLYING_THEN_SAFE_TELEPORT_SURFACE {
+        FLYING_THEN_SAFE_TELEPORT_SURFACE(false) {
 
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 if (player.get(Keys.IS_FLYING).orElse(false)) {
                     // If flying, we just need to check they don't end up in a wall or will enter an unsafe block.
                     return Sponge.getTeleportHelper().getSafeLocationWithBlacklist(location,
@@ -362,25 +346,9 @@ public class NucleusTeleportHandler {
         /**
          * Teleport using the Sponge Safe Teleport routine - surface only.
          */
-        SAFE_TELEPORT_SURFACE {
-
-            private CoreConfigAdapter coreConfigAdapter = null;
-
-            private CoreConfigAdapter getCoreConfigAdapter() throws Exception {
-                if (this.coreConfigAdapter == null) {
-                    this.coreConfigAdapter = Nucleus.getNucleus().getModuleContainer().getConfigAdapterForModule("core", CoreConfigAdapter.class);
-                }
-
-                return this.coreConfigAdapter;
-            }
-
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
-                SafeTeleportConfig stc;
-                try {
-                    stc = getCoreConfigAdapter().getNodeOrDefault().getSafeTeleportConfig();
-                } catch (Exception e) {
-                    stc = new SafeTeleportConfig();
-                }
+        SAFE_TELEPORT_SURFACE(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
+                SafeTeleportConfig stc = SafeLocationCache.INSTANCE.getSafeTeleportConfig();
 
                 return TELEPORT_HELPER.getSafeLocationWithBlacklist(setValidY(location), stc.getHeight(), stc.getWidth(),
                         TeleportHelper.DEFAULT_FLOOR_CHECK_DISTANCE,
@@ -391,8 +359,8 @@ public class NucleusTeleportHandler {
         /**
          * Teleport using the Sponge Safe Teleport routine, but using a chunk radius.
          */
-        SAFE_TELEPORT_CHUNK {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        SAFE_TELEPORT_CHUNK(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 return TELEPORT_HELPER.getSafeLocation(setValidY(location), 8, 8);
             }
         },
@@ -400,8 +368,8 @@ public class NucleusTeleportHandler {
         /**
          * Perform safe teleport checks, but ascend on failure.
          */
-        SAFE_TELEPORT_ASCENDING {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        SAFE_TELEPORT_ASCENDING(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 return StandardTeleportMode
                         .teleportCheck(player, location, (l, h) -> l.add(0, h, 0), i -> i < setValidY(location).getExtent().getBlockMax
                                 ().getY() - 1);
@@ -411,24 +379,37 @@ public class NucleusTeleportHandler {
         /**
          * Perform safe teleport checks, but descend to the surface first.
          */
-        SAFE_TELEPORT_DESCEND {
-            @Override public Optional<Location<World>> apply(Player player, Location<World> location) {
+        SAFE_TELEPORT_DESCEND(true) {
+            @Override Optional<Location<World>> search(Player player, Location<World> location) {
                 return StandardTeleportMode.teleportCheck(player, setValidY(location), (l, h) -> l.sub(0, h, 0), i -> i > 1);
             }
         };
 
         //
 
-        private static CoreConfigAdapter coreConfigAdapter = null;
+        private final boolean cacheable;
+
+        StandardTeleportMode(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
 
-        private static CoreConfigAdapter getCoreConfigAdapter() throws Exception {
-            if (coreConfigAdapter == null) {
-                coreConfigAdapter = Nucleus.getNucleus().getModuleContainer().getConfigAdapterForModule("core", CoreConfigAdapter.class);
+        @Override public final Optional<Location<World>> apply(Player player, Location<World> location) {
+            if (this.cacheable) {
+                return SafeLocationCache.INSTANCE.get(this, location, () -> search(player, location));
             }
 
-            return coreConfigAdapter;
+            return search(player, location);
         }
 
+        /**
+         * Finds the location to teleport to, without going through the cache.
+         *
+         * @param player The {@link Player} being teleported.
+         * @param location The target location.
+         * @return The location to teleport to, if there is one.
+         */
+        abstract Optional<Location<World>> search(Player player, Location<World> location);
+
         private static Optional<Location<World>> teleportCheck(
             Player player,
             Location<World> location,
@@ -436,15 +417,10 @@ public class NucleusTeleportHandler {
             Predicate<Integer> blockWhileLoop) {
 
             Location<World> locationToCheck = setValidY(location);
-            int height;
-            try {
-                height = getCoreConfigAdapter().getNodeOrDefault().getSafeTeleportConfig().getHeight();
-            } catch (Exception e) {
-                height = TeleportHelper.DEFAULT_HEIGHT;
-            }
-
+            int height = SafeLocationCache.INSTANCE.getSafeTeleportConfig().getHeight();
             while (blockWhileLoop.test(locationToCheck.getBlockY())) {
-                Optional<Location<World>> olw = SAFE_TELEPORT.apply(player, locationToCheck);
+                // The result of the whole climb is cached, no need to cache each step as well.
+                Optional<Location<World>> olw = SAFE_TELEPORT.search(player, locationToCheck);
                 if (olw.isPresent()) {
                     return olw;
                 }
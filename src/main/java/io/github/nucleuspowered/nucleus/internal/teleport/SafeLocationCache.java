@@ -0,0 +1,304 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.teleport;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.config.SafeTeleportConfig;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Remembers where the safe teleport modes found a safe location for a given target, so that popular targets such as
+ * warps, homes and spawn points do not have to be searched again on every teleport.
+ *
+ * <p>Each result is recorded against every chunk that the search could have looked at. When a block changes in any
+ * of those chunks, or any of them is unloaded, the result is forgotten (see
+ * {@link io.github.nucleuspowered.nucleus.modules.core.listeners.SafeLocationCacheListener}).</p>
+ */
+public final class SafeLocationCache {
+
+    public static final SafeLocationCache INSTANCE = new SafeLocationCache();
+
+    private static final int MAX_ENTRIES = 4096;
+
+    // The chunk teleport modes search up to 8 blocks either side of the target.
+    private static final int MIN_SEARCH_RADIUS = 8;
+
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > MAX_ENTRIES) {
+                unlink(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+
+            return false;
+        }
+    };
+
+    // World to chunk to the entries that depend on that chunk.
+    @GuardedBy("lock") private final Map<UUID, Map<Long, Set<Key>>> byChunk = Maps.newHashMap();
+
+    private volatile boolean isEmpty = true;
+    @Nullable private volatile SafeTeleportConfig safeTeleportConfig = null;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private SafeLocationCache() {}
+
+    /**
+     * Gets the safe teleport config, looking it up if it has not been set.
+     *
+     * @return The config.
+     */
+    public SafeTeleportConfig getSafeTeleportConfig() {
+        SafeTeleportConfig stc = this.safeTeleportConfig;
+        if (stc == null) {
+            try {
+                stc = Nucleus.getNucleus().getModuleContainer().getConfigAdapterForModule(CoreModule.ID, CoreConfigAdapter.class)
+                        .getNodeOrDefault().getSafeTeleportConfig();
+            } catch (Exception e) {
+                stc = new SafeTeleportConfig();
+            }
+
+            this.safeTeleportConfig = stc;
+        }
+
+        return stc;
+    }
+
+    /**
+     * Sets the safe teleport config, forgetting everything that has been cached.
+     *
+     * @param safeTeleportConfig The config.
+     */
+    public void setSafeTeleportConfig(SafeTeleportConfig safeTeleportConfig) {
+        this.safeTeleportConfig = safeTeleportConfig;
+        invalidateAll();
+    }
+
+    /**
+     * Gets the safe location for the target from the cache, searching for it if it is not cached.
+     *
+     * @param mode The {@link NucleusTeleportHandler.TeleportMode} that is searching.
+     * @param location The target location.
+     * @param search Searches for the safe location.
+     * @return The safe location, if there is one.
+     */
+    Optional<Location<World>> get(NucleusTeleportHandler.TeleportMode mode, Location<World> location,
+            Supplier<Optional<Location<World>>> search) {
+        SafeTeleportConfig stc = getSafeTeleportConfig();
+        World world = location.getExtent();
+        Key key = new Key(world.getUniqueId(), mode, location.getPosition(), stc.getHeight(), stc.getWidth());
+        synchronized (this.lock) {
+            Entry entry = this.entries.get(key);
+            if (entry != null) {
+                this.hits.increment();
+                return entry.position == null ? Optional.empty() : Optional.of(new Location<>(world, entry.position));
+            }
+        }
+
+        this.misses.increment();
+        Optional<Location<World>> result = search.get();
+        if (result.isPresent() && !result.get().getExtent().getUniqueId().equals(key.world)) {
+            // Not something we can track.
+            return result;
+        }
+
+        int radius = Math.max(MIN_SEARCH_RADIUS, stc.getWidth()) + 1;
+        Entry entry = new Entry(result.map(Location::getPosition).orElse(null),
+                (location.getBlockX() - radius) >> 4, (location.getBlockX() + radius) >> 4,
+                (location.getBlockZ() - radius) >> 4, (location.getBlockZ() + radius) >> 4);
+        synchronized (this.lock) {
+            Entry previous = this.entries.put(key, entry);
+            if (previous != null) {
+                unlink(key, previous);
+            }
+
+            Map<Long, Set<Key>> chunks = this.byChunk.computeIfAbsent(key.world, k -> Maps.newHashMap());
+            for (int x = entry.minX; x <= entry.maxX; x++) {
+                for (int z = entry.minZ; z <= entry.maxZ; z++) {
+                    chunks.computeIfAbsent(chunkKey(x, z), k -> Sets.newHashSet()).add(key);
+                }
+            }
+
+            this.isEmpty = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * Forgets the results that depend on the given chunk.
+     *
+     * @param world The {@link UUID} of the world.
+     * @param x The chunk x co-ordinate.
+     * @param z The chunk z co-ordinate.
+     */
+    public void invalidateChunk(UUID world, int x, int z) {
+        if (this.isEmpty) {
+            return;
+        }
+
+        synchronized (this.lock) {
+            Map<Long, Set<Key>> chunks = this.byChunk.get(world);
+            Set<Key> keys = chunks == null ? null : chunks.remove(chunkKey(x, z));
+            if (keys != null) {
+                this.invalidations.increment();
+                for (Key key : keys) {
+                    Entry entry = this.entries.remove(key);
+                    if (entry != null) {
+                        unlink(key, entry);
+                    }
+                }
+
+                this.isEmpty = this.entries.isEmpty();
+            }
+        }
+    }
+
+    public void invalidateWorld(UUID world) {
+        synchronized (this.lock) {
+            Map<Long, Set<Key>> chunks = this.byChunk.remove(world);
+            if (chunks != null) {
+                this.invalidations.increment();
+                this.entries.keySet().removeIf(x -> x.world.equals(world));
+                this.isEmpty = this.entries.isEmpty();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this.lock) {
+            if (!this.entries.isEmpty()) {
+                this.invalidations.increment();
+            }
+
+            this.entries.clear();
+            this.byChunk.clear();
+            this.isEmpty = true;
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.isEmpty;
+    }
+
+    public int getSize() {
+        synchronized (this.lock) {
+            return this.entries.size();
+        }
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+
+    @GuardedBy("lock")
+    private void unlink(Key key, Entry entry) {
+        Map<Long, Set<Key>> chunks = this.byChunk.get(key.world);
+        if (chunks == null) {
+            return;
+        }
+
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int z = entry.minZ; z <= entry.maxZ; z++) {
+                long chunkKey = chunkKey(x, z);
+                Set<Key> keys = chunks.get(chunkKey);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    chunks.remove(chunkKey);
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static final class Key {
+
+        private final UUID world;
+        private final NucleusTeleportHandler.TeleportMode mode;
+        private final Vector3d position;
+        private final int height;
+        private final int width;
+
+        private Key(UUID world, NucleusTeleportHandler.TeleportMode mode, Vector3d position, int height, int width) {
+            this.world = world;
+            this.mode = mode;
+            this.position = position;
+            this.height = height;
+            this.width = width;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.height == key.height && this.width == key.width && this.world.equals(key.world) && this.mode == key.mode
+                    && this.position.equals(key.position);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(this.world, this.mode, this.position, this.height, this.width);
+        }
+    }
+
+    private static final class Entry {
+
+        // Null if there is no safe location.
+        @Nullable private final Vector3d position;
+
+        // The chunks that the result depends on, inclusive.
+        private final int minX;
+        private final int maxX;
+        private final int minZ;
+        private final int maxZ;
+
+        private Entry(@Nullable Vector3d position, int minX, int maxX, int minZ, int maxZ) {
+            this.position = position;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+        }
+    }
+}
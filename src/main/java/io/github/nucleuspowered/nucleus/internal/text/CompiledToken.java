@@ -0,0 +1,228 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.TextSerializers;
+import org.spongepowered.api.util.Tuple;
+
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A token that has been split into its parts once, so that it does not have to be parsed every time it is used.
+ *
+ * <p>The parser (and, for Nucleus tokens, the {@link Tokens.Translator}) is looked up when the token is first used,
+ * and again whenever a token is registered or unregistered.</p>
+ */
+public final class CompiledToken {
+
+    private static final Tokens.Translator NO_TRANSLATOR = (p, v, m) -> Optional.empty();
+
+    private final NucleusMessageTokenService service;
+    private final boolean appendSpace;
+    private final boolean prependSpace;
+    private final Type type;
+
+    // For plugin tokens, the plugin ID. For primary tokens, the primary identifier. For options, the option.
+    private final String key;
+
+    // For plugin tokens, the identifier. For primary tokens, the variable string, if any.
+    @Nullable private final String argument;
+
+    @Nullable private volatile Resolved resolved;
+
+    private CompiledToken(NucleusMessageTokenService service, boolean appendSpace, boolean prependSpace, Type type, String key,
+            @Nullable String argument) {
+        this.service = service;
+        this.appendSpace = appendSpace;
+        this.prependSpace = prependSpace;
+        this.type = type;
+        this.key = key;
+        this.argument = argument;
+    }
+
+    /**
+     * Splits a token into its parts.
+     *
+     * @param service The token service that will supply the parsers.
+     * @param token The token, with or without the delimiters.
+     * @return The {@link CompiledToken}.
+     */
+    public static CompiledToken compile(NucleusMessageTokenService service, String token) {
+        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+
+        // :s, :p, :sp and so on.
+        boolean appendSpace = false;
+        boolean prependSpace = false;
+        int colon = token.lastIndexOf(':');
+        if (colon != -1 && colon < token.length() - 1 && isSpaceSuffix(token, colon + 1)) {
+            for (int i = colon + 1; i < token.length(); i++) {
+                if (token.charAt(i) == 's') {
+                    appendSpace = true;
+                } else {
+                    prependSpace = true;
+                }
+            }
+
+            token = token.substring(0, colon);
+        }
+
+        if (token.startsWith("pl:") || token.startsWith("p:")) {
+            // Plugin identifiers are of the form pl:<pluginid>:<identifier>
+            String[] tokSplit = token.split(":", 3);
+            if (tokSplit.length < 3) {
+                return new CompiledToken(service, false, false, Type.NONE, token, null);
+            }
+
+            return new CompiledToken(service, appendSpace, prependSpace, Type.PLUGIN, tokSplit[1], tokSplit[2]);
+        } else if (token.startsWith("o:")) {
+            return new CompiledToken(service, appendSpace, prependSpace, Type.OPTION, token.substring(2), null);
+        } else if (token.isEmpty()) {
+            return new CompiledToken(service, false, false, Type.NONE, token, null);
+        }
+
+        int bar = token.indexOf('|');
+        if (bar == -1) {
+            return new CompiledToken(service, appendSpace, prependSpace, Type.PRIMARY, token, null);
+        }
+
+        return new CompiledToken(service, appendSpace, prependSpace, Type.PRIMARY, token.substring(0, bar), token.substring(bar + 1));
+    }
+
+    private static boolean isSpaceSuffix(String token, int from) {
+        for (int i = from; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != 's' && c != 'p') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the value of the token.
+     *
+     * @param source The {@link CommandSource} that will see the token.
+     * @param variables The variables that could be used in the token.
+     * @return The {@link Text}, if any.
+     */
+    public Optional<Text> apply(CommandSource source, Map<String, Object> variables) {
+        Optional<Text> toReturn;
+        switch (this.type) {
+            case OPTION:
+                toReturn = getTextFromOption(source);
+                break;
+            case PLUGIN:
+            case PRIMARY:
+                toReturn = resolve().apply(source, variables);
+                break;
+            default:
+                return Optional.empty();
+        }
+
+        if (this.appendSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
+        }
+
+        if (this.prependSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
+        }
+
+        return toReturn;
+    }
+
+    private Resolved resolve() {
+        Resolved r = this.resolved;
+        int serviceGeneration = this.service instanceof NucleusTokenServiceImpl ? ((NucleusTokenServiceImpl) this.service).getGeneration() : 0;
+        int tokensGeneration = Tokens.INSTANCE.getGeneration();
+        if (r == null || r.serviceGeneration != serviceGeneration || r.tokensGeneration != tokensGeneration) {
+            r = new Resolved(serviceGeneration, tokensGeneration);
+            this.resolved = r;
+        }
+
+        return r;
+    }
+
+    private Optional<Text> getTextFromOption(CommandSource cs) {
+        if (cs instanceof Player) {
+            return Util.getOptionFromSubject(cs, this.key).map(TextSerializers.FORMATTING_CODE::deserialize);
+        }
+
+        return Optional.empty();
+    }
+
+    private enum Type {
+        NONE,
+        PLUGIN,
+        PRIMARY,
+        OPTION
+    }
+
+    /**
+     * The parser for the token, as it was when the token service was at the given generation.
+     */
+    private final class Resolved {
+
+        private final int serviceGeneration;
+        private final int tokensGeneration;
+        @Nullable private final NucleusMessageTokenService.TokenParser parser;
+        private final String parserInput;
+        @Nullable private final Tokens.Translator translator;
+        private final String variableString;
+
+        private Resolved(int serviceGeneration, int tokensGeneration) {
+            this.serviceGeneration = serviceGeneration;
+            this.tokensGeneration = tokensGeneration;
+
+            String input = null;
+            NucleusMessageTokenService.TokenParser p = null;
+            if (CompiledToken.this.type == Type.PLUGIN) {
+                p = CompiledToken.this.service.getTokenParser(CompiledToken.this.key).orElse(null);
+                input = CompiledToken.this.argument;
+            } else {
+                Optional<Tuple<NucleusMessageTokenService.TokenParser, String>> primary =
+                        CompiledToken.this.service.getPrimaryTokenParserAndIdentifier(CompiledToken.this.key);
+                if (primary.isPresent()) {
+                    p = primary.get().getFirst();
+                    input = CompiledToken.this.argument == null ?
+                            primary.get().getSecond() :
+                            primary.get().getSecond() + "|" + CompiledToken.this.argument;
+                }
+            }
+
+            this.parser = p;
+            this.parserInput = input == null ? "" : input;
+
+            // Nucleus tokens are split now, rather than by Tokens#parse every time.
+            if (p instanceof Tokens) {
+                int bar = this.parserInput.indexOf('|');
+                String name = bar == -1 ? this.parserInput : this.parserInput.substring(0, bar);
+                this.translator = ((Tokens) p).getTranslator(name).orElse(NO_TRANSLATOR);
+                this.variableString = bar == -1 ? "" : this.parserInput.substring(bar + 1);
+            } else {
+                this.translator = null;
+                this.variableString = "";
+            }
+        }
+
+        private Optional<Text> apply(CommandSource source, Map<String, Object> variables) {
+            if (this.translator != null) {
+                return this.translator.get(source, this.variableString, variables);
+            } else if (this.parser != null) {
+                return this.parser.parse(this.parserInput, source, variables);
+            }
+
+            return Optional.empty();
+        }
+    }
+}
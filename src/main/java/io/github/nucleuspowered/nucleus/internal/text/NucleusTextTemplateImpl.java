@@ -8,6 +8,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.util.JsonConfigurateStringHelper;
 import io.github.nucleuspowered.nucleus.util.Tuples;
@@ -42,6 +43,7 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
     private final String representation;
     private final TextTemplate textTemplate;
     private final Map<String, Function<CommandSource, Text>> tokenMap = Maps.newHashMap();
+    @Nullable private volatile RenderPlan renderPlan;
 
     public NucleusTextTemplateImpl(String representation, @Nullable Text prefix, @Nullable Text suffix) {
         this.representation = representation;
@@ -88,42 +90,34 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
             @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokensArray,
             @Nullable Map<String, Object> variables) {
         final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
-
-        Map<String, TextTemplate.Arg> tokens = this.textTemplate.getArguments();
-        Map<String, Text> finalArgs = Maps.newHashMap();
-
-        tokens.forEach((k, v) -> {
-            String key = k.toLowerCase();
-
-            Text t;
-            if (this.tokenMap.containsKey(key)) {
-                t = this.tokenMap.get(key).apply(source);
-            } else if (tokensArray != null && tokensArray.containsKey(key)) {
-                t = tokensArray.get(key).apply(source).orElse(null);
-            } else {
-                t = Nucleus.getNucleus().getMessageTokenService().parseToken(key, source, variables2).orElse(null);
+        final RenderPlan plan = getRenderPlan();
+
+        Text finalText;
+        if (plan.parts.length == 0) {
+            finalText = plan.staticText;
+        } else {
+            Map<String, Text> finalArgs = Maps.newHashMapWithExpectedSize(plan.parts.length);
+            for (Part part : plan.parts) {
+                Text t = part.apply(source, tokensArray, variables2);
+                if (t != null) {
+                    finalArgs.put(part.key, t);
+                }
             }
 
-            if (t != null) {
-                finalArgs.put(k, t);
-            }
-        });
+            finalText = this.textTemplate.apply(finalArgs).build();
+        }
 
         Text.Builder builder = Text.builder();
-        TextParsingUtils.StyleTuple st = null;
         if (this.prefix != null) {
             builder.append(this.prefix);
-            st = TextParsingUtils.getLastColourAndStyle(this.prefix, null);
         }
 
-        Text finalText = this.textTemplate.apply(finalArgs).build();
-
         // Don't append text if there is no text to append!
         if (!finalText.isEmpty()) {
-            if (st == null) {
+            if (plan.prefixStyle == null) {
                 builder.append(finalText);
             } else {
-                builder.append(Text.builder().color(st.colour).style(st.style).append(finalText).build());
+                builder.append(Text.builder().color(plan.prefixStyle.colour).style(plan.prefixStyle.style).append(finalText).build());
             }
         }
 
@@ -134,10 +128,88 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
         return builder.build();
     }
 
+    private RenderPlan getRenderPlan() {
+        RenderPlan plan = this.renderPlan;
+        if (plan == null) {
+            // If two threads get here, they'll build the same plan, so it doesn't matter which one wins.
+            plan = new RenderPlan();
+            this.renderPlan = plan;
+        }
+
+        return plan;
+    }
+
     public Text toText() {
         return this.textTemplate.toText();
     }
 
+    /**
+     * Everything about rendering this template that does not depend on who it is for, worked out when it is first
+     * rendered.
+     */
+    private final class RenderPlan {
+
+        private final Part[] parts;
+        @Nullable private final Text staticText;
+        @Nullable private final TextParsingUtils.StyleTuple prefixStyle;
+
+        private RenderPlan() {
+            NucleusMessageTokenService service = Nucleus.getNucleus().getMessageTokenService();
+            this.parts = NucleusTextTemplateImpl.this.textTemplate.getArguments().keySet().stream()
+                    .map(x -> new Part(x, service))
+                    .toArray(Part[]::new);
+
+            // With nothing to substitute, the template always renders to the same thing.
+            this.staticText = this.parts.length == 0 ? NucleusTextTemplateImpl.this.textTemplate.apply(emptyVariables).build() : null;
+            this.prefixStyle = NucleusTextTemplateImpl.this.prefix == null ? null :
+                    TextParsingUtils.getLastColourAndStyle(NucleusTextTemplateImpl.this.prefix, null);
+        }
+    }
+
+    /**
+     * An argument in the template, with where its value will come from.
+     */
+    private final class Part {
+
+        private final String key;
+        private final String lowerKey;
+        @Nullable private final Function<CommandSource, Text> local;
+        @Nullable private final NucleusTokenServiceImpl service;
+        @Nullable private final CompiledToken token;
+
+        private Part(String key, NucleusMessageTokenService service) {
+            this.key = key;
+            this.lowerKey = key.toLowerCase();
+            this.local = NucleusTextTemplateImpl.this.tokenMap.get(this.lowerKey);
+            if (service instanceof NucleusTokenServiceImpl) {
+                this.service = (NucleusTokenServiceImpl) service;
+                this.token = this.service.compile(this.lowerKey);
+            } else {
+                this.service = null;
+                this.token = null;
+            }
+        }
+
+        @Nullable
+        private Text apply(CommandSource source, @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokensArray,
+                Map<String, Object> variables) {
+            if (this.local != null) {
+                return this.local.apply(source);
+            }
+
+            Function<CommandSource, Optional<Text>> supplied = tokensArray == null ? null : tokensArray.get(this.lowerKey);
+            if (supplied != null) {
+                return supplied.apply(source).orElse(null);
+            }
+
+            if (this.service != null && this.token != null) {
+                return this.service.apply(this.token, source, variables).orElse(null);
+            }
+
+            return Nucleus.getNucleus().getMessageTokenService().parseToken(this.lowerKey, source, variables).orElse(null);
+        }
+    }
+
     /**
      * Creates a {@link TextTemplate} from an Ampersand encoded string.
      */
@@ -9,32 +9,28 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import io.github.nucleuspowered.nucleus.PluginInfo;
-import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.text.Text;
-import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.Tuple;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
 public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
 
-    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
     private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
     private final NucleusPlugin plugin;
+    private volatile int generation = 0;
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") private final Optional<Text> EMPTY = Optional.empty();
 
@@ -58,6 +54,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
 
         this.tokenStore.put(pluginContainer.getId(), textFunction);
+        this.generation++;
     }
 
     @Override public boolean unregister(PluginContainer pluginContainer) {
@@ -66,6 +63,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         TokenParser parser = this.tokenStore.remove(pluginContainer.getId());
         if (parser != null) {
             this.primaryTokenStore.entrySet().removeIf(x -> x.getValue().getFirst().equals(parser));
+            this.generation++;
             return true;
         }
 
@@ -78,6 +76,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
             // Register!
             this.primaryTokenStore.put(primaryIdentifier.toLowerCase(), Tuple.of(this.tokenStore.get(registeringPlugin.getId()),
                     identiferToMapTo.toLowerCase()));
+            this.generation++;
             return true;
         }
 
@@ -98,7 +97,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     }
 
     @Override public Optional<Text> parseToken(String token, CommandSource source, @Nullable Map<String, Object> variables) {
-        return getTextFromToken(token, source, variables);
+        return apply(compile(token), source, variables == null ? Collections.<String, Object>emptyMap() : variables);
     }
 
     @Override public boolean registerTokenFormat(String tokenStart, String tokenEnd, String replacement) throws IllegalArgumentException {
@@ -113,45 +112,19 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
-        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = suffixPattern.matcher(token);
-        boolean addSpace = false;
-        boolean prependSpace = false;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            addSpace = match.contains("s");
-            prependSpace = match.contains("p");
-
-            token = token.replaceAll(":[sp]+$", "");
-        }
+    /**
+     * Splits a token into its parts, so that it can be applied repeatedly without being parsed again.
+     *
+     * @param token The token, with or without the delimiters.
+     * @return The {@link CompiledToken}.
+     */
+    CompiledToken compile(String token) {
+        return CompiledToken.compile(this, token);
+    }
 
+    Optional<Text> apply(CompiledToken token, CommandSource source, Map<String, Object> variables) {
         try {
-            Optional<Text> toReturn;
-            if (token.startsWith("pl:") || token.startsWith("p:")) {
-                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
-                String[] tokSplit = token.split(":", 3);
-                if (tokSplit.length < 3) {
-                    return this.EMPTY;
-                }
-
-                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
-            } else if (token.startsWith("o:")) { // Option identifier.
-                toReturn = getTextFromOption(source, token.substring(2));
-            } else {
-                // Standard.
-                toReturn = applyPrimaryToken(token, source, variables);
-            }
-
-            if (addSpace) {
-                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
-            }
-
-            if (prependSpace) {
-                toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
-            }
-
-            return toReturn;
+            return token.apply(source, variables);
         } catch (Exception e) {
             if (this.plugin.isDebugMode()) {
                 e.printStackTrace();
@@ -161,12 +134,14 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromOption(CommandSource cs, String option) {
-        if (cs instanceof Player) {
-            return Util.getOptionFromSubject(cs, option).map(TextSerializers.FORMATTING_CODE::deserialize);
-        }
-
-        return Optional.empty();
+    /**
+     * Incremented whenever a parser or primary token is registered or removed, so that {@link CompiledToken}s know
+     * to look their parsers up again.
+     *
+     * @return The generation.
+     */
+    int getGeneration() {
+        return this.generation;
     }
 
     public Tokens getNucleusTokenParser() {
@@ -22,13 +22,16 @@ import org.spongepowered.api.world.World;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
     public static final Tokens INSTANCE = new Tokens();
     private final Map<String, Translator> translatorMap = Maps.newHashMap();
+    private volatile int generation = 0;
 
     private Tokens() {
         this.translatorMap
@@ -42,14 +45,14 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         this.translatorMap.put("playerdisplayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
         this.translatorMap.put("displayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
 
-        this.translatorMap.put("maxplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getMaxPlayers())));
-        this.translatorMap.put("onlineplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getOnlinePlayers().size())));
+        this.translatorMap.put("maxplayers", new PerTickTranslator(() -> Optional.of(Text.of(Sponge.getServer().getMaxPlayers()))));
+        this.translatorMap.put("onlineplayers", new PerTickTranslator(() -> Optional.of(Text.of(Sponge.getServer().getOnlinePlayers().size()))));
         this.translatorMap.put("currentworld", (p, v, m) -> Optional.of(Text.of(getWorld(getFromVariableIfExists(p, v, m)).getName())));
         this.translatorMap.put("time", (p, v, m) -> Optional.of(Text.of(Util
                 .getTimeFromTicks(getWorld(getFromVariableIfExists(p, v, m)).getProperties().getWorldTime()))));
 
-        this.translatorMap.put("uniquevisitor", (p, v, m) -> Optional.of(Text.of(Nucleus.getNucleus()
-                .getGeneralService().getTransient(UniqueUserCountTransientModule.class).getUniqueUserCount())));
+        this.translatorMap.put("uniquevisitor", new PerTickTranslator(() -> Optional.of(Text.of(Nucleus.getNucleus()
+                .getGeneralService().getTransient(UniqueUserCountTransientModule.class).getUniqueUserCount()))));
 
         this.translatorMap.put("ipaddress", (p, v, m) -> Optional.of(Text.of(p instanceof RemoteSource ?
             ((RemoteSource)p).getConnection().getAddress().getAddress().toString() :
@@ -60,13 +63,36 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
     @Nonnull @Override public Optional<Text> parse(String tokenInput, CommandSource source, Map<String, Object> variables) {
         // Token
-        String[] split = tokenInput.split("\\|", 2);
-        String var = "";
-        if (split.length == 2) {
-            var = split[1];
-        }
+        int bar = tokenInput.indexOf('|');
+        String name = bar == -1 ? tokenInput : tokenInput.substring(0, bar);
+        String var = bar == -1 ? "" : tokenInput.substring(bar + 1);
+        return getTranslator(name).map(x -> x.get(source, var, variables)).orElseGet(Optional::empty);
+    }
+
+    Optional<Translator> getTranslator(String name) {
+        return Optional.ofNullable(this.translatorMap.get(name.toLowerCase()));
+    }
+
+    /**
+     * Incremented whenever a translator is registered, so that {@link CompiledToken}s know to look their translators
+     * up again.
+     *
+     * @return The generation.
+     */
+    int getGeneration() {
+        return this.generation;
+    }
 
-        return this.translatorMap.getOrDefault(split[0].toLowerCase(), (p, v, m) -> Optional.empty()).get(source, var, variables);
+    /**
+     * Forgets the values of tokens that do not depend on who is viewing them, such as the number of online players,
+     * before the end of the tick.
+     */
+    public void invalidatePerTickTokens() {
+        this.translatorMap.values().forEach(x -> {
+            if (x instanceof PerTickTranslator) {
+                ((PerTickTranslator) x).invalidate();
+            }
+        });
     }
 
     public Set<String> getTokenNames() {
@@ -80,6 +106,7 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         }
 
         this.translatorMap.put(nameLower, translator);
+        this.generation++;
         return !primary || Nucleus.getNucleus().getMessageTokenService()
                 .registerPrimaryToken(nameLower, Nucleus.getNucleus().getPluginContainer(), nameLower);
 
@@ -115,6 +142,45 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         Optional<Text> get(CommandSource source, String variableString, Map<String, Object> variables);
     }
 
+    /**
+     * A translator for a token that is the same for everyone, which is only worked out once a tick.
+     */
+    private static final class PerTickTranslator implements Translator {
+
+        private final Supplier<Optional<Text>> supplier;
+        @Nullable private volatile Cached cached;
+
+        private PerTickTranslator(Supplier<Optional<Text>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override public Optional<Text> get(CommandSource source, String variableString, Map<String, Object> variables) {
+            int tick = Sponge.getServer().getRunningTimeTicks();
+            Cached c = this.cached;
+            if (c == null || c.tick != tick) {
+                c = new Cached(tick, this.supplier.get());
+                this.cached = c;
+            }
+
+            return c.value;
+        }
+
+        private void invalidate() {
+            this.cached = null;
+        }
+    }
+
+    private static final class Cached {
+
+        private final int tick;
+        private final Optional<Text> value;
+
+        private Cached(int tick, Optional<Text> value) {
+            this.tick = tick;
+            this.value = value;
+        }
+    }
+
     public static abstract class TrueFalseVariableTranslator implements Translator {
 
         protected abstract Optional<Text> getDefault();
@@ -8,6 +8,7 @@ import com.google.common.collect.ImmutableList;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusUserPreferenceService;
 import io.github.nucleuspowered.nucleus.argumentparsers.TargetHasPermissionArgument;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.PreferencesUserModule;
 import org.spongepowered.api.command.CommandSource;
@@ -78,6 +79,9 @@ public class UserPreferenceService implements NucleusUserPreferenceService {
                 .orElseThrow(IllegalStateException::new)
                 .get(PreferencesUserModule.class)
                 .set(key.getID(), value);
+
+        // Preferences decide whether players see staff chat and the like.
+        AudienceRegistry.INSTANCE.refresh(uuid);
     }
 
     public Map<NucleusUserPreferenceService.PreferenceKey<?>, Object> get(User user) {
@@ -5,33 +5,29 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
-import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public abstract class AbstractLoggingHandler {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
         .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
-    protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
+    @Nullable private volatile AsyncLogWriter logger;
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
-    private final Nucleus plugin = Nucleus.getNucleus();
+    private boolean blockWhenFull = false;
 
     @Inject
     public AbstractLoggingHandler(String directoryName, String filePrefix) {
@@ -40,10 +36,9 @@ public abstract class AbstractLoggingHandler {
     }
 
     public void queueEntry(String s) {
-        if (this.logger != null) {
-            synchronized (this.locking) {
-                this.queueEntry.add(s);
-            }
+        AsyncLogWriter writer = this.logger;
+        if (writer != null) {
+            writer.queue(s);
         }
     }
 
@@ -55,61 +50,55 @@ public abstract class AbstractLoggingHandler {
     }
 
     protected void onShutdown() throws IOException {
-        if (this.logger != null) {
-            this.logger.close();
+        AsyncLogWriter writer = this.logger;
+        if (writer != null) {
             this.logger = null;
+            writer.close();
         }
     }
 
-    protected abstract boolean enabledLog();
-
-    public void onTick() {
-        if (this.queueEntry.isEmpty()) {
-            return;
-        }
-
-        List<String> l;
-        synchronized (this.locking) {
-            l = Lists.newArrayList(this.queueEntry);
-            this.queueEntry.clear();
-        }
-
-        if (this.logger == null) {
-            if (enabledLog()) {
-                try {
-                    createLogger();
-                } catch (IOException e) {
-                    this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-                    if (this.plugin.isDebugMode()) {
-                        e.printStackTrace();
-                    }
-
-                    return;
-                }
-            } else {
-                return;
-            }
+    /**
+     * Sets whether callers wait for space when the queue of entries waiting to be written is full. If not, entries
+     * are dropped.
+     *
+     * @param blockWhenFull true to wait.
+     */
+    protected void setBlockWhenFull(boolean blockWhenFull) {
+        this.blockWhenFull = blockWhenFull;
+        AsyncLogWriter writer = this.logger;
+        if (writer != null) {
+            writer.setBlockWhenFull(blockWhenFull);
         }
+    }
 
-        try {
-            writeEntry(l);
-        } catch (IOException e) {
-            this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-            if (this.plugin.isDebugMode()) {
-                e.printStackTrace();
-            }
-        }
+    protected boolean isLoggerOpen() {
+        return this.logger != null;
     }
 
     protected void createLogger() throws IOException {
-        this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, s -> "[" +
-            formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
+        this.logger = new AsyncLogWriter(this.directoryName,
+                new DateRotatableFileLogger(this.directoryName, this.filePrefix, new TimestampPrefix()),
+                this.blockWhenFull);
     }
 
-    private void writeEntry(Iterable<String> entry) throws IOException {
-        if (this.logger != null) {
-            this.logger.logEntry(entry);
+    /**
+     * The timestamp at the start of each line, which only changes once a minute. Only used by the writer thread.
+     */
+    private static final class TimestampPrefix implements Supplier<String> {
+
+        private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+        private long minute = -1;
+        private String prefix = "";
+
+        @Override public String get() {
+            long now = System.currentTimeMillis();
+            if (now / MINUTE != this.minute) {
+                this.minute = now / MINUTE;
+                this.prefix = "[" + formatter.format(Instant.ofEpochMilli(now)) + "] ";
+            }
+
+            return this.prefix;
         }
     }
 }
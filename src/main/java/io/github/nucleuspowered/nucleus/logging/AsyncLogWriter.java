@@ -0,0 +1,175 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log entries to a {@link DateRotatableFileLogger} on a dedicated thread.
+ *
+ * <p>Entries are handed over through a {@link LogEntryQueue}, so queueing an entry never takes a lock. The writer
+ * flushes once a second, or sooner if enough has been written since the last flush. If the queue is full, entries
+ * are either dropped (and counted), or the caller waits for space, depending on the policy.</p>
+ */
+class AsyncLogWriter implements Closeable {
+
+    private static final int QUEUE_SIZE = 8192;
+    private static final int FLUSH_SIZE = 32 * 1024;
+    private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long FULL_PARK = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final String name;
+    private final DateRotatableFileLogger logger;
+    private final LogEntryQueue queue = new LogEntryQueue(QUEUE_SIZE);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean blockWhenFull;
+    private volatile boolean running = true;
+    private volatile boolean waiting = false;
+
+    AsyncLogWriter(String name, DateRotatableFileLogger logger, boolean blockWhenFull) {
+        this.name = name;
+        this.logger = logger;
+        this.blockWhenFull = blockWhenFull;
+        this.thread = new Thread(this::run, "Nucleus " + name + " Log Writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void setBlockWhenFull(boolean blockWhenFull) {
+        this.blockWhenFull = blockWhenFull;
+    }
+
+    void queue(String entry) {
+        while (!this.queue.offer(entry)) {
+            if (!this.blockWhenFull || !this.running) {
+                this.dropped.incrementAndGet();
+                return;
+            }
+
+            LockSupport.unpark(this.thread);
+            LockSupport.parkNanos(this, FULL_PARK);
+        }
+
+        if (this.waiting) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    private void run() {
+        long lastFlush = System.currentTimeMillis();
+        int unflushed = 0;
+        try {
+            while (true) {
+                String entry = this.queue.poll();
+                if (entry != null) {
+                    write(entry);
+                    unflushed += entry.length();
+                    if (unflushed >= FLUSH_SIZE) {
+                        flush();
+                        unflushed = 0;
+                        lastFlush = System.currentTimeMillis();
+                    }
+
+                    continue;
+                }
+
+                if (!this.running) {
+                    break;
+                }
+
+                long now = System.currentTimeMillis();
+                if (unflushed > 0 && now - lastFlush >= FLUSH_INTERVAL) {
+                    flush();
+                    unflushed = 0;
+                    lastFlush = now;
+                }
+
+                reportDropped();
+
+                // Wait until something is queued, or it is time to flush. The queue is checked again after
+                // saying we are waiting, so that an entry queued in between is not missed.
+                this.waiting = true;
+                if (this.running && this.queue.isEmpty()) {
+                    if (unflushed > 0) {
+                        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, lastFlush + FLUSH_INTERVAL - now)));
+                    } else {
+                        LockSupport.park(this);
+                    }
+                }
+
+                this.waiting = false;
+            }
+
+            flush();
+        } finally {
+            // This thread owns the file, so it is only closed once nothing else will be written to it.
+            try {
+                this.logger.close();
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long d = this.dropped.getAndSet(0);
+        if (d > 0) {
+            Nucleus.getNucleus().getLogger().warn(
+                    Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("logging.dropped", String.valueOf(d), this.name));
+        }
+    }
+
+    private void write(String entry) {
+        try {
+            this.logger.write(entry);
+        } catch (IOException e) {
+            onError(e);
+        }
+    }
+
+    private void flush() {
+        try {
+            this.logger.flush();
+        } catch (IOException e) {
+            onError(e);
+        }
+    }
+
+    private void onError(IOException e) {
+        Nucleus.getNucleus().getLogger().warn(Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+        if (Nucleus.getNucleus().isDebugMode()) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes everything that has been queued, then closes the file. If the writer does not finish in time, it is
+     * left to finish, and close the file, on its own.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.thread.isAlive()) {
+            Nucleus.getNucleus().getLogger().warn(Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("logging.notfinished", this.name));
+        } else {
+            // Anything queued while the writer was stopping.
+            reportDropped();
+        }
+    }
+}
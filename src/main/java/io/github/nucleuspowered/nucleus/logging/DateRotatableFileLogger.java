@@ -5,7 +5,8 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.Closeable;
@@ -13,31 +14,43 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.util.Iterator;
-import java.util.function.Function;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Writes lines to a file that is rotated every day. Lines are buffered, and are only guaranteed to be on disk once
+ * {@link #flush()} has been called.
+ *
+ * <p>Rotated files are compressed on a background thread, the file that is open when the logger is closed is
+ * compressed before {@link #close()} returns.</p>
+ */
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
+    private final static DateTimeFormatter fileDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private final static ExecutorService compressor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("Nucleus Log Compressor")
+            .setDaemon(true)
+            .build());
 
     private final Path directory;
     private final String filenamePrefix;
-    private Instant currentDate;
+    private long nextRotation = Long.MIN_VALUE;
     private LogFile file;
-    private final Function<String, String> formatter;
+    private final Supplier<String> linePrefix;
     private boolean isClosed = false;
 
-    public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter) throws IOException {
+    public DateRotatableFileLogger(String directory, String filenamePrefix, Supplier<String> linePrefix) throws IOException {
         Preconditions.checkNotNull(directory);
         Preconditions.checkNotNull(filenamePrefix);
 
         this.directory = nucleusBase.resolve(directory);
         this.filenamePrefix = filenamePrefix;
-        this.formatter = formatter == null ? s -> s : formatter;
+        this.linePrefix = linePrefix == null ? () -> "" : linePrefix;
         Files.createDirectories(this.directory);
     }
 
@@ -49,71 +62,70 @@ public class DateRotatableFileLogger implements Closeable {
         if (this.file != null && !this.file.isClosed()) {
             try {
                 this.file.close();
+                compressInBackground(this.file.getLocation());
             } finally {
                 this.file = null;
             }
         }
 
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        String date = fileDateFormatter.format(today);
         int count = 0;
         boolean go = false;
         String fileName;
         do {
             count++;
-            fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
+            fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + date + "-" + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                // Left over from last time, don't hold up writing to compress it.
+                compressInBackground(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
-                this.file = new LogFile(nextFile, this.formatter);
+                this.file = new LogFile(nextFile, this.linePrefix);
                 go = true;
             }
         } while(!go);
 
-        this.currentDate = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        this.nextRotation = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
     }
 
-    public void logEntry(String entry) throws IOException {
+    /**
+     * Writes a line to the buffer, rotating the file first if the day has changed.
+     *
+     * @param entry The line to write.
+     * @throws IOException if the line could not be written.
+     */
+    public void write(String entry) throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
-        logEntry(Lists.newArrayList(entry), true);
+        write(entry, true);
     }
 
-    public void logEntry(Iterable<String> entry) throws IOException {
-        if (this.isClosed) {
-            throw new IllegalStateException();
-        }
-
-        logEntry(entry, true);
-    }
-
-    private void logEntry(Iterable<String> entry, boolean retryOnError) throws IOException {
-        if (this.file == null || this.file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(this.currentDate)) {
+    private void write(String entry, boolean retryOnError) throws IOException {
+        if (this.file == null || this.file.isClosed() || System.currentTimeMillis() >= this.nextRotation) {
             openFile();
         }
 
         try {
-            Iterator<String> iterator = entry.iterator();
-            while (iterator.hasNext()) {
-                this.file.writeLine(iterator.next());
-                iterator.remove();
-            }
-
-            this.file.flush();
+            this.file.writeLine(entry);
         } catch (IOException e) {
             if (retryOnError) {
-                logEntry(entry, false);
+                write(entry, false);
             } else {
                 throw e;
             }
         }
     }
 
+    public void flush() throws IOException {
+        if (this.file != null && !this.file.isClosed()) {
+            this.file.flush();
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (this.isClosed) {
@@ -121,9 +133,23 @@ public class DateRotatableFileLogger implements Closeable {
         }
 
         if (this.file != null && !this.file.isClosed()) {
-            this.file.close();
-            this.file = null;
-            this.isClosed = true;
+            try {
+                this.file.close();
+            } finally {
+                Util.compressAndDeleteFile(this.file.getLocation());
+                this.file = null;
+                this.isClosed = true;
+            }
         }
     }
+
+    private static void compressInBackground(Path path) {
+        compressor.execute(() -> {
+            try {
+                Util.compressAndDeleteFile(path);
+            } catch (IOException e) {
+                Nucleus.getNucleus().getLogger().warn("Could not compress " + path.toString(), e);
+            }
+        });
+    }
 }
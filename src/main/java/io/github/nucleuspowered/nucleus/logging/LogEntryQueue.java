@@ -0,0 +1,97 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * A bounded, lock free queue with any number of producers and a single consumer.
+ *
+ * <p>Each slot has a sequence number. A producer claims the next position by incrementing the tail, writes the entry,
+ * then publishes it by advancing the slot's sequence. The consumer only reads a slot once it has been published, and
+ * hands it back to producers by advancing the sequence a whole lap.</p>
+ */
+final class LogEntryQueue {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<String> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only touched by the consumer.
+    private long head = 0;
+
+    LogEntryQueue(int capacity) {
+        Preconditions.checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "capacity must be a power of two");
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry, if there is room.
+     *
+     * @param entry The entry.
+     * @return false if the queue was full.
+     */
+    boolean offer(String entry) {
+        long position = this.tail.get();
+        while (true) {
+            int index = (int) position & this.mask;
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.entries.lazySet(index, entry);
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The consumer hasn't got this far yet.
+                return false;
+            }
+
+            position = this.tail.get();
+        }
+    }
+
+    /**
+     * Gets whether there is no entry to remove. Must only be called by the consumer.
+     *
+     * @return true if there is nothing to remove.
+     */
+    boolean isEmpty() {
+        return this.sequences.get((int) this.head & this.mask) != this.head + 1;
+    }
+
+    /**
+     * Removes the next entry. Must only be called by the consumer.
+     *
+     * @return The entry, or null if there is none.
+     */
+    @Nullable
+    String poll() {
+        int index = (int) this.head & this.mask;
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+
+        String entry = this.entries.get(index);
+        this.entries.lazySet(index, null);
+        this.sequences.set(index, this.head + this.capacity);
+        this.head++;
+        return entry;
+    }
+}
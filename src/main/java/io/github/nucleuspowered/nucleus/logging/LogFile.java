@@ -5,34 +5,38 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.function.Function;
+import java.util.function.Supplier;
 
 class LogFile implements Closeable {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final Path location;
-    private final Function<String, String> formatter;
+    private final Supplier<String> linePrefix;
     private final BufferedWriter outputStream;
     private boolean isClosed = false;
 
-    LogFile(final Path location, Function<String, String> stringFormatter) throws IOException {
+    LogFile(final Path location, Supplier<String> linePrefix) throws IOException {
         Preconditions.checkNotNull(location);
-        Preconditions.checkNotNull(stringFormatter);
+        Preconditions.checkNotNull(linePrefix);
 
         this.location = location;
-        this.outputStream = Files.newBufferedWriter(location);
-        this.formatter = stringFormatter;
+        this.outputStream = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(location), StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.linePrefix = linePrefix;
     }
 
     void writeLine(String line) throws IOException {
         try {
-            this.outputStream.write(this.formatter.apply(line));
+            this.outputStream.write(this.linePrefix.get());
+            this.outputStream.write(line);
             this.outputStream.newLine();
         } catch (IOException e) {
             close();
@@ -44,6 +48,10 @@ class LogFile implements Closeable {
         this.outputStream.flush();
     }
 
+    Path getLocation() {
+        return this.location;
+    }
+
     boolean isClosed() {
         return this.isClosed;
     }
@@ -58,8 +66,6 @@ class LogFile implements Closeable {
             this.outputStream.close();
         } finally {
             this.isClosed = true;
-
-            Util.compressAndDeleteFile(this.location);
         }
     }
 }
@@ -11,13 +11,18 @@ import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.event.filter.cause.Root;
 
-public class AFKFullMoveListener extends AbstractAFKListener implements ListenerBase.Conditional {
+public class AFKFullMoveListener extends AbstractAFKListener implements ListenerBase.Conditional, ListenerBase.OnDemand {
 
     @Listener(order = Order.LAST)
     public void onPlayerMove(final MoveEntityEvent event, @Root Player player) {
         update(player);
     }
 
+    @Override
+    public boolean isActive() {
+        return isTrackingAnyone();
+    }
+
     @Override
     public boolean shouldEnable() {
         return getTriggerConfigEntry(t -> t.isOnMovement() && t.isOnRotation());
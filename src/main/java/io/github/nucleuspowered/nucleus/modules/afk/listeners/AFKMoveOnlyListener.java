@@ -14,7 +14,7 @@ import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.world.World;
 
-public class AFKMoveOnlyListener extends AbstractAFKListener implements ListenerBase.Conditional {
+public class AFKMoveOnlyListener extends AbstractAFKListener implements ListenerBase.Conditional, ListenerBase.OnDemand {
 
     @Listener(order = Order.LAST)
     public void onPlayerMove(final MoveEntityEvent event, @Root Player player,
@@ -25,6 +25,11 @@ public class AFKMoveOnlyListener extends AbstractAFKListener implements Listener
         }
     }
 
+    @Override
+    public boolean isActive() {
+        return isTrackingAnyone();
+    }
+
     @Override
     public boolean shouldEnable() {
         return getTriggerConfigEntry(t -> t.isOnMovement() && !t.isOnRotation());
@@ -22,6 +22,14 @@ abstract class AbstractAFKListener implements ListenerBase {
         this.handler.stageUserActivityUpdate(player);
     }
 
+    final boolean isTrackingAnyone() {
+        return this.handler.isTrackingAnyone();
+    }
+
+    final void onQuit(Player player) {
+        this.handler.onPlayerQuit(player);
+    }
+
     final boolean getTriggerConfigEntry(Predicate<AFKConfig.Triggers> triggersPredicate) {
         return Nucleus.getNucleus().getConfigValue(AFKModule.ID, AFKConfigAdapter.class, x -> triggersPredicate.test(x.getTriggers())).orElse(false);
     }
@@ -17,4 +17,9 @@ public class BasicAFKListener extends AbstractAFKListener {
         update(player);
     }
 
+    @Listener(order = Order.LAST)
+    public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        onQuit(player);
+    }
+
 }
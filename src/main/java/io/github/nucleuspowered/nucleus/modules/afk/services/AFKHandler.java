@@ -5,16 +5,13 @@
 package io.github.nucleuspowered.nucleus.modules.afk.services;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusAFKService;
 import io.github.nucleuspowered.nucleus.api.util.NoExceptionAutoClosable;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
+import io.github.nucleuspowered.nucleus.internal.OnDemandListenerRegistry;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
@@ -43,32 +40,22 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 
 @APIService(NucleusAFKService.class)
 public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, MessageProviderTrait {
 
-    private final Map<UUID, AFKData> data = Maps.newConcurrentMap();
+    private final ActivityTracker tracker = new ActivityTracker();
     private final AFKConfigAdapter afkConfigAdapter;
     private final CommandPermissionHandler afkPermissionHandler;
     private AFKConfig config;
-
-    @GuardedBy("lock")
-    private final Set<UUID> activity = Sets.newHashSet();
-
-    @GuardedBy("lock2")
-    private final Multimap<UUID, UUID> disabledTracking = HashMultimap.create();
-    private final Object lock = new Object();
-    private final Object lock2 = new Object();
+    private volatile boolean isTracking = true;
 
     private final String exempttoggle = "exempt.toggle";
     private final String exemptkick = "exempt.kick";
@@ -76,6 +63,25 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
     private final String afkOption = "nucleus.afk.toggletime";
     private final String afkKickOption = "nucleus.afk.kicktime";
 
+    private final ActivityTracker.Listener trackerListener = new ActivityTracker.Listener() {
+
+        @Override public void updateThresholds(ActivityTracker.Entry entry) {
+            updateFromPermissions(entry);
+        }
+
+        @Override public void onAfk(ActivityTracker.Entry entry) {
+            Sponge.getServer().getPlayer(entry.getUniqueId()).ifPresent(AFKHandler.this::setAfkInternal);
+        }
+
+        @Override public void onKick(ActivityTracker.Entry entry) {
+            kick(entry.getUniqueId());
+        }
+
+        @Override public void onReturn(ActivityTracker.Entry entry) {
+            updateActivity(entry);
+        }
+    };
+
     public AFKHandler() {
         this.afkPermissionHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(AFKCommand.class);
         this.afkConfigAdapter = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(AFKConfigAdapter.class);
@@ -83,87 +89,66 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
     public void stageUserActivityUpdate(Player player) {
         if (player.isOnline()) {
-            stageUserActivityUpdate(player.getUniqueId());
+            this.tracker.recordActivity(player.getUniqueId(), System.currentTimeMillis());
         }
     }
 
-    private void stageUserActivityUpdate(UUID uuid) {
-        synchronized (this.lock) {
-            synchronized (this.lock2) {
-                if (this.disabledTracking.containsKey(uuid)) {
-                    return;
-                }
-            }
-
-            this.activity.add(uuid);
-        }
+    public void onPlayerQuit(Player player) {
+        this.tracker.remove(player.getUniqueId());
     }
 
     public void onTick() {
-        synchronized (this.lock) {
-            this.activity.forEach(u -> this.data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) : updateActivity(uuid, afkData))));
-            this.activity.clear();
+        this.tracker.tick(System.currentTimeMillis(), this.trackerListener);
+
+        // The movement listeners are only registered while someone's activity matters.
+        boolean tracking = this.tracker.isTrackingAnyone();
+        if (tracking != this.isTracking) {
+            this.isTracking = tracking;
+            OnDemandListenerRegistry.INSTANCE.refresh();
         }
+    }
 
-        List<UUID> uuidList = Sponge.getServer().getOnlinePlayers().stream().map(Player::getUniqueId).collect(Collectors.toList());
-
-        // Remove all offline players.
-        Set<Map.Entry<UUID, AFKData>> entries = this.data.entrySet();
-        entries.removeIf(refactor -> !uuidList.contains(refactor.getKey()));
-        entries.stream().filter(x -> !x.getValue().cacheValid).forEach(x -> x.getValue().updateFromPermissions());
-
-        long now = System.currentTimeMillis();
-
-        // Check AFK status.
-        entries.stream().filter(x -> x.getValue().isKnownAfk && !x.getValue().willKick && x.getValue().timeToKick > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime > e.getValue().timeToKick) {
-                // Kick them
-                e.getValue().willKick = true;
-                NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
-                TextRepresentable t;
-                if (message == null || message.isEmpty()) {
-                    t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
-                } else {
-                    t = message;
-                }
-
-                final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
-
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(player -> {
-                    MessageChannel mc;
-                    if (this.config.isBroadcastOnKick()) {
-                        mc = MessageChannel.TO_ALL;
-                    } else {
-                        mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
-                    }
+    public boolean isTrackingAnyone() {
+        return this.isTracking;
+    }
 
-                    AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
-                    if (Sponge.getEventManager().post(events)) {
-                        // Cancelled.
-                        return;
-                    }
+    private void kick(UUID uuid) {
+        NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
+        TextRepresentable t;
+        if (message == null || message.isEmpty()) {
+            t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
+        } else {
+            t = message;
+        }
 
-                    Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
-                    Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
-                    events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
-                });
+        final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
+
+        Sponge.getServer().getPlayer(uuid).ifPresent(player -> {
+            MessageChannel mc;
+            if (this.config.isBroadcastOnKick()) {
+                mc = MessageChannel.TO_ALL;
+            } else {
+                mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
             }
-        });
 
-        // Check AFK status.
-        entries.stream().filter(x -> !x.getValue().isKnownAfk && x.getValue().timeToAfk > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime  > e.getValue().timeToAfk) {
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(this::setAfkInternal);
+            AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
+            if (Sponge.getEventManager().post(events)) {
+                // Cancelled.
+                return;
             }
+
+            Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
+            Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
+            events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
         });
     }
 
     public void invalidateAfkCache() {
-        this.data.forEach((k, v) -> v.cacheValid = false);
+        this.tracker.invalidateAll();
     }
 
     public boolean isAFK(UUID uuid) {
-        return this.data.containsKey(uuid) && this.data.get(uuid).isKnownAfk;
+        return this.tracker.get(uuid).map(ActivityTracker.Entry::isAfk).orElse(false);
     }
 
     public boolean setAfkInternal(Player player) {
@@ -175,26 +160,21 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
             return false;
         }
 
-        UUID uuid = player.getUniqueId();
-        AFKData a = this.data.compute(uuid, ((u, afkData) -> afkData == null ? new AFKData(u) : afkData));
-        if (force) {
-            a.isKnownAfk = false;
-        } else if (a.isKnownAfk) {
+        ActivityTracker.Entry a = this.tracker.getOrCreate(player.getUniqueId(), System.currentTimeMillis());
+        if (!force && a.isAfk()) {
             return false;
         }
 
-        if (a.canGoAfk()) {
-            // Don't accident undo setting AFK, remove any activity from the list.
-            synchronized (this.lock) {
-                this.activity.remove(uuid);
-            }
+        if (canGoAfk(a)) {
+            // Any activity recorded before this point is ignored when working out if the player has returned.
+            a.markAfk(System.currentTimeMillis());
 
             Tuples.NullableTuple<Text, MessageChannel> ttmc = getAFKMessage(player, true);
             AFKEvents.To event = new AFKEvents.To(player, ttmc.getFirstUnwrapped(), ttmc.getSecondUnwrapped(), cause);
             Sponge.getEventManager().post(event);
             actionEvent(event, "command.afk.to.nobc", "command.afk.to.console");
 
-            a.isKnownAfk = true;
+            this.tracker.reschedule(a);
             return true;
         }
 
@@ -206,18 +186,16 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         this.config = this.afkConfigAdapter.getNodeOrDefault();
     }
 
-    private AFKData updateActivity(UUID uuid, AFKData data) {
+    private void updateActivity(ActivityTracker.Entry entry) {
         List<Object> lo = Lists.newArrayList();
-        Sponge.getServer().getPlayer(uuid).ifPresent(lo::add);
-        return updateActivity(uuid, data, CauseStackHelper.createCause(lo));
+        Sponge.getServer().getPlayer(entry.getUniqueId()).ifPresent(lo::add);
+        updateActivity(entry, CauseStackHelper.createCause(lo));
     }
 
-    private AFKData updateActivity(UUID uuid, AFKData data, Cause cause) {
-        data.lastActivityTime = System.currentTimeMillis();
-        if (data.isKnownAfk) {
-            data.isKnownAfk = false;
-            data.willKick = false;
-            Sponge.getServer().getPlayer(uuid).ifPresent(x -> {
+    private void updateActivity(ActivityTracker.Entry entry, Cause cause) {
+        if (entry.isAfk()) {
+            entry.markActive();
+            Sponge.getServer().getPlayer(entry.getUniqueId()).ifPresent(x -> {
                 Tuples.NullableTuple<Text, MessageChannel> ttmc = getAFKMessage(x, false);
                 AFKEvents.From event = new AFKEvents.From(x, ttmc.getFirstUnwrapped(), ttmc.getSecondUnwrapped(), cause);
                 Sponge.getEventManager().post(event);
@@ -225,8 +203,6 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
             });
 
         }
-
-        return data;
     }
 
     private void actionEvent(AFKEvents event, String key, @Nullable String consoleKey) {
@@ -252,7 +228,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
     }
 
     @Override public boolean canGoAFK(User user) {
-        return getData(user.getUniqueId()).canGoAfk();
+        return this.tracker.get(user.getUniqueId()).map(this::canGoAfk).orElse(false);
     }
 
     @Override public boolean isAFK(Player player) {
@@ -261,8 +237,8 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
     @Override public boolean setAFK(Cause cause, Player player, boolean isAfk) {
         Preconditions.checkArgument(cause.root() instanceof PluginContainer, "The root object MUST be a plugin container.");
-        AFKData data = this.data.computeIfAbsent(player.getUniqueId(), AFKData::new);
-        if (data.isKnownAfk == isAfk) {
+        ActivityTracker.Entry entry = this.tracker.getOrCreate(player.getUniqueId(), System.currentTimeMillis());
+        if (entry.isAfk() == isAfk) {
             // Already AFK
             return false;
         }
@@ -270,34 +246,27 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
         if (isAfk) {
             return setAfkInternal(player, cause, false);
         } else {
-            return !updateActivity(player.getUniqueId(), data, cause).isKnownAfk;
+            updateActivity(entry, cause);
+            entry.markActive(System.currentTimeMillis());
+            this.tracker.reschedule(entry);
+            return !entry.isAfk();
         }
     }
 
     @Override public boolean canBeKicked(User user) {
-        return getData(user.getUniqueId()).canBeKicked();
+        return this.tracker.get(user.getUniqueId()).map(this::canBeKicked).orElse(false);
     }
 
     @Override public Instant lastActivity(Player player) {
-        return Instant.ofEpochMilli(this.data.computeIfAbsent(player.getUniqueId(), AFKData::new).lastActivityTime);
+        return Instant.ofEpochMilli(this.tracker.getOrCreate(player.getUniqueId(), System.currentTimeMillis()).getLastActivity());
     }
 
     @Override public Optional<Duration> timeForInactivity(User user) {
-        AFKData data = getData(user.getUniqueId());
-        if (data.canGoAfk()) {
-            return Optional.of(Duration.ofMillis(data.timeToAfk));
-        }
-
-        return Optional.empty();
+        return this.tracker.get(user.getUniqueId()).filter(this::canGoAfk).map(x -> Duration.ofMillis(x.timeToAfk));
     }
 
     @Override public Optional<Duration> timeForKick(User user) {
-        AFKData data = getData(user.getUniqueId());
-        if (data.canBeKicked()) {
-            return Optional.of(Duration.ofMillis(data.timeToKick));
-        }
-
-        return Optional.empty();
+        return this.tracker.get(user.getUniqueId()).filter(this::canBeKicked).map(x -> Duration.ofMillis(x.timeToKick));
     }
 
     @Override public void invalidateCachedPermissions() {
@@ -310,103 +279,63 @@ public class AFKHandler implements NucleusAFKService, Reloadable, ServiceBase, M
 
     @Override public NoExceptionAutoClosable disableTrackingForPlayer(final Player player, int ticks) {
         // Disable tracking now with a new UUID.
-        Task n = Task.builder().execute(t -> {
-            synchronized (this.lock2) {
-                this.disabledTracking.remove(player.getUniqueId(), t.getUniqueId());
-            }
-        }).delayTicks(ticks).submit(Nucleus.getNucleus());
-
-        synchronized (this.lock2) {
-            this.disabledTracking.put(player.getUniqueId(), n.getUniqueId());
-        }
+        Task n = Task.builder().execute(t -> this.tracker.enableTracking(player.getUniqueId(), t.getUniqueId()))
+                .delayTicks(ticks).submit(Nucleus.getNucleus());
 
+        this.tracker.disableTracking(player.getUniqueId(), n.getUniqueId());
         return () -> {
             n.cancel();
             n.getConsumer().accept(n);
         };
     }
 
-    private AFKData getData(UUID uuid) {
-        AFKData data = this.data.get(uuid);
-        if (data == null) {
-            // Prevent more checks
-            data = new AFKData(uuid, false);
-        }
-
-        return data;
-    }
-
     @Override
     public Collection<Player> getAfk() {
         return getAfk(x -> true);
     }
 
     public Collection<Player> getAfk(Predicate<Player> filter) {
-        return this.data.entrySet().stream()
-                .filter(x -> x.getValue().isKnownAfk)
-                .map(x -> Sponge.getServer().getPlayer(x.getKey()).orElse(null))
+        return this.tracker.getEntries().stream()
+                .filter(ActivityTracker.Entry::isAfk)
+                .map(x -> Sponge.getServer().getPlayer(x.getUniqueId()).orElse(null))
                 .filter(Objects::nonNull)
                 .filter(filter)
                 .collect(Collectors.toList());
     }
 
-    class AFKData {
-
-        private final UUID uuid;
-
-        private long lastActivityTime = System.currentTimeMillis();
-        boolean isKnownAfk = false;
-        private boolean willKick = false;
-
-        private boolean cacheValid = false;
-        private long timeToAfk = -1;
-        private long timeToKick = -1;
-
-        private AFKData(UUID uuid) {
-            this(uuid, true);
-        }
+    private boolean canGoAfk(ActivityTracker.Entry entry) {
+        entry.invalidateThresholds();
+        updateFromPermissions(entry);
+        return entry.timeToAfk > 0;
+    }
 
-        private AFKData(UUID uuid, boolean permCheck) {
-            this.uuid = uuid;
-            if (permCheck) {
-                updateFromPermissions();
-            }
-        }
+    private boolean canBeKicked(ActivityTracker.Entry entry) {
+        entry.invalidateThresholds();
+        updateFromPermissions(entry);
+        return entry.timeToKick > 0;
+    }
 
-        private boolean canGoAfk() {
-            this.cacheValid = false;
-            updateFromPermissions();
-            return this.timeToAfk > 0;
-        }
+    private void updateFromPermissions(ActivityTracker.Entry entry) {
+        synchronized (entry) {
+            if (!entry.thresholdsValid) {
+                // Get the subject.
+                Sponge.getServer().getPlayer(entry.getUniqueId()).ifPresent(x -> {
+                    long timeToAfk;
+                    long timeToKick;
+                    if (!ServiceChangeListener.isOpOnly() && this.afkPermissionHandler.testSuffix(x, this.exempttoggle)) {
+                        timeToAfk = -1;
+                    } else {
+                        timeToAfk = Util.getPositiveLongOptionFromSubject(x, this.afkOption).orElseGet(() -> this.config.getAfkTime()) * 1000;
+                    }
 
-        private boolean canBeKicked() {
-            this.cacheValid = false;
-            updateFromPermissions();
-            return this.timeToKick > 0;
-        }
+                    if (this.afkPermissionHandler.testSuffix(x, this.exemptkick)) {
+                        timeToKick = -1;
+                    } else {
+                        timeToKick = Util.getPositiveLongOptionFromSubject(x, this.afkKickOption).orElseGet(() -> this.config.getAfkTimeToKick()) * 1000;
+                    }
 
-        void updateFromPermissions() {
-            synchronized (this) {
-                if (!this.cacheValid) {
-                    // Get the subject.
-                    Sponge.getServer().getPlayer(this.uuid).ifPresent(x -> {
-                        if (!ServiceChangeListener.isOpOnly() && AFKHandler.this.afkPermissionHandler.testSuffix(x, AFKHandler.this.exempttoggle)) {
-                            this.timeToAfk = -1;
-                        } else {
-                            this.timeToAfk = Util.getPositiveLongOptionFromSubject(x,
-                                    AFKHandler.this.afkOption).orElseGet(() -> AFKHandler.this.config.getAfkTime()) * 1000;
-                        }
-
-                        if (AFKHandler.this.afkPermissionHandler.testSuffix(x, AFKHandler.this.exemptkick)) {
-                            this.timeToKick = -1;
-                        } else {
-                            this.timeToKick = Util.getPositiveLongOptionFromSubject(x,
-                                    AFKHandler.this.afkKickOption).orElseGet(() -> AFKHandler.this.config.getAfkTimeToKick()) * 1000;
-                        }
-
-                        this.cacheValid = true;
-                    });
-                }
+                    entry.setThresholds(timeToAfk, timeToKick);
+                });
             }
         }
     }
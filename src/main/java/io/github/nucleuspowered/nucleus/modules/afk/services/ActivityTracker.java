@@ -0,0 +1,392 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.afk.services;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Tracks player activity, and when each player is next due to go AFK or be kicked.
+ *
+ * <p>Recording activity is lock free: it writes a timestamp to the player's {@link Entry}, and only if the player
+ * is AFK does it queue the player to be marked as returned on the next tick. Players are not rescheduled when
+ * they are active - instead, when a deadline passes, the tick recalculates it from the latest timestamp and either
+ * acts on it or pushes it back. A tick therefore only touches players that have returned from being AFK or whose
+ * deadline has passed.</p>
+ *
+ * <p>{@link #tick(long, Listener)} must only be called from one thread at a time.</p>
+ */
+public class ActivityTracker {
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> disabledTracking = new ConcurrentHashMap<>();
+    private final Queue<Entry> returned = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> toSchedule = new ConcurrentLinkedQueue<>();
+
+    // The number of entries whose activity matters, kept up to date by the entries themselves.
+    private final AtomicInteger tracked = new AtomicInteger();
+    private volatile boolean rescheduleAll = false;
+
+    private final Object tickLock = new Object();
+    @GuardedBy("tickLock") private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+
+    /**
+     * Gets the entry for the player, creating it if necessary.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param now The current time, in milliseconds.
+     * @return The entry.
+     */
+    public Entry getOrCreate(UUID uuid, long now) {
+        Entry entry = this.entries.get(uuid);
+        if (entry != null) {
+            return entry;
+        }
+
+        return this.entries.computeIfAbsent(uuid, x -> {
+            Entry e = new Entry(x, now, this.tracked);
+            e.updateTracked();
+            this.toSchedule.add(e);
+            return e;
+        });
+    }
+
+    public Optional<Entry> get(UUID uuid) {
+        return Optional.ofNullable(this.entries.get(uuid));
+    }
+
+    public Collection<Entry> getEntries() {
+        return this.entries.values();
+    }
+
+    /**
+     * Gets whether the activity of any player matters, that is, whether any player is AFK, or could go AFK or be
+     * kicked.
+     *
+     * @return <code>true</code> if so.
+     */
+    public boolean isTrackingAnyone() {
+        return this.tracked.get() > 0;
+    }
+
+    public void remove(UUID uuid) {
+        Entry entry = this.entries.remove(uuid);
+        if (entry != null) {
+            entry.markRemoved();
+        }
+
+        this.disabledTracking.remove(uuid);
+    }
+
+    /**
+     * Records that a player has done something.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param now The current time, in milliseconds.
+     */
+    public void recordActivity(UUID uuid, long now) {
+        if (!this.disabledTracking.isEmpty() && this.disabledTracking.containsKey(uuid)) {
+            return;
+        }
+
+        Entry entry = getOrCreate(uuid, now);
+        entry.lastActivity = now;
+        if (entry.afk && entry.returning.compareAndSet(false, true)) {
+            this.returned.add(entry);
+        }
+    }
+
+    public void disableTracking(UUID uuid, UUID token) {
+        this.disabledTracking.computeIfAbsent(uuid, x -> ConcurrentHashMap.newKeySet()).add(token);
+    }
+
+    public void enableTracking(UUID uuid, UUID token) {
+        this.disabledTracking.computeIfPresent(uuid, (k, v) -> {
+            v.remove(token);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Marks the entry's deadlines as needing to be recalculated on the next tick, because something other than
+     * activity has changed (the player has been marked as AFK, for example).
+     *
+     * @param entry The entry.
+     */
+    public void reschedule(Entry entry) {
+        this.toSchedule.add(entry);
+    }
+
+    /**
+     * Marks every entry's thresholds as out of date, and recalculates all deadlines on the next tick.
+     */
+    public void invalidateAll() {
+        this.entries.values().forEach(Entry::invalidateThresholds);
+        this.rescheduleAll = true;
+    }
+
+    /**
+     * Processes returning players, and players whose deadlines have passed.
+     *
+     * @param now The current time, in milliseconds.
+     * @param listener The {@link Listener} to act on changes.
+     */
+    public void tick(long now, Listener listener) {
+        synchronized (this.tickLock) {
+            Entry entry;
+            while ((entry = this.returned.poll()) != null) {
+                entry.returning.set(false);
+                if (isCurrent(entry) && entry.afk && entry.lastActivity > entry.afkSince) {
+                    listener.onReturn(entry);
+                    schedule(entry, now, listener);
+                }
+            }
+
+            if (this.rescheduleAll) {
+                this.rescheduleAll = false;
+                this.toSchedule.clear();
+                this.deadlines.clear();
+                for (Entry e : this.entries.values()) {
+                    schedule(e, now, listener);
+                }
+            } else {
+                while ((entry = this.toSchedule.poll()) != null) {
+                    if (isCurrent(entry)) {
+                        schedule(entry, now, listener);
+                    }
+                }
+            }
+
+            Deadline deadline;
+            while ((deadline = this.deadlines.peek()) != null && deadline.at <= now) {
+                this.deadlines.poll();
+                entry = deadline.entry;
+                if (entry.scheduledAt != deadline.at || !isCurrent(entry)) {
+                    // Superseded, or the player has gone.
+                    continue;
+                }
+
+                entry.scheduledAt = -1;
+                long due = nextDeadline(entry, listener);
+                if (due < 0) {
+                    // The player has become exempt since this was scheduled.
+                    continue;
+                }
+
+                if (due > now) {
+                    schedule(entry, due);
+                } else if (!entry.afk) {
+                    listener.onAfk(entry);
+                    if (entry.afk) {
+                        schedule(entry, now, listener);
+                    }
+                } else if (!entry.willKick) {
+                    entry.willKick = true;
+                    listener.onKick(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of deadlines in the queue, including ones that have been superseded.
+     *
+     * @return The number of deadlines.
+     */
+    public int getQueuedDeadlines() {
+        synchronized (this.tickLock) {
+            return this.deadlines.size();
+        }
+    }
+
+    private boolean isCurrent(Entry entry) {
+        return this.entries.get(entry.uuid) == entry;
+    }
+
+    @GuardedBy("tickLock")
+    private void schedule(Entry entry, long now, Listener listener) {
+        long due = nextDeadline(entry, listener);
+        if (due > 0) {
+            schedule(entry, Math.max(due, now));
+        } else {
+            entry.scheduledAt = -1;
+        }
+    }
+
+    @GuardedBy("tickLock")
+    private void schedule(Entry entry, long at) {
+        entry.scheduledAt = at;
+        this.deadlines.add(new Deadline(at, entry));
+    }
+
+    /**
+     * The time at which the player should next go AFK or be kicked, or -1 if they can't.
+     */
+    private long nextDeadline(Entry entry, Listener listener) {
+        if (!entry.thresholdsValid) {
+            listener.updateThresholds(entry);
+        }
+
+        if (!entry.afk) {
+            return entry.timeToAfk > 0 ? entry.lastActivity + entry.timeToAfk : -1;
+        } else if (!entry.willKick && entry.timeToKick > 0) {
+            return entry.lastActivity + entry.timeToKick;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Acts on the changes found by the tracker.
+     */
+    public interface Listener {
+
+        /**
+         * Sets {@link Entry#timeToAfk} and {@link Entry#timeToKick} (either may be -1 if the player is exempt), and
+         * marks the thresholds as valid.
+         *
+         * @param entry The entry.
+         */
+        void updateThresholds(Entry entry);
+
+        /**
+         * Called when the player has been inactive for long enough to go AFK. Implementations should call
+         * {@link Entry#markAfk(long)} if the player goes AFK.
+         *
+         * @param entry The entry.
+         */
+        void onAfk(Entry entry);
+
+        /**
+         * Called when the player has been AFK for long enough to be kicked.
+         *
+         * @param entry The entry.
+         */
+        void onKick(Entry entry);
+
+        /**
+         * Called when an AFK player has been active. Implementations should call {@link Entry#markActive()}.
+         *
+         * @param entry The entry.
+         */
+        void onReturn(Entry entry);
+    }
+
+    public static final class Entry {
+
+        private final UUID uuid;
+        private final AtomicBoolean returning = new AtomicBoolean(false);
+
+        private volatile long lastActivity;
+        private volatile boolean afk = false;
+        private volatile long afkSince = 0;
+        private volatile boolean willKick = false;
+
+        volatile boolean thresholdsValid = false;
+        volatile long timeToAfk = -1;
+        volatile long timeToKick = -1;
+
+        // Only accessed by the ticking thread.
+        private long scheduledAt = -1;
+
+        private final AtomicInteger tracked;
+        @GuardedBy("this") private boolean counted = false;
+        @GuardedBy("this") private boolean removed = false;
+
+        private Entry(UUID uuid, long now, AtomicInteger tracked) {
+            this.uuid = uuid;
+            this.lastActivity = now;
+            this.tracked = tracked;
+        }
+
+        public UUID getUniqueId() {
+            return this.uuid;
+        }
+
+        public long getLastActivity() {
+            return this.lastActivity;
+        }
+
+        public boolean isAfk() {
+            return this.afk;
+        }
+
+        public synchronized void setThresholds(long timeToAfk, long timeToKick) {
+            this.timeToAfk = timeToAfk;
+            this.timeToKick = timeToKick;
+            this.thresholdsValid = true;
+            updateTracked();
+        }
+
+        /**
+         * Marks the thresholds as out of date, so that they are worked out again when next needed.
+         */
+        public synchronized void invalidateThresholds() {
+            this.thresholdsValid = false;
+            updateTracked();
+        }
+
+        public synchronized void markAfk(long now) {
+            this.afkSince = now;
+            this.willKick = false;
+            this.afk = true;
+            updateTracked();
+        }
+
+        public synchronized void markActive() {
+            this.afk = false;
+            this.willKick = false;
+            updateTracked();
+        }
+
+        public synchronized void markActive(long now) {
+            this.lastActivity = now;
+            markActive();
+        }
+
+        private synchronized void markRemoved() {
+            this.removed = true;
+            updateTracked();
+        }
+
+        /**
+         * Counts this entry in the tracker if its activity matters - that is, if the player is AFK, or could go AFK or
+         * be kicked - and stops counting it if not.
+         */
+        private synchronized void updateTracked() {
+            boolean t = !this.removed && (this.afk || !this.thresholdsValid || this.timeToAfk > 0 || this.timeToKick > 0);
+            if (t != this.counted) {
+                this.counted = t;
+                this.tracked.addAndGet(t ? 1 : -1);
+            }
+        }
+    }
+
+    private static final class Deadline implements Comparable<Deadline> {
+
+        private final long at;
+        private final Entry entry;
+
+        private Deadline(long at, Entry entry) {
+            this.at = at;
+            this.entry = entry;
+        }
+
+        @Override public int compareTo(Deadline o) {
+            return Long.compare(this.at, o.at);
+        }
+    }
+}
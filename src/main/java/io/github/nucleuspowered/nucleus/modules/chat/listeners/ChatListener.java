@@ -4,6 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chat.listeners;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Nucleus;
@@ -23,12 +25,20 @@ import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCapabilities;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatCodeScanner;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.message.MessageChannelEvent;
 import org.spongepowered.api.event.message.MessageEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.permission.SubjectDataUpdateEvent;
+import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
+import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextTemplate;
@@ -36,13 +46,12 @@ import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.text.transform.SimpleTextFormatter;
 import org.spongepowered.api.text.transform.SimpleTextTemplateApplier;
-import org.spongepowered.api.util.Tuple;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -55,55 +64,71 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
 
     private static final String prefix = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
 
-    // Order is important here!
     private static final Map<String, String> permissionToDesc = Maps.newHashMap();
-    private static final Map<String, Tuple<String[], Function<String, String>>> replacements = createReplacements();
 
-    private static Map<String, Tuple<String[], Function<String, String>>> createReplacements() {
-        Map<String, Tuple<String[], Function<String, String>>> t = new HashMap<>();
+    // The permissions that allow each code, indexed as in ChatCodeScanner.CODES
+    private static final String[][] codePermissions = createCodePermissions();
+
+    private static String[][] createCodePermissions() {
+        String[][] t = new String[ChatCodeScanner.CODES.length()][];
 
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
 
-        BiFunction<String, String, String> fss = (key, s) -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", "");
         NameUtil.getColours().forEach((key, value) -> {
-            t.put("&" + key, Tuple.of(
-                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() },
-                s -> fss.apply(key.toString(), s)));
+            t[ChatCodeScanner.CODES.indexOf(key)] =
+                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() };
 
             permissionToDesc.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
             permissionToDesc.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
         });
 
         NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
-            t.put("&" + k.getKey(), Tuple.of(new String[] { prefix + "style." + k.getValue().toLowerCase() },
-                    s -> fss.apply(k.getKey().toString(), s)));
+            t[ChatCodeScanner.CODES.indexOf(k.getKey())] = new String[] { prefix + "style." + k.getValue().toLowerCase() };
             permissionToDesc.put(prefix + "style." + k.getValue().toLowerCase(),
                 mp.getMessageWithFormat("permission.chat.stylespec", k.getValue().toLowerCase(), k.getKey().toString()));
         });
 
-        t.put("&k", Tuple.of(new String[] { prefix + "magic" }, s -> s.replaceAll("[&]+[kK]", "")));
+        t[ChatCodeScanner.CODES.indexOf('k')] = new String[] { prefix + "magic" };
 
         return t;
     }
 
     public static String stripPermissionless(Subject source, String message) {
-        if (message.contains("&")) {
-            String m = message.toLowerCase();
-            PermissionResolver resolver = Nucleus.getNucleus().getPermissionResolver();
-            for (Map.Entry<String, Tuple<String[], Function<String, String>>> r : replacements.entrySet()) {
-                if (m.contains(r.getKey()) && Arrays.stream(r.getValue().getFirst()).noneMatch(x -> resolver.hasPermission(source, x))) {
-                    message = r.getValue().getSecond().apply(message);
-                }
+        long codes = ChatCodeScanner.codesIn(message);
+        if (codes == 0) {
+            return message;
+        }
+
+        return ChatCodeScanner.strip(message, getAllowedCodes(source, codes), false);
+    }
+
+    /**
+     * Checks which of the given codes the subject has permission to use.
+     *
+     * @param source The {@link Subject}.
+     * @param codes The {@link ChatCodeScanner} bitmask of the codes to check.
+     * @return The bitmask of the codes that can be used.
+     */
+    private static long getAllowedCodes(Subject source, long codes) {
+        PermissionResolver resolver = Nucleus.getNucleus().getPermissionResolver();
+        long allowed = 0;
+        for (int i = 0; i < codePermissions.length; i++) {
+            long bit = 1L << i;
+            if ((codes & bit) != 0 && (codePermissions[i] == null || Arrays.stream(codePermissions[i]).anyMatch(x -> resolver.hasPermission(source, x)))) {
+                allowed |= bit;
             }
         }
 
-        return message;
+        return allowed;
     }
 
     // --- Listener Proper
     private ChatConfig chatConfig = null;
     private final TemplateUtil templateUtil = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(TemplateUtil.class);
 
+    // Dropped whenever permissions might have changed, the timeout is a fallback for permission plugins that don't tell us.
+    private final Cache<UUID, ChatCapabilities> capabilities = Caffeine.newBuilder().expireAfterWrite(5, TimeUnit.MINUTES).build();
+
     @Override
     public Map<String, PermissionInformation> getPermissions() {
         Map<String, PermissionInformation> mp = new HashMap<>();
@@ -124,6 +149,31 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
         Util.onPlayerSimulatedOrPlayer(event, this::onPlayerChatInternal);
     }
 
+    @Listener
+    public void onSubjectDataUpdate(SubjectDataUpdateEvent event) {
+        this.capabilities.invalidateAll();
+    }
+
+    @Listener
+    public void onServiceChange(ChangeServiceProviderEvent event) {
+        if (event.getService().equals(PermissionService.class)) {
+            this.capabilities.invalidateAll();
+        }
+    }
+
+    // Permissions may depend on the world context.
+    @Listener(order = Order.POST)
+    public void onPlayerWorldTransfer(MoveEntityEvent.Teleport event, @Getter("getTargetEntity") Player player) {
+        if (!event.getFromTransform().getExtent().equals(event.getToTransform().getExtent())) {
+            this.capabilities.invalidate(player.getUniqueId());
+        }
+    }
+
+    @Listener
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.capabilities.invalidate(player.getUniqueId());
+    }
+
     private boolean shouldNotFormat(MessageChannelEvent.Chat event) {
         if (!event.getContext().get(EventContexts.SHOULD_FORMAT_CHANNEL).orElse(true)) {
             return true;
@@ -176,12 +226,8 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
             footerFormatter.clear();
         }
 
-        final ChatTemplateConfig ctc;
-        if (this.chatConfig.isUseGroupTemplates()) {
-            ctc = this.templateUtil.getTemplateNow(player);
-        } else {
-            ctc = this.chatConfig.getDefaultTemplate();
-        }
+        final ChatCapabilities capabilities = this.capabilities.get(player.getUniqueId(), x -> getCapabilities(player));
+        final ChatTemplateConfig ctc = capabilities.getTemplate();
 
         if (!ctc.getPrefix().isEmpty()) {
             SimpleTextTemplateApplier headerApplier = new SimpleTextTemplateApplier();
@@ -195,36 +241,50 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
             event.getFormatter().getFooter().add(footerApplier);
         }
 
-        event.getFormatter().setBody(this.chatConfig.isModifyMainMessage() ? useMessage(player, rawMessage, ctc) : rawMessage);
+        event.getFormatter().setBody(this.chatConfig.isModifyMainMessage() ? useMessage(rawMessage, capabilities) : rawMessage);
     }
 
     @Override public boolean shouldEnable() {
         return Nucleus.getNucleus().getConfigValue(ChatModule.ID, ChatConfigAdapter.class, ChatConfig::isModifychat).orElse(false);
     }
 
-    private Text useMessage(Player player, Text rawMessage, ChatTemplateConfig chatTemplateConfig) {
-        String m = TextSerializers.FORMATTING_CODE.serialize(rawMessage);
-        if (this.chatConfig.isRemoveBlueUnderline()) {
-            m = m.replaceAll("&9&n([A-Za-z0-9-.]+)(&r)?", "$1");
+    private ChatCapabilities getCapabilities(Player player) {
+        final ChatTemplateConfig ctc;
+        if (this.chatConfig.isUseGroupTemplates()) {
+            ctc = this.templateUtil.getTemplateNow(player);
+        } else {
+            ctc = this.chatConfig.getDefaultTemplate();
         }
 
-        m = stripPermissionless(player, m);
+        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(ctc::getChatcolour);
+        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(ctc::getChatstyle);
+
+        NameUtil nu = Nucleus.getNucleus().getNameUtil();
+        return new ChatCapabilities(
+                getAllowedCodes(player, ChatCodeScanner.ALL_CODES),
+                hasPermission(player, prefix + "url"),
+                ctc,
+                nu.getColourFromString(chatcol),
+                nu.getTextStyleFromString(chatstyle));
+    }
+
+    private Text useMessage(Text rawMessage, ChatCapabilities capabilities) {
+        String m = ChatCodeScanner.strip(TextSerializers.FORMATTING_CODE.serialize(rawMessage),
+                capabilities.getAllowedCodes(),
+                this.chatConfig.isRemoveBlueUnderline());
 
         Text result;
-        if (hasPermission(player, prefix + "url")) {
+        if (capabilities.canUseUrls()) {
             result = TextParsingUtils.addUrls(m, !this.chatConfig.isRemoveBlueUnderline());
         } else {
             result = TextSerializers.FORMATTING_CODE.deserialize(m);
         }
 
-        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
-        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
-
-        NameUtil nu = Nucleus.getNucleus().getNameUtil();
-        return Text.of(nu.getColourFromString(chatcol), nu.getTextStyleFromString(chatstyle), result);
+        return Text.of(capabilities.getChatColour(), capabilities.getChatStyle(), result);
     }
 
     @Override public void onReload() {
         this.chatConfig = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatConfigAdapter.class).getNodeOrDefault();
+        this.capabilities.invalidateAll();
     }
 }
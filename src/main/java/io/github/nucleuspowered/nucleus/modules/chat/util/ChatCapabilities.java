@@ -0,0 +1,55 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextStyle;
+
+/**
+ * What a player is allowed to do in chat, worked out from their permissions and options so that it does not have
+ * to be on every message.
+ */
+public final class ChatCapabilities {
+
+    private final long allowedCodes;
+    private final boolean urls;
+    private final ChatTemplateConfig template;
+    private final TextColor chatColour;
+    private final TextStyle chatStyle;
+
+    public ChatCapabilities(long allowedCodes, boolean urls, ChatTemplateConfig template, TextColor chatColour, TextStyle chatStyle) {
+        this.allowedCodes = allowedCodes;
+        this.urls = urls;
+        this.template = template;
+        this.chatColour = chatColour;
+        this.chatStyle = chatStyle;
+    }
+
+    /**
+     * The formatting codes the player can use, as a {@link ChatCodeScanner} bitmask.
+     *
+     * @return The bitmask.
+     */
+    public long getAllowedCodes() {
+        return this.allowedCodes;
+    }
+
+    public boolean canUseUrls() {
+        return this.urls;
+    }
+
+    public ChatTemplateConfig getTemplate() {
+        return this.template;
+    }
+
+    public TextColor getChatColour() {
+        return this.chatColour;
+    }
+
+    public TextStyle getChatStyle() {
+        return this.chatStyle;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+/**
+ * Removes formatting codes that a player is not allowed to use from a message in a single pass.
+ *
+ * <p>Codes are represented as a bitmask, with one bit for each character in {@link #CODES}. A code is removed along
+ * with every ampersand in front of it, so {@code &&a} is removed entirely if {@code a} is not allowed.</p>
+ */
+public final class ChatCodeScanner {
+
+    public static final String CODES = "0123456789abcdefklmnor";
+    public static final long ALL_CODES = (1L << CODES.length()) - 1;
+
+    private static final int[] INDEX = new int[128];
+
+    static {
+        for (int i = 0; i < INDEX.length; i++) {
+            INDEX[i] = -1;
+        }
+
+        for (int i = 0; i < CODES.length(); i++) {
+            INDEX[CODES.charAt(i)] = i;
+            INDEX[Character.toUpperCase(CODES.charAt(i))] = i;
+        }
+    }
+
+    private ChatCodeScanner() {}
+
+    /**
+     * Gets the bit for the given code, or 0 if the character is not a formatting code.
+     *
+     * @param code The code character, in either case.
+     * @return The bit.
+     */
+    public static long bitFor(char code) {
+        int index = code < INDEX.length ? INDEX[code] : -1;
+        return index == -1 ? 0 : 1L << index;
+    }
+
+    /**
+     * Gets the codes that appear in the message.
+     *
+     * @param message The message.
+     * @return The bitmask of the codes.
+     */
+    public static long codesIn(String message) {
+        long result = 0;
+        int length = message.length() - 1;
+        for (int i = 0; i < length; i++) {
+            if (message.charAt(i) == '&') {
+                result |= bitFor(message.charAt(i + 1));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the codes that are not allowed from the message.
+     *
+     * @param message The message.
+     * @param allowed The bitmask of allowed codes.
+     * @param removeBlueUnderline Whether to strip {@code &9&n} (and a trailing {@code &r}) from around words, which
+     *                            is how URLs are usually sent from the client.
+     * @return The message, or the same instance if nothing was removed.
+     */
+    public static String strip(String message, long allowed, boolean removeBlueUnderline) {
+        int start = message.indexOf('&');
+        if (start == -1) {
+            return message;
+        }
+
+        int length = message.length();
+        StringBuilder sb = null;
+        int copied = 0;
+        int i = start;
+        while (i < length) {
+            if (message.charAt(i) != '&') {
+                i++;
+                continue;
+            }
+
+            // Find the end of the run of ampersands.
+            int runEnd = i + 1;
+            while (runEnd < length && message.charAt(runEnd) == '&') {
+                runEnd++;
+            }
+
+            if (removeBlueUnderline) {
+                int wordEnd = blueUnderlinedWordEnd(message, runEnd - 1);
+                if (wordEnd != -1) {
+                    sb = append(sb, message, copied, i);
+                    int wordStart = runEnd + 3;
+                    sb.append(message, wordStart, wordEnd);
+                    i = wordEnd;
+                    if (i + 1 < length && message.charAt(i) == '&' && message.charAt(i + 1) == 'r') {
+                        i += 2;
+                    }
+
+                    copied = i;
+                    continue;
+                }
+            }
+
+            if (runEnd < length) {
+                long bit = bitFor(message.charAt(runEnd));
+                if (bit != 0 && (allowed & bit) == 0) {
+                    sb = append(sb, message, copied, i);
+                    copied = runEnd + 1;
+                }
+            }
+
+            i = runEnd + 1;
+        }
+
+        if (sb == null) {
+            return message;
+        }
+
+        sb.append(message, copied, length);
+        return sb.toString();
+    }
+
+    private static StringBuilder append(StringBuilder sb, String message, int from, int to) {
+        if (sb == null) {
+            sb = new StringBuilder(message.length());
+        }
+
+        return sb.append(message, from, to);
+    }
+
+    /**
+     * If {@code &9&n} followed by a word starts at the given index, returns the index after the end of the word.
+     * Otherwise, returns -1.
+     */
+    private static int blueUnderlinedWordEnd(String message, int index) {
+        int length = message.length();
+        if (index + 4 >= length
+                || message.charAt(index + 1) != '9'
+                || message.charAt(index + 2) != '&'
+                || message.charAt(index + 3) != 'n') {
+            return -1;
+        }
+
+        int end = index + 4;
+        while (end < length && isWordChar(message.charAt(end))) {
+            end++;
+        }
+
+        return end == index + 4 ? -1 : end;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '.';
+    }
+}
@@ -22,6 +22,9 @@ public class ChatLoggingConfig {
     @Setting(value = "log-mail", comment = "config.chatlog.mail")
     private boolean logMail = false;
 
+    @Setting(value = "block-when-full", comment = "config.chatlog.blockwhenfull")
+    private boolean blockWhenFull = false;
+
     public boolean isEnableLog() {
         return this.enableLog;
     }
@@ -37,4 +40,8 @@ public class ChatLoggingConfig {
     public boolean isLogMail() {
         return this.logMail;
     }
+
+    public boolean isBlockWhenFull() {
+        return this.blockWhenFull;
+    }
 }
@@ -22,15 +22,11 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloada
     public void onReload() throws Exception {
         ChatLoggingConfigAdapter clca = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatLoggingConfigAdapter.class);
         this.enabled = clca.getNodeOrDefault().isEnableLog();
-        if (this.enabled && this.logger == null) {
+        this.setBlockWhenFull(clca.getNodeOrDefault().isBlockWhenFull());
+        if (this.enabled && !this.isLoggerOpen()) {
             this.createLogger();
-        } else if (!this.enabled && this.logger != null) {
+        } else if (!this.enabled && this.isLoggerOpen()) {
             this.onShutdown();
         }
     }
-
-    @Override
-    protected boolean enabledLog() {
-        return this.enabled;
-    }
 }
@@ -26,6 +26,9 @@ public class CommandLoggerConfig {
     @Setting(value = "log-to-file", comment = "config.commandlogger.file")
     private boolean logToFile = false;
 
+    @Setting(value = "block-when-full", comment = "config.commandlogger.blockwhenfull")
+    private boolean blockWhenFull = false;
+
     public LoggerTargetConfig getLoggerTarget() {
         return this.loggerTarget;
     }
@@ -41,4 +44,8 @@ public class CommandLoggerConfig {
     public boolean isLogToFile() {
         return this.logToFile;
     }
+
+    public boolean isBlockWhenFull() {
+        return this.blockWhenFull;
+    }
 }
@@ -24,19 +24,11 @@ public class CommandLoggerHandler extends AbstractLoggingHandler implements Relo
     @Override
     public void onReload() throws Exception {
         this.config = this.clca.getNodeOrDefault();
-        if (this.config.isLogToFile() && this.logger == null) {
+        this.setBlockWhenFull(this.config.isBlockWhenFull());
+        if (this.config.isLogToFile() && !this.isLoggerOpen()) {
             this.createLogger();
-        } else if (!this.config.isLogToFile() && this.logger != null) {
+        } else if (!this.config.isLogToFile() && this.isLoggerOpen()) {
             this.onShutdown();
         }
     }
-
-    @Override
-    protected boolean enabledLog() {
-        if (this.config == null) {
-            return false;
-        }
-
-        return this.config.isLogToFile();
-    }
 }
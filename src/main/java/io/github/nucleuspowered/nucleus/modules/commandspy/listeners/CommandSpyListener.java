@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.commandspy.listeners;
 import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
@@ -18,7 +19,6 @@ import io.github.nucleuspowered.nucleus.modules.commandspy.commands.CommandSpyCo
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfig;
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfigAdapter;
 import io.github.nucleuspowered.nucleus.util.CommandNameCache;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
@@ -33,19 +33,20 @@ import java.util.stream.Collectors;
 
 public class CommandSpyListener implements Reloadable, ListenerBase.Conditional {
 
-    private final String basePermission;
     private final String exemptTarget;
     private CommandSpyConfig config = new CommandSpyConfig();
     private Set<String> toSpy = ImmutableSet.of();
     private boolean listIsEmpty = true;
-    private final UserPreferenceService userPreferenceService;
+    private final AudienceRegistry.Audience spies;
 
     public CommandSpyListener() {
         CommandPermissionHandler permissionHandler =
                 Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(CommandSpyCommand.class);
-        this.basePermission = permissionHandler.getBase();
+        String basePermission = permissionHandler.getBase();
         this.exemptTarget = permissionHandler.getPermissionWithSuffix("exempt.target");
-        this.userPreferenceService = getServiceUnchecked(UserPreferenceService.class);
+        UserPreferenceService userPreferenceService = getServiceUnchecked(UserPreferenceService.class);
+        this.spies = AudienceRegistry.INSTANCE.register("commandspy", x -> hasPermission(x, basePermission)
+                && userPreferenceService.getUnwrapped(x.getUniqueId(), CommandSpyUserPrefKeys.COMMAND_SPY));
     }
 
     @Listener(order = Order.LAST)
@@ -63,11 +64,9 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
             // If the command is in the list, report it.
             if (isInList == this.config.isUseWhitelist()) {
                 UUID currentUUID = player.getUniqueId();
-                List<Player> playerList = Sponge.getServer().getOnlinePlayers()
+                List<Player> playerList = this.spies.getPlayers()
                     .stream()
                     .filter(x -> !x.getUniqueId().equals(currentUUID))
-                    .filter(x -> hasPermission(x, this.basePermission))
-                    .filter(x -> this.userPreferenceService.getUnwrapped(x.getUniqueId(), CommandSpyUserPrefKeys.COMMAND_SPY))
                     .collect(Collectors.toList());
 
                 if (!playerList.isEmpty()) {
@@ -4,8 +4,13 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.commands;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.DataManager;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaver;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
+import io.github.nucleuspowered.nucleus.internal.OnDemandListenerRegistry;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
@@ -14,6 +19,8 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectPermissionCache;
+import io.github.nucleuspowered.nucleus.internal.teleport.SafeLocationCache;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -27,6 +34,7 @@ import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Scan
@@ -108,4 +116,145 @@ public class DebugCommand extends AbstractCommand<CommandSource> {
             return CommandResult.success();
         }
     }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "savequeue", subcommandOf = DebugCommand.class)
+    public static class SaveQueue extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            sendStats(src, Nucleus.getNucleus().getUserDataManager());
+            sendStats(src, Nucleus.getNucleus().getWorldDataManager());
+            return CommandResult.success();
+        }
+
+        private void sendStats(CommandSource src, DataManager<?, ?, ?> manager) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            WriteBehindSaver<?, ?> saver = manager.getSaver();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.title", saver.getName()));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.saves",
+                    String.valueOf(manager.getPerformedSaves()), String.valueOf(manager.getSkippedSaves())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.queue",
+                    String.valueOf(saver.getQueueDepth()), String.valueOf(saver.getCapacity())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.writes",
+                    String.valueOf(saver.getWrites()), String.valueOf(saver.getCoalesced()), String.valueOf(saver.getCallerWrites()),
+                    String.valueOf(saver.getFailures())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savequeue.latency",
+                    String.format("%.2f", saver.getAverageWriteMillis()), String.format("%.2f", saver.getMaxWriteMillis())));
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "datacache", subcommandOf = DebugCommand.class)
+    public static class DataCache extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            sendStats(src, Nucleus.getNucleus().getUserDataManager());
+            sendStats(src, Nucleus.getNucleus().getWorldDataManager());
+            return CommandResult.success();
+        }
+
+        private void sendStats(CommandSource src, DataManager<?, ?, ?> manager) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            CacheStats stats = manager.getCacheStats();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.datacache.title", manager.getSaver().getName()));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.datacache.size",
+                    String.valueOf(manager.getPinnedCount()), String.valueOf(manager.getCachedCount()),
+                    String.valueOf(manager.getMaximumCacheSize()), String.valueOf(manager.getCacheExpiry().toMinutes())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.datacache.hits",
+                    String.valueOf(stats.hitCount()), String.valueOf(stats.missCount()), String.format("%.1f", stats.hitRate() * 100)));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.datacache.loads",
+                    String.valueOf(stats.loadSuccessCount()), String.valueOf(stats.loadFailureCount()),
+                    String.format("%.2f", stats.averageLoadPenalty() / 1000000.0), String.valueOf(stats.evictionCount())));
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "permissioncache", subcommandOf = DebugCommand.class)
+    public static class PermissionCache extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            SubjectPermissionCache cache = SubjectPermissionCache.INSTANCE;
+            if (!cache.isEnabled()) {
+                src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permissioncache.disabled"));
+                return CommandResult.success();
+            }
+
+            long hits = cache.getHits();
+            long total = hits + cache.getMisses();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permissioncache.size",
+                    String.valueOf(cache.getCachedSubjects()), String.valueOf(cache.getExpiry().getSeconds()),
+                    String.valueOf(cache.getInvalidations())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permissioncache.hits",
+                    String.valueOf(hits), String.valueOf(cache.getMisses()),
+                    String.format("%.1f", total == 0 ? 0 : hits * 100.0 / total)));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "safelocationcache", subcommandOf = DebugCommand.class)
+    public static class SafeLocationCacheStats extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            SafeLocationCache cache = SafeLocationCache.INSTANCE;
+            long hits = cache.getHits();
+            long total = hits + cache.getMisses();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.safelocationcache.size",
+                    String.valueOf(cache.getSize()), String.valueOf(cache.getInvalidations())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.safelocationcache.hits",
+                    String.valueOf(hits), String.valueOf(cache.getMisses()),
+                    String.format("%.1f", total == 0 ? 0 : hits * 100.0 / total)));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "audiences", subcommandOf = DebugCommand.class)
+    public static class Audiences extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            for (AudienceRegistry.Audience audience : AudienceRegistry.INSTANCE.getAudiences().values()) {
+                int errors = audience.check();
+                src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.audiences.entry",
+                        audience.getId(), String.valueOf(audience.getPlayers().size()), String.valueOf(errors)));
+            }
+
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "ondemandlisteners", subcommandOf = DebugCommand.class)
+    public static class OnDemandListeners extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            List<OnDemandListenerRegistry.Entry> entries = OnDemandListenerRegistry.INSTANCE.getEntries();
+            if (entries.isEmpty()) {
+                src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.ondemandlisteners.none"));
+                return CommandResult.success();
+            }
+
+            for (OnDemandListenerRegistry.Entry entry : entries) {
+                src.sendMessage(provider.getTextMessageWithFormat(entry.isRegistered()
+                                ? "command.nucleus.debug.ondemandlisteners.registered" : "command.nucleus.debug.ondemandlisteners.unregistered",
+                        entry.getName(), String.valueOf(entry.getActivations()), String.valueOf(entry.getEventsAvoided())));
+            }
+
+            if (!Nucleus.getNucleus().isDebugMode()) {
+                src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.ondemandlisteners.nocount"));
+            }
+
+            return CommandResult.success();
+        }
+    }
 }
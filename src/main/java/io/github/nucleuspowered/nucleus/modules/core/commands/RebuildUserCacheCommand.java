@@ -27,6 +27,7 @@ public class RebuildUserCacheCommand extends AbstractCommand<CommandSource> {
     @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
         src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.start"));
         if (Nucleus.getNucleus().getUserCacheService().fileWalk()) {
+            Nucleus.getNucleus().getProfileDirectoryService().seed();
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.rebuild.end"));
             return CommandResult.success();
         } else {
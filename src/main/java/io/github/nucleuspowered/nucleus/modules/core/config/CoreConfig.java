@@ -76,9 +76,20 @@ public class CoreConfig {
     @Setting(value = "override-language", comment = "config.core.language")
     private String serverLocale = "default";
 
+    // These are read from the file in NucleusPlugin#onPreInit, before this config is loaded, and are only here so that
+    // they are written to the config with their comments.
     @Setting(value = "data-file-location", comment = "config.core.datafilelocation")
     private String dataFileLocation = "default";
 
+    @Setting(value = "user-data-store", comment = "config.core.userdatastore")
+    private String userDataStore = "json";
+
+    @Setting(value = "save-data-in-background", comment = "config.core.savedatainbackground")
+    private boolean writeBehindSaving = true;
+
+    @Setting(value = "data-cache", comment = "config.core.datacache.info")
+    private DataCacheConfig dataCacheConfig = new DataCacheConfig();
+
     @Setting(value = "offline-user-tab-limit", comment = "config.core.offlineusertablimit")
     private int nicknameArgOfflineLimit = 20;
 
@@ -91,6 +102,9 @@ public class CoreConfig {
     @Setting(value = "print-message-when-permission-isnt-registered", comment = "config.core.printMissingPerms")
     private boolean printWhenPermissionIsntRegistered = false;
 
+    @Setting(value = "permission-cache", comment = "config.core.permissioncache.info")
+    private PermissionCacheConfig permissionCacheConfig = new PermissionCacheConfig();
+
     public boolean isDebugmode() {
         return this.debugmode;
     }
@@ -167,6 +181,14 @@ public class CoreConfig {
         return this.serverLocale;
     }
 
+    public boolean isWriteBehindSaving() {
+        return this.writeBehindSaving;
+    }
+
+    public DataCacheConfig getDataCacheConfig() {
+        return this.dataCacheConfig;
+    }
+
     public int getNicknameArgOfflineLimit() {
         return this.nicknameArgOfflineLimit;
     }
@@ -183,6 +205,10 @@ public class CoreConfig {
         return this.printWhenPermissionIsntRegistered;
     }
 
+    public PermissionCacheConfig getPermissionCacheConfig() {
+        return this.permissionCacheConfig;
+    }
+
     public boolean isAutodetectlanguage() {
         return this.autodetectlanguage;
     }
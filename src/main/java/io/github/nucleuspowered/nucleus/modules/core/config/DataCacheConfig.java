@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.time.Duration;
+
+@ConfigSerializable
+public class DataCacheConfig {
+
+    @Setting(value = "max-offline-users", comment = "config.core.datacache.maxusers")
+    private int maxOfflineUsers = 500;
+
+    @Setting(value = "offline-user-expiry-minutes", comment = "config.core.datacache.userexpiry")
+    private int offlineUserExpiry = 15;
+
+    @Setting(value = "max-unloaded-worlds", comment = "config.core.datacache.maxworlds")
+    private int maxUnloadedWorlds = 50;
+
+    @Setting(value = "unloaded-world-expiry-minutes", comment = "config.core.datacache.worldexpiry")
+    private int unloadedWorldExpiry = 15;
+
+    public int getMaxOfflineUsers() {
+        return Math.max(1, this.maxOfflineUsers);
+    }
+
+    public Duration getOfflineUserExpiry() {
+        return Duration.ofMinutes(Math.max(1, this.offlineUserExpiry));
+    }
+
+    public int getMaxUnloadedWorlds() {
+        return Math.max(1, this.maxUnloadedWorlds);
+    }
+
+    public Duration getUnloadedWorldExpiry() {
+        return Duration.ofMinutes(Math.max(1, this.unloadedWorldExpiry));
+    }
+}
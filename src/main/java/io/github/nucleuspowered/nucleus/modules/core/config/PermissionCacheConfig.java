@@ -0,0 +1,28 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.time.Duration;
+
+@ConfigSerializable
+public class PermissionCacheConfig {
+
+    @Setting(value = "enabled", comment = "config.core.permissioncache.enabled")
+    private boolean enabled = true;
+
+    @Setting(value = "expiry-seconds", comment = "config.core.permissioncache.expiry")
+    private int expiry = 30;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public Duration getExpiry() {
+        return Duration.ofSeconds(Math.max(1, this.expiry));
+    }
+}
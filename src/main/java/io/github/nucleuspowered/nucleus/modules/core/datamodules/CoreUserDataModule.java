@@ -23,35 +23,35 @@ import javax.annotation.Nullable;
 public class CoreUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("lastKnownName")
-    private String lastKnownName;
+    String lastKnownName;
 
     @DataKey("locationOnLogin")
     @Nullable
-    private LocationNode locationOnLogin;
+    LocationNode locationOnLogin;
 
     @DataKey("lastLocation")
     @Nullable
-    private LocationNode lastLocation;
+    LocationNode lastLocation;
 
     @DataKey("lastLogin")
-    private long login;
+    long login;
 
     @DataKey("lastLogout")
-    private long logout;
+    long logout;
 
     @DataKey("lastIP")
     @Nullable
-    private String ipaddress;
+    String ipaddress;
 
     @DataKey("firstJoin")
-    private long firstJoin = 0;
+    long firstJoin = 0;
 
     // This is required as if a player joins during whitelist, Sponge logs it as a first join.
     // This means they lose out on all first join stuff, like first join kits.
     // We log a first join during a Login event that is cancelled, and then read if this
     // is true later (along with the last logout).
     @DataKey("startedFirstJoin")
-    private boolean startedFirstJoin = false;
+    boolean startedFirstJoin = false;
 
     public Optional<Instant> getLastLogin() {
         if (this.login == 0) {
@@ -5,9 +5,11 @@
 package io.github.nucleuspowered.nucleus.modules.core.datamodules;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.dataservices.modular.TransientModule;
+import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.entity.JoinData;
@@ -34,12 +36,21 @@ public class UniqueUserCountTransientModule extends TransientModule<ModularGener
     }
 
     public void resetUniqueUserCount(@Nullable Consumer<Long> resultConsumer) {
+        // The profile directory keeps count as players join, so there is nothing to work out.
+        if (getDirectory().isReady()) {
+            Tokens.INSTANCE.invalidatePerTickTokens();
+            if (resultConsumer != null) {
+                resultConsumer.accept(getUniqueUserCount());
+            }
+
+            return;
+        }
+
         if (!this.userCountIsDirty) {
             this.userCountIsDirty = true;
             ERROR_REPORTED = false;
             Task.builder().async().execute(task -> {
-                boolean accurate = Nucleus.getNucleus().getInternalServiceManager()
-                        .getServiceUnchecked(CoreConfigAdapter.class).getNodeOrDefault().isMoreAccurate();
+                boolean accurate = isAccurate();
                 UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
                 UserDataManager userDataManager = Nucleus.getNucleus().getUserDataManager();
 
@@ -74,6 +85,7 @@ public class UniqueUserCountTransientModule extends TransientModule<ModularGener
                 }
 
                 this.userCountIsDirty = false;
+                Tokens.INSTANCE.invalidatePerTickTokens();
                 if (resultConsumer != null) {
                     resultConsumer.accept(this.userCount);
                 }
@@ -82,10 +94,23 @@ public class UniqueUserCountTransientModule extends TransientModule<ModularGener
     }
 
     public long getUniqueUserCount() {
+        ProfileDirectoryService directory = getDirectory();
+        if (directory.isReady()) {
+            return directory.getUniqueVisitorCount(isAccurate());
+        }
+
         if (this.userCountIsDirty) {
             return this.userCount + 1;
         }
 
         return this.userCount;
     }
+
+    private static ProfileDirectoryService getDirectory() {
+        return Nucleus.getNucleus().getProfileDirectoryService();
+    }
+
+    private static boolean isAccurate() {
+        return Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CoreConfigAdapter.class).getNodeOrDefault().isMoreAccurate();
+    }
 }
@@ -9,10 +9,14 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.events.NucleusFirstJoinEvent;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
+import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
@@ -22,6 +26,7 @@ import io.github.nucleuspowered.nucleus.modules.core.events.OnFirstLoginEvent;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
@@ -98,11 +103,26 @@ public class CoreListener implements Reloadable, ListenerBase {
         });
     }
 
+    /* (non-Javadoc)
+     * The player must be in the name index before anything else sees them join, such as the nickname listener, which
+     * can only index the nickname of a player that is already there.
+     */
+    @Listener(order = Order.PRE)
+    public void onPlayerJoinPre(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") final Player player) {
+        PlayerNameIndex.INSTANCE.addPlayer(player.getUniqueId(), player.getName(), player.get(Keys.VANISH).orElse(false));
+    }
+
     /* (non-Javadoc)
      * We do this first to try to get the first play status as quick as possible.
      */
     @Listener(order = Order.FIRST)
     public void onPlayerJoinFirst(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") final Player player) {
+        Nucleus.getNucleus().getProfileDirectoryService().update(player.getUniqueId(), player.getName());
+
+        // The online player count, and perhaps the unique visitor count, have changed.
+        Tokens.INSTANCE.invalidatePerTickTokens();
+        AudienceRegistry.INSTANCE.addPlayer(player);
+        PlayerStateSnapshot.INSTANCE.addPlayer(player.getUniqueId());
         try {
             ModularUserService qsu = Nucleus.getNucleus().getUserDataManager().getUnchecked(player);
             CoreUserDataModule c = qsu.get(CoreUserDataModule.class);
@@ -112,6 +132,9 @@ public class CoreListener implements Reloadable, ListenerBase {
                 c.setLastIp(player.getConnection().getAddress().getAddress());
             }
 
+            // The IP address has changed since the cache was updated on login.
+            Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(qsu);
+
             // We'll do this bit shortly - after the login events have resolved.
             final String name = player.getName();
             Task.builder().execute(() -> c.setLastKnownName(name)).delayTicks(20L).submit(Nucleus.getNucleus());
@@ -168,6 +191,12 @@ public class CoreListener implements Reloadable, ListenerBase {
 
     @Listener(order = Order.LAST)
     public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") final Player player) {
+        Tokens.INSTANCE.invalidatePerTickTokens();
+        PlayerNameIndex.INSTANCE.removePlayer(player.getUniqueId());
+        AudienceRegistry.INSTANCE.removePlayer(player.getUniqueId());
+        PlayerStateSnapshot.INSTANCE.removePlayer(player.getUniqueId());
+        Nucleus.getNucleus().getProfileDirectoryService().update(player.getUniqueId(), player.getName());
+
         // There is an issue in Sponge where the connection may not even exist, because they were disconnected before the connection was
         // completely established.
         //noinspection ConstantConditions
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import com.flowpowered.math.vector.Vector3i;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.teleport.SafeLocationCache;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.world.UnloadWorldEvent;
+import org.spongepowered.api.event.world.chunk.UnloadChunkEvent;
+
+import java.util.UUID;
+
+/**
+ * Keeps the {@link SafeLocationCache} up to date with the worlds.
+ */
+public class SafeLocationCacheListener implements Reloadable, ListenerBase {
+
+    private final SafeLocationCache cache = SafeLocationCache.INSTANCE;
+
+    @Listener(order = Order.POST)
+    public void onBlockChange(ChangeBlockEvent.Post event) {
+        if (this.cache.isEmpty()) {
+            return;
+        }
+
+        // Transactions tend to come in runs in the same chunk, only invalidate each run once.
+        UUID lastWorld = null;
+        int lastX = 0;
+        int lastZ = 0;
+        for (Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+            if (!transaction.isValid()) {
+                continue;
+            }
+
+            BlockSnapshot snapshot = transaction.getOriginal();
+            Vector3i position = snapshot.getPosition();
+            int x = position.getX() >> 4;
+            int z = position.getZ() >> 4;
+            if (x != lastX || z != lastZ || !snapshot.getWorldUniqueId().equals(lastWorld)) {
+                lastWorld = snapshot.getWorldUniqueId();
+                lastX = x;
+                lastZ = z;
+                this.cache.invalidateChunk(lastWorld, x, z);
+            }
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onChunkUnload(UnloadChunkEvent event) {
+        Vector3i position = event.getTargetChunk().getPosition();
+        this.cache.invalidateChunk(event.getTargetChunk().getWorld().getUniqueId(), position.getX(), position.getZ());
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldUnload(UnloadWorldEvent event) {
+        this.cache.invalidateWorld(event.getTargetWorld().getUniqueId());
+    }
+
+    @Override public void onReload() {
+        this.cache.setSafeTeleportConfig(Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CoreConfigAdapter.class)
+                .getNodeOrDefault().getSafeTeleportConfig());
+    }
+}
@@ -37,7 +37,8 @@ public class CoreTask implements TaskBase, Reloadable {
     @Override
     public void accept(Task task) {
         Nucleus plugin = Nucleus.getNucleus();
-        plugin.getUserDataManager().removeOfflinePlayers();
+        plugin.getUserDataManager().unpinExpired();
+        plugin.getWorldDataManager().unpinExpired();
 
         if (this.printSave || Nucleus.getNucleus().isDebugMode()) {
             plugin.getLogger().info(plugin.getMessageProvider().getMessageWithFormat("core.savetask.starting"));
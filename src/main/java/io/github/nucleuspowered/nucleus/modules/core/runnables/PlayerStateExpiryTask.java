@@ -0,0 +1,35 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
+import io.github.nucleuspowered.nucleus.internal.interfaces.TaskBase;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Ends timed jails and mutes for online players when they run out.
+ */
+@NonnullByDefault
+public class PlayerStateExpiryTask implements TaskBase {
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void accept(Task task) {
+        PlayerStateSnapshot.INSTANCE.sweep();
+    }
+}
@@ -12,7 +12,7 @@ import org.spongepowered.api.data.key.Keys;
 public class FlyUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("fly")
-    private boolean fly = false;
+    boolean fly = false;
 
     public FlyUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -8,13 +8,13 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
 import io.github.nucleuspowered.nucleus.internal.text.Tokens;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.commands.FreezePlayerCommand;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
@@ -47,9 +47,8 @@ public class FreezePlayerModule extends StandardModule {
                     }
 
                     @Override protected boolean condition(CommandSource commandSource) {
-                        return commandSource instanceof Player &&
-                                Nucleus.getNucleus().getUserDataManager().get((User) commandSource).map(x -> x.get(FreezePlayerUserDataModule.class).isFrozen())
-                                        .orElse(false);
+                        return commandSource instanceof Player
+                                && PlayerStateSnapshot.INSTANCE.is(((Player) commandSource).getUniqueId(), PlayerStateSnapshot.FROZEN);
                     }
                 })
                 .build();
@@ -11,7 +11,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 public class FreezePlayerUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("isFrozen")
-    private boolean isFrozen = false;
+    boolean isFrozen = false;
 
     public boolean isFrozen() {
         return this.isFrozen;
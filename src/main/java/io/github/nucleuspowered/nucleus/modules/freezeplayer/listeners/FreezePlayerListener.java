@@ -4,8 +4,8 @@
  */
 package io.github.nucleuspowered.nucleus.modules.freezeplayer.listeners;
 
-import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.services.FreezePlayerService;
 import org.spongepowered.api.entity.living.player.Player;
@@ -14,19 +14,20 @@ import org.spongepowered.api.event.action.InteractEvent;
 import org.spongepowered.api.event.block.InteractBlockEvent;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.event.filter.cause.Root;
-import org.spongepowered.api.event.network.ClientConnectionEvent;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.UUID;
-
-public class FreezePlayerListener implements ListenerBase {
+/**
+ * Only registered while a player is frozen.
+ */
+public class FreezePlayerListener implements ListenerBase.OnDemand {
 
     private final FreezePlayerService service = Nucleus.getNucleus()
             .getInternalServiceManager()
             .getServiceUnchecked(FreezePlayerService.class);
-    private final Map<UUID, Instant> lastFreezeNotification = Maps.newHashMap();
+
+    @Override
+    public boolean isActive() {
+        return PlayerStateSnapshot.INSTANCE.isAny(PlayerStateSnapshot.FROZEN);
+    }
 
     @Listener
     public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
@@ -43,17 +44,10 @@ public class FreezePlayerListener implements ListenerBase {
         event.setCancelled(checkForFrozen(player, "freeze.cancelinteractblock"));
     }
 
-    @Listener
-    public void onPlayerDisconnect(ClientConnectionEvent.Disconnect event) {
-        this.service.invalidate(event.getTargetEntity().getUniqueId());
-    }
-
     private boolean checkForFrozen(Player player, String message) {
-        if (this.service.isFrozen(player)) {
-            Instant now = Instant.now();
-            if (this.lastFreezeNotification.getOrDefault(player.getUniqueId(), now).isBefore(now)) {
+        if (PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.FROZEN)) {
+            if (this.service.shouldNotify(player.getUniqueId())) {
                 player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat(message));
-                this.lastFreezeNotification.put(player.getUniqueId(), now.plus(2, ChronoUnit.SECONDS));
             }
 
             return true;
@@ -0,0 +1,30 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.freezeplayer.listeners;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.freezeplayer.services.FreezePlayerService;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+public class FreezePlayerLoginListener implements ListenerBase {
+
+    private final FreezePlayerService service = Nucleus.getNucleus()
+            .getInternalServiceManager()
+            .getServiceUnchecked(FreezePlayerService.class);
+
+    @Listener
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.service.onJoin(player.getUniqueId());
+    }
+
+    @Listener
+    public void onPlayerLeave(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.service.onLeave(player.getUniqueId());
+    }
+}
@@ -6,35 +6,64 @@ package io.github.nucleuspowered.nucleus.modules.freezeplayer.services;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusFreezePlayerService;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 
-import java.util.HashMap;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @APIService(NucleusFreezePlayerService.class)
 public class FreezePlayerService implements ServiceBase, NucleusFreezePlayerService {
 
-    private final Map<UUID, Boolean> cache = new HashMap<>();
+    private final Map<UUID, Instant> nextFreezeNotification = new ConcurrentHashMap<>();
 
-    public void clear() {
-        this.cache.clear();
+    /**
+     * Adds whether a player that has just joined is frozen to the {@link PlayerStateSnapshot}.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void onJoin(UUID uuid) {
+        PlayerStateSnapshot.INSTANCE.set(uuid, PlayerStateSnapshot.FROZEN, isFrozenInData(uuid));
     }
 
-    public void invalidate(UUID uuid) {
-        this.cache.remove(uuid);
+    /**
+     * Forgets about a player that has left.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void onLeave(UUID uuid) {
+        this.nextFreezeNotification.remove(uuid);
+    }
+
+    /**
+     * Gets whether a frozen player should be told that they are frozen, which is at most once every two seconds.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return <code>true</code> if they should be told.
+     */
+    public boolean shouldNotify(UUID uuid) {
+        Instant now = Instant.now();
+        Instant next = this.nextFreezeNotification.get(uuid);
+        if (next == null || !now.isBefore(next)) {
+            this.nextFreezeNotification.put(uuid, now.plus(2, ChronoUnit.SECONDS));
+            return true;
+        }
+
+        return false;
     }
 
     @Override
     public boolean isFrozen(UUID uuid) {
-        return this.cache.computeIfAbsent(uuid, key ->
-                Nucleus.getNucleus().getUserDataManager().get(uuid)
-                        .map(x ->
-                            x.get(FreezePlayerUserDataModule.class)
-                            .isFrozen())
-                        .orElse(false));
+        if (PlayerStateSnapshot.INSTANCE.contains(uuid)) {
+            return PlayerStateSnapshot.INSTANCE.is(uuid, PlayerStateSnapshot.FROZEN);
+        }
+
+        return isFrozenInData(uuid);
     }
 
     @Override
@@ -43,8 +72,17 @@ public class FreezePlayerService implements ServiceBase, NucleusFreezePlayerServ
                 .get(uuid)
                 .ifPresent(x -> {
                     x.get(FreezePlayerUserDataModule.class).setFrozen(freeze);
-                    this.cache.put(uuid, freeze);
+                    PlayerStateSnapshot.INSTANCE.set(uuid, PlayerStateSnapshot.FROZEN, freeze);
+                    if (!freeze) {
+                        this.nextFreezeNotification.remove(uuid);
+                    }
                 });
     }
 
+    private boolean isFrozenInData(UUID uuid) {
+        return Nucleus.getNucleus().getUserDataManager().get(uuid)
+                .map(x -> x.get(FreezePlayerUserDataModule.class).isFrozen())
+                .orElse(false);
+    }
+
 }
@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
 public class HomeUserDataModule extends DataModule.ReferenceService<ModularUserService> {
 
     @DataKey("homes")
-    private Map<String, LocationNode> homeData = Maps.newHashMap();
+    Map<String, LocationNode> homeData = Maps.newHashMap();
 
     public HomeUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -16,7 +16,7 @@ import java.util.UUID;
 public class IgnoreUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("ignoreList")
-    private List<UUID> ignoreList = Lists.newArrayList();
+    List<UUID> ignoreList = Lists.newArrayList();
 
     public List<UUID> getIgnoreList() {
         return ImmutableList.copyOf(this.ignoreList);
@@ -4,7 +4,6 @@
  */
 package io.github.nucleuspowered.nucleus.modules.ignore.listeners;
 
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusNoIgnoreChannel;
@@ -15,27 +14,50 @@ import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.services.IgnoreService;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.channel.MutableMessageChannel;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class IgnoreListener implements ListenerBase {
 
     private final UserDataManager loader = Nucleus.getNucleus().getUserDataManager();
+    private final IgnoreService ignoreService = getServiceUnchecked(IgnoreService.class);
     private CommandPermissionHandler ignoreHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(IgnoreCommand.class);
 
+    @Listener
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        try {
+            this.ignoreService.addPlayer(player);
+        } catch (Exception e) {
+            if (Nucleus.getNucleus().isDebugMode()) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Listener
+    public void onPlayerQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.ignoreService.removePlayer(player.getUniqueId());
+    }
+
     @Listener(order = Order.LATE)
     public void onChat(MessageChannelEvent.Chat event) {
-        if (event.getChannel().orElseGet(event::getOriginalChannel) instanceof NucleusNoIgnoreChannel) {
+        if (this.ignoreService.isEmpty() || event.getChannel().orElseGet(event::getOriginalChannel) instanceof NucleusNoIgnoreChannel) {
             return;
         }
 
@@ -53,7 +75,10 @@ public class IgnoreListener implements ListenerBase {
 
     @Listener(order = Order.FIRST)
     public void onMessage(NucleusMessageEvent event, @Root Player player) {
-        if (event.getRecipient() instanceof User) {
+        if (event.getRecipient() instanceof Player) {
+            // Online, so in the index.
+            event.setCancelled(this.ignoreService.getIgnoredBy(player.getUniqueId()).contains(((Player) event.getRecipient()).getUniqueId()));
+        } else if (event.getRecipient() instanceof User) {
             try {
                 event.setCancelled(this.loader.getUnchecked((User) event.getRecipient())
                         .get(IgnoreUserDataModule.class)
@@ -87,35 +112,15 @@ public class IgnoreListener implements ListenerBase {
      * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s to remove
      */
     private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
-        if (this.ignoreHandler.testSuffix(player, "exempt.chat")) {
+        // Only the players ignoring the sender need to be looked at.
+        Set<UUID> ignoredBy = this.ignoreService.getIgnoredBy(player.getUniqueId());
+        if (ignoredBy.isEmpty() || this.ignoreHandler.testSuffix(player, "exempt.chat")) {
             return Optional.empty();
         }
 
-        List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                if (!(x instanceof Player)) {
-                    // Remove if not a player.
-                    return true;
-                }
-
-                if (x.equals(player)) {
-                    // Remove if the same player.
-                    return true;
-                }
-
-                // Don't remove if they are in the list.
-                return !this.loader.get((Player) x).map(y ->
-                        y.get(IgnoreUserDataModule.class).getIgnoreList().contains(player.getUniqueId())).orElse(false);
-            } catch (Exception e) {
-                if (Nucleus.getNucleus().isDebugMode()) {
-                    e.printStackTrace();
-                }
-
-                // Remove them.
-                return true;
-            }
-        });
+        List<MessageReceiver> list = collection.stream()
+                .filter(x -> x instanceof Player && ignoredBy.contains(((Player) x).getUniqueId()))
+                .collect(Collectors.toList());
 
         // We do this so we don't have to recreate a channel if nothing changes.
         if (list.isEmpty()) {
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.services;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import org.spongepowered.api.entity.living.player.User;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Keeps track of which online players are ignoring whom, so that chat does not need to look up the ignore list of
+ * every player that might receive a message.
+ *
+ * <p>Changes to ignore lists should go through this service so that the index is kept in sync with the data.</p>
+ */
+public class IgnoreService implements ServiceBase {
+
+    private final Object lock = new Object();
+
+    // The players being ignored, to the online players ignoring them. The sets are replaced, not modified.
+    private final Map<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    // The online players, to the players they are ignoring.
+    @GuardedBy("lock") private final Map<UUID, Set<UUID>> ignoring = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the ignore list of a player that has just joined to the index.
+     *
+     * @param user The {@link User}.
+     */
+    public void addPlayer(User user) {
+        Collection<UUID> list = getModule(user).getIgnoreList();
+        synchronized (this.lock) {
+            removePlayer(user.getUniqueId());
+            if (!list.isEmpty()) {
+                this.ignoring.put(user.getUniqueId(), ConcurrentHashMap.newKeySet());
+                list.forEach(x -> index(user.getUniqueId(), x));
+            }
+        }
+    }
+
+    /**
+     * Removes a player that has left from the index.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removePlayer(UUID uuid) {
+        synchronized (this.lock) {
+            Set<UUID> list = this.ignoring.remove(uuid);
+            if (list != null) {
+                list.forEach(x -> unindex(uuid, x));
+            }
+        }
+    }
+
+    /**
+     * Adds a player to a user's ignore list.
+     *
+     * @param user The {@link User} doing the ignoring.
+     * @param target The {@link UUID} of the player to ignore.
+     */
+    public void ignore(User user, UUID target) {
+        synchronized (this.lock) {
+            getModule(user).addToIgnoreList(target);
+            if (user.isOnline()) {
+                this.ignoring.computeIfAbsent(user.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
+                index(user.getUniqueId(), target);
+            }
+        }
+    }
+
+    /**
+     * Removes a player from a user's ignore list.
+     *
+     * @param user The {@link User} doing the ignoring.
+     * @param target The {@link UUID} of the player to stop ignoring.
+     */
+    public void unignore(User user, UUID target) {
+        synchronized (this.lock) {
+            getModule(user).removeFromIgnoreList(target);
+            unindex(user.getUniqueId(), target);
+        }
+    }
+
+    /**
+     * Gets the online players that are ignoring a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The {@link UUID}s of the online players ignoring them.
+     */
+    public Set<UUID> getIgnoredBy(UUID uuid) {
+        return this.ignoredBy.getOrDefault(uuid, ImmutableSet.of());
+    }
+
+    /**
+     * Gets whether no online player is ignoring anyone.
+     *
+     * @return <code>true</code> if so.
+     */
+    public boolean isEmpty() {
+        return this.ignoredBy.isEmpty();
+    }
+
+    @GuardedBy("lock")
+    private void index(UUID uuid, UUID target) {
+        Set<UUID> list = this.ignoring.get(uuid);
+        if (list != null && list.add(target)) {
+            this.ignoredBy.put(target, ImmutableSet.<UUID>builder().addAll(getIgnoredBy(target)).add(uuid).build());
+        }
+    }
+
+    @GuardedBy("lock")
+    private void unindex(UUID uuid, UUID target) {
+        Set<UUID> list = this.ignoring.get(uuid);
+        if (list != null) {
+            list.remove(target);
+        }
+
+        Set<UUID> by = this.ignoredBy.get(target);
+        if (by != null && by.contains(uuid)) {
+            if (by.size() == 1) {
+                this.ignoredBy.remove(target);
+            } else {
+                this.ignoredBy.put(target, by.stream().filter(x -> !x.equals(uuid)).collect(ImmutableSet.toImmutableSet()));
+            }
+        }
+    }
+
+    private static IgnoreUserDataModule getModule(User user) {
+        return Nucleus.getNucleus().getUserDataManager().getUnchecked(user).get(IgnoreUserDataModule.class);
+    }
+}
@@ -15,7 +15,7 @@ public class InvulnerabilityUserDataModule extends DataModule.ReferenceService<M
     private int previousHungerValue = 20;
 
     @DataKey("invulnerable")
-    private boolean invulnerable = false;
+    boolean invulnerable = false;
 
     public InvulnerabilityUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -20,7 +20,7 @@ import java.util.Optional;
 public class JailGeneralDataModule extends LocationDataModule<ModularGeneralService> {
 
     @DataKey("jails")
-    private Map<String, LocationNode> jails = Maps.newHashMap();
+    Map<String, LocationNode> jails = Maps.newHashMap();
 
     public Optional<NamedLocation> getJailLocation(String name) {
         return get(this.jails, this.getLocationData, name);
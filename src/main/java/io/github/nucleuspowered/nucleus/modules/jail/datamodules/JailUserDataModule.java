@@ -17,10 +17,10 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     @DataKey("jailData")
     @Nullable
-    private JailData jailData;
+    JailData jailData;
 
     @DataKey("jailOnNextLogin")
-    private boolean jailOnNextLogin = false;
+    boolean jailOnNextLogin = false;
 
     public JailUserDataModule(ModularUserService modularDataService) {
         super(modularDataService);
@@ -6,11 +6,11 @@ package io.github.nucleuspowered.nucleus.modules.jail.listeners;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.jail.JailModule;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfig;
 import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.jail.services.JailHandler;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
@@ -18,15 +18,13 @@ import org.spongepowered.api.event.message.MessageChannelEvent;
 
 public class ChatJailListener implements ListenerBase.Conditional {
 
-    private final JailHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(JailHandler.class);
-
     @Listener(order = Order.FIRST)
     public void onChat(MessageChannelEvent.Chat event) {
         Util.onPlayerSimulatedOrPlayer(event, this::onChat);
     }
 
     private void onChat(MessageChannelEvent.Chat event, Player player) {
-        if (this.handler.checkJail(player, false)) {
+        if (PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.JAILED)) {
             player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("jail.muteonchat"));
             event.setCancelled(true);
         }
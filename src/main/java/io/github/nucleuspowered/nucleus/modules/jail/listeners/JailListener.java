@@ -11,12 +11,11 @@ import io.github.nucleuspowered.nucleus.api.events.NucleusTeleportEvent;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.NamedLocation;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
-import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.modules.core.events.NucleusOnLoginEvent;
 import io.github.nucleuspowered.nucleus.modules.fly.datamodules.FlyUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.commands.JailCommand;
-import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.jail.data.JailData;
 import io.github.nucleuspowered.nucleus.modules.jail.datamodules.JailUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.services.JailHandler;
@@ -27,9 +26,6 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
-import org.spongepowered.api.event.action.InteractEvent;
-import org.spongepowered.api.event.block.ChangeBlockEvent;
-import org.spongepowered.api.event.command.SendCommandEvent;
 import org.spongepowered.api.event.entity.living.humanoid.player.RespawnPlayerEvent;
 import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
@@ -38,21 +34,18 @@ import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
 
 import java.time.Duration;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
-public class JailListener implements Reloadable, ListenerBase {
+public class JailListener implements ListenerBase {
 
     private final JailHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(JailHandler.class);
     private final String notify;
     private final String teleport;
     private final String teleportto;
 
-    private List<String> allowedCommands;
-
     @Inject
     public JailListener() {
         CommandPermissionHandler cph = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(JailCommand.class);
@@ -111,6 +104,8 @@ public class JailListener implements Reloadable, ListenerBase {
 
         // Jailing the subject if we need to.
         Optional<JailData> data = this.handler.getPlayerJailDataInternal(user);
+        PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.JAILED, data.isPresent(),
+                data.flatMap(JailData::getEndTimestamp).orElse(null));
         if (qs.jailOnNextLogin() && data.isPresent()) {
             // It exists.
             NamedLocation owl = this.handler.getWarpLocation(user).get();
@@ -143,6 +138,7 @@ public class JailListener implements Reloadable, ListenerBase {
                     this.handler.unjailPlayer(user);
                 } else {
                     // ensure jailing is current
+                    PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.JAILED, true, md.getEndTimestamp().orElse(null));
                     this.handler.onJail(md, event.getTargetEntity());
                 }
             }
@@ -151,10 +147,10 @@ public class JailListener implements Reloadable, ListenerBase {
 
     @Listener
     public void onRequestSent(NucleusTeleportEvent.Request event, @Root Player cause, @Getter("getTargetEntity") Player player) {
-        if (this.handler.isPlayerJailed(cause)) {
+        if (isJailed(cause)) {
             event.setCancelled(true);
             event.setCancelMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("jail.teleportcause.isjailed"));
-        } else if (this.handler.isPlayerJailed(player)) {
+        } else if (isJailed(player)) {
             event.setCancelled(true);
             event.setCancelMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("jail.teleporttarget.isjailed", player.getName()));
         }
@@ -162,7 +158,7 @@ public class JailListener implements Reloadable, ListenerBase {
 
     @Listener
     public void onAboutToTeleport(NucleusTeleportEvent.AboutToTeleport event, @Root CommandSource cause, @Getter("getTargetEntity") Player player) {
-        if (this.handler.isPlayerJailed(player)) {
+        if (isJailed(player)) {
             if (!hasPermission(cause, this.teleport)) {
                 event.setCancelled(true);
                 event.setCancelMessage(
@@ -175,30 +171,9 @@ public class JailListener implements Reloadable, ListenerBase {
         }
     }
 
-    @Listener
-    public void onCommand(SendCommandEvent event, @Root Player player) {
-        // Only if the command is not in the control list.
-        if (this.handler.checkJail(player, false) && this.allowedCommands.stream().noneMatch(x -> event.getCommand().equalsIgnoreCase(x))) {
-            event.setCancelled(true);
-
-            // This is the easiest way to send the messages.
-            this.handler.checkJail(player, true);
-        }
-    }
-
-    @Listener
-    public void onBlockChange(ChangeBlockEvent event, @Root Player player) {
-        event.setCancelled(this.handler.checkJail(player, true));
-    }
-
-    @Listener
-    public void onInteract(InteractEvent event, @Root Player player) {
-        event.setCancelled(this.handler.checkJail(player, true));
-    }
-
     @Listener
     public void onSpawn(RespawnPlayerEvent event) {
-        if (this.handler.checkJail(event.getTargetEntity(), false)) {
+        if (isJailed(event.getTargetEntity())) {
             event.setToTransform(event.getToTransform().setLocation(this.handler.getWarpLocation(event.getTargetEntity()).get().getLocation().get()));
         }
     }
@@ -211,8 +186,8 @@ public class JailListener implements Reloadable, ListenerBase {
         }
     }
 
-    @Override public void onReload() {
-        this.allowedCommands = Nucleus.getNucleus().getInternalServiceManager()
-                .getServiceUnchecked(JailConfigAdapter.class).getNodeOrDefault().getAllowedCommands();
+    private static boolean isJailed(Player player) {
+        // Jails that have run out are removed by the PlayerStateExpiryTask.
+        return PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.JAILED);
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.jail.listeners;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.modules.jail.config.JailConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.jail.services.JailHandler;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.action.InteractEvent;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.command.SendCommandEvent;
+import org.spongepowered.api.event.filter.cause.Root;
+
+import java.util.List;
+
+/**
+ * Stops jailed players from doing things. Only registered while a player is jailed.
+ */
+public class JailedPlayerListener implements Reloadable, ListenerBase.OnDemand {
+
+    private final JailHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(JailHandler.class);
+
+    private List<String> allowedCommands;
+
+    @Override
+    public boolean isActive() {
+        return PlayerStateSnapshot.INSTANCE.isAny(PlayerStateSnapshot.JAILED);
+    }
+
+    @Listener
+    public void onCommand(SendCommandEvent event, @Root Player player) {
+        // Only if the command is not in the control list.
+        if (isJailed(player) && this.allowedCommands.stream().noneMatch(x -> event.getCommand().equalsIgnoreCase(x))) {
+            event.setCancelled(true);
+            this.handler.notifyJailed(player);
+        }
+    }
+
+    @Listener
+    public void onBlockChange(ChangeBlockEvent event, @Root Player player) {
+        event.setCancelled(cancelIfJailed(player));
+    }
+
+    @Listener
+    public void onInteract(InteractEvent event, @Root Player player) {
+        event.setCancelled(cancelIfJailed(player));
+    }
+
+    private boolean isJailed(Player player) {
+        // Jails that have run out are removed by the PlayerStateExpiryTask.
+        return PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.JAILED);
+    }
+
+    private boolean cancelIfJailed(Player player) {
+        if (isJailed(player)) {
+            this.handler.notifyJailed(player);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override public void onReload() {
+        this.allowedCommands = Nucleus.getNucleus().getInternalServiceManager()
+                .getServiceUnchecked(JailConfigAdapter.class).getNodeOrDefault().getAllowedCommands();
+    }
+}
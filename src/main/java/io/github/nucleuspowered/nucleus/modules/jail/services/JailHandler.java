@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.api.nucleusdata.NamedLocation;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
@@ -33,6 +34,7 @@ import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
@@ -60,6 +62,13 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
     private final Map<UUID, Context> jailDataCache = Maps.newHashMap();
     private final static Context jailContext = new Context(NucleusJailService.JAILED_CONTEXT, "true");
 
+    public JailHandler() {
+        PlayerStateSnapshot.INSTANCE.registerExpiryHandler(PlayerStateSnapshot.JAILED, uuid -> {
+            Sponge.getServer().getPlayer(uuid).ifPresent(x -> unjailPlayer(x, Cause.of(EventContext.empty(), Nucleus.getNucleus())));
+            PlayerStateSnapshot.INSTANCE.set(uuid, PlayerStateSnapshot.JAILED, false);
+        });
+    }
+
     private JailGeneralDataModule getModule() {
         return this.store.get(JailGeneralDataModule.class);
     }
@@ -84,10 +93,6 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         return getModule().getJails();
     }
 
-    public boolean isPlayerJailedCached(User user) {
-        return this.jailDataCache.containsKey(user.getUniqueId());
-    }
-
     @Override
     public boolean isPlayerJailed(User user) {
         return getPlayerJailDataInternal(user).isPresent();
@@ -152,6 +157,8 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         }
 
         jailUserDataModule.setJailData(data);
+        PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.JAILED, true, data.getEndTimestamp().orElse(null));
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         if (user.isOnline()) {
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
                 Player player = user.getPlayer().get();
@@ -190,6 +197,7 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
         Optional<Location<World>> ow = ojd.get().getPreviousLocation();
         this.jailDataCache.put(user.getUniqueId(), null);
+        PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.JAILED, false);
         if (user.isOnline()) {
             Player player = user.getPlayer().get();
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
@@ -198,12 +206,14 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
                 // Remove after the teleport for the back data.
                 jailUserDataModule.removeJailData();
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
             });
         } else {
             modularUserService.get(CoreUserDataModule.class).sendToLocationOnLogin(
                     ow.orElseGet(() -> new Location<>(Sponge.getServer().getWorld(Sponge.getServer().getDefaultWorld().get().getUniqueId()).get(),
                             Sponge.getServer().getDefaultWorld().get().getSpawnPosition())));
             jailUserDataModule.removeJailData();
+            Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         }
 
         Sponge.getEventManager().post(new JailEvent.Unjailed(user, cause));
@@ -263,8 +273,7 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         // if the jail doesn't exist, treat it as expired.
         if (!getPlayerJailDataInternal(player).map(EndTimestamp::expired).orElse(true)) {
             if (sendMessage) {
-                Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(FlyUserDataModule.class).setFlying(false);
-                player.getPlayer().ifPresent(this::onJail);
+                player.getPlayer().ifPresent(this::notifyJailed);
             }
 
             return true;
@@ -273,7 +282,13 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         return false;
     }
 
-    private void onJail(Player user) {
+    /**
+     * Tells a jailed player that they are jailed, such as when they try to do something they are not allowed to.
+     *
+     * @param user The {@link Player}.
+     */
+    public void notifyJailed(Player user) {
+        Nucleus.getNucleus().getUserDataManager().getUnchecked(user).get(FlyUserDataModule.class).setFlying(false);
         getPlayerJailDataInternal(user).ifPresent(x -> onJail(x, user));
     }
 
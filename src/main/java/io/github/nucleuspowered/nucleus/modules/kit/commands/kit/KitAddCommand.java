@@ -51,7 +51,7 @@ public class KitAddCommand extends KitFallbackBase<Player> {
     public CommandResult executeCommand(final Player player, CommandContext args, Cause cause) throws Exception {
         String kitName = args.<String>getOne(this.name).get();
 
-        if (KIT_HANDLER.getKitNames().stream().noneMatch(kitName::equalsIgnoreCase)) {
+        if (!KIT_HANDLER.exists(kitName, true)) {
             KIT_HANDLER.saveKit(KIT_HANDLER.createKit(kitName).updateKitInventory(player));
             player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.kit.add.success", kitName));
             return CommandResult.success();
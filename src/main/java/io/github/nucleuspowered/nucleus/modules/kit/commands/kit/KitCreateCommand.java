@@ -60,7 +60,7 @@ public class KitCreateCommand extends KitFallbackBase<CommandSource> {
     public CommandResult executeCommand(final CommandSource source, CommandContext args, Cause cause) throws ReturnMessageException {
         String kitName = args.<String>getOne(this.name).get();
 
-        if (KIT_HANDLER.getKitNames().stream().anyMatch(kitName::equalsIgnoreCase)) {
+        if (KIT_HANDLER.exists(kitName, true)) {
             throw new ReturnMessageException(Nucleus
                     .getNucleus().getMessageProvider().getTextMessageWithFormat("command.kit.add.alreadyexists", kitName));
         }
@@ -105,7 +105,7 @@ public class KitCreateCommand extends KitFallbackBase<CommandSource> {
                 this.run = true;
                 Sponge.getEventManager().unregisterListeners(this);
 
-                if (KIT_HANDLER.getKitNames().stream().noneMatch(this.kitName::equalsIgnoreCase)) {
+                if (!KIT_HANDLER.exists(this.kitName, true)) {
                     KIT_HANDLER.saveKit(KIT_HANDLER.createKit(this.kitName).updateKitInventory(this.inventory));
                     player.sendMessage(
                             Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.kit.add.success", this.kitName));
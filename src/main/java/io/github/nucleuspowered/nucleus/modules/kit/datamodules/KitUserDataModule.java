@@ -17,7 +17,7 @@ import javax.annotation.Nullable;
 public class KitUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("kitLastUsedTime")
-    private Map<String, Long> kitLastUsedTime = Maps.newHashMap();
+    Map<String, Long> kitLastUsedTime = Maps.newHashMap();
 
     @Nullable
     public Instant getLastRedeemedTime(String name) {
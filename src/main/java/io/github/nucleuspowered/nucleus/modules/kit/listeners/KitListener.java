@@ -49,7 +49,6 @@ public class KitListener implements ListenerBase {
                 handler.saveKit(x.getFirst());
 
                 if (event instanceof InteractInventoryEvent.Close) {
-                    gds.save();
                     player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.kit.edit.success", x.getFirst().getName()));
                     handler.removeKitInventoryFromListener(inventory);
                 }
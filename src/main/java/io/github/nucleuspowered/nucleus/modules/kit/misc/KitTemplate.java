@@ -0,0 +1,148 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.kit.misc;
+
+import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.KitDataNode;
+import io.github.nucleuspowered.nucleus.configurate.wrappers.NucleusItemStackSnapshot;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.item.ItemTypes;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+/**
+ * The items in a stored kit, ready to be handed out.
+ *
+ * <p>Empty stacks are removed, and the names and lore that contain tokens are turned into templates, when the
+ * template is created rather than every time the kit is redeemed.</p>
+ */
+public final class KitTemplate {
+
+    public static final Pattern TOKEN = Pattern.compile("\\{\\{.+?}}");
+
+    private final KitDataNode source;
+    private final ImmutableList<ItemStackSnapshot> stacks;
+
+    // The stacks that are given out when the kit is redeemed, that is, those that are not empty.
+    private final ImmutableList<ItemStackSnapshot> redeemable;
+
+    // Null if there are no tokens in the kit, otherwise one entry per stack.
+    @Nullable private final ImmutableList<ItemTemplate> items;
+
+    public KitTemplate(KitDataNode source) {
+        this.source = source;
+        this.stacks = source.stacks.stream()
+                .map(NucleusItemStackSnapshot::getSnapshot)
+                .collect(ImmutableList.toImmutableList());
+        this.redeemable = this.stacks.stream().filter(x -> x.getType() != ItemTypes.NONE).collect(ImmutableList.toImmutableList());
+
+        ImmutableList<ItemTemplate> items = this.stacks.stream().map(ItemTemplate::new).collect(ImmutableList.toImmutableList());
+        this.items = items.stream().anyMatch(ItemTemplate::hasTokens) ? items : null;
+    }
+
+    /**
+     * Gets whether this template was created from the given stored kit.
+     *
+     * @param node The stored kit.
+     * @return {@code true} if so.
+     */
+    public boolean isFor(KitDataNode node) {
+        return this.source == node;
+    }
+
+    /**
+     * Gets the items in the kit that are given out when it is redeemed, that is, those that are not empty, with any
+     * tokens in their names and lore filled in for the given player.
+     *
+     * @param player The {@link Player} to fill in tokens for, or {@code null} to leave them as they are.
+     * @return The items.
+     */
+    public ImmutableList<ItemStackSnapshot> getSnapshots(@Nullable Player player) {
+        if (player == null || this.items == null) {
+            return this.redeemable;
+        }
+
+        ImmutableList.Builder<ItemStackSnapshot> builder = ImmutableList.builder();
+        for (ItemTemplate item : this.items) {
+            if (item.snapshot.getType() != ItemTypes.NONE) {
+                builder.add(item.hasTokens() ? item.create(player).createSnapshot() : item.snapshot);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates all of the items in the kit, including any empty stacks, with any tokens in their names and lore filled in for the given player.
+     *
+     * @param player The {@link Player} to fill in tokens for, or {@code null} to leave them as they are.
+     * @return The items.
+     */
+    public List<ItemStack> createStacks(@Nullable Player player) {
+        if (player == null || this.items == null) {
+            return this.stacks.stream().map(ItemStackSnapshot::createStack).collect(Collectors.toList());
+        }
+
+        return this.items.stream().map(x -> x.create(player)).collect(Collectors.toList());
+    }
+
+    private static final class ItemTemplate {
+
+        private final ItemStackSnapshot snapshot;
+        @Nullable private final NucleusTextTemplateImpl name;
+        @Nullable private final ImmutableList<NucleusTextTemplateImpl> lore;
+
+        private ItemTemplate(ItemStackSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.name = snapshot.get(Keys.DISPLAY_NAME)
+                    .filter(x -> TOKEN.matcher(x.toPlain()).find())
+                    .map(ItemTemplate::compile)
+                    .orElse(null);
+
+            // If any line has a token in it, all lines are treated as templates.
+            Optional<List<Text>> lore = snapshot.get(Keys.ITEM_LORE);
+            if (lore.isPresent() && lore.get().stream().anyMatch(x -> TOKEN.matcher(x.toPlain()).find())) {
+                this.lore = lore.get().stream().map(ItemTemplate::compile).collect(ImmutableList.toImmutableList());
+            } else {
+                this.lore = null;
+            }
+        }
+
+        private static NucleusTextTemplateImpl compile(Text text) {
+            return NucleusTextTemplateFactory.createFromAmpersandString(TextSerializers.FORMATTING_CODE.serialize(text));
+        }
+
+        private boolean hasTokens() {
+            return this.name != null || this.lore != null;
+        }
+
+        private ItemStack create(Player player) {
+            ItemStack stack = this.snapshot.createStack();
+            if (this.name != null) {
+                stack.offer(Keys.DISPLAY_NAME, this.name.getForCommandSource(player, null, null));
+            }
+
+            if (this.lore != null) {
+                stack.offer(Keys.ITEM_LORE, this.lore.stream()
+                        .map(x -> x.getForCommandSource(player, null, null))
+                        .collect(Collectors.toList()));
+            }
+
+            return stack;
+        }
+    }
+}
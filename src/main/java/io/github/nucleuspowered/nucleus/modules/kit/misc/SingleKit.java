@@ -39,6 +39,9 @@ public class SingleKit implements Kit {
     private boolean hidden = false;
     private boolean firstJoin = false;
 
+    // The stored kit the stacks came from, until the stacks are changed.
+    @Nullable private KitDataNode source;
+
     public SingleKit(String name) {
         this.name = name;
     }
@@ -55,12 +58,22 @@ public class SingleKit implements Kit {
         this.hidden = value.hidden;
         this.displayOnRedeem = value.displayMessage;
         this.firstJoin = value.firstJoin;
+        this.source = value;
     }
 
     public String getName() {
         return this.name;
     }
 
+    /**
+     * Gets the stored kit that this kit was loaded from, if the stacks in this kit have not been changed since.
+     *
+     * @return The {@link KitDataNode}, if there is one.
+     */
+    public Optional<KitDataNode> getSource() {
+        return Optional.ofNullable(this.source);
+    }
+
     @Override
     public List<ItemStackSnapshot> getStacks() {
         return Lists.newArrayList(this.stacks);
@@ -68,6 +81,7 @@ public class SingleKit implements Kit {
 
     @Override
     public Kit setStacks(List<ItemStackSnapshot> stacks) {
+        this.source = null;
         this.stacks.clear();
         this.stacks.addAll(stacks);
         return this;
@@ -30,6 +30,7 @@ import io.github.nucleuspowered.nucleus.modules.kit.config.KitConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.kit.datamodules.KitUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.kit.events.KitEvent;
 import io.github.nucleuspowered.nucleus.modules.kit.misc.KitRedeemResult;
+import io.github.nucleuspowered.nucleus.modules.kit.misc.KitTemplate;
 import io.github.nucleuspowered.nucleus.modules.kit.misc.SingleKit;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.source.ConsoleSource;
@@ -56,7 +57,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -67,8 +67,6 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
     private static final InventoryTransactionResult EMPTY_ITR =
             InventoryTransactionResult.builder().type(InventoryTransactionResult.Type.SUCCESS).build();
 
-    private static final Pattern inventory = Pattern.compile("\\{\\{.+?}}");
-
     public static String getPermissionForKit(String kitName) {
         return PermissionRegistry.PERMISSIONS_PREFIX + "kits." + kitName.toLowerCase();
     }
@@ -84,8 +82,11 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
 
     private final KitService store = Nucleus.getNucleus().getKitService();
 
+    // Lower case kit name to the items in the stored kit.
+    private final Map<String, KitTemplate> templates = Maps.newConcurrentMap();
+
     public boolean exists(String name, boolean includeHidden) {
-        return this.store.getKitNames(includeHidden).stream().anyMatch(x -> x.equalsIgnoreCase(name));
+        return this.store.getKit(name).filter(x -> includeHidden || (!x.hidden && !x.firstJoin)).isPresent();
     }
 
     @Override
@@ -97,6 +98,17 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
         return this.store.getKitNames(showHidden);
     }
 
+    /**
+     * Gets the names of the kits that start with the given prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of names to return.
+     * @return The names.
+     */
+    public List<String> getKitNamesWithPrefix(String prefix, int limit) {
+        return this.store.getKitNamesWithPrefix(prefix, limit);
+    }
+
     @Override
     public Optional<Kit> getKit(String name) {
         return this.store.getKit(name).map(x -> new SingleKit(name, x));
@@ -104,6 +116,11 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
 
     @Override
     public Collection<ItemStack> getItemsForPlayer(Kit kit, Player player) {
+        Optional<KitTemplate> template = getTemplate(kit);
+        if (template.isPresent()) {
+            return template.get().createStacks(this.isProcessTokens ? player : null);
+        }
+
         Collection<ItemStack> cis = kit.getStacks().stream().map(ItemStackSnapshot::createStack).collect(Collectors.toList());
         if (this.isProcessTokens) {
             processTokensInItemStacks(player, cis);
@@ -266,7 +283,8 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
     @Override
     public boolean removeKit(String kitName) {
         if (this.store.removeKit(kitName)) {
-            this.store.save();
+            this.templates.remove(kitName.toLowerCase());
+            this.store.requestSave();
             return true;
         }
 
@@ -280,24 +298,25 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
 
     private synchronized void saveKitInternal(String name, Kit kit) {
         Preconditions.checkArgument(kit instanceof SingleKit);
-        Util.getKeyIgnoreCase(this.store.getKitNames(true), name).ifPresent(this.store::removeKit);
+        this.store.removeKit(name);
         this.store.addKit(name, kit);
-        this.store.save();
+        this.templates.remove(name.toLowerCase());
+        this.store.requestSave();
     }
 
     @Override
     public Kit createKit(String name) throws IllegalArgumentException {
-        Optional<String> key = Util.getKeyIgnoreCase(this.store.getKitNames(true), name);
-        key.ifPresent(s -> {
+        if (this.store.hasKit(name)) {
             throw new IllegalArgumentException("Kit " + name + " already exists!");
-        });
+        }
+
         return new SingleKit(name);
     }
 
     @Override
     public void renameKit(final String kitName, final String newKitName) throws IllegalArgumentException {
         Kit targetKit = getKit(kitName).orElseThrow(() -> new IllegalArgumentException(getMessageString("kit.noexists", kitName)));
-        if (Util.getKeyIgnoreCase(getKitNames(), newKitName).isPresent()) {
+        if (this.store.hasKit(newKitName)) {
             throw new IllegalArgumentException(getMessageString("kit.cannotrename", kitName, newKitName));
         }
 
@@ -350,7 +369,7 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
     }
 
     public void processTokensInItemStacks(Player player, Collection<ItemStack> stacks) {
-        final Matcher m = inventory.matcher("");
+        final Matcher m = KitTemplate.TOKEN.matcher("");
         for (ItemStack x : stacks) {
             x.get(Keys.DISPLAY_NAME).ifPresent(text -> {
                 if (m.reset(text.toPlain()).find()) {
@@ -372,6 +391,11 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
     }
 
     private ImmutableList<ItemStackSnapshot> getItems(Kit kit, boolean replaceTokensInLore, Player targetPlayer) {
+        Optional<KitTemplate> template = getTemplate(kit);
+        if (template.isPresent()) {
+            return template.get().getSnapshots(replaceTokensInLore ? targetPlayer : null);
+        }
+
         Collection<ItemStack> toOffer = kit.getStacks().stream()
                 .filter(x -> x.getType() != ItemTypes.NONE)
                 .map(ItemStackSnapshot::createStack)
@@ -384,6 +408,29 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
         return toOffer.stream().map(ItemStack::createSnapshot).collect(ImmutableList.toImmutableList());
     }
 
+    /**
+     * Gets the {@link KitTemplate} for a kit, if the kit's items are those of a stored kit.
+     *
+     * @param kit The {@link Kit}.
+     * @return The {@link KitTemplate}, if the kit is stored and its items have not been changed.
+     */
+    private Optional<KitTemplate> getTemplate(Kit kit) {
+        if (!(kit instanceof SingleKit)) {
+            return Optional.empty();
+        }
+
+        return ((SingleKit) kit).getSource().map(node -> {
+            String key = kit.getName().toLowerCase();
+            KitTemplate template = this.templates.get(key);
+            if (template == null || !template.isFor(node)) {
+                template = new KitTemplate(node);
+                this.templates.put(key, template);
+            }
+
+            return template;
+        });
+    }
+
     /**
      * Adds items to a {@link Player}s {@link Inventory}
      * @param player The {@link Player}
@@ -420,5 +467,6 @@ public class KitHandler implements NucleusKitService, Reloadable, InternalServic
         KitConfig kitConfig = this.getServiceUnchecked(KitConfigAdapter.class).getNodeOrDefault();
         this.isMustGetAll = kitConfig.isMustGetAll();
         this.isProcessTokens = kitConfig.isProcessTokens();
+        this.templates.clear();
     }
 }
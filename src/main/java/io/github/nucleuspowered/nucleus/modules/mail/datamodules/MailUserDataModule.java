@@ -17,7 +17,7 @@ import java.util.List;
 public class MailUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("mail")
-    private List<MailData> mailDataList = Lists.newArrayList();
+    List<MailData> mailDataList = Lists.newArrayList();
 
     public List<MailData> getMail() {
         return ImmutableList.copyOf(this.mailDataList);
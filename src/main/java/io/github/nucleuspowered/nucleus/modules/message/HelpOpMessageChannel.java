@@ -4,16 +4,14 @@
  */
 package io.github.nucleuspowered.nucleus.modules.message;
 
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusChatChannel;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
 import io.github.nucleuspowered.nucleus.modules.message.commands.HelpOpCommand;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.text.channel.MessageReceiver;
 
 import java.util.Collection;
-import java.util.List;
 
 public class HelpOpMessageChannel implements NucleusChatChannel.HelpOp, PermissionTrait {
 
@@ -23,12 +21,12 @@ public class HelpOpMessageChannel implements NucleusChatChannel.HelpOp, Permissi
 
     public static HelpOpMessageChannel INSTANCE = new HelpOpMessageChannel();
 
+    private final AudienceRegistry.Audience audience = AudienceRegistry.INSTANCE.register("helpop", x -> hasPermission(x, PERMISSION));
+
     private HelpOpMessageChannel() { }
 
     @Override
     public Collection<MessageReceiver> getMembers() {
-        List<MessageReceiver> members = Lists.newArrayList(Sponge.getServer().getConsole());
-        Sponge.getServer().getOnlinePlayers().stream().filter(x -> hasPermission(x, PERMISSION)).forEach(members::add);
-        return members;
+        return this.audience.getPlayersAndConsole();
     }
 }
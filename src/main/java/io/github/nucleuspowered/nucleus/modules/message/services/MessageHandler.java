@@ -11,6 +11,7 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusPrivateMessagingService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
@@ -74,6 +75,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
             .getPermissionWithSuffix("bypass");
     private final UserPreferenceService userPreferenceService =
             Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(UserPreferenceService.class);
+    private AudienceRegistry.Audience socialSpies;
 
     public static final String socialSpyOption = "nucleus.socialspy.level";
 
@@ -93,6 +95,9 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         this.useLevels = this.messageConfig.isSocialSpyLevels();
         this.sameLevel = this.messageConfig.isSocialSpySameLevel();
         this.serverLevel = this.messageConfig.getServerLevel();
+
+        // Forced social spy depends on the config, so work out who is spying again.
+        this.socialSpies = AudienceRegistry.INSTANCE.register("socialspy", this::isSocialSpy);
     }
 
     @Override
@@ -186,9 +191,8 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
                 .collect(Collectors.toSet());
 
         // Get those who aren't the subjects and have social spy on.
-        Set<CommandSource> sources = Sponge.getServer().getOnlinePlayers().stream()
+        Set<CommandSource> sources = this.socialSpies.getPlayers().stream()
                 .filter(x -> !uuidsToSpyOn.contains(x.getUniqueId()))
-                .filter(this::isSocialSpy)
                 .collect(Collectors.toSet());
 
         if (!this.useLevels) {
@@ -17,7 +17,7 @@ public class MuteUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("muteData")
     @Nullable
-    private MuteData muteData;
+    MuteData muteData;
 
     public Optional<MuteData> getMuteData() {
         return Optional.ofNullable(this.muteData);
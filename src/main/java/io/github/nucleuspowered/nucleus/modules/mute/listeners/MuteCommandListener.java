@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.mute.listeners;
 
 import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
@@ -38,7 +39,7 @@ public class MuteCommandListener implements ListenerBase.Conditional {
      */
     @Listener(order = Order.FIRST)
     public void onPlayerSendCommand(SendCommandEvent event, @Root Player player) {
-        if (!this.handler.isMutedCached(player)) {
+        if (!PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.MUTED)) {
             return;
         }
 
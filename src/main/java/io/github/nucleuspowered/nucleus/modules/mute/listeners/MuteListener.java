@@ -7,7 +7,7 @@ package io.github.nucleuspowered.nucleus.modules.mute.listeners;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.events.NucleusMessageEvent;
-import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.modules.message.events.InternalNucleusHelpOpEvent;
@@ -47,6 +47,8 @@ public class MuteListener implements Reloadable, ListenerBase {
      */
     @Listener
     public void onPlayerLogin(final ClientConnectionEvent.Join event) {
+        this.handler.updateSnapshot(event.getTargetEntity());
+
         // Kick off a scheduled task.
         Sponge.getScheduler().createTaskBuilder().async().delay(500, TimeUnit.MILLISECONDS).execute(() -> {
             Player user = event.getTargetEntity();
@@ -55,7 +57,9 @@ public class MuteListener implements Reloadable, ListenerBase {
                 MuteData md = omd.get();
                 md.nextLoginToTimestamp();
 
-                if (isMuted(user)) {
+                // The mute may only have started counting down now.
+                this.handler.updateSnapshot(user);
+                if (!md.expired()) {
                     this.handler.onMute(md, event.getTargetEntity());
                 }
             }
@@ -153,13 +157,7 @@ public class MuteListener implements Reloadable, ListenerBase {
     }
 
     private boolean isMuted(Player player) {
-        if (!this.handler.isMutedCached(player)) {
-            return false;
-        } else if (this.handler.getPlayerMuteData(player).map(EndTimestamp::expired).orElse(true)) { // true indicates expiry
-            this.handler.unmutePlayer(player);
-            return false;
-        }
-
-        return true;
+        // Mutes that have run out are removed by the PlayerStateExpiryTask.
+        return PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.MUTED);
     }
 }
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.api.nucleusdata.MuteInfo;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
@@ -54,6 +55,21 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
     public MuteHandler() {
         this.ucl = Nucleus.getNucleus().getUserDataManager();
+        PlayerStateSnapshot.INSTANCE.registerExpiryHandler(PlayerStateSnapshot.MUTED, uuid -> {
+            Sponge.getServer().getPlayer(uuid).ifPresent(this::unmutePlayer);
+            PlayerStateSnapshot.INSTANCE.set(uuid, PlayerStateSnapshot.MUTED, false);
+        });
+    }
+
+    /**
+     * Adds whether a player that has just joined is muted, and until when, to the {@link PlayerStateSnapshot}.
+     *
+     * @param user The {@link User}.
+     */
+    public void updateSnapshot(User user) {
+        Optional<MuteData> data = getPlayerMuteData(user);
+        PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.MUTED, data.isPresent(),
+                data.flatMap(MuteData::getEndTimestamp).orElse(null));
     }
 
     public void onMute(Player user) {
@@ -111,6 +127,8 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
         u.get(MuteUserDataModule.class).setMuteData(data);
         this.muteContextCache.put(u.getUniqueId(), true);
+        PlayerStateSnapshot.INSTANCE.set(u.getUniqueId(), PlayerStateSnapshot.MUTED, true, data.getEndTimestamp().orElse(null));
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(u);
         Sponge.getEventManager().post(new MuteEvent.Muted(
                 cause,
                 user,
@@ -133,6 +151,8 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
             if (o.isPresent()) {
                 o.get().get(MuteUserDataModule.class).removeMuteData();
                 this.muteContextCache.put(user.getUniqueId(), false);
+                PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.MUTED, false);
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(o.get());
                 Sponge.getEventManager().post(new MuteEvent.Unmuted(
                         cause,
                         user,
@@ -184,8 +204,4 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
         return context.getKey().equals(NucleusMuteService.MUTED_CONTEXT) && subject instanceof User &&
                 this.muteContextCache.computeIfAbsent(((User) subject).getUniqueId(), k -> isMuted((User) subject));
     }
-
-    public boolean isMutedCached(User x) {
-        return this.muteContextCache.containsKey(x.getUniqueId());
-    }
 }
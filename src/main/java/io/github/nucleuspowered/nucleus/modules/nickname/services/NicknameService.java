@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.api.exceptions.NicknameException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusNicknameService;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
@@ -64,20 +65,11 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
     public void updateCache(UUID player, Text text) {
         this.cache.put(player, text.toPlain());
         this.textCache.put(player, text);
+        PlayerNameIndex.INSTANCE.setNickname(player, text.toPlain());
     }
 
     public Optional<Player> getFromCache(String text) {
-        UUID u = this.cache.inverse().get(text);
-        if (u != null) {
-            Optional<Player> ret = Sponge.getServer().getPlayer(u);
-            if (!ret.isPresent()) {
-                this.cache.remove(u);
-            }
-
-            return ret;
-        }
-
-        return Optional.empty();
+        return PlayerNameIndex.INSTANCE.getByNickname(text).flatMap(x -> Sponge.getServer().getPlayer(x));
     }
 
     public Map<String, UUID> getAllCached() {
@@ -85,19 +77,20 @@ public class NicknameService implements NucleusNicknameService, Reloadable, Perm
     }
 
     public Map<String, UUID> startsWithGetMap(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return PlayerNameIndex.INSTANCE.getNicknamesWithPrefix(text, true, Integer.MAX_VALUE).stream()
+                .collect(Collectors.toMap(PlayerNameIndex.Match::getText, PlayerNameIndex.Match::getUniqueId, (a, b) -> a));
     }
 
     public List<UUID> startsWith(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .map(Map.Entry::getValue)
+        return PlayerNameIndex.INSTANCE.getNicknamesWithPrefix(text, true, Integer.MAX_VALUE).stream()
+                .map(PlayerNameIndex.Match::getUniqueId)
                 .collect(Collectors.toList());
     }
 
     public void removeFromCache(UUID player) {
         this.cache.remove(player);
         this.textCache.remove(player);
+        PlayerNameIndex.INSTANCE.setNickname(player, null);
     }
 
     public void register() {
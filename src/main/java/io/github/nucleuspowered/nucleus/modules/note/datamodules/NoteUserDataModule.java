@@ -18,7 +18,7 @@ import java.util.List;
 public class NoteUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("notes")
-    private List<NoteData> notes = Lists.newArrayList();
+    List<NoteData> notes = Lists.newArrayList();
 
     public List<NoteData> getNotes() {
         return ImmutableList.copyOf(this.notes);
@@ -19,7 +19,7 @@ import java.util.Optional;
 public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("powertools")
-    private Map<String, List<String>> powertools = Maps.newHashMap();
+    Map<String, List<String>> powertools = Maps.newHashMap();
 
     public Map<String, List<String>> getPowertools() {
         return ImmutableMap.copyOf(this.powertools);
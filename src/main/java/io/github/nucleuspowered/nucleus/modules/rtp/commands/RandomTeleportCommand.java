@@ -25,6 +25,7 @@ import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.rtp.events.RTPSelectedLocationEvent;
 import io.github.nucleuspowered.nucleus.modules.rtp.options.RTPOptions;
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPService;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -167,8 +168,12 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
                 int counter = 0;
                 while (++counter <= 10) {
                     try {
-                        Optional<Location<World>> optionalLocation =
-                                this.kernel.getLocation(this.target.getLocation(), this.targetWorld, this.options);
+                        Optional<Location<World>> optionalLocation = getServiceUnchecked(RTPService.class)
+                                .takePooledLocation(this.targetWorld, this.kernel);
+                        if (!optionalLocation.isPresent()) {
+                            optionalLocation = this.kernel.getLocation(this.target.getLocation(), this.targetWorld, this.options);
+                        }
+
                         if (optionalLocation.isPresent()) {
                             Location<World> targetLocation = optionalLocation.get();
                             if (Sponge.getEventManager().post(new RTPSelectedLocationEvent(
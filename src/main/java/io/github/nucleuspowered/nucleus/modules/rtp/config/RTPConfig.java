@@ -73,6 +73,12 @@ public class RTPConfig {
 
     private ImmutableSet<BiomeType> lazyLoadProhbitedBiomes;
 
+    @Setting(value = "generated-chunks-only", comment = "config.rtp.generatedchunksonly")
+    private boolean generatedChunksOnly = false;
+
+    @Setting(value = "location-pool-size", comment = "config.rtp.poolsize")
+    private int locationPoolSize = 0;
+
     public int getNoOfAttempts() {
         return this.noOfAttempts;
     }
@@ -102,6 +108,14 @@ public class RTPConfig {
                 .orElseGet(() -> GenericMath.clamp(this.maxY, Math.max(0, this.minY), 255));
     }
 
+    public boolean isGeneratedChunksOnly() {
+        return this.generatedChunksOnly;
+    }
+
+    public int getLocationPoolSize() {
+        return Math.max(0, this.locationPoolSize);
+    }
+
     public boolean isPerWorldPermissions() {
         return this.perWorldPermissions;
     }
@@ -20,6 +20,10 @@ public class AroundPlayerKernel extends DefaultKernel {
         return super.getCentralLocation(currentLocation, world);
     }
 
+    @Override public boolean isPlayerIndependent() {
+        return false;
+    }
+
     @Override public String getId() {
         return "nucleus:around_player";
     }
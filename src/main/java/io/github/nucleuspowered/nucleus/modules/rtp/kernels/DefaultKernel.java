@@ -6,9 +6,11 @@ package io.github.nucleuspowered.nucleus.modules.rtp.kernels;
 
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.rtp.RTPKernel;
 import io.github.nucleuspowered.nucleus.api.service.NucleusRTPService;
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPService;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.world.Location;
@@ -27,6 +29,20 @@ public class DefaultKernel implements RTPKernel {
 
     @Override
     public Optional<Location<World>> getLocation(@Nullable Location<World> currentLocation, World target, NucleusRTPService.RTPOptions options) {
+        boolean generatedChunksOnly = Nucleus.getNucleus().getInternalServiceManager().getService(RTPService.class)
+                .map(RTPService::isGeneratedChunksOnly).orElse(false);
+        return getCandidate(currentLocation, target, options).flatMap(x -> probe(target, x, options, generatedChunksOnly));
+    }
+
+    /**
+     * Picks a random position within the world border to try. This does not read any block data.
+     *
+     * @param currentLocation The current location of the player, if any.
+     * @param target The world to pick the position in.
+     * @param options The {@link NucleusRTPService.RTPOptions}.
+     * @return The position, if one was found in a reasonable number of tries.
+     */
+    public Optional<Vector3i> getCandidate(@Nullable Location<World> currentLocation, World target, NucleusRTPService.RTPOptions options) {
         // from world spawn
         Vector3d location;
         int count = 25;
@@ -39,30 +55,68 @@ public class DefaultKernel implements RTPKernel {
             location = KernelHelper.getLocationWithOffset(getCentralLocation(currentLocation, target), options);
         } while (!Util.isLocationInWorldBorder(location.toDouble(), target));
 
-        Location<World> worldLocation = getStartingLocation(new Location<>(target, location));
-        if (worldLocation == null) {
+        return Optional.of(location.toInt());
+    }
+
+    /**
+     * Attempts to find a safe location in the column at the given position.
+     *
+     * <p>The biome and height restrictions are checked before the teleport helper is asked to look around the
+     * column.</p>
+     *
+     * @param target The world.
+     * @param candidate The position to start from.
+     * @param options The {@link NucleusRTPService.RTPOptions}.
+     * @param generatedChunksOnly If true, the chunk will not be generated if it doesn't already exist.
+     * @return The safe location, if there is one.
+     */
+    public Optional<Location<World>> probe(World target, Vector3i candidate, NucleusRTPService.RTPOptions options,
+            boolean generatedChunksOnly) {
+        Vector3i chunkPosition = Sponge.getServer().getChunkLayout().forceToChunk(candidate);
+        if (generatedChunksOnly && !target.getChunk(chunkPosition).isPresent() && !target.loadChunk(chunkPosition, false).isPresent()) {
+            return Optional.empty();
+        }
+
+        if (options.prohibitedBiomes().contains(target.getBiome(candidate))) {
+            return Optional.empty();
+        }
+
+        Location<World> worldLocation = getStartingLocation(new Location<>(target, candidate));
+        if (worldLocation == null
+                || options.minHeight() > worldLocation.getBlockY()
+                || options.maxHeight() < worldLocation.getBlockY()
+                || !Util.isLocationInWorldBorder(worldLocation)) {
             return Optional.empty();
         }
 
-        Optional<Location<World>> targetLocation = Sponge.getTeleportHelper().getSafeLocation(worldLocation,
+        return Sponge.getTeleportHelper().getSafeLocation(worldLocation,
                 TeleportHelper.DEFAULT_HEIGHT,
                 TeleportHelper.DEFAULT_WIDTH,
                 TeleportHelper.DEFAULT_FLOOR_CHECK_DISTANCE,
                 TeleportHelperFilters.CONFIG,
-                filterToUse());
-        if (targetLocation.isPresent()) {
-            // Is it in the world border?
-            if (!Util.isLocationInWorldBorder(worldLocation)
-                    || options.prohibitedBiomes().contains(worldLocation.getBiome())
-                    || options.minHeight() > worldLocation.getBlockY()
-                    || options.maxHeight() < worldLocation.getBlockY()) {
-                return Optional.empty();
-            }
+                filterToUse())
+                .filter(this::verifyLocation);
+    }
 
-            return verifyLocation(targetLocation.get()) ? targetLocation : Optional.empty();
-        }
+    /**
+     * Checks that a location that was found earlier is still safe, looking only at the blocks directly around it.
+     *
+     * @param location The location.
+     * @return The safe location, if it is still safe.
+     */
+    public Optional<Location<World>> revalidate(Location<World> location) {
+        return Sponge.getTeleportHelper().getSafeLocation(location, 2, 0, 2, TeleportHelperFilters.CONFIG, filterToUse())
+                .filter(this::verifyLocation);
+    }
 
-        return Optional.empty();
+    /**
+     * Whether the locations this kernel picks are independent of the player using it, and so can be found ahead of
+     * time.
+     *
+     * @return true if so.
+     */
+    public boolean isPlayerIndependent() {
+        return true;
     }
 
     TeleportHelperFilter filterToUse() {
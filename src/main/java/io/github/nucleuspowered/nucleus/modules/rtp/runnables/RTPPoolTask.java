@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.runnables;
+
+import io.github.nucleuspowered.nucleus.internal.interfaces.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.rtp.services.RTPService;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Keeps the pools of pre-found RTP locations topped up.
+ */
+@NonnullByDefault
+public class RTPPoolTask implements TaskBase {
+
+    private final RTPService service = getServiceUnchecked(RTPService.class);
+
+    @Override
+    public void accept(Task task) {
+        this.service.refillPools();
+    }
+
+    @Override
+    public boolean isAsync() {
+        // The worlds can only be read on the main thread.
+        return false;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.SECONDS);
+    }
+}
@@ -4,6 +4,10 @@
  */
 package io.github.nucleuspowered.nucleus.modules.rtp.services;
 
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.rtp.RTPKernel;
 import io.github.nucleuspowered.nucleus.api.service.NucleusRTPService;
 import io.github.nucleuspowered.nucleus.internal.annotations.APIService;
@@ -12,10 +16,21 @@ import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.rtp.kernels.DefaultKernel;
 import io.github.nucleuspowered.nucleus.modules.rtp.options.RTPOptionsBuilder;
 import io.github.nucleuspowered.nucleus.modules.rtp.registry.RTPRegistryModule;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.storage.WorldProperties;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import javax.annotation.Nullable;
 
 @APIService(NucleusRTPService.class)
@@ -23,6 +38,10 @@ public class RTPService implements NucleusRTPService, Reloadable, InternalServic
 
     private RTPConfig config = new RTPConfig();
 
+    // Safe locations found ahead of time, by world.
+    private final Map<UUID, Queue<Vector3i>> pools = Maps.newConcurrentMap();
+    private final Set<UUID> searching = Sets.newConcurrentHashSet();
+
     @Override
     public RTPOptions options(@Nullable WorldProperties world) {
         @Nullable String name = world == null ? null : world.getWorldName();
@@ -44,9 +63,103 @@ public class RTPService implements NucleusRTPService, Reloadable, InternalServic
         RTPRegistryModule.getInstance().registerAdditionalCatalog(kernel);
     }
 
+    public boolean isGeneratedChunksOnly() {
+        return this.config.isGeneratedChunksOnly();
+    }
+
+    /**
+     * Takes a location from the pool for the given world, if the pool is being used with the given kernel, and
+     * checks it is still safe.
+     *
+     * @param world The world.
+     * @param kernel The kernel that would otherwise be used.
+     * @return The location, if there is one.
+     */
+    public Optional<Location<World>> takePooledLocation(World world, RTPKernel kernel) {
+        Queue<Vector3i> pool = this.pools.get(world.getUniqueId());
+        if (pool == null || kernel != this.config.getKernel(world.getName()) || !(kernel instanceof DefaultKernel)) {
+            return Optional.empty();
+        }
+
+        Vector3i position;
+        while ((position = pool.poll()) != null) {
+            Optional<Location<World>> location = ((DefaultKernel) kernel).revalidate(new Location<>(world, position));
+            if (location.isPresent()) {
+                return location;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Tries to find one more location for each world whose pool is not full. This must be called on the main thread,
+     * as it reads the world, its border and its spawn. If the location has to be in a chunk that already exists, the
+     * chunk is looked for off the main thread, and the location is only checked once it has been found.
+     */
+    public void refillPools() {
+        int size = this.config.getLocationPoolSize();
+        if (size == 0) {
+            this.pools.clear();
+            return;
+        }
+
+        boolean generatedChunksOnly = this.config.isGeneratedChunksOnly();
+        for (World world : Sponge.getServer().getWorlds()) {
+            RTPKernel kernel = this.config.getKernel(world.getName());
+            if (!(kernel instanceof DefaultKernel) || !((DefaultKernel) kernel).isPlayerIndependent()) {
+                continue;
+            }
+
+            UUID uuid = world.getUniqueId();
+            String name = world.getName();
+            Queue<Vector3i> pool = this.pools.computeIfAbsent(uuid, x -> new ConcurrentLinkedQueue<>());
+            if (pool.size() >= size || !this.searching.add(uuid)) {
+                continue;
+            }
+
+            DefaultKernel defaultKernel = (DefaultKernel) kernel;
+            RTPOptions options = options(world.getProperties());
+            Optional<Vector3i> candidate = defaultKernel.getCandidate(null, world, options);
+            if (!candidate.isPresent()) {
+                this.searching.remove(uuid);
+            } else if (generatedChunksOnly) {
+                world.getWorldStorage().doesChunkExist(Sponge.getServer().getChunkLayout().forceToChunk(candidate.get()))
+                        .whenComplete((exists, error) -> {
+                            if (error != null) {
+                                Nucleus.getNucleus().getLogger().debug("Could not check for a chunk in " + name, error);
+                            }
+
+                            if (exists != null && exists) {
+                                Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus())
+                                        .execute(() -> probe(uuid, pool, defaultKernel, candidate.get(), options, true));
+                            } else {
+                                this.searching.remove(uuid);
+                            }
+                        });
+            } else {
+                probe(uuid, pool, defaultKernel, candidate.get(), options, false);
+            }
+        }
+    }
+
+    private void probe(UUID uuid, Queue<Vector3i> pool, DefaultKernel kernel, Vector3i candidate, RTPOptions options,
+            boolean generatedChunksOnly) {
+        try {
+            Sponge.getServer().getWorld(uuid)
+                    .flatMap(w -> kernel.probe(w, candidate, options, generatedChunksOnly))
+                    .ifPresent(x -> pool.add(x.getBlockPosition()));
+        } finally {
+            this.searching.remove(uuid);
+        }
+    }
+
     @Override
     public void onReload() {
         // create the new RTPOptions
         this.config = getServiceUnchecked(RTPConfigAdapter.class).getNodeOrDefault();
+
+        // The kernel or options may have changed.
+        this.pools.clear();
     }
 }
@@ -18,6 +18,7 @@ import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.services.ServerListPingCache;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
@@ -101,6 +102,17 @@ public class ServerListCommand extends AbstractCommand<CommandSource> implements
             src.sendMessage(messageProvider.getTextMessageWithFormat("command.serverlist.hidevanished"));
         }
 
+        ServerListPingCache cache = getServiceUnchecked(ServerListPingCache.class);
+        src.sendMessage(Util.SPACE);
+        src.sendMessage(messageProvider.getTextMessageWithFormat("command.serverlist.cache.messages",
+                String.valueOf(cache.getMessageHits()), String.valueOf(cache.getMessageRenders())));
+        src.sendMessage(messageProvider.getTextMessageWithFormat("command.serverlist.cache.players",
+                String.valueOf(cache.getProfileHits()), String.valueOf(cache.getProfileBuilds())));
+        if (this.slc.getPingRateLimit() > 0) {
+            src.sendMessage(messageProvider.getTextMessageWithFormat("command.serverlist.ratelimit",
+                    String.valueOf(this.slc.getPingRateLimit()), String.valueOf(cache.getRateLimited())));
+        }
+
         return CommandResult.success();
     }
 
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.services.ServerListPingCache;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
@@ -53,6 +54,7 @@ public class TemporaryMessageCommand extends AbstractCommand<CommandSource> {
             if (mod.getMessage().isPresent()) {
                 // Remove
                 mod.remove();
+                getServiceUnchecked(ServerListPingCache.class).invalidateMessages();
 
                 // Send message.
                 src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.serverlist.message.removed"));
@@ -79,6 +81,8 @@ public class TemporaryMessageCommand extends AbstractCommand<CommandSource> {
                 mod.setLineOne(null);
             }
 
+            getServiceUnchecked(ServerListPingCache.class).invalidateMessages();
+
             Optional<Text> newMessage = mod.getMessage();
 
             if (newMessage.isPresent()) {
@@ -107,6 +111,8 @@ public class TemporaryMessageCommand extends AbstractCommand<CommandSource> {
             mod.setLineOne(nMessage);
         }
 
+        getServiceUnchecked(ServerListPingCache.class).invalidateMessages();
+
         Optional<Text> newMessage = mod.getMessage();
 
         if (newMessage.isPresent()) {
@@ -25,6 +25,12 @@ public class ServerListConfig {
     @Setting(value = "hide-player-count", comment = "config.serverlist.hideall")
     private boolean hidePlayerCount = false;
 
+    @Setting(value = "message-cache-seconds", comment = "config.serverlist.messagecache")
+    private int messageCacheSeconds = 10;
+
+    @Setting(value = "ping-rate-limit", comment = "config.serverlist.ratelimit")
+    private int pingRateLimit = 0;
+
     @NoMergeIfPresent
     @Default("&bWelcome to the server!\n&cCome join us!")
     @Setting(value = "server-list-messages", comment = "config.serverlist.messages")
@@ -46,6 +52,14 @@ public class ServerListConfig {
         return this.hidePlayerCount;
     }
 
+    public int getMessageCacheSeconds() {
+        return Math.max(0, this.messageCacheSeconds);
+    }
+
+    public int getPingRateLimit() {
+        return Math.max(0, this.pingRateLimit);
+    }
+
     public List<NucleusTextTemplateImpl> getMessages() {
         return this.messages;
     }
@@ -58,6 +72,10 @@ public class ServerListConfig {
         return this.modifyServerList == ServerListSelection.TRUE || this.hideVanishedPlayers || this.hidePlayerCount;
     }
 
+    public boolean enableRateLimitListener() {
+        return this.pingRateLimit > 0;
+    }
+
     public boolean enableWhitelistListener() {
         return this.modifyServerList == ServerListSelection.WHITELIST;
     }
@@ -19,15 +19,15 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
 
     @Nullable
     @DataKey("lineone")
-    private String lineOne = null;
+    String lineOne = null;
 
     @Nullable
     @DataKey("linetwo")
-    private String lineTwo = null;
+    String lineTwo = null;
 
     @Nullable
     @DataKey("expiry")
-    private Instant expiry = null;
+    Instant expiry = null;
 
     private Text messageCache;
 
@@ -5,33 +5,29 @@
 package io.github.nucleuspowered.nucleus.modules.serverlist.listener;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
-import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.serverlist.ServerListModule;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.services.ServerListPingCache;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.data.key.Keys;
-import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.event.server.ClientPingServerEvent;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.text.Text;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class ServerListListener implements Reloadable, ListenerBase.Conditional {
 
-    private final Random random = new Random();
+    private final ServerListPingCache cache = getServiceUnchecked(ServerListPingCache.class);
     private ServerListConfig config;
 
     @Listener
@@ -46,33 +42,21 @@ public class ServerListListener implements Reloadable, ListenerBase.Conditional
         }
 
         if (this.config.isModifyServerList()) {
-            List<NucleusTextTemplateImpl> list = null;
-            Optional<Text> ott = Nucleus.getNucleus().getGeneralService().get(ServerListGeneralDataModule.class).getMessage();
+            ServerListPingCache.Messages messages = this.cache.getMessages();
+            Optional<Text> ott = messages.getTemporaryMessage();
 
-            if (ott.isPresent()) {
-                response.setDescription(ott.get());
-            } else {
-                if (Sponge.getServer().hasWhitelist() && !this.config.getWhitelist().isEmpty()) {
-                    list = this.config.getWhitelist();
-                } else if (!this.config.getMessages().isEmpty()) {
-                    list = this.config.getMessages();
-                }
-
-                if (list != null) {
-                    NucleusTextTemplate template = list.get(this.random.nextInt(list.size()));
-                    response.setDescription(template.getForCommandSource(Sponge.getServer().getConsole()));
-                }
+            if (!ott.isPresent()) {
+                ott = messages.getRandomMessage(Sponge.getServer().hasWhitelist() && messages.hasMessages(true));
             }
+
+            ott.ifPresent(response::setDescription);
         }
 
         if (this.config.isHidePlayerCount()) {
             response.setHidePlayers(true);
         } else if (this.config.isHideVanishedPlayers()) {
-            Collection<GameProfile> players = Sponge.getServer().getOnlinePlayers().stream()
-                    .filter(x -> !x.get(Keys.VANISH).orElse(false))
-                    .map(User::getProfile).collect(Collectors.toList());
-
             response.getPlayers().ifPresent(y -> {
+                List<GameProfile> players = this.cache.getVisibleProfiles();
                 y.getProfiles().clear();
                 y.getProfiles().addAll(players);
                 y.setOnline(players.size());
@@ -80,6 +64,16 @@ public class ServerListListener implements Reloadable, ListenerBase.Conditional
         }
     }
 
+    @Listener(order = Order.POST)
+    public void onJoin(ClientConnectionEvent.Join event) {
+        this.cache.invalidateProfiles();
+    }
+
+    @Listener(order = Order.POST)
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.cache.removeProfile(player.getUniqueId());
+    }
+
     @Override
     public void onReload() {
         this.config = Nucleus.getNucleus().getConfigValue(ServerListModule.ID, ServerListConfigAdapter.class, Function.identity())
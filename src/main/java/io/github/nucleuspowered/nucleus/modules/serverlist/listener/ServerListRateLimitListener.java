@@ -0,0 +1,36 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.serverlist.listener;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
+import io.github.nucleuspowered.nucleus.modules.serverlist.ServerListModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
+import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.serverlist.services.ServerListPingCache;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.server.ClientPingServerEvent;
+
+/**
+ * Drops pings from addresses that ping too often, such as server list scanners, before anything else handles them.
+ */
+public class ServerListRateLimitListener implements ListenerBase.Conditional {
+
+    private final ServerListPingCache cache = getServiceUnchecked(ServerListPingCache.class);
+
+    @Listener(order = Order.FIRST)
+    public void onServerListPing(ClientPingServerEvent event) {
+        if (this.cache.isRateLimited(event.getClient().getAddress().getAddress())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @Override
+    public boolean shouldEnable() {
+        return Nucleus.getNucleus().getConfigValue(ServerListModule.ID, ServerListConfigAdapter.class, ServerListConfig::enableRateLimitListener)
+                .orElse(false);
+    }
+}
@@ -5,30 +5,20 @@
 package io.github.nucleuspowered.nucleus.modules.serverlist.listener;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ListenerBase;
-import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
-import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.serverlist.ServerListModule;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.services.ServerListPingCache;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.server.ClientPingServerEvent;
-import org.spongepowered.api.text.Text;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Random;
-import java.util.function.Function;
+public class WhitelistServerListListener implements ListenerBase.Conditional {
 
-public class WhitelistServerListListener implements Reloadable, ListenerBase.Conditional {
-
-    private final Random random = new Random();
-    private ServerListConfig config;
+    private final ServerListPingCache cache = getServiceUnchecked(ServerListPingCache.class);
 
     @Listener(order = Order.LATE)
     public void onServerListPing(ClientPingServerEvent event, @Getter("getResponse") ClientPingServerEvent.Response response) {
@@ -36,24 +26,12 @@ public class WhitelistServerListListener implements Reloadable, ListenerBase.Con
             return;
         }
 
-        Optional<Text> ott = Nucleus.getNucleus().getGeneralService().get(ServerListGeneralDataModule.class).getMessage();
-
-        if (!ott.isPresent() &&  !this.config.getWhitelist().isEmpty()) {
-            List<NucleusTextTemplateImpl> list = this.config.getWhitelist();
-
-            if (list != null) {
-                NucleusTextTemplate template = list.get(this.random.nextInt(list.size()));
-                response.setDescription(template.getForCommandSource(Sponge.getServer().getConsole()));
-            }
+        ServerListPingCache.Messages messages = this.cache.getMessages();
+        if (!messages.getTemporaryMessage().isPresent()) {
+            messages.getRandomMessage(true).ifPresent(response::setDescription);
         }
     }
 
-    @Override
-    public void onReload() {
-        this.config = Nucleus.getNucleus().getConfigValue(ServerListModule.ID, ServerListConfigAdapter.class, Function.identity())
-                .orElseGet(ServerListConfig::new);
-    }
-
     @Override
     public boolean shouldEnable() {
         return Nucleus.getNucleus().getConfigValue(ServerListModule.ID, ServerListConfigAdapter.class, ServerListConfig::enableWhitelistListener).orElse(false);
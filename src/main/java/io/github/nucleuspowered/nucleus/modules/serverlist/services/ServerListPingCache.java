@@ -0,0 +1,294 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.serverlist.services;
+
+import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import io.github.nucleuspowered.nucleus.modules.serverlist.ServerListModule;
+import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
+import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.text.Text;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps what the server list listeners need to answer a ping, so that each ping does not need to go to the general
+ * data, work out the tokens in a message, or check every online player to see if they are vanished.
+ *
+ * <p>The messages are worked out for every template at once, and are kept for the time set in the config, or until
+ * the temporary message changes. The visible players are worked out again when a player joins, or when a player
+ * is vanished or unvanished through Nucleus, and players are removed as they leave. As other plugins might vanish
+ * players too, the visible players are also worked out again every few seconds.</p>
+ */
+public class ServerListPingCache implements Reloadable, ServiceBase {
+
+    private static final long PROFILES_MAX_AGE = TimeUnit.SECONDS.toMillis(5);
+    private static final long RATE_LIMIT_WINDOW = TimeUnit.MINUTES.toMillis(1);
+
+    private final LongAdder messageHits = new LongAdder();
+    private final LongAdder messageRenders = new LongAdder();
+    private final LongAdder profileHits = new LongAdder();
+    private final LongAdder profileBuilds = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private final Map<InetAddress, Window> windows = new ConcurrentHashMap<>();
+    private volatile long nextWindowCleanup = 0;
+
+    private ServerListConfig config = new ServerListConfig();
+    @Nullable private volatile Messages messages = null;
+    @Nullable private volatile Profiles profiles = null;
+
+    @Override
+    public void onReload() {
+        this.config = Nucleus.getNucleus().getConfigValue(ServerListModule.ID, ServerListConfigAdapter.class, Function.identity())
+                .orElseGet(ServerListConfig::new);
+        this.messages = null;
+        this.profiles = null;
+        this.windows.clear();
+    }
+
+    /**
+     * Gets the messages to answer a ping with, working them out if they are not cached.
+     *
+     * @return The {@link Messages}.
+     */
+    public Messages getMessages() {
+        Messages m = this.messages;
+        if (m != null && m.expiry > System.currentTimeMillis()) {
+            this.messageHits.increment();
+            return m;
+        }
+
+        this.messageRenders.increment();
+        m = new Messages(this.config);
+        this.messages = m;
+        return m;
+    }
+
+    /**
+     * Gets the profiles of the online players that are not vanished, working them out if they are not cached.
+     *
+     * @return The {@link GameProfile}s.
+     */
+    public List<GameProfile> getVisibleProfiles() {
+        Profiles p = this.profiles;
+        if (p != null && p.vanishVersion == PlayerStateSnapshot.INSTANCE.getVersion(PlayerStateSnapshot.VANISHED)
+                && p.built + PROFILES_MAX_AGE > System.currentTimeMillis()) {
+            this.profileHits.increment();
+            return p.profiles;
+        }
+
+        this.profileBuilds.increment();
+        p = new Profiles();
+        this.profiles = p;
+        return p.profiles;
+    }
+
+    /**
+     * Forgets the messages, such as when the temporary message has changed.
+     */
+    public void invalidateMessages() {
+        this.messages = null;
+    }
+
+    /**
+     * Forgets the visible players, such as when a player has joined.
+     */
+    public void invalidateProfiles() {
+        this.profiles = null;
+    }
+
+    /**
+     * Removes a player that is leaving from the visible players. The player is still online at this point, so the
+     * players are not worked out again.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removeProfile(UUID uuid) {
+        Profiles p = this.profiles;
+        if (p != null) {
+            this.profiles = p.without(uuid);
+        }
+    }
+
+    /**
+     * Counts a ping from an address, and gets whether the address has pinged more often than the config allows.
+     *
+     * @param address The {@link InetAddress} of the client.
+     * @return <code>true</code> if the ping should not be answered.
+     */
+    public boolean isRateLimited(InetAddress address) {
+        int limit = this.config.getPingRateLimit();
+        if (limit <= 0) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (this.nextWindowCleanup <= now) {
+            this.nextWindowCleanup = now + RATE_LIMIT_WINDOW;
+            this.windows.values().removeIf(x -> x.start + RATE_LIMIT_WINDOW <= now);
+        }
+
+        Window window = this.windows.compute(address, (k, v) -> v == null || v.start + RATE_LIMIT_WINDOW <= now ? new Window(now, 1) : v.next());
+        if (window.count > limit) {
+            this.rateLimited.increment();
+            return true;
+        }
+
+        return false;
+    }
+
+    public long getMessageHits() {
+        return this.messageHits.sum();
+    }
+
+    public long getMessageRenders() {
+        return this.messageRenders.sum();
+    }
+
+    public long getProfileHits() {
+        return this.profileHits.sum();
+    }
+
+    public long getProfileBuilds() {
+        return this.profileBuilds.sum();
+    }
+
+    public long getRateLimited() {
+        return this.rateLimited.sum();
+    }
+
+    /**
+     * The messages that a ping might be answered with.
+     */
+    public static final class Messages {
+
+        @Nullable private final Text temporaryMessage;
+        private final List<NucleusTextTemplateImpl> templates;
+        private final List<NucleusTextTemplateImpl> whitelistTemplates;
+
+        // Null if the messages are not cached, in which case only the chosen message is worked out.
+        @Nullable private final List<Text> rendered;
+        @Nullable private final List<Text> whitelistRendered;
+        private final long expiry;
+
+        private Messages(ServerListConfig config) {
+            long now = System.currentTimeMillis();
+            ServerListGeneralDataModule module = Nucleus.getNucleus().getGeneralService().get(ServerListGeneralDataModule.class);
+            this.temporaryMessage = module.getMessage().orElse(null);
+            this.templates = config.getMessages() == null ? ImmutableList.of() : ImmutableList.copyOf(config.getMessages());
+            this.whitelistTemplates = config.getWhitelist() == null ? ImmutableList.of() : ImmutableList.copyOf(config.getWhitelist());
+
+            long e = now + TimeUnit.SECONDS.toMillis(config.getMessageCacheSeconds());
+            if (this.temporaryMessage != null) {
+                // The temporary message must go when it runs out.
+                e = Math.min(e, module.getExpiry().map(Instant::toEpochMilli).orElse(now));
+            }
+
+            this.expiry = e;
+            if (e > now) {
+                this.rendered = render(this.templates);
+                this.whitelistRendered = render(this.whitelistTemplates);
+            } else {
+                this.rendered = null;
+                this.whitelistRendered = null;
+            }
+        }
+
+        public Optional<Text> getTemporaryMessage() {
+            return Optional.ofNullable(this.temporaryMessage);
+        }
+
+        public boolean hasMessages(boolean whitelist) {
+            return !(whitelist ? this.whitelistTemplates : this.templates).isEmpty();
+        }
+
+        /**
+         * Gets one of the messages from the config, at random.
+         *
+         * @param whitelist Whether to choose from the whitelist messages.
+         * @return The message, if there are any.
+         */
+        public Optional<Text> getRandomMessage(boolean whitelist) {
+            List<NucleusTextTemplateImpl> t = whitelist ? this.whitelistTemplates : this.templates;
+            if (t.isEmpty()) {
+                return Optional.empty();
+            }
+
+            int index = ThreadLocalRandom.current().nextInt(t.size());
+            List<Text> r = whitelist ? this.whitelistRendered : this.rendered;
+            return Optional.of(r == null ? t.get(index).getForCommandSource(Sponge.getServer().getConsole()) : r.get(index));
+        }
+
+        private static List<Text> render(List<NucleusTextTemplateImpl> templates) {
+            return templates.stream().map(x -> x.getForCommandSource(Sponge.getServer().getConsole())).collect(ImmutableList.toImmutableList());
+        }
+    }
+
+    private static final class Profiles {
+
+        private final List<GameProfile> profiles;
+        private final long vanishVersion;
+        private final long built;
+
+        private Profiles() {
+            // Get the version first, so that a change while the profiles are being worked out is not missed.
+            this.vanishVersion = PlayerStateSnapshot.INSTANCE.getVersion(PlayerStateSnapshot.VANISHED);
+            this.built = System.currentTimeMillis();
+            this.profiles = Sponge.getServer().getOnlinePlayers().stream()
+                    .filter(x -> !PlayerStateSnapshot.INSTANCE.is(x.getUniqueId(), PlayerStateSnapshot.VANISHED)
+                            && !x.get(Keys.VANISH).orElse(false))
+                    .map(User::getProfile)
+                    .collect(ImmutableList.toImmutableList());
+        }
+
+        private Profiles(List<GameProfile> profiles, long vanishVersion, long built) {
+            this.profiles = profiles;
+            this.vanishVersion = vanishVersion;
+            this.built = built;
+        }
+
+        private Profiles without(UUID uuid) {
+            return new Profiles(this.profiles.stream().filter(x -> !x.getUniqueId().equals(uuid)).collect(ImmutableList.toImmutableList()),
+                    this.vanishVersion, this.built);
+        }
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private final int count;
+
+        private Window(long start, int count) {
+            this.start = start;
+            this.count = count;
+        }
+
+        private Window next() {
+            return new Window(this.start, this.count + 1);
+        }
+    }
+}
@@ -22,7 +22,7 @@ public class SpawnGeneralDataModule extends DataModule<ModularGeneralService> {
 
     @DataKey("firstspawn")
     @Nullable
-    private LocationNode firstspawn = null;
+    LocationNode firstspawn = null;
 
     public Optional<Transform<World>> getFirstSpawn() {
         if (this.firstspawn != null) {
@@ -8,6 +8,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusChatChannel;
+import io.github.nucleuspowered.nucleus.internal.AudienceRegistry;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
@@ -17,7 +18,6 @@ import io.github.nucleuspowered.nucleus.modules.staffchat.config.StaffChatConfig
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.ProxySource;
-import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.SubjectCollection;
 import org.spongepowered.api.service.permission.SubjectData;
@@ -36,7 +36,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -92,23 +91,21 @@ public abstract class StaffChatMessageChannel
 
         private static StaffChatMessageChannel INSTANCE = new ImmutableStaffChatMessageChannel();
 
-        private final String basePerm;
+        private final AudienceRegistry.Audience audience;
 
         private ImmutableStaffChatMessageChannel() {
             Nucleus.getNucleus().registerReloadable(StaffChatMessageChannel::onReload);
             onReload();
-            this.basePerm = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(StaffChatCommand.class).getBase();
+            String basePerm = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(StaffChatCommand.class).getBase();
+            UserPreferenceService userPreferenceService = getServiceUnchecked(UserPreferenceService.class);
+            this.audience = AudienceRegistry.INSTANCE.register("staffchat", player -> hasPermission(player, basePerm)
+                    && userPreferenceService.getPreferenceFor(player, StaffChatUserPrefKeys.VIEW_STAFF_CHAT).orElse(true));
         }
 
         @Override
         @Nonnull
         public Collection<MessageReceiver> getMembers() {
-            List<MessageReceiver> c =
-                    Sponge.getServer().getOnlinePlayers().stream()
-                            .filter(this::test)
-                            .collect(Collectors.toList());
-            c.add(Sponge.getServer().getConsole());
-            return c;
+            return this.audience.getPlayersAndConsole();
         }
 
         @Override
@@ -116,16 +113,6 @@ public abstract class StaffChatMessageChannel
             return new MutableStaffChatMessageChannel(getMembers());
         }
 
-        private boolean test(Player player) {
-            if (hasPermission(player, this.basePerm)) {
-                return getServiceUnchecked(UserPreferenceService.class)
-                        .getPreferenceFor(player, StaffChatUserPrefKeys.VIEW_STAFF_CHAT)
-                        .orElse(true);
-            }
-
-            return false;
-        }
-
     }
 
     public static class MutableStaffChatMessageChannel extends StaffChatMessageChannel implements MutableMessageChannel {
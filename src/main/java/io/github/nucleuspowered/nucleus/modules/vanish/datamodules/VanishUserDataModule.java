@@ -11,7 +11,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 public class VanishUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("vanish")
-    private boolean vanish = false;
+    boolean vanish = false;
 
     public boolean isVanished() {
         return this.vanish;
@@ -57,6 +57,7 @@ public class VanishListener implements Reloadable, ListenerBase {
 
     @Listener
     public void onLogin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.service.onJoin(player);
         boolean persist = this.service.isVanished(player);
 
         boolean shouldVanish = (hasPermission(player, LOGIN_VANISH_PERMISSION)
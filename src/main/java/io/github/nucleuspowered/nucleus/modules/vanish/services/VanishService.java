@@ -5,6 +5,8 @@
 package io.github.nucleuspowered.nucleus.modules.vanish.services;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.interfaces.ServiceBase;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionTrait;
@@ -37,7 +39,21 @@ public class VanishService implements Reloadable, PermissionTrait, ServiceBase {
             Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(VanishConfigAdapter.class).getNodeOrDefault().isAlterTabList();
     }
 
+    /**
+     * Adds whether a player that has just joined is vanished to the {@link PlayerStateSnapshot}.
+     *
+     * @param player The {@link Player}.
+     */
+    public void onJoin(Player player) {
+        PlayerStateSnapshot.INSTANCE.set(player.getUniqueId(), PlayerStateSnapshot.VANISHED,
+                Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class).isVanished());
+    }
+
     public boolean isVanished(User player) {
+        if (PlayerStateSnapshot.INSTANCE.contains(player.getUniqueId())) {
+            return PlayerStateSnapshot.INSTANCE.is(player.getUniqueId(), PlayerStateSnapshot.VANISHED);
+        }
+
         return Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class).isVanished();
     }
 
@@ -48,6 +64,7 @@ public class VanishService implements Reloadable, PermissionTrait, ServiceBase {
     public void vanishPlayer(User player, boolean delay) {
         VanishUserDataModule service = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class);
         service.setVanished(true);
+        PlayerStateSnapshot.INSTANCE.set(player.getUniqueId(), PlayerStateSnapshot.VANISHED, true);
 
         if (delay) {
             Task.builder().execute(() -> vanishPlayerInternal(player)).delayTicks(0).name("Nucleus Vanish runnable").submit(Nucleus.getNucleus());
@@ -63,6 +80,7 @@ public class VanishService implements Reloadable, PermissionTrait, ServiceBase {
             player.offer(Keys.VANISH, true);
             player.offer(Keys.VANISH_IGNORES_COLLISION, true);
             player.offer(Keys.VANISH_PREVENTS_TARGETING, true);
+            PlayerNameIndex.INSTANCE.setVanished(player.getUniqueId(), true);
 
             if (this.isAlter) {
                 Sponge.getServer().getOnlinePlayers().stream().filter(x -> !player.equals(x) || !hasPermission(x, VanishModule.CAN_SEE_PERMISSION))
@@ -74,9 +92,11 @@ public class VanishService implements Reloadable, PermissionTrait, ServiceBase {
     public void unvanishPlayer(User user) {
         VanishUserDataModule service = Nucleus.getNucleus().getUserDataManager().getUnchecked(user).get(VanishUserDataModule.class);
         service.setVanished(false);
+        PlayerStateSnapshot.INSTANCE.set(user.getUniqueId(), PlayerStateSnapshot.VANISHED, false);
         user.offer(Keys.VANISH, false);
         user.offer(Keys.VANISH_IGNORES_COLLISION, false);
         user.offer(Keys.VANISH_PREVENTS_TARGETING, false);
+        PlayerNameIndex.INSTANCE.setVanished(user.getUniqueId(), false);
 
         if (this.isAlter && user instanceof Player) {
             Player player = (Player) user;
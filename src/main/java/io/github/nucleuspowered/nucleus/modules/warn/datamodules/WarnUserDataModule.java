@@ -17,7 +17,7 @@ import java.util.List;
 public class WarnUserDataModule extends DataModule<ModularUserService> {
 
     @DataKey("warnings")
-    private List<WarnData> warnings = Lists.newArrayList();
+    List<WarnData> warnings = Lists.newArrayList();
 
     public List<WarnData> getWarnings() {
         return ImmutableList.copyOf(this.warnings);
@@ -30,7 +30,6 @@ import org.spongepowered.api.util.annotation.NonnullByDefault;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Scan
@@ -58,7 +57,7 @@ public class CategoryCommand extends AbstractCommand<CommandSource> {
         @Override protected CommandResult executeCommand(CommandSource src, CommandContext args, Cause cause) {
             // Get all the categories.
             Util.getPaginationBuilder(src).contents(
-                    this.handler.getWarpsWithCategories().keySet().stream().filter(Objects::nonNull)
+                    this.handler.getWarpCategories().stream()
                     .sorted(Comparator.comparing(WarpCategory::getId)).map(x -> {
                 List<Text> t = Lists.newArrayList();
                 t.add(Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("command.warp.category.listitem.simple",
@@ -6,8 +6,8 @@ package io.github.nucleuspowered.nucleus.modules.warp.datamodules;
 
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
-import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.Warp;
 import io.github.nucleuspowered.nucleus.api.nucleusdata.WarpCategory;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.WarpCategoryDataNode;
@@ -16,14 +16,17 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.LocationDataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
 import io.github.nucleuspowered.nucleus.internal.LocationData;
+import io.github.nucleuspowered.nucleus.util.CaseInsensitiveIndex;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -37,31 +40,55 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
             new WarpData(s, l.getWorld(), l.getPosition(), l.getRotation(), l.getCost(), l.getCategory().orElse(null), l.getDescription());
 
     @DataKey("warps")
-    private Map<String, WarpNode> warps = Maps.newHashMap();
+    Map<String, WarpNode> warps = Maps.newHashMap();
 
     @DataKey("warpCategories")
-    private Map<String, WarpCategoryDataNode> warpCategories = Maps.newHashMap();
+    Map<String, WarpCategoryDataNode> warpCategories = Maps.newHashMap();
+
+    private final CaseInsensitiveIndex<WarpNode> index = new CaseInsensitiveIndex<>(WarpNode::getCategory);
+
+    private CaseInsensitiveIndex<WarpNode> index() {
+        // The map is replaced when the data is loaded.
+        return this.index.sync(this.warps);
+    }
 
     public Optional<Warp> getWarpLocation(String name) {
-        return get(this.warps, this.getWarpLocation, name);
+        return index().getKey(name).map(x -> this.getWarpLocation.apply(x, this.warps.get(x)));
     }
 
     public Map<String, Warp> getWarps() {
         return convert(this.warps, this.getWarpLocation);
     }
 
-    public boolean addWarp(String name, Location<World> loc, Vector3d rot) {
-        if (Util.getKeyIgnoreCase(this.warps, name).isPresent()) {
-            return false;
-        }
+    public boolean warpExists(String name) {
+        return index().contains(name);
+    }
+
+    public Set<String> getWarpNames() {
+        return ImmutableSet.copyOf(index().getKeys());
+    }
+
+    public List<String> getWarpNamesWithPrefix(String prefix, int limit) {
+        return index().getKeysWithPrefix(prefix, limit);
+    }
+
+    public List<Warp> getWarpsInCategory(String category) {
+        return index().getKeysInCategory(category).stream()
+                .map(x -> this.getWarpLocation.apply(x, this.warps.get(x)))
+                .collect(Collectors.toList());
+    }
+
+    public Set<String> getWarpCategoryNames() {
+        return index().getCategories();
+    }
 
-        this.warps.put(name, new WarpNode(loc, rot));
-        return true;
+    public boolean addWarp(String name, Location<World> loc, Vector3d rot) {
+        return index().put(name, new WarpNode(loc, rot));
     }
 
     public boolean setWarpCost(String name, double cost) {
         Preconditions.checkArgument(cost >= -1);
-        Optional<WarpNode> os = Util.getValueIgnoreCase(this.warps, name);
+        Optional<WarpNode> os = index().get(name);
         if (os.isPresent()) {
             // No need to put it back - it's saved automatically.
             os.get().setCost(cost);
@@ -72,10 +99,11 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
     }
 
     public boolean setWarpsWarpCategory(String name, String category) {
-        Optional<WarpNode> os = Util.getValueIgnoreCase(this.warps, name);
+        Optional<WarpNode> os = index().get(name);
         if (os.isPresent()) {
             // No need to put it back - it's saved automatically.
             os.get().setCategory(category);
+            index().updateCategory(name);
             if (category != null) {
                 this.warpCategories.putIfAbsent(category.toLowerCase(), new WarpCategoryDataNode());
             }
@@ -87,7 +115,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
     }
 
     public boolean setWarpDescription(String name, @Nullable Text description) {
-        Optional<WarpNode> os = Util.getValueIgnoreCase(this.warps, name);
+        Optional<WarpNode> os = index().get(name);
         if (os.isPresent()) {
             // No need to put it back - it's saved automatically.
             os.get().setDescription(description);
@@ -98,13 +126,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
     }
 
     public boolean removeWarp(String name) {
-        Optional<String> os = Util.getKeyIgnoreCase(this.warps, name);
-        if (os.isPresent()) {
-            this.warps.remove(os.get());
-            return true;
-        }
-
-        return false;
+        return index().remove(name).isPresent();
     }
 
     public WarpCategory getWarpCategoryOrDefault(String category) {
@@ -112,13 +134,12 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
                 category,
                 Text.of(category),
                 null,
-                () -> getWarps().values().stream().filter(x -> x.getCategory().map(y -> y.equals(category)).orElse(false))
-                        .collect(Collectors.toList())));
+                () -> getWarpsInCategoryExactly(category)));
     }
 
     public Optional<WarpCategory> getWarpCategory(String category) {
         Preconditions.checkArgument(category != null && !category.isEmpty());
-        if (this.warps.values().stream().noneMatch(x -> x.getCategory().orElse("").equalsIgnoreCase(category))) {
+        if (!index().hasCategory(category)) {
             return Optional.empty();
         }
 
@@ -132,10 +153,16 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
             category,
             w.getDisplayName().map(TextSerializers.JSON::deserialize).orElse(Text.of(category)),
             w.getDescription().map(TextSerializers.JSON::deserialize).orElse(null),
-            () -> getWarps().values().stream().filter(x -> x.getCategory().map(y -> y.equals(category)).orElse(false)).collect(Collectors.toList())
+            () -> getWarpsInCategoryExactly(category)
         ));
     }
 
+    private List<Warp> getWarpsInCategoryExactly(String category) {
+        return getWarpsInCategory(category).stream()
+                .filter(x -> x.getCategory().map(y -> y.equals(category)).orElse(false))
+                .collect(Collectors.toList());
+    }
+
     public void updateOrSetWarpCategory(String category, @Nullable Text displayName, @Nullable Text description) {
         this.warpCategories.put(category,
             new WarpCategoryDataNode(
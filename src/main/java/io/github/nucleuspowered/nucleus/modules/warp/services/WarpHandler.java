@@ -62,7 +62,7 @@ public class WarpHandler implements NucleusWarpService, ServiceBase {
 
     @Override
     public List<Warp> getWarpsForCategory(String category) {
-        return getWarpsForCategory(x -> x.getCategory().isPresent() && x.getCategory().get().equalsIgnoreCase(category));
+        return getModule().getWarpsInCategory(category);
     }
 
     @Override
@@ -103,7 +103,36 @@ public class WarpHandler implements NucleusWarpService, ServiceBase {
 
     @Override
     public Set<String> getWarpNames() {
-        return getModule().getWarps().keySet();
+        return getModule().getWarpNames();
+    }
+
+    @Override
+    public boolean warpExists(String name) {
+        return getModule().warpExists(name);
+    }
+
+    /**
+     * Gets the names of the warps that start with the given prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of names to return.
+     * @return The names.
+     */
+    public List<String> getWarpNamesWithPrefix(String prefix, int limit) {
+        return getModule().getWarpNamesWithPrefix(prefix, limit);
+    }
+
+    /**
+     * Gets the categories that have warps in them.
+     *
+     * @return The categories.
+     */
+    public List<WarpCategory> getWarpCategories() {
+        return getModule().getWarpCategoryNames().stream().map(this::getWarpCategoryOrDefault).collect(Collectors.toList());
+    }
+
+    public Set<String> getWarpCategoryNames() {
+        return getModule().getWarpCategoryNames();
     }
 
     public WarpCategory getWarpCategoryOrDefault(String category) {
@@ -36,6 +36,10 @@ public class WorldConfig {
         return Math.max(1, this.worldGen.timeToNotify);
     }
 
+    public long getTargetTickTime() {
+        return Math.max(1, this.worldGen.targetTickTime);
+    }
+
     public boolean isEnforceGamemodeOnWorldChange() {
         return this.enforceGamemodeOnWorldChange;
     }
@@ -63,5 +67,8 @@ public class WorldConfig {
 
         @Setting(value = "notification-interval", comment = "config.world.gen.notify")
         long timeToNotify = 20;
+
+        @Setting(value = "target-tick-time", comment = "config.world.gen.targettick")
+        long targetTickTime = 50;
     }
 }
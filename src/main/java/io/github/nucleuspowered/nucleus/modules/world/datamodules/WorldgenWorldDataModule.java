@@ -4,26 +4,33 @@
  */
 package io.github.nucleuspowered.nucleus.modules.world.datamodules;
 
+import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularWorldService;
 
+import java.util.Map;
+
 public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
 
     @DataKey("start-pregen")
-    private boolean start = false;
+    boolean start = false;
 
     @DataKey("save-time")
-    private long saveTime = 20L;
+    long saveTime = 20L;
 
     @DataKey("tick-percent")
-    private int tickPercent = 80;
+    int tickPercent = 80;
 
     @DataKey("tick-freq")
-    private int tickFreq = 4;
+    int tickFreq = 4;
 
     @DataKey("aggressive")
-    private boolean aggressive = false;
+    boolean aggressive = false;
+
+    // Region "x,z" to a bitmap of the chunks in that region that have been generated, base 64 encoded.
+    @DataKey("progress")
+    Map<String, String> progress = Maps.newHashMap();
 
     public boolean isStart() {
         return start;
@@ -69,4 +76,13 @@ public class WorldgenWorldDataModule extends DataModule<ModularWorldService> {
         this.aggressive = aggressive;
         return this;
     }
+
+    public Map<String, String> getProgress() {
+        return progress;
+    }
+
+    public WorldgenWorldDataModule setProgress(Map<String, String> progress) {
+        this.progress = progress;
+        return this;
+    }
 }
@@ -12,6 +12,7 @@ import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.game.state.GameStartedServerEvent;
+import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
 import org.spongepowered.api.event.world.LoadWorldEvent;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.World;
@@ -25,6 +26,11 @@ public class WorldGenListener implements ListenerBase {
         Task.builder().execute(() -> Sponge.getServer().getWorlds().forEach(this::onWorldLoad)).delay(1, TimeUnit.SECONDS).submit(Nucleus.getNucleus());
     }
 
+    @Listener
+    public void onStopping(GameStoppingServerEvent event) {
+        getServiceUnchecked(WorldHelper.class).saveProgress();
+    }
+
     @Listener
     public void onWorldLoad(LoadWorldEvent event) {
         if (Sponge.getGame().getState() == GameState.SERVER_STARTED) {
@@ -0,0 +1,533 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.world.services;
+
+import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector2i;
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.modules.world.datamodules.WorldgenWorldDataModule;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.world.Chunk;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.storage.WorldProperties;
+
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the chunks within the world border of a world, a few at a time on the main thread.
+ *
+ * <p>Chunks are generated a region (32 by 32 chunks) at a time, starting with the region at the centre of the border
+ * and spiralling out a ring of regions at a time. The regions are worked out as they are reached, as a large border
+ * can hold far too many to list up front. The chunks that have been processed in each region are held in a bitmap that is saved with the world data,
+ * so that generation carries on where it stopped after a restart or a cancellation.</p>
+ *
+ * <p>The time spent generating chunks each tick adapts to how long ticks are taking, as worked out from the ticks per
+ * second that the server reports. It is cut back when ticks take longer than the target tick time, and grows again,
+ * up to the requested share of a tick, when they do not. Only the chunks that the generator loaded itself are
+ * unloaded by it.</p>
+ */
+public class ChunkPregenerator implements Consumer<Task> {
+
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final int CHUNKS_PER_REGION = 1 << (REGION_SHIFT * 2);
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MIN_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BUDGET_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // The most recent chunks that were loaded are kept loaded, so that the chunks next to them can be populated.
+    private static final int KEEP_LOADED = 256;
+
+    private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.##");
+    private static final String TIME_FORMAT = "s's 'S'ms'";
+
+    private final WorldHelper worldHelper;
+    private final UUID worldUUID;
+    private final boolean aggressive;
+    private final long saveTime;
+    private final int tickFrequency;
+    private final long targetTickNanos;
+    private final long maxBudgetNanos;
+
+    // The area to generate, in chunk co-ordinates, inclusive.
+    private final int minX;
+    private final int maxX;
+    private final int minZ;
+    private final int maxZ;
+    private final long targetTotal;
+
+    // The regions that hold the area, and the region the spiral starts from.
+    private final int minRegionX;
+    private final int maxRegionX;
+    private final int minRegionZ;
+    private final int maxRegionZ;
+    private final Vector2i centreRegion;
+    private final int lastRing;
+
+    private final Map<Vector2i, BitSet> progress;
+    private final Deque<Vector3i> loadedByGenerator = new ArrayDeque<>();
+
+    private int ring = 0;
+    private int indexInRing = 0;
+    private int indexInRegion = 0;
+
+    private final long processedAtStart;
+    private long generated = 0;
+    private long skipped = 0;
+    private long serverTime = 0;
+    private long budgetNanos;
+
+    private final long startTime = System.currentTimeMillis();
+    private long lastSaveTime = System.currentTimeMillis();
+    private long lastNotifyTime = 0;
+    private boolean highMemTriggered = false;
+
+    @Nullable private Task task;
+    private boolean isFinished = false;
+
+    ChunkPregenerator(WorldHelper worldHelper, World world, boolean aggressive, long saveTime, int tickPercent, int tickFrequency,
+            long targetTickMillis, Map<String, String> savedProgress) {
+        this.worldHelper = worldHelper;
+        this.worldUUID = world.getUniqueId();
+        this.aggressive = aggressive;
+        this.saveTime = saveTime;
+        this.tickFrequency = tickFrequency;
+        this.targetTickNanos = TimeUnit.MILLISECONDS.toNanos(targetTickMillis);
+        this.maxBudgetNanos = Math.max(MIN_BUDGET_NANOS, TICK_NANOS * tickPercent / 100);
+        this.budgetNanos = this.maxBudgetNanos;
+
+        WorldProperties wp = world.getProperties();
+        Vector3d centre = wp.getWorldBorderCenter();
+        double radius = wp.getWorldBorderDiameter() / 2;
+        this.minX = GenericMath.floor(centre.getX() - radius) >> 4;
+        this.maxX = GenericMath.floor(centre.getX() + radius) >> 4;
+        this.minZ = GenericMath.floor(centre.getZ() - radius) >> 4;
+        this.maxZ = GenericMath.floor(centre.getZ() + radius) >> 4;
+        this.targetTotal = (long) (this.maxX - this.minX + 1) * (this.maxZ - this.minZ + 1);
+
+        // Nearest regions to the centre first, so the area people are most likely to visit is generated first.
+        this.minRegionX = this.minX >> REGION_SHIFT;
+        this.maxRegionX = this.maxX >> REGION_SHIFT;
+        this.minRegionZ = this.minZ >> REGION_SHIFT;
+        this.maxRegionZ = this.maxZ >> REGION_SHIFT;
+        this.centreRegion = new Vector2i(GenericMath.floor(centre.getX()) >> (4 + REGION_SHIFT),
+                GenericMath.floor(centre.getZ()) >> (4 + REGION_SHIFT));
+        this.lastRing = Math.max(
+                Math.max(Math.abs(this.centreRegion.getX() - this.minRegionX), Math.abs(this.maxRegionX - this.centreRegion.getX())),
+                Math.max(Math.abs(this.centreRegion.getY() - this.minRegionZ), Math.abs(this.maxRegionZ - this.centreRegion.getY())));
+        this.progress = decode(savedProgress);
+        this.processedAtStart = countProcessed();
+    }
+
+    void start() {
+        long done = this.processedAtStart;
+        if (done > 0) {
+            getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.resuming",
+                    String.valueOf(done), String.valueOf(this.targetTotal)));
+        }
+
+        this.task = Task.builder().intervalTicks(this.tickFrequency).execute(this)
+                .name("Nucleus - Chunk Generation - " + this.worldUUID).submit(Nucleus.getNucleus());
+    }
+
+    boolean isFinished() {
+        return this.isFinished;
+    }
+
+    @Override
+    public void accept(Task task) {
+        long start = System.nanoTime();
+        Optional<World> ow = Sponge.getServer().getWorld(this.worldUUID);
+        if (!ow.isPresent()) {
+            // The world has been unloaded. Generation will pick up again when it is loaded, if it was set to.
+            stop();
+            return;
+        }
+
+        World world = ow.get();
+        adaptBudget();
+        if (!this.aggressive && checkMemory(world)) {
+            return;
+        }
+
+        long generatedBefore = this.generated;
+        long skippedBefore = this.skipped;
+        boolean complete = false;
+        while (System.nanoTime() - start < this.budgetNanos) {
+            Vector3i chunk = next();
+            if (chunk == null) {
+                complete = true;
+                break;
+            }
+
+            process(world, chunk);
+        }
+
+        unloadGeneratorChunks(KEEP_LOADED);
+        long taken = System.nanoTime() - start;
+        this.serverTime += taken;
+
+        if (complete) {
+            complete(world);
+            return;
+        }
+
+        notify(world, this.generated - generatedBefore, this.skipped - skippedBefore, taken);
+    }
+
+    /**
+     * Stops generating chunks, keeping the progress that has been made so far.
+     *
+     * @param announce Whether to tell those with the notify permission.
+     */
+    void cancel(boolean announce) {
+        if (announce) {
+            getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.cancelled2",
+                    String.valueOf(this.generated),
+                    String.valueOf(this.skipped),
+                    DurationFormatUtils.formatDuration(System.currentTimeMillis() - this.startTime, TIME_FORMAT, false)));
+        }
+
+        stop();
+    }
+
+    void saveProgress() {
+        Nucleus.getNucleus().getWorldDataManager().getWorld(this.worldUUID).ifPresent(service -> {
+            service.set(service.get(WorldgenWorldDataModule.class).setProgress(encode()));
+            service.save();
+        });
+    }
+
+    private void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+        }
+
+        this.isFinished = true;
+        unloadGeneratorChunks(0);
+        saveProgress();
+    }
+
+    private void complete(World world) {
+        if (this.task != null) {
+            this.task.cancel();
+        }
+
+        this.isFinished = true;
+        unloadGeneratorChunks(0);
+        getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.completed",
+                String.valueOf(this.generated),
+                String.valueOf(this.skipped),
+                DurationFormatUtils.formatDuration(TimeUnit.NANOSECONDS.toMillis(this.serverTime), TIME_FORMAT, false),
+                DurationFormatUtils.formatDuration(System.currentTimeMillis() - this.startTime, TIME_FORMAT, false)));
+
+        Nucleus.getNucleus().getWorldDataManager().getWorld(world).ifPresent(service -> {
+            service.set(service.get(WorldgenWorldDataModule.class).setStart(false).setProgress(Maps.newHashMap()));
+            service.save();
+        });
+    }
+
+    /**
+     * Works out how long ticks are taking, and changes the time that will be spent generating chunks this tick to match.
+     */
+    private void adaptBudget() {
+        double tps = Sponge.getServer().getTicksPerSecond();
+        long tickTime = tps > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / tps) : Long.MAX_VALUE;
+        this.budgetNanos = nextBudget(this.budgetNanos, this.maxBudgetNanos, this.targetTickNanos, tickTime);
+    }
+
+    // For testing
+
+    /**
+     * Gets the time to spend generating chunks in the next tick.
+     *
+     * <p>Ticks never take less than 50ms, as the server waits for the rest of a tick when it has finished early, so a
+     * target below that is treated as 50ms. While ticks take no longer than the target, the time spent generating
+     * slowly grows until the requested share of a tick is reached.</p>
+     *
+     * @param budget The time spent generating chunks in the last tick, in nanoseconds.
+     * @param maxBudget The most time to spend generating chunks in a tick, in nanoseconds.
+     * @param targetTickTime The target time for a tick, in nanoseconds.
+     * @param tickTime The time that ticks are taking, in nanoseconds.
+     * @return The time to spend, in nanoseconds.
+     */
+    public static long nextBudget(long budget, long maxBudget, long targetTickTime, long tickTime) {
+        if (tickTime > Math.max(TICK_NANOS, targetTickTime)) {
+            return Math.max(MIN_BUDGET_NANOS, budget * 3 / 4);
+        }
+
+        return Math.min(maxBudget, budget + BUDGET_STEP_NANOS);
+    }
+
+    /**
+     * Gets whether generation should pause because memory is running low.
+     */
+    private boolean checkMemory(World world) {
+        long percent = getMemPercent();
+        if (percent >= 90) {
+            if (!this.highMemTriggered) {
+                this.highMemTriggered = true;
+                unloadGeneratorChunks(0);
+                getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.memory.high", String.valueOf(percent)));
+                save(world);
+            }
+
+            // Try again next time.
+            return true;
+        } else if (this.highMemTriggered && percent <= 80) {
+            // Get the memory usage down to 80% to prevent too much ping pong.
+            this.highMemTriggered = false;
+            getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.memory.low"));
+        }
+
+        return this.highMemTriggered;
+    }
+
+    private long getMemPercent() {
+        // Check system memory
+        long max = Runtime.getRuntime().maxMemory() / 1024 / 1024;
+        long total = Runtime.getRuntime().totalMemory() / 1024 / 1024;
+        long free = Runtime.getRuntime().freeMemory() / 1024 / 1024;
+
+        return ((max - total + free) * 100) / max;
+    }
+
+    /**
+     * Gets the next chunk in the world border that has not been processed, and marks it as processed.
+     *
+     * @return The chunk position, or {@code null} if there are none left.
+     */
+    @Nullable
+    private Vector3i next() {
+        while (this.ring <= this.lastRing) {
+            int cells = cellsInRing(this.ring);
+            while (this.indexInRing < cells) {
+                Vector2i region = this.centreRegion.add(spiralOffset(this.ring, this.indexInRing));
+                if (region.getX() >= this.minRegionX && region.getX() <= this.maxRegionX
+                        && region.getY() >= this.minRegionZ && region.getY() <= this.maxRegionZ) {
+                    Vector3i chunk = nextInRegion(region);
+                    if (chunk != null) {
+                        return chunk;
+                    }
+                }
+
+                this.indexInRing++;
+                this.indexInRegion = 0;
+            }
+
+            this.ring++;
+            this.indexInRing = 0;
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private Vector3i nextInRegion(Vector2i region) {
+        BitSet bits = this.progress.computeIfAbsent(region, k -> new BitSet(CHUNKS_PER_REGION));
+        for (int i = bits.nextClearBit(this.indexInRegion); i < CHUNKS_PER_REGION; i = bits.nextClearBit(i + 1)) {
+            int x = (region.getX() << REGION_SHIFT) + (i & REGION_MASK);
+            int z = (region.getY() << REGION_SHIFT) + (i >> REGION_SHIFT);
+            if (x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ) {
+                bits.set(i);
+                this.indexInRegion = i + 1;
+                return new Vector3i(x, 0, z);
+            }
+        }
+
+        return null;
+    }
+
+    // For testing
+
+    /**
+     * Gets the number of regions in a ring of the spiral.
+     *
+     * @param ring The ring, where ring 0 is the centre region alone.
+     * @return The number of regions.
+     */
+    public static int cellsInRing(int ring) {
+        return ring == 0 ? 1 : 8 * ring;
+    }
+
+    /**
+     * Gets the offset from the centre region of a region in a ring of the spiral. Ring {@code r} is the square of
+     * regions {@code r} regions from the centre, and goes round each side in turn.
+     *
+     * @param ring The ring, where ring 0 is the centre region alone.
+     * @param index The index of the region in the ring, less than {@link #cellsInRing(int)}.
+     * @return The offset.
+     */
+    public static Vector2i spiralOffset(int ring, int index) {
+        if (ring == 0) {
+            return Vector2i.ZERO;
+        }
+
+        int side = 2 * ring;
+        int offset = index % side;
+        switch (index / side) {
+            case 0:
+                return new Vector2i(-ring + offset, -ring);
+            case 1:
+                return new Vector2i(ring, -ring + offset);
+            case 2:
+                return new Vector2i(ring - offset, ring);
+            default:
+                return new Vector2i(-ring, ring - offset);
+        }
+    }
+
+    private void process(World world, Vector3i chunk) {
+        boolean wasLoaded = world.getChunk(chunk).isPresent();
+        if (wasLoaded || world.loadChunk(chunk, false).isPresent()) {
+            this.skipped++;
+        } else {
+            world.loadChunk(chunk, true);
+            this.generated++;
+        }
+
+        if (!wasLoaded) {
+            this.loadedByGenerator.addLast(chunk);
+        }
+    }
+
+    /**
+     * Unloads the chunks that were loaded by the generator, oldest first, until the given number are left.
+     */
+    private void unloadGeneratorChunks(int keep) {
+        Optional<World> world = Sponge.getServer().getWorld(this.worldUUID);
+        while (this.loadedByGenerator.size() > keep) {
+            Vector3i chunk = this.loadedByGenerator.removeFirst();
+            world.flatMap(x -> x.getChunk(chunk)).ifPresent(Chunk::unloadChunk);
+        }
+    }
+
+    private void notify(World world, long generatedThisStep, long skippedThisStep, long taken) {
+        MessageProvider mp = getMessageProvider();
+        long processed = countProcessed();
+        if (this.worldHelper.isNotifyEachStep() && generatedThisStep + skippedThisStep > 0) {
+            String percent = String.valueOf(processed * 100 / this.targetTotal);
+            String step = DurationFormatUtils.formatDuration(TimeUnit.NANOSECONDS.toMillis(taken), TIME_FORMAT, false);
+            String total = DurationFormatUtils.formatDuration(TimeUnit.NANOSECONDS.toMillis(this.serverTime), TIME_FORMAT, false);
+            if (skippedThisStep > 0) {
+                getChannel().send(mp.getTextMessageWithFormat("command.pregen.gen.notifyskipped",
+                        String.valueOf(generatedThisStep), String.valueOf(skippedThisStep), step, total, percent));
+            } else {
+                getChannel().send(mp.getTextMessageWithFormat("command.pregen.gen.notify",
+                        String.valueOf(generatedThisStep), step, total, percent));
+            }
+        }
+
+        long time = System.currentTimeMillis();
+        if (this.lastSaveTime + this.saveTime < time) {
+            save(world);
+        }
+
+        if (this.worldHelper.isDisplayWarning() && this.lastNotifyTime + this.worldHelper.getTimeToNotify() < time) {
+            MessageChannel.TO_ALL.send(mp.getTextMessageWithFormat("command.pregen.gen.all"));
+
+            // The rate is for this run only, chunks processed before a restart took an unknown amount of time.
+            double seconds = Math.max(1, time - this.startTime) / 1000.0;
+            double rate = (processed - this.processedAtStart) / seconds;
+            String eta = rate > 0 ? Util.getTimeStringFromSeconds((long) ((this.targetTotal - processed) / rate)) : "-";
+            getChannel().send(mp.getTextMessageWithFormat("command.pregen.gen.quickstatus",
+                    PERCENT_FORMAT.format(100 * processed / (double) this.targetTotal),
+                    String.valueOf(processed),
+                    String.valueOf(this.targetTotal),
+                    PERCENT_FORMAT.format(rate),
+                    eta));
+            this.lastNotifyTime = time;
+        }
+    }
+
+    private void save(World world) {
+        getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.saving"));
+        try {
+            world.save();
+            saveProgress();
+            getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.saved"));
+        } catch (Throwable e) {
+            getChannel().send(getMessageProvider().getTextMessageWithFormat("command.pregen.gen.savefailed"));
+            e.printStackTrace();
+        } finally {
+            this.lastSaveTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Counts the chunks in the world border that have been processed. Chunks outside the border are never marked, so
+     * only the bits that are set need to be counted.
+     */
+    private long countProcessed() {
+        return this.progress.values().stream().mapToLong(BitSet::cardinality).sum();
+    }
+
+    private Map<String, String> encode() {
+        Map<String, String> map = Maps.newHashMap();
+        this.progress.forEach((region, bits) -> {
+            if (!bits.isEmpty()) {
+                map.put(region.getX() + "," + region.getY(), Base64.getEncoder().encodeToString(bits.toByteArray()));
+            }
+        });
+
+        return map;
+    }
+
+    private Map<Vector2i, BitSet> decode(Map<String, String> saved) {
+        Map<Vector2i, BitSet> map = Maps.newHashMap();
+        saved.forEach((key, value) -> {
+            try {
+                String[] xz = key.split(",", 2);
+                Vector2i region = new Vector2i(Integer.parseInt(xz[0]), Integer.parseInt(xz[1]));
+                BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(value));
+
+                // The border may have changed since, only keep what is still inside it.
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    int x = (region.getX() << REGION_SHIFT) + (i & REGION_MASK);
+                    int z = (region.getY() << REGION_SHIFT) + (i >> REGION_SHIFT);
+                    if (i >= CHUNKS_PER_REGION || x < this.minX || x > this.maxX || z < this.minZ || z > this.maxZ) {
+                        bits.clear(i);
+                    }
+                }
+
+                if (!bits.isEmpty()) {
+                    map.put(region, bits);
+                }
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                Nucleus.getNucleus().getLogger().warn("Ignoring the saved chunk generation progress for region " + key + " as it is not valid.");
+            }
+        });
+
+        return map;
+    }
+
+    private MessageChannel getChannel() {
+        return this.worldHelper.getChannel();
+    }
+
+    private static MessageProvider getMessageProvider() {
+        return Nucleus.getNucleus().getMessageProvider();
+    }
+}
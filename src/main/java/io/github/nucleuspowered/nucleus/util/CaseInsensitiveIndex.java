@@ -0,0 +1,257 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * Looks up entries in a {@link Map} with {@link String} keys without regard to case, without having to go through
+ * every key in the map.
+ *
+ * <p>The map itself is left as it is, so that it can be saved in the same way as always. All changes to the map
+ * must go through the index. The index is rebuilt if {@link #sync(Map)} is given a different map, such as when the
+ * data has been reloaded. The index may be read from any thread.</p>
+ *
+ * <p>Entries can optionally be grouped into categories, which are also matched without regard to case.</p>
+ *
+ * @param <V> The type of value in the map.
+ */
+public final class CaseInsensitiveIndex<V> {
+
+    private final Function<V, Optional<String>> categoryFunction;
+
+    @Nullable private Map<String, V> backing;
+
+    // Lower case key to the key in the map.
+    private final Map<String, String> keys = Maps.newHashMap();
+
+    // Lower case keys, sorted so that all keys with a given prefix are next to each other.
+    private final NavigableSet<String> sorted = Sets.newTreeSet();
+
+    // Lower case category to the lower case keys in that category, and the other way round.
+    private final SetMultimap<String, String> categories = MultimapBuilder.hashKeys().treeSetValues().build();
+    private final Map<String, String> categoryOf = Maps.newHashMap();
+
+    /**
+     * Creates an index without categories.
+     */
+    public CaseInsensitiveIndex() {
+        this(x -> Optional.empty());
+    }
+
+    /**
+     * Creates an index.
+     *
+     * @param categoryFunction Gets the category of a value, if it has one.
+     */
+    public CaseInsensitiveIndex(Function<V, Optional<String>> categoryFunction) {
+        this.categoryFunction = categoryFunction;
+    }
+
+    /**
+     * Makes sure that the index is for the given map, rebuilding it if not.
+     *
+     * @param map The map that should be indexed.
+     * @return This index.
+     */
+    public synchronized CaseInsensitiveIndex<V> sync(Map<String, V> map) {
+        if (this.backing != map) {
+            this.backing = map;
+            this.keys.clear();
+            this.sorted.clear();
+            this.categories.clear();
+            this.categoryOf.clear();
+            map.forEach(this::add);
+        }
+
+        return this;
+    }
+
+    public synchronized boolean contains(String name) {
+        return this.keys.containsKey(name.toLowerCase());
+    }
+
+    /**
+     * Gets the key in the map that matches the name, ignoring case.
+     *
+     * @param name The name.
+     * @return The key, if there is one.
+     */
+    public synchronized Optional<String> getKey(String name) {
+        return Optional.ofNullable(this.keys.get(name.toLowerCase()));
+    }
+
+    /**
+     * Gets the value in the map with a key that matches the name, ignoring case.
+     *
+     * @param name The name.
+     * @return The value, if there is one.
+     */
+    public synchronized Optional<V> get(String name) {
+        return getKey(name).map(getBacking()::get);
+    }
+
+    /**
+     * Adds an entry to the map, unless there is already an entry that matches the name, ignoring case.
+     *
+     * @param name The name.
+     * @param value The value.
+     * @return {@code true} if the entry was added.
+     */
+    public synchronized boolean put(String name, V value) {
+        if (contains(name)) {
+            return false;
+        }
+
+        getBacking().put(name, value);
+        add(name, value);
+        return true;
+    }
+
+    /**
+     * Removes the entry from the map with a key that matches the name, ignoring case.
+     *
+     * @param name The name.
+     * @return The value that was removed, if any.
+     */
+    public synchronized Optional<V> remove(String name) {
+        String lower = name.toLowerCase();
+        String key = this.keys.remove(lower);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        this.sorted.remove(lower);
+        removeCategory(lower);
+        return Optional.ofNullable(getBacking().remove(key));
+    }
+
+    /**
+     * Updates the category of an entry, after its value has been changed.
+     *
+     * @param name The name.
+     */
+    public synchronized void updateCategory(String name) {
+        String lower = name.toLowerCase();
+        String key = this.keys.get(lower);
+        if (key != null) {
+            removeCategory(lower);
+            addCategory(lower, getBacking().get(key));
+        }
+    }
+
+    /**
+     * Gets all of the keys in the map, in order, ignoring case.
+     *
+     * @return The keys.
+     */
+    public synchronized List<String> getKeys() {
+        return this.sorted.stream().map(this.keys::get).collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Gets the keys in the map that start with the prefix, ignoring case, in order.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of keys to return.
+     * @return The keys.
+     */
+    public synchronized List<String> getKeysWithPrefix(String prefix, int limit) {
+        String lower = prefix.toLowerCase();
+        return this.sorted.subSet(lower, true, lower + Character.MAX_VALUE, false).stream()
+                .limit(limit)
+                .map(this.keys::get)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Gets the keys in the map that are in the given category, ignoring case, in order.
+     *
+     * @param category The category.
+     * @return The keys.
+     */
+    public synchronized List<String> getKeysInCategory(String category) {
+        return this.categories.get(category.toLowerCase()).stream().map(this.keys::get).collect(ImmutableList.toImmutableList());
+    }
+
+    public synchronized boolean hasCategory(String category) {
+        return this.categories.containsKey(category.toLowerCase());
+    }
+
+    /**
+     * Gets the category that matches the given category, ignoring case, as it is written in the entries.
+     *
+     * @param category The category.
+     * @return The category, if any entries are in it.
+     */
+    public synchronized Optional<String> getCategory(String category) {
+        Set<String> inCategory = this.categories.get(category.toLowerCase());
+        if (inCategory.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Every key in a category has the same category, give or take case, so the first one will do.
+        return this.categoryFunction.apply(getBacking().get(this.keys.get(inCategory.iterator().next())));
+    }
+
+    /**
+     * Gets the categories that have entries in them, as they are written in the entries.
+     *
+     * @return The categories.
+     */
+    public synchronized Set<String> getCategories() {
+        return this.categories.keySet().stream()
+                .map(this::getCategory)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    private Map<String, V> getBacking() {
+        if (this.backing == null) {
+            throw new IllegalStateException("The index has not been given a map.");
+        }
+
+        return this.backing;
+    }
+
+    private void add(String name, V value) {
+        String lower = name.toLowerCase();
+        this.keys.put(lower, name);
+        this.sorted.add(lower);
+        addCategory(lower, value);
+    }
+
+    private void addCategory(String lower, @Nullable V value) {
+        if (value != null) {
+            this.categoryFunction.apply(value).ifPresent(c -> {
+                String category = c.toLowerCase();
+                this.categories.put(category, lower);
+                this.categoryOf.put(lower, category);
+            });
+        }
+    }
+
+    private void removeCategory(String lower) {
+        String category = this.categoryOf.remove(lower);
+        if (category != null) {
+            this.categories.remove(category, lower);
+        }
+    }
+}
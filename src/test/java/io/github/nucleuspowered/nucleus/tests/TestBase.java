@@ -11,6 +11,7 @@ import io.github.nucleuspowered.nucleus.config.CommandsConfig;
 import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
+import io.github.nucleuspowered.nucleus.dataservices.ProfileDirectoryService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
@@ -161,6 +162,10 @@ public abstract class TestBase {
             return null;
         }
 
+        @Override public ProfileDirectoryService getProfileDirectoryService() {
+            return null;
+        }
+
         @Override
         public void saveSystemConfig() throws IOException {
 
@@ -0,0 +1,208 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.modules.afk.services.ActivityTracker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class ActivityTrackerTests {
+
+    private static final long AFK = 1000;
+    private static final long KICK = 5000;
+
+    @Test
+    public void testPlayerGoesAfkOnceTheDeadlinePasses() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+
+        tracker.tick(0, listener);
+        tracker.tick(AFK - 1, listener);
+        Assert.assertTrue(listener.afk.isEmpty());
+
+        tracker.tick(AFK, listener);
+        Assert.assertEquals(Lists.newArrayList(uuid), listener.afk);
+        Assert.assertTrue(tracker.get(uuid).get().isAfk());
+    }
+
+    @Test
+    public void testActivityPushesTheDeadlineBack() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        tracker.tick(0, listener);
+
+        tracker.recordActivity(uuid, 500);
+        tracker.tick(AFK, listener);
+        Assert.assertTrue(listener.afk.isEmpty());
+
+        tracker.tick(AFK + 500, listener);
+        Assert.assertEquals(Lists.newArrayList(uuid), listener.afk);
+    }
+
+    @Test
+    public void testAfkPlayerReturnsAndIsKickedIfNot() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID returns = UUID.randomUUID();
+        UUID stays = UUID.randomUUID();
+        tracker.recordActivity(returns, 0);
+        tracker.recordActivity(stays, 0);
+        tracker.tick(0, listener);
+        tracker.tick(AFK, listener);
+
+        tracker.recordActivity(returns, AFK + 1);
+        tracker.tick(AFK + 1, listener);
+        Assert.assertEquals(Lists.newArrayList(returns), listener.returned);
+        Assert.assertFalse(tracker.get(returns).get().isAfk());
+
+        tracker.tick(KICK, listener);
+        Assert.assertEquals(Lists.newArrayList(stays), listener.kicked);
+
+        // Only kicked once.
+        tracker.tick(KICK * 2, listener);
+        Assert.assertEquals(1, Collections.frequency(listener.kicked, stays));
+    }
+
+    @Test
+    public void testPlayerThatBecomesExemptAfterSchedulingIsNotKicked() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        tracker.tick(0, listener);
+        tracker.tick(AFK, listener);
+        Assert.assertTrue(tracker.get(uuid).get().isAfk());
+
+        // The kick is queued, then the thresholds are worked out again and the player can no longer be kicked.
+        ActivityTracker.Entry entry = tracker.get(uuid).get();
+        entry.invalidateThresholds();
+        TestListener exempt = new TestListener(AFK, -1);
+        tracker.tick(KICK, exempt);
+        Assert.assertTrue(exempt.kicked.isEmpty());
+        Assert.assertTrue(listener.kicked.isEmpty());
+    }
+
+    @Test
+    public void testPlayerThatBecomesExemptAfterSchedulingDoesNotGoAfk() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        tracker.tick(0, listener);
+
+        tracker.get(uuid).get().invalidateThresholds();
+        TestListener exempt = new TestListener(-1, -1);
+        tracker.tick(AFK, exempt);
+        Assert.assertTrue(exempt.afk.isEmpty());
+        Assert.assertFalse(tracker.get(uuid).get().isAfk());
+    }
+
+    @Test
+    public void testTrackingCountFollowsPlayers() {
+        ActivityTracker tracker = new ActivityTracker();
+        Assert.assertFalse(tracker.isTrackingAnyone());
+
+        // An exempt player is tracked until their thresholds are known.
+        TestListener exempt = new TestListener(-1, -1);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        Assert.assertTrue(tracker.isTrackingAnyone());
+        tracker.tick(0, exempt);
+        Assert.assertFalse(tracker.isTrackingAnyone());
+
+        // Marking them AFK makes their activity matter again.
+        ActivityTracker.Entry entry = tracker.get(uuid).get();
+        entry.markAfk(1);
+        Assert.assertTrue(tracker.isTrackingAnyone());
+        entry.markActive();
+        Assert.assertFalse(tracker.isTrackingAnyone());
+
+        // As does a change that needs the thresholds worked out again.
+        tracker.invalidateAll();
+        Assert.assertTrue(tracker.isTrackingAnyone());
+        tracker.tick(1, new TestListener(AFK, KICK));
+        Assert.assertTrue(tracker.isTrackingAnyone());
+
+        tracker.remove(uuid);
+        Assert.assertFalse(tracker.isTrackingAnyone());
+
+        // Removing twice does not count twice.
+        tracker.remove(uuid);
+        Assert.assertFalse(tracker.isTrackingAnyone());
+    }
+
+    @Test
+    public void testDisabledTrackingIgnoresActivity() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        UUID token = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        tracker.tick(0, listener);
+
+        tracker.disableTracking(uuid, token);
+        tracker.recordActivity(uuid, 500);
+        Assert.assertEquals(0, tracker.get(uuid).get().getLastActivity());
+
+        tracker.enableTracking(uuid, token);
+        tracker.recordActivity(uuid, 500);
+        Assert.assertEquals(500, tracker.get(uuid).get().getLastActivity());
+    }
+
+    @Test
+    public void testRemovedPlayerIsNotActedOn() {
+        ActivityTracker tracker = new ActivityTracker();
+        TestListener listener = new TestListener(AFK, KICK);
+        UUID uuid = UUID.randomUUID();
+        tracker.recordActivity(uuid, 0);
+        tracker.tick(0, listener);
+
+        tracker.remove(uuid);
+        tracker.tick(AFK, listener);
+        Assert.assertTrue(listener.afk.isEmpty());
+        Assert.assertFalse(tracker.get(uuid).isPresent());
+    }
+
+    private static final class TestListener implements ActivityTracker.Listener {
+
+        private final long timeToAfk;
+        private final long timeToKick;
+        private final List<UUID> afk = Lists.newArrayList();
+        private final List<UUID> kicked = Lists.newArrayList();
+        private final List<UUID> returned = Lists.newArrayList();
+
+        private TestListener(long timeToAfk, long timeToKick) {
+            this.timeToAfk = timeToAfk;
+            this.timeToKick = timeToKick;
+        }
+
+        @Override public void updateThresholds(ActivityTracker.Entry entry) {
+            entry.setThresholds(this.timeToAfk, this.timeToKick);
+        }
+
+        @Override public void onAfk(ActivityTracker.Entry entry) {
+            this.afk.add(entry.getUniqueId());
+            entry.markAfk(entry.getLastActivity() + this.timeToAfk);
+        }
+
+        @Override public void onKick(ActivityTracker.Entry entry) {
+            this.kicked.add(entry.getUniqueId());
+        }
+
+        @Override public void onReturn(ActivityTracker.Entry entry) {
+            this.returned.add(entry.getUniqueId());
+            entry.markActive();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.util.CaseInsensitiveIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class CaseInsensitiveIndexTests {
+
+    // The value is the category, or empty if there is none.
+    private static CaseInsensitiveIndex<String> createIndex(Map<String, String> map) {
+        return new CaseInsensitiveIndex<String>(x -> x.isEmpty() ? Optional.empty() : Optional.of(x)).sync(map);
+    }
+
+    @Test
+    public void testLookupsIgnoreCase() {
+        Map<String, String> map = Maps.newHashMap();
+        map.put("Spawn", "");
+        CaseInsensitiveIndex<String> index = createIndex(map);
+
+        Assert.assertTrue(index.contains("spawn"));
+        Assert.assertTrue(index.contains("SPAWN"));
+        Assert.assertEquals(Optional.of("Spawn"), index.getKey("sPaWn"));
+        Assert.assertEquals(Optional.of(""), index.get("spawn"));
+        Assert.assertFalse(index.contains("spawn2"));
+    }
+
+    @Test
+    public void testPutWritesToTheMapAndRejectsClashes() {
+        Map<String, String> map = Maps.newHashMap();
+        CaseInsensitiveIndex<String> index = createIndex(map);
+
+        Assert.assertTrue(index.put("Shop", ""));
+        Assert.assertFalse(index.put("SHOP", ""));
+        Assert.assertEquals(1, map.size());
+        Assert.assertTrue(map.containsKey("Shop"));
+    }
+
+    @Test
+    public void testRemoveKeepsTheIndexInSync() {
+        Map<String, String> map = Maps.newHashMap();
+        map.put("Shop", "town");
+        map.put("Shops", "town");
+        CaseInsensitiveIndex<String> index = createIndex(map);
+
+        Assert.assertEquals(Optional.of("town"), index.remove("SHOP"));
+        Assert.assertFalse(map.containsKey("Shop"));
+        Assert.assertFalse(index.contains("shop"));
+        Assert.assertEquals(Lists.newArrayList("Shops"), index.getKeysWithPrefix("shop", Integer.MAX_VALUE));
+        Assert.assertEquals(Lists.newArrayList("Shops"), index.getKeysInCategory("TOWN"));
+
+        Assert.assertEquals(Optional.of("town"), index.remove("shops"));
+        Assert.assertFalse(index.hasCategory("town"));
+        Assert.assertEquals(Optional.empty(), index.remove("shops"));
+    }
+
+    @Test
+    public void testKeysWithPrefixAreInOrderAndLimited() {
+        Map<String, String> map = Maps.newHashMap();
+        map.put("beta", "");
+        map.put("Alpha", "");
+        map.put("alps", "");
+        map.put("ALTAR", "");
+        CaseInsensitiveIndex<String> index = createIndex(map);
+
+        Assert.assertEquals(Lists.newArrayList("Alpha", "alps", "ALTAR"), index.getKeysWithPrefix("AL", Integer.MAX_VALUE));
+        Assert.assertEquals(Lists.newArrayList("Alpha", "alps"), index.getKeysWithPrefix("al", 2));
+        Assert.assertEquals(Lists.newArrayList("Alpha", "alps", "ALTAR", "beta"), index.getKeys());
+        Assert.assertTrue(index.getKeysWithPrefix("z", Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testCategoryFollowsTheValue() {
+        Map<String, String> map = Maps.newHashMap();
+        map.put("Shop", "Town");
+        CaseInsensitiveIndex<String> index = createIndex(map);
+        Assert.assertEquals(Optional.of("Town"), index.getCategory("town"));
+
+        map.put("Shop", "Wild");
+        index.updateCategory("shop");
+        Assert.assertFalse(index.hasCategory("town"));
+        Assert.assertEquals(Lists.newArrayList("Shop"), index.getKeysInCategory("wild"));
+        Assert.assertEquals(ImmutableSet.of("Wild"), index.getCategories());
+    }
+
+    @Test
+    public void testSyncRebuildsForANewMap() {
+        Map<String, String> map = Maps.newHashMap();
+        map.put("Shop", "");
+        CaseInsensitiveIndex<String> index = createIndex(map);
+
+        Map<String, String> reloaded = Maps.newHashMap();
+        reloaded.put("Arena", "");
+        index.sync(reloaded);
+
+        Assert.assertFalse(index.contains("shop"));
+        Assert.assertTrue(index.contains("arena"));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.flowpowered.math.vector.Vector2i;
+import com.google.common.collect.Sets;
+import io.github.nucleuspowered.nucleus.modules.world.services.ChunkPregenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class ChunkPregeneratorTests {
+
+    private static final long FULL_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MAX_BUDGET = TimeUnit.MILLISECONDS.toNanos(25);
+    private static final long MIN_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testBudgetStaysAtMaximumAtTwentyTicksPerSecond() {
+        long budget = MAX_BUDGET;
+        for (int i = 0; i < 100; i++) {
+            budget = ChunkPregenerator.nextBudget(budget, MAX_BUDGET, FULL_TICK, FULL_TICK);
+            Assert.assertEquals(MAX_BUDGET, budget);
+        }
+    }
+
+    @Test
+    public void testBudgetGrowsBackToMaximumAtTwentyTicksPerSecond() {
+        long budget = MIN_BUDGET;
+        for (int i = 0; i < 100; i++) {
+            budget = ChunkPregenerator.nextBudget(budget, MAX_BUDGET, FULL_TICK, FULL_TICK);
+        }
+
+        Assert.assertEquals(MAX_BUDGET, budget);
+    }
+
+    @Test
+    public void testTargetBelowAFullTickIsTreatedAsAFullTick() {
+        long budget = ChunkPregenerator.nextBudget(MAX_BUDGET, MAX_BUDGET, TimeUnit.MILLISECONDS.toNanos(40), FULL_TICK);
+        Assert.assertEquals(MAX_BUDGET, budget);
+    }
+
+    @Test
+    public void testBudgetIsCutBackWhenTicksAreSlow() {
+        // 15 ticks per second.
+        long slowTick = TimeUnit.SECONDS.toNanos(1) / 15;
+        long budget = ChunkPregenerator.nextBudget(MAX_BUDGET, MAX_BUDGET, FULL_TICK, slowTick);
+        Assert.assertTrue(budget < MAX_BUDGET);
+
+        for (int i = 0; i < 100; i++) {
+            budget = ChunkPregenerator.nextBudget(budget, MAX_BUDGET, FULL_TICK, slowTick);
+        }
+
+        Assert.assertEquals(MIN_BUDGET, budget);
+    }
+
+    @Test
+    public void testSlowTicksWithinTheTargetDoNotCutBack() {
+        long slowTick = TimeUnit.SECONDS.toNanos(1) / 15;
+        long budget = ChunkPregenerator.nextBudget(MAX_BUDGET, MAX_BUDGET, TimeUnit.MILLISECONDS.toNanos(70), slowTick);
+        Assert.assertEquals(MAX_BUDGET, budget);
+    }
+
+    @Test
+    public void testSpiralVisitsEachRegionOnceRingByRing() {
+        Set<Vector2i> visited = Sets.newHashSet();
+        int rings = 10;
+        for (int ring = 0; ring <= rings; ring++) {
+            for (int i = 0; i < ChunkPregenerator.cellsInRing(ring); i++) {
+                Vector2i offset = ChunkPregenerator.spiralOffset(ring, i);
+                Assert.assertEquals(ring, Math.max(Math.abs(offset.getX()), Math.abs(offset.getY())));
+                Assert.assertTrue("Visited " + offset + " twice", visited.add(offset));
+            }
+        }
+
+        // Every region in the square has been visited.
+        Assert.assertEquals((2 * rings + 1) * (2 * rings + 1), visited.size());
+    }
+
+    @Test
+    public void testSpiralOfAHugeBorderNeedsNoListOfRegions() {
+        // A 60,000,000 block border is about 117,000 regions from edge to edge. Any region can be reached directly.
+        int ring = 58594;
+        Vector2i last = ChunkPregenerator.spiralOffset(ring, ChunkPregenerator.cellsInRing(ring) - 1);
+        Assert.assertEquals(new Vector2i(-ring, -ring + 1), last);
+    }
+}
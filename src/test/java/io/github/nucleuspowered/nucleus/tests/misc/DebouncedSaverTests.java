@@ -0,0 +1,140 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
+import io.github.nucleuspowered.nucleus.dataservices.DebouncedSaver;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DebouncedSaverTests {
+
+    private static final long QUIET_PERIOD = 100;
+    private static final long MAX_DELAY = 400;
+
+    // Allows for the scheduler being slow to wake up.
+    private static final long LEEWAY = 200;
+
+    @Test
+    public void testRequestIsWrittenOnceThingsGoQuiet() throws Exception {
+        TestService service = new TestService();
+        DebouncedSaver<Integer> saver = new DebouncedSaver<>(service, QUIET_PERIOD, MAX_DELAY, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        service.change();
+        saver.request();
+        long written = service.awaitWrite(start);
+
+        Assert.assertTrue(written >= QUIET_PERIOD);
+        Assert.assertTrue(written <= QUIET_PERIOD + LEEWAY);
+        Assert.assertEquals(1, saver.getWrites());
+    }
+
+    @Test
+    public void testOnlyTheLatestSnapshotIsWritten() throws Exception {
+        TestService service = new TestService();
+        DebouncedSaver<Integer> saver = new DebouncedSaver<>(service, QUIET_PERIOD, MAX_DELAY, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            service.change();
+            saver.request();
+        }
+
+        service.awaitWrite(start);
+        Assert.assertEquals(1, service.written.size());
+        Assert.assertEquals(5, (int) service.written.get(0));
+        Assert.assertEquals(4, saver.getCoalesced());
+    }
+
+    @Test
+    public void testConstantRequestsAreWrittenWithinTheMaximumDelay() throws Exception {
+        TestService service = new TestService();
+        DebouncedSaver<Integer> saver = new DebouncedSaver<>(service, QUIET_PERIOD, MAX_DELAY, TimeUnit.MILLISECONDS);
+
+        // Requests keep coming in faster than the quiet period, so only the maximum delay gets anything written.
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(MAX_DELAY + LEEWAY);
+        while (System.nanoTime() < end && service.written.isEmpty()) {
+            service.change();
+            saver.request();
+            Thread.sleep(QUIET_PERIOD / 5);
+        }
+
+        Assert.assertFalse("Nothing was written within the maximum delay", service.written.isEmpty());
+        Assert.assertTrue(service.writtenAt.get(0) - start >= TimeUnit.MILLISECONDS.toNanos(MAX_DELAY));
+    }
+
+    @Test
+    public void testFlushWritesStraightAway() throws Exception {
+        TestService service = new TestService();
+        DebouncedSaver<Integer> saver = new DebouncedSaver<>(service, 1, 1, TimeUnit.HOURS);
+
+        service.change();
+        saver.request();
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, service.written.size());
+    }
+
+    @Test
+    public void testNothingIsWrittenWhenThereIsNoSnapshot() throws Exception {
+        TestService service = new TestService();
+        DebouncedSaver<Integer> saver = new DebouncedSaver<>(service, QUIET_PERIOD, MAX_DELAY, TimeUnit.MILLISECONDS);
+
+        saver.request();
+        Thread.sleep(QUIET_PERIOD + LEEWAY);
+        Assert.assertTrue(service.written.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class TestService extends AbstractService<Integer> {
+
+        private final AtomicInteger version = new AtomicInteger();
+        private final List<Integer> written = new CopyOnWriteArrayList<>();
+        private final List<Long> writtenAt = new CopyOnWriteArrayList<>();
+
+        private TestService() {
+            super(Mockito.mock(DataProvider.class));
+        }
+
+        private void change() {
+            this.version.incrementAndGet();
+        }
+
+        /**
+         * Waits for the first write, and gets how long after the start it was, in milliseconds.
+         */
+        private long awaitWrite(long start) throws InterruptedException {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (this.written.isEmpty() && System.nanoTime() < end) {
+                Thread.sleep(5);
+            }
+
+            Assert.assertFalse("Nothing was written", this.written.isEmpty());
+            return TimeUnit.NANOSECONDS.toMillis(this.writtenAt.get(0) - start);
+        }
+
+        @Override protected String serviceName() {
+            return "Test";
+        }
+
+        @Override public Integer snapshot() {
+            int v = this.version.get();
+            return v == 0 ? null : v;
+        }
+
+        @Override public void saveSnapshot(Integer snapshot) {
+            this.writtenAt.add(System.nanoTime());
+            this.written.add(snapshot);
+        }
+    }
+}
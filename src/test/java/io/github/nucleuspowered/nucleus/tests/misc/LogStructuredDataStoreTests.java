@@ -0,0 +1,256 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LogStructuredDataStore;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.LogStructuredDataStoreMigrator;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+public class LogStructuredDataStoreTests {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(Optional<byte[]> b) {
+        return b.map(x -> new String(x, StandardCharsets.UTF_8)).orElse(null);
+    }
+
+    @Test
+    public void testRecordsAreReadBackAfterReopening() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            store.write(first, bytes("one"));
+            store.write(second, bytes("two"));
+            store.write(first, bytes("three"));
+            Assert.assertEquals("three", string(store.read(first)));
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(first, second), store.keys());
+            Assert.assertEquals("three", string(store.read(first)));
+            Assert.assertEquals("two", string(store.read(second)));
+        }
+    }
+
+    @Test
+    public void testDeletedRecordsStayDeleted() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID uuid = UUID.randomUUID();
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            store.write(uuid, bytes("one"));
+            store.delete(uuid);
+            Assert.assertFalse(store.contains(uuid));
+            Assert.assertFalse(store.read(uuid).isPresent());
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertFalse(store.contains(uuid));
+            Assert.assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void testTornRecordAtTheEndIsDropped() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID kept = UUID.randomUUID();
+        UUID torn = UUID.randomUUID();
+        long size;
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            store.write(kept, bytes("kept"));
+            size = Files.size(file);
+            store.write(torn, bytes("this record will be cut short"));
+        }
+
+        // As if the server stopped halfway through the last write.
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fc.truncate(Files.size(file) - 5);
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(kept), store.keys());
+            Assert.assertEquals("kept", string(store.read(kept)));
+            Assert.assertEquals(size, Files.size(file));
+
+            // The next write goes where the torn record was.
+            store.write(torn, bytes("again"));
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals("again", string(store.read(torn)));
+        }
+    }
+
+    @Test
+    public void testCorruptRecordIsSkippedAndLaterRecordsKept() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID first = UUID.randomUUID();
+        UUID corrupt = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        long corruptAt;
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            store.write(first, bytes("first"));
+            corruptAt = Files.size(file);
+            store.write(corrupt, bytes("corrupt"));
+            store.write(last, bytes("last"));
+        }
+
+        // Flip a bit in the payload of the middle record.
+        long size = Files.size(file);
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            fc.read(b, corruptAt + 24);
+            b.put(0, (byte) (b.get(0) ^ 1));
+            b.rewind();
+            fc.write(b, corruptAt + 24);
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(first, last), store.keys());
+            Assert.assertEquals("last", string(store.read(last)));
+            Assert.assertEquals(1, store.getCorruptRecords());
+            Assert.assertTrue(store.isDamaged());
+            Assert.assertTrue(Files.exists(store.getDamagedFile()));
+            Assert.assertEquals(size, Files.size(file));
+        }
+    }
+
+    @Test
+    public void testHugeLengthAtTheEndIsTreatedAsTorn() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID kept = UUID.randomUUID();
+        long size;
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            store.write(kept, bytes("kept"));
+            size = Files.size(file);
+        }
+
+        // A record header that claims a payload of nearly 2GB.
+        ByteBuffer header = ByteBuffer.allocate(28);
+        header.putInt(Integer.MAX_VALUE - 100).putLong(1).putLong(2).putInt(3).putInt(4).flip();
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            fc.write(header);
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(kept), store.keys());
+            Assert.assertFalse(store.isDamaged());
+            Assert.assertEquals(size, Files.size(file));
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsTheLatestRecords() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            for (int i = 0; i < 100; i++) {
+                store.write(first, bytes("first " + i));
+            }
+
+            store.write(second, bytes("second"));
+            store.write(deleted, bytes("deleted"));
+            store.delete(deleted);
+
+            long before = Files.size(file);
+            store.compact();
+            Assert.assertTrue(Files.size(file) < before);
+            Assert.assertEquals("first 99", string(store.read(first)));
+        }
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(first, second), store.keys());
+            Assert.assertEquals("first 99", string(store.read(first)));
+            Assert.assertEquals("second", string(store.read(second)));
+        }
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void testFileThatIsNotAStoreIsRejected() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        Files.write(file, bytes("not a store at all"));
+        LogStructuredDataStore.open(file).close();
+    }
+
+    @Test
+    public void testMigrationRoundTripsTheUserFiles() throws Exception {
+        Path directory = this.folder.newFolder("userdata").toPath();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        UUID fromBackup = UUID.randomUUID();
+        writeJson(directory, first, "{\"core\":{\"lastKnownName\":\"alice\",\"firstJoin\":1234}}");
+        writeJson(directory, second, "{\"nickname\":\"Bob\",\"homes\":{\"home\":{\"x\":1.5}}}");
+        writeJson(directory, broken, "{ this is not json");
+        writeJson(directory, fromBackup, "{ this is not json either");
+        Files.write(directory.resolve(fromBackup.toString().substring(0, 2)).resolve(fromBackup.toString() + ".json.bak"),
+                bytes("{\"nickname\":\"Carol\"}"));
+
+        Path file = this.folder.getRoot().toPath().resolve("users.dat");
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            int count = new LogStructuredDataStoreMigrator(GsonConfigurationLoader::builder, Mockito.mock(MessageProvider.class),
+                    Mockito.mock(Logger.class)).migrate(directory, store);
+            Assert.assertEquals(3, count);
+        }
+
+        // The old files are kept, but out of the way.
+        Assert.assertTrue(Files.notExists(directory));
+        Assert.assertTrue(Files.isDirectory(directory.resolveSibling("userdata-migrated")));
+
+        try (LogStructuredDataStore store = LogStructuredDataStore.open(file)) {
+            Assert.assertEquals(ImmutableSet.of(first, second, fromBackup), store.keys());
+
+            ConfigurationNode firstNode = load(store.read(first).get());
+            Assert.assertEquals("alice", firstNode.getNode("core", "lastKnownName").getString());
+            Assert.assertEquals(1234, firstNode.getNode("core", "firstJoin").getLong());
+
+            ConfigurationNode secondNode = load(store.read(second).get());
+            Assert.assertEquals("Bob", secondNode.getNode("nickname").getString());
+            Assert.assertEquals(1.5, secondNode.getNode("homes", "home", "x").getDouble(), 0);
+
+            Assert.assertEquals("Carol", load(store.read(fromBackup).get()).getNode("nickname").getString());
+        }
+    }
+
+    private static void writeJson(Path directory, UUID uuid, String json) throws Exception {
+        Path sub = Files.createDirectories(directory.resolve(uuid.toString().substring(0, 2)));
+        Files.write(sub.resolve(uuid.toString() + ".json"), bytes(json));
+    }
+
+    private static ConfigurationNode load(byte[] payload) throws Exception {
+        return GsonConfigurationLoader.builder()
+                .setSource(() -> new BufferedReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8)))
+                .build()
+                .load();
+    }
+}
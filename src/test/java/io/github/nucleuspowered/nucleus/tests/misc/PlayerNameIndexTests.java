@@ -0,0 +1,118 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.PlayerNameIndex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Checking that vanished players are left out needs a server to check them against, so these tests only look up
+ * players including those that are vanished.
+ */
+public class PlayerNameIndexTests {
+
+    private static final PlayerNameIndex INDEX = PlayerNameIndex.INSTANCE;
+
+    // The index is shared, so each test uses names that start with a prefix of its own, and removes its players after.
+    private final List<UUID> players = Lists.newArrayList();
+    private String prefix;
+
+    @Before
+    public void createPrefix() {
+        this.prefix = "t" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @After
+    public void removePlayers() {
+        this.players.forEach(INDEX::removePlayer);
+    }
+
+    private UUID join(String name) {
+        UUID uuid = UUID.randomUUID();
+        this.players.add(uuid);
+        INDEX.addPlayer(uuid, this.prefix + name, false);
+        return uuid;
+    }
+
+    private List<String> names(String start) {
+        return INDEX.getNamesWithPrefix(this.prefix + start, true, Integer.MAX_VALUE).stream()
+                .map(x -> x.getText().substring(this.prefix.length()))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> nicknames(String start) {
+        return INDEX.getNicknamesWithPrefix(this.prefix + start, true, Integer.MAX_VALUE).stream()
+                .map(x -> x.getText().substring(this.prefix.length()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testNamesWithPrefixIgnoreCaseAndAreInOrder() {
+        join("Bob");
+        join("alice");
+        join("ALEX");
+
+        Assert.assertEquals(Lists.newArrayList("ALEX", "alice"), names("Al"));
+        Assert.assertEquals(Lists.newArrayList("ALEX", "alice", "Bob"), names(""));
+        Assert.assertEquals(1, INDEX.getNamesWithPrefix(this.prefix, true, 1).size());
+        Assert.assertTrue(names("c").isEmpty());
+    }
+
+    @Test
+    public void testRemovedPlayerIsNoLongerFound() {
+        UUID alice = join("alice");
+        join("alex");
+        INDEX.setNickname(alice, this.prefix + "Wonder");
+
+        INDEX.removePlayer(alice);
+        Assert.assertEquals(Lists.newArrayList("alex"), names("al"));
+        Assert.assertTrue(nicknames("").isEmpty());
+        Assert.assertEquals(Optional.empty(), INDEX.getByNickname(this.prefix + "wonder"));
+    }
+
+    @Test
+    public void testNicknameChangesReplaceTheOldNickname() {
+        UUID alice = join("alice");
+        INDEX.setNickname(alice, this.prefix + "Wonder");
+        Assert.assertEquals(Optional.of(alice), INDEX.getByNickname(this.prefix + "WONDER"));
+
+        INDEX.setNickname(alice, this.prefix + "Queen");
+        Assert.assertEquals(Optional.empty(), INDEX.getByNickname(this.prefix + "wonder"));
+        Assert.assertEquals(Optional.of(alice), INDEX.getByNickname(this.prefix + "queen"));
+        Assert.assertEquals(Lists.newArrayList("Queen"), nicknames(""));
+
+        INDEX.setNickname(alice, null);
+        Assert.assertTrue(nicknames("").isEmpty());
+
+        // The name is kept.
+        Assert.assertEquals(Lists.newArrayList("alice"), names(""));
+    }
+
+    @Test
+    public void testRejoiningWithANewNameReplacesTheOldName() {
+        UUID uuid = join("alice");
+        INDEX.addPlayer(uuid, this.prefix + "alicia", false);
+
+        Assert.assertEquals(Lists.newArrayList("alicia"), names(""));
+    }
+
+    @Test
+    public void testNicknamesOfOfflinePlayersAreNotIndexed() {
+        UUID offline = UUID.randomUUID();
+        INDEX.setNickname(offline, this.prefix + "Ghost");
+
+        Assert.assertEquals(Optional.empty(), INDEX.getByNickname(this.prefix + "ghost"));
+        Assert.assertTrue(nicknames("").isEmpty());
+    }
+}
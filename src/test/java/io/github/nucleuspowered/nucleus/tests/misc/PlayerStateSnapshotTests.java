@@ -0,0 +1,138 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.PlayerStateSnapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public class PlayerStateSnapshotTests {
+
+    private static final PlayerStateSnapshot SNAPSHOT = PlayerStateSnapshot.INSTANCE;
+
+    // The snapshot is shared, so players are removed after each test to leave the counts as they were.
+    private final List<UUID> players = Lists.newArrayList();
+
+    @After
+    public void removePlayers() {
+        this.players.forEach(SNAPSHOT::removePlayer);
+    }
+
+    private UUID join() {
+        UUID uuid = UUID.randomUUID();
+        this.players.add(uuid);
+        SNAPSHOT.addPlayer(uuid);
+        return uuid;
+    }
+
+    @Test
+    public void testStatesAreOnlyKeptForOnlinePlayers() {
+        UUID offline = UUID.randomUUID();
+        long version = SNAPSHOT.getVersion(PlayerStateSnapshot.FROZEN);
+        SNAPSHOT.set(offline, PlayerStateSnapshot.FROZEN, true);
+
+        Assert.assertFalse(SNAPSHOT.contains(offline));
+        Assert.assertFalse(SNAPSHOT.is(offline, PlayerStateSnapshot.FROZEN));
+        Assert.assertEquals(version, SNAPSHOT.getVersion(PlayerStateSnapshot.FROZEN));
+
+        UUID online = join();
+        Assert.assertTrue(SNAPSHOT.contains(online));
+        Assert.assertFalse(SNAPSHOT.is(online, PlayerStateSnapshot.FROZEN));
+    }
+
+    @Test
+    public void testAnyFollowsPlayersGainingAndLosingAState() {
+        Assert.assertFalse(SNAPSHOT.isAny(PlayerStateSnapshot.FROZEN));
+        UUID first = join();
+        UUID second = join();
+
+        SNAPSHOT.set(first, PlayerStateSnapshot.FROZEN, true);
+        SNAPSHOT.set(second, PlayerStateSnapshot.FROZEN, true);
+        Assert.assertTrue(SNAPSHOT.is(first, PlayerStateSnapshot.FROZEN));
+        Assert.assertTrue(SNAPSHOT.isAny(PlayerStateSnapshot.FROZEN));
+        Assert.assertFalse(SNAPSHOT.isAny(PlayerStateSnapshot.MUTED));
+
+        SNAPSHOT.set(first, PlayerStateSnapshot.FROZEN, false);
+        Assert.assertFalse(SNAPSHOT.is(first, PlayerStateSnapshot.FROZEN));
+        Assert.assertTrue(SNAPSHOT.isAny(PlayerStateSnapshot.FROZEN));
+
+        // Leaving takes the state with the player.
+        SNAPSHOT.removePlayer(second);
+        Assert.assertFalse(SNAPSHOT.isAny(PlayerStateSnapshot.FROZEN));
+    }
+
+    @Test
+    public void testSettingAStateTwiceCountsOnce() {
+        UUID first = join();
+        UUID second = join();
+        SNAPSHOT.set(first, PlayerStateSnapshot.MUTED, true);
+        SNAPSHOT.set(first, PlayerStateSnapshot.MUTED, true);
+        SNAPSHOT.set(second, PlayerStateSnapshot.MUTED, true);
+
+        SNAPSHOT.set(second, PlayerStateSnapshot.MUTED, false);
+        SNAPSHOT.set(second, PlayerStateSnapshot.MUTED, false);
+        Assert.assertTrue(SNAPSHOT.isAny(PlayerStateSnapshot.MUTED));
+
+        SNAPSHOT.set(first, PlayerStateSnapshot.MUTED, false);
+        Assert.assertFalse(SNAPSHOT.isAny(PlayerStateSnapshot.MUTED));
+    }
+
+    @Test
+    public void testRejoiningClearsTheStates() {
+        UUID uuid = join();
+        SNAPSHOT.set(uuid, PlayerStateSnapshot.JAILED, true);
+        SNAPSHOT.addPlayer(uuid);
+
+        Assert.assertFalse(SNAPSHOT.is(uuid, PlayerStateSnapshot.JAILED));
+        Assert.assertFalse(SNAPSHOT.isAny(PlayerStateSnapshot.JAILED));
+    }
+
+    @Test
+    public void testVersionChangesOnlyWhenTheStateChanges() {
+        long version = SNAPSHOT.getVersion(PlayerStateSnapshot.VANISHED);
+        UUID uuid = join();
+        Assert.assertEquals(version, SNAPSHOT.getVersion(PlayerStateSnapshot.VANISHED));
+
+        SNAPSHOT.set(uuid, PlayerStateSnapshot.VANISHED, true);
+        long vanished = SNAPSHOT.getVersion(PlayerStateSnapshot.VANISHED);
+        Assert.assertTrue(vanished > version);
+
+        SNAPSHOT.set(uuid, PlayerStateSnapshot.VANISHED, true);
+        SNAPSHOT.set(uuid, PlayerStateSnapshot.FROZEN, true);
+        Assert.assertEquals(vanished, SNAPSHOT.getVersion(PlayerStateSnapshot.VANISHED));
+
+        SNAPSHOT.removePlayer(uuid);
+        Assert.assertTrue(SNAPSHOT.getVersion(PlayerStateSnapshot.VANISHED) > vanished);
+    }
+
+    @Test
+    public void testSweepCallsTheHandlerOnceWhenAStateRunsOut() {
+        List<UUID> expired = Lists.newArrayList();
+        SNAPSHOT.registerExpiryHandler(PlayerStateSnapshot.JAILED, expired::add);
+
+        UUID runOut = join();
+        UUID notYet = join();
+        SNAPSHOT.set(runOut, PlayerStateSnapshot.JAILED, true, Instant.now().minusSeconds(1));
+        SNAPSHOT.set(notYet, PlayerStateSnapshot.JAILED, true, Instant.now().plusSeconds(60));
+
+        SNAPSHOT.sweep();
+        SNAPSHOT.sweep();
+        Assert.assertEquals(Lists.newArrayList(runOut), expired);
+
+        // The handler clears the state, the sweep does not.
+        Assert.assertTrue(SNAPSHOT.is(runOut, PlayerStateSnapshot.JAILED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMoreThanOneStateIsRejected() {
+        SNAPSHOT.isAny(PlayerStateSnapshot.FROZEN | PlayerStateSnapshot.MUTED);
+    }
+}
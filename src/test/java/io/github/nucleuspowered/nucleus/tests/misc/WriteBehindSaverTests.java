@@ -0,0 +1,122 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests.misc;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindSaver;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WriteBehindSaverTests {
+
+    @Test
+    public void testSnapshotsAreWrittenInOrder() {
+        WriteBehindSaver<String, Integer> saver = new WriteBehindSaver<>("Test", 10);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+
+        saver.submit("a", 1, written::add);
+        saver.submit("b", 2, written::add);
+        saver.submit("c", 3, written::add);
+
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Lists.newArrayList(1, 2, 3), written);
+        Assert.assertEquals(0, saver.getQueueDepth());
+        Assert.assertEquals(3, saver.getWrites());
+    }
+
+    @Test
+    public void testOnlyTheLatestSnapshotForAKeyIsWritten() throws Exception {
+        WriteBehindSaver<String, Integer> saver = new WriteBehindSaver<>("Test", 10);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        CountDownLatch release = block(saver);
+
+        saver.submit("a", 1, written::add);
+        saver.submit("a", 2, written::add);
+        saver.submit("a", 3, written::add);
+        Assert.assertEquals(Optional.of(3), saver.getPending("a"));
+        Assert.assertTrue(saver.isPending("a"));
+
+        release.countDown();
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Lists.newArrayList(3), written);
+        Assert.assertEquals(2, saver.getCoalesced());
+        Assert.assertFalse(saver.isPending("a"));
+        Assert.assertEquals(Optional.empty(), saver.getPending("a"));
+    }
+
+    @Test
+    public void testCancelledSnapshotIsNotWritten() throws Exception {
+        WriteBehindSaver<String, Integer> saver = new WriteBehindSaver<>("Test", 10);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        CountDownLatch release = block(saver);
+
+        saver.submit("a", 1, written::add);
+        saver.submit("b", 2, written::add);
+        saver.cancel("a");
+
+        release.countDown();
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Lists.newArrayList(2), written);
+    }
+
+    @Test
+    public void testCallerWritesWhenTheQueueIsFull() throws Exception {
+        WriteBehindSaver<String, Integer> saver = new WriteBehindSaver<>("Test", 1);
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        CountDownLatch release = block(saver);
+
+        saver.submit("a", 1, written::add);
+
+        // The queue is full, so this is written straight away on this thread.
+        saver.submit("b", 2, written::add);
+        Assert.assertEquals(Lists.newArrayList(2), written);
+        Assert.assertEquals(1, saver.getCallerWrites());
+
+        // A key that is already queued is replaced rather than written.
+        saver.submit("a", 3, written::add);
+        Assert.assertEquals(1, saver.getCallerWrites());
+
+        release.countDown();
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Lists.newArrayList(2, 3), written);
+    }
+
+    @Test
+    public void testFlushGivesUpAfterTheTimeout() throws Exception {
+        WriteBehindSaver<String, Integer> saver = new WriteBehindSaver<>("Test", 10);
+        CountDownLatch release = block(saver);
+
+        saver.submit("a", 1, x -> {});
+        Assert.assertFalse(saver.flush(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        Assert.assertTrue(saver.flush(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Holds up the saver's thread until the returned latch is released.
+     */
+    private static CountDownLatch block(WriteBehindSaver<?, ?> saver) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        saver.execute(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+}